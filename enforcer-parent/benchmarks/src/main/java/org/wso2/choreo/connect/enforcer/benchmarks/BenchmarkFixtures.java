@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.service.auth.v3.AttributeContext;
+import io.envoyproxy.envoy.service.auth.v3.CheckRequest;
+import org.wso2.choreo.connect.discovery.api.Api;
+import org.wso2.choreo.connect.discovery.api.Operation;
+import org.wso2.choreo.connect.discovery.api.Resource;
+import org.wso2.choreo.connect.discovery.config.enforcer.Cache;
+import org.wso2.choreo.connect.discovery.config.enforcer.Config;
+import org.wso2.choreo.connect.discovery.config.enforcer.Issuer;
+import org.wso2.choreo.connect.discovery.config.enforcer.Security;
+import org.wso2.choreo.connect.enforcer.api.API;
+import org.wso2.choreo.connect.enforcer.api.APIFactory;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
+import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.util.JWTUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.PrivateKey;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Canned configuration, APIs, tokens and ext_authz requests shared by the benchmarks. The enforcer is bootstrapped
+ * the same way the config and API discovery clients do it, without connecting to the adapter.
+ */
+public class BenchmarkFixtures {
+    public static final String VHOST = "localhost";
+    public static final String VERSION = "1.0.0";
+    public static final String REST_BASE_PATH = "/petstore/1.0.0";
+    public static final String GRAPHQL_BASE_PATH = "/starwars/1.0.0";
+    public static final String WEBSOCKET_BASE_PATH = "/chat/1.0.0";
+    public static final String ISSUER = "https://localhost:9443/oauth2/token";
+    public static final String RESOURCE_TIER = "10KPerMin";
+    public static final String CLIENT_IP = "192.168.10.25";
+
+    private static final String KEY_MANAGER = "Resident Key Manager";
+    private static final String CERTIFICATE_ALIAS = "benchmark";
+    private static final String PUBLIC_CERT = "keystore/mg.pem";
+    private static final String PRIVATE_KEY = "keystore/mg.key";
+    private static final String GRAPHQL_SCHEMA = "type Query {\n  hero: Character\n  droid(id: ID!): Droid\n}\n"
+            + "type Character {\n  id: ID!\n  name: String\n  friends: [Character]\n}\n"
+            + "type Droid {\n  id: ID!\n  name: String\n  primaryFunction: String\n}\n";
+    public static final String GRAPHQL_PAYLOAD = "{\"query\":\"query { hero { name friends { name friends "
+            + "{ name } } } droid(id: \\\"2001\\\") { name primaryFunction } }\"}";
+
+    private static PrivateKey signingKey;
+    private static boolean initialized = false;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Loads the enforcer configuration, initializes the token caches and deploys the REST, GraphQL and WebSocket
+     * APIs used by the benchmarks. Each JMH fork runs in its own JVM, hence this is done once per fork.
+     */
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        Path certificate = copyToTempFile(PUBLIC_CERT);
+        Path privateKey = copyToTempFile(PRIVATE_KEY);
+        try {
+            signingKey = JWTUtils.getPrivateKey(privateKey.toString());
+        } catch (EnforcerException e) {
+            throw new IllegalStateException("Error while loading the token signing key", e);
+        }
+        Issuer issuer = Issuer.newBuilder().setName(KEY_MANAGER).setIssuer(ISSUER)
+                .setCertificateAlias(CERTIFICATE_ALIAS).setCertificateFilePath(certificate.toString())
+                .setValidateSubscription(false).build();
+        Config config = Config.newBuilder()
+                .setSecurity(Security.newBuilder().addTokenService(issuer))
+                .setCache(Cache.newBuilder().setEnable(true).setMaximumSize(10000).setExpiryTime(15))
+                .build();
+        ConfigHolder.getInstance();
+        ConfigHolder.load(config);
+        CacheProvider.init();
+        APIFactory.getInstance().addApis(Arrays.asList(restApi(), graphQLApi(), webSocketApi()));
+        initialized = true;
+    }
+
+    /**
+     * Returns the deployed API with the given base path.
+     *
+     * @param basePath base path of the API
+     * @return API
+     */
+    public static API getApi(String basePath) {
+        return APIFactory.getInstance().getMatchedAPI(checkRequest(basePath, "/", "GET", "/",
+                Map.of(), null));
+    }
+
+    /**
+     * Returns a signed JWT issued by the benchmark token issuer which is valid for an hour.
+     *
+     * @return serialized JWT
+     */
+    public static String signedToken() {
+        long now = System.currentTimeMillis();
+        JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().issuer(ISSUER).subject("admin")
+                .audience("benchmark-client").jwtID(UUID.randomUUID().toString())
+                .issueTime(new Date(now)).expirationTime(new Date(now + 3600 * 1000L))
+                .claim("scope", "default").claim("client_id", "benchmark-client").build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).build(), claimsSet);
+        try {
+            signedJWT.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Error while signing the benchmark token", e);
+        }
+        return signedJWT.serialize();
+    }
+
+    /**
+     * Builds an ext_authz check request as sent by the router for the given API and resource.
+     *
+     * @param basePath     base path of the API
+     * @param pathTemplate matched resource path template
+     * @param method       HTTP method
+     * @param path         request path including the query string
+     * @param headers      request headers
+     * @param body         request body, or null
+     * @return check request
+     */
+    public static CheckRequest checkRequest(String basePath, String pathTemplate, String method, String path,
+                                            Map<String, String> headers, String body) {
+        long now = System.currentTimeMillis();
+        AttributeContext.HttpRequest.Builder httpRequest = AttributeContext.HttpRequest.newBuilder()
+                .setId(UUID.randomUUID().toString()).setMethod(method).setPath(path).setHost(VHOST)
+                .putAllHeaders(headers);
+        if (body != null) {
+            httpRequest.setRawBody(ByteString.copyFromUtf8(body));
+        }
+        AttributeContext attributes = AttributeContext.newBuilder()
+                .setSource(AttributeContext.Peer.newBuilder().setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder().setAddress(CLIENT_IP).setPortValue(52000))))
+                .setRequest(AttributeContext.Request.newBuilder().setHttp(httpRequest)
+                        .setTime(Timestamp.newBuilder().setSeconds(now / 1000)))
+                .putContextExtensions(APIConstants.GW_VHOST_PARAM, VHOST)
+                .putContextExtensions(APIConstants.GW_BASE_PATH_PARAM, basePath)
+                .putContextExtensions(APIConstants.GW_VERSION_PARAM, VERSION)
+                .putContextExtensions(APIConstants.GW_RES_PATH_PARAM, pathTemplate)
+                .build();
+        return CheckRequest.newBuilder().setAttributes(attributes).build();
+    }
+
+    private static Api restApi() {
+        return Api.newBuilder().setId(UUID.randomUUID().toString()).setTitle("PetStore").setVersion(VERSION)
+                .setApiType(APIConstants.ApiType.REST).setBasePath(REST_BASE_PATH).setVhost(VHOST)
+                .setApiLifeCycleState("PUBLISHED").setOrganizationId("carbon.super")
+                .addResources(resource("/pets", "GET", "POST"))
+                .addResources(resource("/pets/{petId}", "GET", "PUT", "DELETE"))
+                .addResources(resource("/stores/{storeId}/inventory", "GET"))
+                .build();
+    }
+
+    private static Api graphQLApi() {
+        return Api.newBuilder().setId(UUID.randomUUID().toString()).setTitle("StarWars").setVersion(VERSION)
+                .setApiType(APIConstants.ApiType.GRAPHQL).setBasePath(GRAPHQL_BASE_PATH).setVhost(VHOST)
+                .setApiLifeCycleState("PUBLISHED").setOrganizationId("carbon.super")
+                .setGraphQLSchema(GRAPHQL_SCHEMA)
+                .addResources(resource("hero", "QUERY"))
+                .addResources(resource("droid", "QUERY"))
+                .build();
+    }
+
+    private static Api webSocketApi() {
+        return Api.newBuilder().setId(UUID.randomUUID().toString()).setTitle("Chat").setVersion(VERSION)
+                .setApiType(APIConstants.ApiType.WEB_SOCKET).setBasePath(WEBSOCKET_BASE_PATH).setVhost(VHOST)
+                .setApiLifeCycleState("PUBLISHED").setOrganizationId("carbon.super").setTier(RESOURCE_TIER)
+                .addResources(resource("/*", "GET"))
+                .build();
+    }
+
+    private static Resource resource(String path, String... methods) {
+        Resource.Builder resource = Resource.newBuilder().setId(UUID.randomUUID().toString()).setPath(path);
+        for (String method : methods) {
+            resource.addMethods(Operation.newBuilder().setMethod(method).setTier(RESOURCE_TIER));
+        }
+        return resource.build();
+    }
+
+    private static Path copyToTempFile(String resource) {
+        try (InputStream content = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (content == null) {
+                throw new IllegalStateException("Benchmark resource not found: " + resource);
+            }
+            Path file = Files.createTempFile("enforcer-benchmark", ".pem");
+            file.toFile().deleteOnExit();
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.choreo.connect.enforcer.config.dto.ThreadPoolConfig;
+import org.wso2.choreo.connect.enforcer.server.EnforcerExecutors;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the executor modes of {@link EnforcerExecutors} for a burst of requests which block on an outbound call
+ * (OPA, JWKS, token introspection etc.). The virtual thread modes fall back to the platform thread pool on runtimes
+ * without virtual thread support, hence this benchmark should be run on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EnforcerExecutorsBenchmark {
+
+    // The bounded virtual mode uses the same executor as the virtual mode and limits the calls in an interceptor
+    @Param({EnforcerExecutors.PLATFORM_MODE, EnforcerExecutors.VIRTUAL_MODE})
+    public String mode;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    @Param({"2000"})
+    public long blockingMicros;
+
+    private Executor executor;
+
+    @Setup
+    public void setup() {
+        System.setProperty(EnforcerExecutors.EXECUTOR_MODE, mode);
+        // defaults of the auth service thread pool in the enforcer configuration
+        ThreadPoolConfig threadPoolConfig = new ThreadPoolConfig();
+        threadPoolConfig.setCoreSize(400);
+        threadPoolConfig.setMaxSize(500);
+        threadPoolConfig.setKeepAliveTime(600);
+        threadPoolConfig.setQueueSize(1000);
+        executor = EnforcerExecutors.createExecutor(threadPoolConfig, "Benchmark", "benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void blockingRequests() throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(concurrentRequests);
+        long blockingNanos = TimeUnit.MICROSECONDS.toNanos(blockingMicros);
+        for (int i = 0; i < concurrentRequests; i++) {
+            executor.execute(() -> {
+                LockSupport.parkNanos(blockingNanos);
+                completed.countDown();
+            });
+        }
+        completed.await();
+    }
+}
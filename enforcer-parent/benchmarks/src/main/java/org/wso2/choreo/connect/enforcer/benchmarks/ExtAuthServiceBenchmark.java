@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import io.envoyproxy.envoy.service.auth.v3.CheckRequest;
+import io.envoyproxy.envoy.service.auth.v3.CheckResponse;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
+import org.wso2.choreo.connect.enforcer.grpc.ExtAuthService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the ext_authz entry point {@link ExtAuthService#check(CheckRequest, StreamObserver)}, i.e. the request
+ * processing and the construction of the {@link CheckResponse}, for a request allowed with a JWT whose validation
+ * result is already cached and a request denied for missing credentials.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtAuthServiceBenchmark {
+
+    @Param({"OK", "DENIED"})
+    public String response;
+
+    private ExtAuthService extAuthService;
+    private CheckRequest checkRequest;
+    private final ResponseHolder responseHolder = new ResponseHolder();
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.init();
+        extAuthService = new ExtAuthService();
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HttpConstants.X_REQUEST_ID_HEADER, "4b3f8b2c-5d1e-4f0a-9a6c-1f2e3d4c5b6a");
+        headers.put("accept", "application/json");
+        if ("OK".equals(response)) {
+            headers.put(APIConstants.AUTHORIZATION_HEADER_DEFAULT.toLowerCase(),
+                    "Bearer " + BenchmarkFixtures.signedToken());
+        }
+        checkRequest = BenchmarkFixtures.checkRequest(BenchmarkFixtures.REST_BASE_PATH, "/pets/{petId}", "GET",
+                BenchmarkFixtures.REST_BASE_PATH + "/pets/42?expand=owner&limit=10", headers, null);
+        // the first request validates the token and populates the token caches
+        extAuthService.check(checkRequest, responseHolder);
+        if (responseHolder.error != null) {
+            throw new IllegalStateException("Error while processing the check request", responseHolder.error);
+        }
+    }
+
+    @Benchmark
+    public CheckResponse check() {
+        extAuthService.check(checkRequest, responseHolder);
+        return responseHolder.response;
+    }
+
+    /**
+     * Keeps the last response sent for the check requests, which are completed on the calling thread since none of
+     * the filters of the API wait on I/O.
+     */
+    private static class ResponseHolder implements StreamObserver<CheckResponse> {
+        private CheckResponse response;
+        private Throwable error;
+
+        @Override
+        public void onNext(CheckResponse value) {
+            response = value;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
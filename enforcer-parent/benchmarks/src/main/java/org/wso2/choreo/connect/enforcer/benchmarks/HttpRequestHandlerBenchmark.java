@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import io.envoyproxy.envoy.service.auth.v3.CheckRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.choreo.connect.enforcer.api.ResponseObject;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
+import org.wso2.choreo.connect.enforcer.server.HttpRequestHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the complete ext_authz request processing of {@link HttpRequestHandler#process(CheckRequest)}, i.e.
+ * API matching, request context creation and the filter chain, for REST, GraphQL and WebSocket upgrade requests
+ * authenticated with a JWT whose validation result is already cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpRequestHandlerBenchmark {
+
+    @Param({"REST", "GRAPHQL", "WEBSOCKET"})
+    public String apiType;
+
+    private HttpRequestHandler requestHandler;
+    private CheckRequest checkRequest;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.init();
+        requestHandler = new HttpRequestHandler();
+        Map<String, String> headers = new HashMap<>();
+        headers.put(APIConstants.AUTHORIZATION_HEADER_DEFAULT.toLowerCase(),
+                "Bearer " + BenchmarkFixtures.signedToken());
+        headers.put(HttpConstants.X_REQUEST_ID_HEADER, "4b3f8b2c-5d1e-4f0a-9a6c-1f2e3d4c5b6a");
+        headers.put("user-agent", "jmh");
+        headers.put("accept", "application/json");
+        switch (apiType) {
+            case "GRAPHQL":
+                headers.put(APIConstants.CONTENT_TYPE_HEADER, APIConstants.APPLICATION_JSON);
+                checkRequest = BenchmarkFixtures.checkRequest(BenchmarkFixtures.GRAPHQL_BASE_PATH, "/", "POST",
+                        BenchmarkFixtures.GRAPHQL_BASE_PATH, headers, BenchmarkFixtures.GRAPHQL_PAYLOAD);
+                break;
+            case "WEBSOCKET":
+                headers.put(APIConstants.UPGRADE_HEADER, APIConstants.WEBSOCKET);
+                headers.put("connection", "Upgrade");
+                headers.put("sec-websocket-version", "13");
+                headers.put("sec-websocket-key", "dGhlIHNhbXBsZSBub25jZQ==");
+                checkRequest = BenchmarkFixtures.checkRequest(BenchmarkFixtures.WEBSOCKET_BASE_PATH, "/*", "GET",
+                        BenchmarkFixtures.WEBSOCKET_BASE_PATH + "/notifications", headers, null);
+                break;
+            default:
+                checkRequest = BenchmarkFixtures.checkRequest(BenchmarkFixtures.REST_BASE_PATH, "/pets/{petId}",
+                        "GET", BenchmarkFixtures.REST_BASE_PATH + "/pets/42?expand=owner&limit=10", headers, null);
+        }
+        // the first request validates the token and populates the token caches
+        requestHandler.process(checkRequest);
+    }
+
+    @Benchmark
+    public ResponseObject process() {
+        return requestHandler.process(checkRequest);
+    }
+}
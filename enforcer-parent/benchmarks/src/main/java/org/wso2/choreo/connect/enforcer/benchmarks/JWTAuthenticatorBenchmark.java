@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.choreo.connect.enforcer.api.API;
+import org.wso2.choreo.connect.enforcer.api.APIFactory;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.commons.model.AuthenticationContext;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.security.jwt.JWTAuthenticator;
+import org.wso2.choreo.connect.enforcer.security.jwt.validator.JWKSKeyStore;
+import org.wso2.choreo.connect.enforcer.util.JWTUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JWTAuthenticator#authenticate(RequestContext)} with a cold cache, where the token is parsed and
+ * its signature is verified on each invocation, and with a warm cache, where the cached validation result is used.
+ * The cold cache also drops the signature verification results, the signature verifiers, the certificates read from
+ * the truststore and the JWKS keys of the issuers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTAuthenticatorBenchmark {
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private JWTAuthenticator jwtAuthenticator;
+    private RequestContext requestContext;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkFixtures.init();
+        jwtAuthenticator = new JWTAuthenticator();
+        API api = BenchmarkFixtures.getApi(BenchmarkFixtures.REST_BASE_PATH);
+        ArrayList<ResourceConfig> resourceConfigs = new ArrayList<>();
+        resourceConfigs.add(APIFactory.getInstance().getMatchedResource(api, "/pets/{petId}", "GET"));
+        Map<String, String> headers = new HashMap<>();
+        headers.put(APIConstants.AUTHORIZATION_HEADER_DEFAULT.toLowerCase(),
+                "Bearer " + BenchmarkFixtures.signedToken());
+        requestContext = new RequestContext.Builder(BenchmarkFixtures.REST_BASE_PATH + "/pets/42")
+                .matchedAPI(api.getAPIConfig()).matchedResourceConfigs(resourceConfigs).requestMethod("GET")
+                .pathTemplate("/pets/{petId}").headers(headers).address(BenchmarkFixtures.CLIENT_IP).build();
+        jwtAuthenticator.authenticate(requestContext);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCaches() {
+        if ("cold".equals(cache)) {
+            CacheProvider.invalidateAll();
+            JWTUtils.invalidateVerifiers();
+            JWKSKeyStore.getInstance().invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public AuthenticationContext authenticate() throws Exception {
+        return jwtAuthenticator.authenticate(requestContext);
+    }
+}
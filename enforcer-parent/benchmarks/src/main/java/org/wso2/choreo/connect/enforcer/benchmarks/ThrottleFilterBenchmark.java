@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.choreo.connect.enforcer.api.API;
+import org.wso2.choreo.connect.enforcer.api.APIFactory;
+import org.wso2.choreo.connect.enforcer.commons.model.AuthenticationContext;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
+import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
+import org.wso2.choreo.connect.enforcer.config.dto.ThrottleConfigDto;
+import org.wso2.choreo.connect.enforcer.throttle.ThrottleDataHolder;
+import org.wso2.choreo.connect.enforcer.throttle.ThrottleFilter;
+import org.wso2.choreo.connect.enforcer.throttle.dto.ThrottleCondition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ThrottleFilter#handleRequest(RequestContext)} for a request which is not throttled, with a
+ * varying number of advanced throttling condition groups on the matched resource and custom throttle key templates.
+ * Each condition group and key template has an active throttle decision from the traffic manager, so that the
+ * conditions are evaluated and the key templates are rendered. None of the conditions match the request and none of
+ * the rendered keys are throttled, hence all of them are evaluated.
+ * <p>
+ * Publishing the throttle events needs a traffic manager, hence the filter is enabled with the local rate limiting
+ * instead of the global throttling. The throttle decision is evaluated the same way in both cases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThrottleFilterBenchmark {
+    private static final String LOCAL_RATE_LIMITING_ENABLED = "choreo.connect.throttle.local.enabled";
+
+    @Param({"0", "8", "32"})
+    public int conditionGroups;
+
+    @Param({"0", "4", "16"})
+    public int keyTemplates;
+
+    private ThrottleFilter throttleFilter;
+    private RequestContext requestContext;
+
+    @Setup
+    public void setup() {
+        // read when the filters of the APIs are created
+        System.setProperty(LOCAL_RATE_LIMITING_ENABLED, "true");
+        BenchmarkFixtures.init();
+        ThrottleConfigDto throttleConfig = ConfigHolder.getInstance().getConfig().getThrottleConfig();
+        throttleConfig.setHeaderConditionsEnabled(true);
+        throttleConfig.setQueryConditionsEnabled(true);
+        throttleFilter = new ThrottleFilter();
+
+        API api = BenchmarkFixtures.getApi(BenchmarkFixtures.REST_BASE_PATH);
+        ResourceConfig resourceConfig = APIFactory.getInstance().getMatchedResource(api, "/pets/{petId}", "GET");
+        String resourceThrottleKey = api.getAPIConfig().getBasePath() + "/" + api.getAPIConfig().getVersion()
+                + resourceConfig.getPath() + ':' + resourceConfig.getMethod();
+        ThrottleDataHolder dataHolder = ThrottleDataHolder.getInstance();
+        // The conditions and key templates are only evaluated while there are throttle decisions to match them
+        long resetAt = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        for (int i = 0; i < conditionGroups; i++) {
+            String conditionKey = "condition_" + i;
+            dataHolder.addThrottledConditions(resourceThrottleKey, conditionKey,
+                    Collections.singletonList(headerAndQueryCondition(i)));
+            dataHolder.addThrottleData(resourceThrottleKey + '_' + conditionKey, resetAt);
+        }
+        Map<String, String> templates = new HashMap<>();
+        for (int i = 0; i < keyTemplates; i++) {
+            templates.put("$userId:$apiContext:$apiVersion:$appId:$clientIp:template" + i, "template" + i);
+            // Decision of another user, which does not match the key rendered for the request
+            dataHolder.addThrottleData("other@carbon.super:" + BenchmarkFixtures.REST_BASE_PATH + ':'
+                    + BenchmarkFixtures.VERSION + ":7:" + BenchmarkFixtures.CLIENT_IP + ":template" + i, resetAt);
+        }
+        dataHolder.addKeyTemplates(templates);
+
+        AuthenticationContext authContext = new AuthenticationContext();
+        authContext.setAuthenticated(true);
+        authContext.setUsername("admin");
+        authContext.setSubscriber("admin");
+        authContext.setApplicationId(7);
+        authContext.setApplicationName("DefaultApplication");
+        authContext.setApplicationTier("10PerMin");
+        authContext.setTier("Gold");
+        authContext.setKeyType("PRODUCTION");
+        authContext.setSubscriberTenantDomain("carbon.super");
+        ArrayList<ResourceConfig> resourceConfigs = new ArrayList<>();
+        resourceConfigs.add(resourceConfig);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-tier", "silver");
+        headers.put("accept", "application/json");
+        requestContext = new RequestContext.Builder(BenchmarkFixtures.REST_BASE_PATH + "/pets/42?limit=10")
+                .matchedAPI(api.getAPIConfig()).matchedResourceConfigs(resourceConfigs).requestMethod("GET")
+                .pathTemplate("/pets/{petId}").headers(headers).address(BenchmarkFixtures.CLIENT_IP)
+                .authenticationContext(authContext).build();
+    }
+
+    @Benchmark
+    public boolean handleRequest() {
+        return throttleFilter.handleRequest(requestContext);
+    }
+
+    private static ThrottleCondition headerAndQueryCondition(int index) {
+        ThrottleCondition condition = new ThrottleCondition();
+        ThrottleCondition.HeaderConditions headerConditions = new ThrottleCondition.HeaderConditions();
+        Map<String, String> headerValues = new HashMap<>();
+        headerValues.put("x-tier", "gold-" + index);
+        headerConditions.setValues(headerValues);
+        condition.setHeaderConditions(headerConditions);
+        ThrottleCondition.QueryParamConditions queryConditions = new ThrottleCondition.QueryParamConditions();
+        Map<String, String> queryValues = new HashMap<>();
+        queryValues.put("limit", "[0-9]{3," + (index + 3) + "}");
+        queryConditions.setValues(queryValues);
+        condition.setQueryParameterConditions(queryConditions);
+        return condition;
+    }
+}
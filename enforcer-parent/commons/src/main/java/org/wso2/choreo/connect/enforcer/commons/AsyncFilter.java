@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.choreo.connect.enforcer.commons;
+
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of the {@link Filter}. Filters which need to wait on I/O (i.e. calls to external services)
+ * can implement this interface and return a {@link CompletionStage} which is completed once the request is
+ * processed, so that the enforcer worker thread is not blocked while waiting. The filter chain is resumed on the
+ * thread which completes the stage, hence the implementations should complete it on the enforcer worker executor
+ * rather than on the threads waiting on I/O.
+ */
+public interface AsyncFilter extends Filter {
+
+    /**
+     * Process the request asynchronously.
+     *
+     * @param requestContext request context
+     * @return stage which is completed with true if the filter chain should proceed, false otherwise
+     */
+    CompletionStage<Boolean> handleRequestAsync(RequestContext requestContext);
+
+    /**
+     * Process the request by waiting on the completion of {@link #handleRequestAsync(RequestContext)}. This is used
+     * when the filter is executed within a synchronous filter chain.
+     */
+    @Override
+    default boolean handleRequest(RequestContext requestContext) {
+        return handleRequestAsync(requestContext).toCompletableFuture().join();
+    }
+}
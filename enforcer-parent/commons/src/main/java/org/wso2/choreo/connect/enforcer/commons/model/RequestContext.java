@@ -17,6 +17,7 @@
  */
 package org.wso2.choreo.connect.enforcer.commons.model;
 
+import graphql.language.Document;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
@@ -29,10 +30,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * Holds the set of meta data related to current request flowing through the gateway. This context should be shared
  * through out the complete request flow through the gateway enforcer.
+ * <p>
+ * The query parameters, the path parameters, the client IP and the request payload are resolved when they are read
+ * for the first time, as most of the filters do not read them.
  */
 public class RequestContext {
     private static final Logger logger = LogManager.getLogger(RequestContext.class);
@@ -46,7 +51,9 @@ public class RequestContext {
     private AuthenticationContext authenticationContext;
     private String requestID;
     private String clientIp;
+    private Supplier<String> clientIpSupplier;
     private String requestPayload;
+    private Supplier<String> requestPayloadSupplier;
     private String clientCertificate;
     // Denotes the cluster header name for each environment. Both properties can be null if
     // the openAPI has production endpoints alone.
@@ -59,8 +66,10 @@ public class RequestContext {
     private ArrayList<String> removeHeaders;
     // Consist of web socket frame related data like frame length, remote IP
     private WebSocketFrameContext webSocketFrameContext;
+    private Document graphQLDocument;
     private Map<String, String> queryParameters;
     private Map<String, String> pathParameters;
+    private boolean pathParametersPopulated;
     private ArrayList<String> queryParamsToRemove;
     private boolean removeAllQueryParams;
     private Map<String, String> queryParamsToAdd;
@@ -150,6 +159,10 @@ public class RequestContext {
      * @return Map contains path parameter name and assigned path param value in the request.
      */
     public Map<String, String> getPathParameters() {
+        if (!pathParametersPopulated) {
+            pathParameters = populatePathParameters(matchedAPI.getBasePath(), requestPathTemplate, requestPath);
+            pathParametersPopulated = true;
+        }
         return pathParameters;
     }
 
@@ -171,6 +184,10 @@ public class RequestContext {
      * @return Client IP address
      */
     public String getClientIp() {
+        if (clientIpSupplier != null) {
+            clientIp = clientIpSupplier.get();
+            clientIpSupplier = null;
+        }
         return clientIp;
     }
 
@@ -180,9 +197,24 @@ public class RequestContext {
      * @return request payload (data).
      */
     public String getRequestPayload() {
+        if (requestPayloadSupplier != null) {
+            requestPayload = requestPayloadSupplier.get();
+            requestPayloadSupplier = null;
+        }
         return requestPayload;
     }
 
+    /**
+     * Returns the parsed GraphQL query of the request, which is already validated against the schema of the API.
+     * The query is parsed once when the request is received, hence filters should use this instead of parsing the
+     * request payload.
+     *
+     * @return GraphQL document, or null if the request is not a GraphQL query
+     */
+    public Document getGraphQLDocument() {
+        return graphQLDocument;
+    }
+
     /**
      * Returns the client certificate.
      *
@@ -320,6 +352,9 @@ public class RequestContext {
      * @return query parameters as a map of {@code <param_name, param_value>}
      */
     public Map<String, String> getQueryParameters() {
+        if (queryParameters == null) {
+            queryParameters = populateQueryParameters(requestPath);
+        }
         return queryParameters;
     }
 
@@ -393,6 +428,64 @@ public class RequestContext {
         this.clientCertificate = clientCertificate;
     }
 
+    /**
+     * Create and populate path parameters map.
+     *
+     * @param basePath         basePath of the API
+     * @param resourceTemplate resourceTemplate (as listed in OpenAPI)
+     * @param rawPath          raw request Path
+     * @return map which contains path parameters
+     */
+    private static Map<String, String> populatePathParameters(String basePath, String resourceTemplate,
+                                                              String rawPath) {
+        if (resourceTemplate == null || rawPath == null) {
+            logger.debug("Skip populating the path parameters. template: {}, rawPath: {}", resourceTemplate,
+                    rawPath);
+            return null;
+        }
+        // Format the basePath and resourcePath to maintain consistency
+        String formattedBasePath = basePath.startsWith("/") ? basePath : "/" + basePath;
+        formattedBasePath = formattedBasePath.endsWith("/") ?
+                formattedBasePath.substring(0, formattedBasePath.length() - 1) : formattedBasePath;
+        String formattedResourcePathTemplate = resourceTemplate.startsWith("/") ?
+                resourceTemplate : "/" + resourceTemplate;
+        String formattedRawPath = rawPath.split("\\?")[0];
+
+        String completeResourcePathTemplate = formattedBasePath + formattedResourcePathTemplate;
+        // rawPath would not have the prefix <formattedBasePath> only when it is a default api
+        // request.
+        if (!formattedRawPath.startsWith(formattedBasePath)) {
+            // formatted basePath does not have a trailing slash. Hence the last slash appears right
+            // before the version.
+            String apiContext = formattedBasePath.substring(0, formattedBasePath.lastIndexOf("/"));
+            completeResourcePathTemplate = apiContext + formattedResourcePathTemplate;
+        }
+        final ParameterResolver parameterResolver = new ParameterResolver(completeResourcePathTemplate);
+        return parameterResolver.parametersByName(formattedRawPath);
+    }
+
+    /**
+     * Create and populate query parameters map.
+     *
+     * @param rawPath raw request Path
+     * @return map which contains query parameters
+     */
+    private static Map<String, String> populateQueryParameters(String rawPath) {
+        Map<String, String> queryParameters = new HashMap<>();
+        int queryIndex = rawPath.indexOf('?');
+        if (queryIndex < 0) {
+            return queryParameters;
+        }
+        // Only the part up to the next '?' is parsed, as the query of the request path is split by '?'
+        int queryEnd = rawPath.indexOf('?', queryIndex + 1);
+        List<NameValuePair> queryParams = URLEncodedUtils.parse(rawPath.substring(queryIndex + 1,
+                queryEnd < 0 ? rawPath.length() : queryEnd), StandardCharsets.UTF_8);
+        for (NameValuePair param : queryParams) {
+            queryParameters.put(param.getName(), param.getValue());
+        }
+        return queryParameters;
+    }
+
     /**
      * Implements builder pattern to build an {@link RequestContext} object.
      */
@@ -410,9 +503,12 @@ public class RequestContext {
         private AuthenticationContext authenticationContext = new AuthenticationContext();
         private String requestID;
         private String clientIp;
+        private Supplier<String> clientIpSupplier;
         private String requestPayload;
+        private Supplier<String> requestPayloadSupplier;
         private String clientCertificate;
         private WebSocketFrameContext webSocketFrameContext;
+        private Document graphQLDocument;
 
         public Builder(String requestPath) {
             this.requestPath = requestPath;
@@ -472,6 +568,17 @@ public class RequestContext {
             return this;
         }
 
+        /**
+         * Sets the client IP address to be resolved when it is read for the first time.
+         *
+         * @param addressSupplier supplier of the client IP address
+         * @return builder
+         */
+        public Builder addressSupplier(Supplier<String> addressSupplier) {
+            this.clientIpSupplier = addressSupplier;
+            return this;
+        }
+
         public Builder certificate(String certificate) {
             this.clientCertificate = certificate;
             return this;
@@ -487,6 +594,22 @@ public class RequestContext {
             return this;
         }
 
+        /**
+         * Sets the request payload to be decoded when it is read for the first time.
+         *
+         * @param requestPayloadSupplier supplier of the request payload
+         * @return builder
+         */
+        public Builder requestPayloadSupplier(Supplier<String> requestPayloadSupplier) {
+            this.requestPayloadSupplier = requestPayloadSupplier;
+            return this;
+        }
+
+        public Builder graphQLDocument(Document graphQLDocument) {
+            this.graphQLDocument = graphQLDocument;
+            return this;
+        }
+
         public RequestContext build() {
             RequestContext requestContext = new RequestContext();
             requestContext.matchedResourcePaths = this.matchedResourceConfigs;
@@ -502,7 +625,10 @@ public class RequestContext {
             requestContext.authenticationContext = this.authenticationContext;
             requestContext.requestID = this.requestID;
             requestContext.clientIp = this.clientIp;
+            requestContext.clientIpSupplier = this.clientIpSupplier;
             requestContext.requestPayload = this.requestPayload;
+            requestContext.requestPayloadSupplier = this.requestPayloadSupplier;
+            requestContext.graphQLDocument = this.graphQLDocument;
             requestContext.clientCertificate = this.clientCertificate;
             requestContext.addHeaders = new HashMap<>();
             requestContext.removeHeaders = new ArrayList<>();
@@ -510,18 +636,6 @@ public class RequestContext {
             requestContext.removeAllQueryParams = false;
             requestContext.queryParamsToAdd = new HashMap<>();
             requestContext.protectedHeaders = new ArrayList<>();
-            String[] queryParts = this.requestPath.split("\\?");
-            String queryParamsString = queryParts.length > 1 ? queryParts[1] : "";
-
-            requestContext.queryParameters = new HashMap<>();
-            List<NameValuePair> queryParams = URLEncodedUtils.parse(queryParamsString, StandardCharsets.UTF_8);
-            for (NameValuePair param : queryParams) {
-                requestContext.queryParameters.put(param.getName(), param.getValue());
-            }
-
-            requestContext.pathParameters = populatePathParameters(
-                    matchedAPI.getBasePath(), requestPathTemplate, this.requestPath);
-
             if (this.webSocketFrameContext != null) {
                 requestContext.webSocketFrameContext = this.webSocketFrameContext;
             }
@@ -532,41 +646,5 @@ public class RequestContext {
             this.requestPathTemplate = requestPathTemplate;
             return this;
         }
-
-        /**
-         * Create and populate path parameters map.
-         *
-         * @param basePath         basePath of the API
-         * @param resourceTemplate resourceTemplate (as listed in OpenAPI)
-         * @param rawPath          raw request Path
-         * @return map which contains path parameters
-         */
-        private Map<String, String> populatePathParameters(String basePath, String resourceTemplate,
-                                                           String rawPath) {
-            if (resourceTemplate == null || rawPath == null) {
-                logger.debug("Skip populating the path parameters. template: {}, rawPath: {}", resourceTemplate,
-                        rawPath);
-                return null;
-            }
-            // Format the basePath and resourcePath to maintain consistency
-            String formattedBasePath = basePath.startsWith("/") ? basePath : "/" + basePath;
-            formattedBasePath = formattedBasePath.endsWith("/") ?
-                    formattedBasePath.substring(0, formattedBasePath.length() - 1) : formattedBasePath;
-            String formattedResourcePathTemplate = resourceTemplate.startsWith("/") ?
-                    resourceTemplate : "/" + resourceTemplate;
-            String formattedRawPath = rawPath.split("\\?")[0];
-
-            String completeResourcePathTemplate = formattedBasePath + formattedResourcePathTemplate;
-            // rawPath would not have the prefix <formattedBasePath> only when it is a default api
-            // request.
-            if (!formattedRawPath.startsWith(formattedBasePath)) {
-                // formatted basePath does not have a trailing slash. Hence the last slash appears right
-                // before the version.
-                String apiContext = formattedBasePath.substring(0, formattedBasePath.lastIndexOf("/"));
-                completeResourcePathTemplate = apiContext + formattedResourcePathTemplate;
-            }
-            final ParameterResolver parameterResolver = new ParameterResolver(completeResourcePathTemplate);
-            return parameterResolver.parametersByName(formattedRawPath);
-        }
     }
 }
@@ -107,6 +107,27 @@ public class RequestContextTest {
                 "petId", "12");
     }
 
+    @Test
+    public void testLazilyResolvedRequestData() {
+        int[] payloadReads = {0};
+        RequestContext requestContext = new RequestContext.Builder("/v2/pet/12?status=available&limit=10")
+                .matchedAPI(new APIConfig.Builder("Petstore").basePath("/v2").build())
+                .pathTemplate("/pet/{petId}")
+                .addressSupplier(() -> "192.168.1.1")
+                .requestPayloadSupplier(() -> {
+                    payloadReads[0]++;
+                    return "{}";
+                }).build();
+        Assert.assertEquals(0, payloadReads[0]);
+        Assert.assertEquals("{}", requestContext.getRequestPayload());
+        Assert.assertEquals("{}", requestContext.getRequestPayload());
+        Assert.assertEquals(1, payloadReads[0]);
+        Assert.assertEquals("192.168.1.1", requestContext.getClientIp());
+        Assert.assertEquals("available", requestContext.getQueryParameters().get("status"));
+        Assert.assertEquals("10", requestContext.getQueryParameters().get("limit"));
+        Assert.assertEquals("12", requestContext.getPathParameters().get("petId"));
+    }
+
     private void testPathParamValues(String rawPath, String basePath, String pathTemplate, String pathParamName,
                                      String expectedValue) {
         RequestContext.Builder builder = new RequestContext.Builder(rawPath);
@@ -35,14 +35,11 @@ import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.dto.AnalyticsReceiverConfigDTO;
 import org.wso2.choreo.connect.enforcer.metrics.MetricsUtils;
 import org.wso2.choreo.connect.enforcer.server.Constants;
-import org.wso2.choreo.connect.enforcer.server.EnforcerThreadPoolExecutor;
-import org.wso2.choreo.connect.enforcer.server.NativeThreadFactory;
+import org.wso2.choreo.connect.enforcer.server.EnforcerExecutors;
 import org.wso2.choreo.connect.enforcer.util.TLSUtils;
 
 import java.io.IOException;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -97,26 +94,18 @@ public class AccessLoggingService extends AccessLogServiceGrpc.AccessLogServiceI
                 ConfigHolder.getInstance().getConfig().getAnalyticsConfig().getServerConfig();
         final EventLoopGroup bossGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors());
         final EventLoopGroup workerGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors() * 2);
-        int blockingQueueLength = serverConfig.getThreadPoolConfig().getQueueSize();
-        final BlockingQueue<Runnable> blockingQueue = new LinkedBlockingQueue(blockingQueueLength);
-        final Executor executor =
-                new EnforcerThreadPoolExecutor(serverConfig.getThreadPoolConfig().getCoreSize(),
-                        serverConfig.getThreadPoolConfig().getMaxSize(),
-                        serverConfig.getThreadPoolConfig().getKeepAliveTime(),
-                        TimeUnit.SECONDS,
-                        blockingQueue,
-                        new NativeThreadFactory(new ThreadGroup(Constants.ANALYTICS_THREAD_GROUP),
-                                Constants.ANALYTICS_THREAD_ID));
+        final Executor executor = EnforcerExecutors.createExecutor(serverConfig.getThreadPoolConfig(),
+                Constants.ANALYTICS_THREAD_GROUP, Constants.ANALYTICS_THREAD_ID);
 
-        Server accessLoggerService = NettyServerBuilder
-                .forPort(serverConfig.getPort())
+        Server accessLoggerService = EnforcerExecutors.configureExecutor(
+                        NettyServerBuilder.forPort(serverConfig.getPort()), executor, serverConfig.getThreadPoolConfig())
                 .keepAliveTime(serverConfig.getKeepAliveTime(), TimeUnit.SECONDS)
                 .maxInboundMessageSize(serverConfig.getMaxMessageSize())
                 .bossEventLoopGroup(bossGroup)
                 .workerEventLoopGroup(workerGroup)
                 .addService(this)
                 .sslContext(TLSUtils.buildGRPCServerSSLContext())
-                .channelType(NioServerSocketChannel.class).executor(executor).build();
+                .channelType(NioServerSocketChannel.class).build();
 
         accessLoggerService.start();
         logger.info("Access log Receiver started Listening in port : " + serverConfig.getPort());
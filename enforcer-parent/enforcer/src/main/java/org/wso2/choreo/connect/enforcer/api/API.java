@@ -23,6 +23,8 @@ import org.wso2.choreo.connect.enforcer.commons.model.APIConfig;
 import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Interface to hold different API types. This can REST, gRPC, graphql and etc.
@@ -34,8 +36,28 @@ public interface API {
 
     ResponseObject process(RequestContext requestContext);
 
+    /**
+     * Process the request without blocking the calling thread on the {@link
+     * org.wso2.choreo.connect.enforcer.commons.AsyncFilter}s of the filter chain.
+     *
+     * @param requestContext request context
+     * @return stage completed with the response
+     */
+    default CompletionStage<ResponseObject> processAsync(RequestContext requestContext) {
+        return CompletableFuture.completedFuture(process(requestContext));
+    }
+
     APIConfig getAPIConfig();
 
+    /**
+     * Index of the resources of the API, built when the API is initialized.
+     *
+     * @return resource index, or null if the API does not index its resources
+     */
+    default ResourceIndex getResourceIndex() {
+        return null;
+    }
+
     default boolean executeFilterChain(RequestContext requestContext) {
         boolean proceed;
         for (Filter filter : getFilters()) {
@@ -46,4 +68,8 @@ public interface API {
         }
         return true;
     }
+
+    default CompletionStage<Boolean> executeFilterChainAsync(RequestContext requestContext) {
+        return FilterChainExecutor.execute(getFilters(), requestContext);
+    }
 }
@@ -40,7 +40,8 @@ public class APIFactory {
     private static final Logger logger = LogManager.getLogger(APIFactory.class);
 
     private static APIFactory apiFactory;
-    private ConcurrentHashMap<String, API> apis = new ConcurrentHashMap<>();
+    // Replaced as a whole when a new snapshot of the APIs is received
+    private volatile ConcurrentHashMap<String, API> apis = new ConcurrentHashMap<>();
 
     private APIFactory() {}
 
@@ -120,6 +121,10 @@ public class APIFactory {
     }
 
     public ResourceConfig getMatchedResource(API api, String matchedResourcePath, String method) {
+        ResourceIndex resourceIndex = api.getResourceIndex();
+        if (resourceIndex != null) {
+            return resourceIndex.getMatchedResource(matchedResourcePath, method);
+        }
         List<ResourceConfig> resourceConfigList = api.getAPIConfig().getResources();
         return resourceConfigList.stream()
                 .filter(resourceConfig -> resourceConfig.getPath().equals(matchedResourcePath)).
@@ -144,6 +149,6 @@ public class APIFactory {
     }
 
     private String getApiKey(String vhost, String basePath, String version) {
-        return String.format("%s:%s:%s", vhost, basePath, version);
+        return vhost + ':' + basePath + ':' + version;
     }
 }
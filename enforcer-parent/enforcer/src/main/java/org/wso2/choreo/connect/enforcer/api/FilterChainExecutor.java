@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.choreo.connect.enforcer.api;
+
+import org.wso2.choreo.connect.enforcer.commons.AsyncFilter;
+import org.wso2.choreo.connect.enforcer.commons.Filter;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.util.ExecutionContextSnapshot;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Executes a filter chain where some of the filters may be {@link AsyncFilter}s. Synchronous filters are executed
+ * on the calling thread and, once an asynchronous filter returns a stage that is not yet completed, the rest of the
+ * chain is resumed on the thread completing that stage with the request context of the calling thread.
+ */
+public class FilterChainExecutor {
+
+    private static final CompletionStage<Boolean> PROCEED = CompletableFuture.completedStage(true);
+    private static final CompletionStage<Boolean> STOP = CompletableFuture.completedStage(false);
+
+    private FilterChainExecutor() {
+    }
+
+    /**
+     * Executes the given filters in order.
+     *
+     * @param filters        filters to execute
+     * @param requestContext request context
+     * @return stage completed with true if all the filters allowed the request to proceed
+     */
+    public static CompletionStage<Boolean> execute(List<Filter> filters, RequestContext requestContext) {
+        return execute(filters, 0, requestContext);
+    }
+
+    private static CompletionStage<Boolean> execute(List<Filter> filters, int startIndex,
+                                                    RequestContext requestContext) {
+        for (int i = startIndex; i < filters.size(); i++) {
+            Filter filter = filters.get(i);
+            if (!(filter instanceof AsyncFilter)) {
+                if (!filter.handleRequest(requestContext)) {
+                    return STOP;
+                }
+                continue;
+            }
+            CompletableFuture<Boolean> stage = ((AsyncFilter) filter).handleRequestAsync(requestContext)
+                    .toCompletableFuture();
+            if (stage.isDone() && !stage.isCompletedExceptionally()) {
+                // Avoid the continuation overhead for the filters which could complete without waiting
+                if (!stage.join()) {
+                    return STOP;
+                }
+                continue;
+            }
+            int nextIndex = i + 1;
+            ExecutionContextSnapshot contextSnapshot = ExecutionContextSnapshot.capture();
+            return stage.thenCompose(contextSnapshot.wrap(proceed ->
+                    proceed ? execute(filters, nextIndex, requestContext) : STOP));
+        }
+        return PROCEED;
+    }
+
+    /**
+     * Applies the given function to the result of the filter chain. If the filter chain is already completed, the
+     * function is applied on the calling thread, otherwise on the thread completing the filter chain with the
+     * request context of the calling thread.
+     *
+     * @param filterChainResult result of the filter chain
+     * @param function          function to apply
+     * @param <T>               result type
+     * @return stage completed with the result of the function
+     */
+    public static <T> CompletionStage<T> thenApply(CompletionStage<Boolean> filterChainResult,
+                                                   Function<Boolean, T> function) {
+        CompletableFuture<Boolean> future = filterChainResult.toCompletableFuture();
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return CompletableFuture.completedFuture(function.apply(future.join()));
+        }
+        return future.thenApply(ExecutionContextSnapshot.capture().wrap(function));
+    }
+}
@@ -50,6 +50,9 @@ import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
 import org.wso2.choreo.connect.enforcer.cors.CorsFilter;
 import org.wso2.choreo.connect.enforcer.graphql.GraphQLPayloadUtils;
 import org.wso2.choreo.connect.enforcer.graphql.GraphQLQueryAnalysisFilter;
+import org.wso2.choreo.connect.enforcer.graphql.GraphQLQueryCache;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsManager;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsUtils;
 import org.wso2.choreo.connect.enforcer.security.AuthFilter;
 import org.wso2.choreo.connect.enforcer.security.mtls.MtlsUtils;
 import org.wso2.choreo.connect.enforcer.throttle.ThrottleFilter;
@@ -64,6 +67,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Specific implementation for a Rest API type APIs.
@@ -72,6 +77,8 @@ public class GraphQLAPI implements API {
     private static final Logger logger = LogManager.getLogger(GraphQLAPI.class);
     private final List<Filter> filters = new ArrayList<>();
     private APIConfig apiConfig;
+    private ResourceIndex resourceIndex;
+    private GraphQLQueryCache queryCache;
 
     @Override
     public List<Filter> getFilters() {
@@ -172,16 +179,34 @@ public class GraphQLAPI implements API {
                 .securitySchemeDefinitions(securitySchemeDefinitions).graphQLSchemaDTO(graphQLSchemaDTO)
                 .trustStore(trustStore).mtlsCertificateTiers(mtlsCertificateTiers).mutualSSL(mutualSSL)
                 .applicationSecurity(applicationSecurity).build();
+        this.resourceIndex = new ResourceIndex(resources);
+        this.queryCache = new GraphQLQueryCache();
         initFilters();
         return basePath;
     }
 
     @Override
     public ResponseObject process(RequestContext requestContext) {
-        ResponseObject responseObject = new ResponseObject(requestContext.getRequestID());
-        responseObject.setRequestPath(requestContext.getRequestPath());
-        boolean analyticsEnabled = ConfigHolder.getInstance().getConfig().getAnalyticsConfig().isEnabled();
+        boolean proceed = prepareFilterChain(requestContext) && executeFilterChain(requestContext);
+        return buildResponseObject(requestContext, proceed);
+    }
+
+    @Override
+    public CompletionStage<ResponseObject> processAsync(RequestContext requestContext) {
+        if (!prepareFilterChain(requestContext)) {
+            return CompletableFuture.completedFuture(buildResponseObject(requestContext, false));
+        }
+        return FilterChainExecutor.thenApply(executeFilterChainAsync(requestContext),
+                proceed -> buildResponseObject(requestContext, proceed));
+    }
 
+    /**
+     * Populates the headers to be removed and sets the error details if the request does not match any resource.
+     *
+     * @param requestContext request context
+     * @return whether the filter chain should be executed for the request
+     */
+    private boolean prepareFilterChain(RequestContext requestContext) {
         populateRemoveAndProtectedHeaders(requestContext);
         boolean isExistsMatchedOperations = requestContext.getMatchedResourcePaths() != null &&
                 requestContext.getMatchedResourcePaths().size() > 0;
@@ -200,19 +225,31 @@ public class GraphQLAPI implements API {
             requestContext.getProperties().put(APIConstants.MessageFormat.ERROR_DESCRIPTION,
                     APIConstants.NOT_FOUND_DESCRIPTION);
         }
+        return isExistsMatchedOperations || isOptionCall;
+    }
 
-        if ((isExistsMatchedOperations || isOptionCall) && executeFilterChain(requestContext)) {
+    private ResponseObject buildResponseObject(RequestContext requestContext, boolean proceed) {
+        ResponseObject responseObject = new ResponseObject(requestContext.getRequestID());
+        responseObject.setRequestPath(requestContext.getRequestPath());
+        boolean analyticsEnabled = ConfigHolder.getInstance().getConfig().getAnalyticsConfig().isEnabled();
+
+        if (proceed) {
             responseObject.setRemoveHeaderMap(requestContext.getRemoveHeaders());
             responseObject.setQueryParamsToRemove(requestContext.getQueryParamsToRemove());
             responseObject.setRemoveAllQueryParams(requestContext.isRemoveAllQueryParams());
             responseObject.setQueryParamsToAdd(requestContext.getQueryParamsToAdd());
-            responseObject.setQueryParamMap(requestContext.getQueryParameters());
+            if (!requestContext.getQueryParamsToRemove().isEmpty() || !requestContext.getQueryParamsToAdd().isEmpty()) {
+                // The query parameters are only required to rebuild the path with the modified query parameters
+                responseObject.setQueryParamMap(requestContext.getQueryParameters());
+            }
             responseObject.setStatusCode(APIConstants.StatusCodes.OK.getCode());
             if (requestContext.getAddHeaders() != null && requestContext.getAddHeaders().size() > 0) {
                 responseObject.setHeaderMap(requestContext.getAddHeaders());
             }
             if (analyticsEnabled) {
                 AnalyticsFilter.getInstance().handleSuccessRequest(requestContext);
+            } else if (MetricsManager.isMetricsEnabled()) {
+                MetricsUtils.addAPIMetadata(requestContext);
             }
             // set metadata for interceptors
             responseObject.setMetaDataMap(requestContext.getMetadataMap());
@@ -249,6 +286,20 @@ public class GraphQLAPI implements API {
         return this.apiConfig;
     }
 
+    @Override
+    public ResourceIndex getResourceIndex() {
+        return this.resourceIndex;
+    }
+
+    /**
+     * Cache of the queries validated against the schema of this API.
+     *
+     * @return query cache
+     */
+    public GraphQLQueryCache getQueryCache() {
+        return this.queryCache;
+    }
+
     private void initFilters() {
         AuthFilter authFilter = new AuthFilter();
         authFilter.init(apiConfig, null);
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.api;
+
+import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of the resources of an API, from the path template and the method to the {@link ResourceConfig}.
+ * It is built once when the API is initialized, so that matching the resource of a request does not go through all
+ * the resources of the API.
+ */
+public class ResourceIndex {
+
+    private static final Map<String, ResourceConfig.HttpMethods> HTTP_METHODS;
+
+    static {
+        Map<String, ResourceConfig.HttpMethods> httpMethods = new HashMap<>();
+        for (ResourceConfig.HttpMethods httpMethod : ResourceConfig.HttpMethods.values()) {
+            httpMethods.put(httpMethod.name(), httpMethod);
+        }
+        HTTP_METHODS = Collections.unmodifiableMap(httpMethods);
+    }
+
+    private final Map<String, Map<ResourceConfig.HttpMethods, ResourceConfig>> resourcesByPath;
+    // The first resource of each path, which is returned if the method is not given
+    private final Map<String, ResourceConfig> firstResourceByPath;
+
+    public ResourceIndex(List<ResourceConfig> resources) {
+        Map<String, Map<ResourceConfig.HttpMethods, ResourceConfig>> resourcesByPath = new HashMap<>();
+        Map<String, ResourceConfig> firstResourceByPath = new HashMap<>();
+        for (ResourceConfig resource : resources) {
+            firstResourceByPath.putIfAbsent(resource.getPath(), resource);
+            if (resource.getMethod() == null) {
+                continue;
+            }
+            resourcesByPath.computeIfAbsent(resource.getPath(), path -> new EnumMap<>(ResourceConfig.HttpMethods.class))
+                    .putIfAbsent(resource.getMethod(), resource);
+        }
+        this.resourcesByPath = resourcesByPath;
+        this.firstResourceByPath = firstResourceByPath;
+    }
+
+    /**
+     * Returns the resource matching the path template and the method.
+     *
+     * @param path   path template of the resource
+     * @param method name of the {@link ResourceConfig.HttpMethods}, or null to match any method
+     * @return matching resource or null if there is no match
+     * @throws IllegalArgumentException if the method is not a {@link ResourceConfig.HttpMethods}
+     */
+    public ResourceConfig getMatchedResource(String path, String method) {
+        if (method == null) {
+            return firstResourceByPath.get(path);
+        }
+        Map<ResourceConfig.HttpMethods, ResourceConfig> resourcesByMethod = resourcesByPath.get(path);
+        if (resourcesByMethod == null) {
+            return null;
+        }
+        ResourceConfig.HttpMethods httpMethod = HTTP_METHODS.get(method);
+        if (httpMethod == null) {
+            // Fails the same way as a linear search of the resources
+            httpMethod = ResourceConfig.HttpMethods.valueOf(method);
+        }
+        return resourcesByMethod.get(httpMethod);
+    }
+}
@@ -47,6 +47,8 @@ import org.wso2.choreo.connect.enforcer.constants.Constants;
 import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
 import org.wso2.choreo.connect.enforcer.cors.CorsFilter;
 import org.wso2.choreo.connect.enforcer.interceptor.MediationPolicyFilter;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsManager;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsUtils;
 import org.wso2.choreo.connect.enforcer.security.AuthFilter;
 import org.wso2.choreo.connect.enforcer.security.mtls.MtlsUtils;
 import org.wso2.choreo.connect.enforcer.throttle.ThrottleFilter;
@@ -62,6 +64,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Specific implementation for a Rest API type APIs.
@@ -70,6 +74,7 @@ public class RestAPI implements API {
     private static final Logger logger = LogManager.getLogger(RestAPI.class);
     private final List<Filter> filters = new ArrayList<>();
     private APIConfig apiConfig;
+    private ResourceIndex resourceIndex;
     private String apiLifeCycleState;
 
     @Override
@@ -182,6 +187,7 @@ public class RestAPI implements API {
                 .trustStore(trustStore).organizationId(api.getOrganizationId())
                 .mtlsCertificateTiers(mtlsCertificateTiers).mutualSSL(mutualSSL)
                 .applicationSecurity(applicationSecurity).endpointType(endpointType).build();
+        this.resourceIndex = new ResourceIndex(resources);
 
         initFilters();
         return basePath;
@@ -189,10 +195,26 @@ public class RestAPI implements API {
 
     @Override
     public ResponseObject process(RequestContext requestContext) {
-        ResponseObject responseObject = new ResponseObject(requestContext.getRequestID());
-        responseObject.setRequestPath(requestContext.getRequestPath());
-        boolean analyticsEnabled = ConfigHolder.getInstance().getConfig().getAnalyticsConfig().isEnabled();
+        boolean proceed = prepareFilterChain(requestContext) && executeFilterChain(requestContext);
+        return buildResponseObject(requestContext, proceed);
+    }
 
+    @Override
+    public CompletionStage<ResponseObject> processAsync(RequestContext requestContext) {
+        if (!prepareFilterChain(requestContext)) {
+            return CompletableFuture.completedFuture(buildResponseObject(requestContext, false));
+        }
+        return FilterChainExecutor.thenApply(executeFilterChainAsync(requestContext),
+                proceed -> buildResponseObject(requestContext, proceed));
+    }
+
+    /**
+     * Populates the headers to be removed and sets the error details if the request does not match any resource.
+     *
+     * @param requestContext request context
+     * @return whether the filter chain should be executed for the request
+     */
+    private boolean prepareFilterChain(RequestContext requestContext) {
         populateRemoveAndProtectedHeaders(requestContext);
         boolean isExistsMatchedResourcePath = requestContext.getMatchedResourcePaths() != null &&
                 requestContext.getMatchedResourcePaths().size() > 0;
@@ -209,18 +231,31 @@ public class RestAPI implements API {
             requestContext.getProperties().put(APIConstants.MessageFormat.ERROR_DESCRIPTION,
                     APIConstants.NOT_FOUND_DESCRIPTION);
         }
-        if ((isExistsMatchedResourcePath || isOptionCall) && executeFilterChain(requestContext)) {
+        return isExistsMatchedResourcePath || isOptionCall;
+    }
+
+    private ResponseObject buildResponseObject(RequestContext requestContext, boolean proceed) {
+        ResponseObject responseObject = new ResponseObject(requestContext.getRequestID());
+        responseObject.setRequestPath(requestContext.getRequestPath());
+        boolean analyticsEnabled = ConfigHolder.getInstance().getConfig().getAnalyticsConfig().isEnabled();
+
+        if (proceed) {
             responseObject.setRemoveHeaderMap(requestContext.getRemoveHeaders());
             responseObject.setQueryParamsToRemove(requestContext.getQueryParamsToRemove());
             responseObject.setRemoveAllQueryParams(requestContext.isRemoveAllQueryParams());
             responseObject.setQueryParamsToAdd(requestContext.getQueryParamsToAdd());
-            responseObject.setQueryParamMap(requestContext.getQueryParameters());
+            if (!requestContext.getQueryParamsToRemove().isEmpty() || !requestContext.getQueryParamsToAdd().isEmpty()) {
+                // The query parameters are only required to rebuild the path with the modified query parameters
+                responseObject.setQueryParamMap(requestContext.getQueryParameters());
+            }
             responseObject.setStatusCode(APIConstants.StatusCodes.OK.getCode());
             if (requestContext.getAddHeaders() != null && requestContext.getAddHeaders().size() > 0) {
                 responseObject.setHeaderMap(requestContext.getAddHeaders());
             }
             if (analyticsEnabled) {
                 AnalyticsFilter.getInstance().handleSuccessRequest(requestContext);
+            } else if (MetricsManager.isMetricsEnabled()) {
+                MetricsUtils.addAPIMetadata(requestContext);
             }
             // set metadata for interceptors
             responseObject.setMetaDataMap(requestContext.getMetadataMap());
@@ -262,6 +297,11 @@ public class RestAPI implements API {
         return this.apiConfig;
     }
 
+    @Override
+    public ResourceIndex getResourceIndex() {
+        return this.resourceIndex;
+    }
+
     private MockedApiConfig getMockedApiOperationConfig(
             org.wso2.choreo.connect.discovery.api.MockedApiConfig mockedApiConfig, String operationName) {
         MockedApiConfig configData = new MockedApiConfig();
@@ -39,6 +39,8 @@ import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.cors.CorsFilter;
 import org.wso2.choreo.connect.enforcer.interceptor.MediationPolicyFilter;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsManager;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsUtils;
 import org.wso2.choreo.connect.enforcer.security.AuthFilter;
 import org.wso2.choreo.connect.enforcer.throttle.ThrottleConstants;
 import org.wso2.choreo.connect.enforcer.throttle.ThrottleFilter;
@@ -158,6 +160,8 @@ public class WebSocketAPI implements API {
         if (executeFilterChain(requestContext)) {
             if (analyticsEnabled) {
                 AnalyticsFilter.getInstance().handleSuccessRequest(requestContext);
+            } else if (MetricsManager.isMetricsEnabled()) {
+                MetricsUtils.addAPIMetadata(requestContext);
             }
             responseObject.setStatusCode(APIConstants.StatusCodes.OK.getCode());
             responseObject.setQueryParamsToAdd(requestContext.getQueryParamsToAdd());
@@ -18,84 +18,201 @@
 
 package org.wso2.choreo.connect.enforcer.common;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
 import org.wso2.carbon.apimgt.common.gateway.dto.JWTValidationInfo;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.dto.CacheDto;
+import org.wso2.choreo.connect.enforcer.dto.JWTTokenPayloadInfo;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.CacheMetrics;
 import org.wso2.choreo.connect.enforcer.security.jwt.SignedJWTInfo;
-import org.wso2.choreo.connect.enforcer.security.jwt.validator.JWTConstants;
+import org.wso2.choreo.connect.enforcer.util.BackendJwtUtils;
+import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+import org.wso2.choreo.connect.enforcer.util.JWTUtils;
 
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Class for initiating and returning caches.
+ * <p>
+ * All the caches expire the entries which are not accessed within the configured expiry time. The number of
+ * entries of each cache is limited by the configured maximum size, which can be overridden per cache with the
+ * {@code choreo.connect.cache.<name>.maxSize} system property. Setting {@code choreo.connect.cache.<name>.maxWeight}
+ * limits the cache by the total length of the cached tokens instead. The caches of validated tokens also expire
+ * each entry when the token expires.
  */
 public class CacheProvider {
-    private static LoadingCache<String, SignedJWTInfo> gatewaySignedJWTParseCache;
-    private static LoadingCache<String, String> gatewayTokenCache;
-    private static LoadingCache<String, JWTValidationInfo> gatewayKeyCache;
-    private static LoadingCache<String, Boolean> invalidTokenCache;
-    private static LoadingCache<String, JWTValidationInfo> gatewayJWTTokenCache;
-    private static LoadingCache<String, String> getGatewayInternalKeyCache;
-    private static LoadingCache<String, String> getInvalidGatewayInternalKeyCache;
-    private static LoadingCache<String, JWTValidationInfo> getGatewayInternalKeyDataCache;
-    private static LoadingCache<String, String> getGatewayAPIKeyCache;
-    private static LoadingCache<String, String> getInvalidGatewayAPIKeyCache;
-    private static LoadingCache<String, JWTValidationInfo> getGatewayAPIKeyDataCache;
+    private static final String CACHE_PROPERTY_PREFIX = "choreo.connect.cache.";
+    private static final String MAX_SIZE_SUFFIX = ".maxSize";
+    private static final String MAX_WEIGHT_SUFFIX = ".maxWeight";
+
+    private static ExpiringCache<SignedJWTInfo> gatewaySignedJWTParseCache;
+    private static ExpiringCache<Boolean> gatewayTokenCache;
+    private static ExpiringCache<JWTValidationInfo> gatewayKeyCache;
+    private static ExpiringCache<Boolean> invalidTokenCache;
+    private static ExpiringCache<BackendJwtUtils.CachedBackendJwt> gatewayJWTTokenCache;
+    private static ExpiringCache<String> getGatewayInternalKeyCache;
+    private static ExpiringCache<String> getInvalidGatewayInternalKeyCache;
+    private static ExpiringCache<JWTTokenPayloadInfo> getGatewayInternalKeyDataCache;
+    private static ExpiringCache<String> getGatewayAPIKeyCache;
+    private static ExpiringCache<String> getInvalidGatewayAPIKeyCache;
+    private static ExpiringCache<JWTTokenPayloadInfo> getGatewayAPIKeyDataCache;
+    private static ExpiringCache<JWTUtils.SignatureVerificationResult> signatureVerificationCache;
+    private static volatile List<ExpiringCache<?>> caches = Collections.emptyList();
 
     private static boolean cacheEnabled = true;
     public static void init() {
         CacheDto cacheDto = ConfigHolder.getInstance().getConfig().getCacheDto();
         cacheEnabled = cacheDto.isEnabled();
-        int maxSize = cacheDto.getMaximumSize();
-        int expiryTime = cacheDto.getExpiryTime();
-        gatewaySignedJWTParseCache = initCache(maxSize, expiryTime);
-        gatewayTokenCache = initCache(maxSize, expiryTime);
-        gatewayKeyCache = initCache(maxSize, expiryTime);
-        invalidTokenCache = initCache(maxSize, expiryTime);
-        gatewayJWTTokenCache = initCache(maxSize, expiryTime);
-        getGatewayInternalKeyCache = initCache(maxSize, expiryTime);
-        getGatewayInternalKeyDataCache = initCache(maxSize, expiryTime);
-        getInvalidGatewayInternalKeyCache = initCache(maxSize, expiryTime);
-        getGatewayAPIKeyCache = initCache(maxSize, expiryTime);
-        getInvalidGatewayAPIKeyCache = initCache(maxSize, expiryTime);
-        getGatewayAPIKeyDataCache = initCache(maxSize, expiryTime);
+        List<ExpiringCache<?>> newCaches = new ArrayList<>();
+        gatewaySignedJWTParseCache = initCache("gatewaySignedJWTParse", cacheDto, newCaches,
+                signedJWTInfo -> getExpiryTime(signedJWTInfo.getJwtClaimsSet().getExpirationTime()),
+                signedJWTInfo -> signedJWTInfo.getToken().length());
+        gatewayTokenCache = initCache("gatewayToken", cacheDto, newCaches);
+        // Only the valid tokens expire with the token, so that the reason of an invalid token is kept
+        gatewayKeyCache = initCache("gatewayKey", cacheDto, newCaches,
+                validationInfo -> validationInfo.isValid() ? getExpiryTime(validationInfo.getExpiryTime())
+                        : ExpiringCache.NO_EXPIRY, null);
+        invalidTokenCache = initCache("invalidToken", cacheDto, newCaches);
+        gatewayJWTTokenCache = initCache("gatewayJWTToken", cacheDto, newCaches,
+                BackendJwtUtils.CachedBackendJwt::getValidUntil, backendJwt -> backendJwt.getToken().length());
+        getGatewayInternalKeyCache = initCache("gatewayInternalKey", cacheDto, newCaches);
+        getGatewayInternalKeyDataCache = initCache("gatewayInternalKeyData", cacheDto, newCaches,
+                payloadInfo -> getExpiryTime(payloadInfo.getPayload().getExpirationTime()),
+                payloadInfo -> payloadInfo.getAccessToken().length());
+        getInvalidGatewayInternalKeyCache = initCache("invalidGatewayInternalKey", cacheDto, newCaches);
+        getGatewayAPIKeyCache = initCache("gatewayAPIKey", cacheDto, newCaches);
+        getInvalidGatewayAPIKeyCache = initCache("invalidGatewayAPIKey", cacheDto, newCaches);
+        getGatewayAPIKeyDataCache = initCache("gatewayAPIKeyData", cacheDto, newCaches,
+                payloadInfo -> getExpiryTime(payloadInfo.getPayload().getExpirationTime()),
+                payloadInfo -> payloadInfo.getAccessToken().length());
+        // Entries are also bounded by the expiry time of each token
+        signatureVerificationCache = cacheEnabled ? initCache("signatureVerification", cacheDto, newCaches,
+                JWTUtils.SignatureVerificationResult::getExpiryTime, null) : null;
+        caches = Collections.unmodifiableList(newCaches);
+        CacheMetrics.getInstance();
+    }
+
+    private static <V> ExpiringCache<V> initCache(String name, CacheDto cacheDto, List<ExpiringCache<?>> newCaches) {
+        return initCache(name, cacheDto, newCaches, null, null);
+    }
+
+    private static <V> ExpiringCache<V> initCache(String name, CacheDto cacheDto, List<ExpiringCache<?>> newCaches,
+                                                  ToLongFunction<? super V> expiryTimeFunction,
+                                                  ToIntFunction<? super V> valueWeigher) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterAccess(cacheDto.getExpiryTime(), TimeUnit.MINUTES)
+                .recordStats();
+        long maxWeight = Long.getLong(CACHE_PROPERTY_PREFIX + name + MAX_WEIGHT_SUFFIX, 0);
+        Cache<String, ExpiringCache.Entry<V>> entries;
+        if (maxWeight > 0) {
+            // Weighed by the length of the key and the token held by the value
+            Weigher<String, ExpiringCache.Entry<V>> weigher = (key, entry) -> key.length()
+                    + (valueWeigher != null && entry.getValue() != null
+                    ? valueWeigher.applyAsInt(entry.getValue()) : 0);
+            entries = builder.maximumWeight(maxWeight).weigher(weigher).build();
+        } else {
+            entries = builder.maximumSize(Long.getLong(CACHE_PROPERTY_PREFIX + name + MAX_SIZE_SUFFIX,
+                    cacheDto.getMaximumSize())).build();
+        }
+        ExpiringCache<V> cache = new ExpiringCache<>(name, entries, expiryTimeFunction);
+        newCaches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Returns the time until which a token expiring at the given time is accepted, considering the time stamp
+     * skew.
+     */
+    private static long getExpiryTime(long tokenExpiryTime) {
+        if (tokenExpiryTime <= 0) {
+            return ExpiringCache.NO_EXPIRY;
+        }
+        return tokenExpiryTime + TimeUnit.SECONDS.toMillis(FilterUtils.getTimeStampSkewInSeconds());
+    }
 
+    private static long getExpiryTime(Date tokenExpiryTime) {
+        return tokenExpiryTime != null ? getExpiryTime(tokenExpiryTime.getTime()) : ExpiringCache.NO_EXPIRY;
+    }
+
+    /**
+     * @return all the caches, in the order they are created
+     */
+    public static List<ExpiringCache<?>> getCaches() {
+        return caches;
     }
 
-    private static LoadingCache initCache(int maxSize, int expiryTime) {
-        return CacheBuilder.newBuilder()
-                .maximumSize(maxSize)                                  // maximum 10000 tokens can be cached
-                .expireAfterAccess(expiryTime, TimeUnit.MINUTES)      // cache will expire after 15 minutes of access
-                .build(new CacheLoader<String, String>() {            // build the cacheloader
-                    @Override public String load(String s) throws Exception {
-                        return JWTConstants.UNAVAILABLE;
-                    }
+    /**
+     * Removes the cached validation results of a revoked token, so that the token is validated again.
+     *
+     * @param tokenIdentifier identifier of the revoked token
+     */
+    public static void invalidateToken(String tokenIdentifier) {
+        if (gatewayTokenCache == null) {
+            return;
+        }
+        gatewayTokenCache.invalidate(tokenIdentifier);
+        gatewayKeyCache.invalidate(tokenIdentifier);
+        // The backend JWTs are keyed by the API, hence the tokens generated from the revoked token are looked up
+        gatewayJWTTokenCache.invalidateIf(backendJwt -> tokenIdentifier.equals(backendJwt.getTokenIdentifier()));
+        getGatewayInternalKeyDataCache.invalidate(tokenIdentifier);
+        getGatewayAPIKeyDataCache.invalidate(tokenIdentifier);
+    }
 
-                });
+    /**
+     * Removes the cached results of validating the tokens of an issuer with the signing keys which are no longer
+     * published by the issuer.
+     *
+     * @param issuer      token issuer
+     * @param removedKeys removed signing keys of the issuer
+     */
+    public static void invalidateSigningKeys(String issuer, Collection<RSAPublicKey> removedKeys) {
+        if (gatewayKeyCache == null || removedKeys.isEmpty()) {
+            return;
+        }
+        if (signatureVerificationCache != null) {
+            signatureVerificationCache.invalidateIf(result -> removedKeys.contains(result.getPublicKey()));
+        }
+        // The key used to validate a cached token is not known, hence all the tokens of the issuer are validated
+        gatewayKeyCache.invalidateIf(validationInfo -> issuer.equals(validationInfo.getIssuer()));
     }
 
+    /**
+     * Removes the entries of all the caches.
+     */
+    public static void invalidateAll() {
+        for (ExpiringCache<?> cache : caches) {
+            cache.invalidateAll();
+        }
+    }
 
     /**
      * @return Gateway Internal Key cache
      */
-    public static LoadingCache getGatewayInternalKeyCache() {
+    public static ExpiringCache<String> getGatewayInternalKeyCache() {
         return getGatewayInternalKeyCache;
     }
 
     /**
      * @return Gateway Internal Key data cache
      */
-    public static LoadingCache getGatewayInternalKeyDataCache() {
+    public static ExpiringCache<JWTTokenPayloadInfo> getGatewayInternalKeyDataCache() {
         return getGatewayInternalKeyDataCache;
     }
 
     /**
      * @return Gateway Internal Key invalid data cache
      */
-    public static LoadingCache getInvalidGatewayInternalKeyCache() {
+    public static ExpiringCache<String> getInvalidGatewayInternalKeyCache() {
         return getInvalidGatewayInternalKeyCache;
     }
 
@@ -103,56 +220,63 @@ public class CacheProvider {
      *
      * @return SignedJWT ParsedCache
      */
-    public static LoadingCache getGatewaySignedJWTParseCache() {
+    public static ExpiringCache<SignedJWTInfo> getGatewaySignedJWTParseCache() {
         return gatewaySignedJWTParseCache;
     }
 
     /**
      * @return gateway token cache
      */
-    public static LoadingCache getGatewayTokenCache() {
+    public static ExpiringCache<Boolean> getGatewayTokenCache() {
         return gatewayTokenCache;
     }
 
     /**
      * @return gateway key cache
      */
-    public static LoadingCache getGatewayKeyCache() {
+    public static ExpiringCache<JWTValidationInfo> getGatewayKeyCache() {
         return gatewayKeyCache;
     }
 
     /**
      * @return gateway invalid token cache
      */
-    public static LoadingCache getInvalidTokenCache() {
+    public static ExpiringCache<Boolean> getInvalidTokenCache() {
         return invalidTokenCache;
     }
 
     /**
      * @return JWT token cache
      */
-    public static LoadingCache getGatewayJWTTokenCache() {
+    public static ExpiringCache<BackendJwtUtils.CachedBackendJwt> getGatewayJWTTokenCache() {
         return gatewayJWTTokenCache;
     }
 
     /**
      * @return Gateway API key cache
      */
-    public static LoadingCache getGatewayAPIKeyCache() {
+    public static ExpiringCache<String> getGatewayAPIKeyCache() {
         return getGatewayAPIKeyCache;
     }
 
     /**
      * @return Gateway API key data cache
      */
-    public static LoadingCache getGatewayAPIKeyDataCache() {
+    public static ExpiringCache<JWTTokenPayloadInfo> getGatewayAPIKeyDataCache() {
         return getGatewayAPIKeyDataCache;
     }
 
+    /**
+     * @return JWT signature verification result cache, or null if caching is disabled
+     */
+    public static ExpiringCache<JWTUtils.SignatureVerificationResult> getSignatureVerificationCache() {
+        return signatureVerificationCache;
+    }
+
     /**
      * @return Gateway API key invalid data cache
      */
-    public static LoadingCache getInvalidGatewayAPIKeyCache() {
+    public static ExpiringCache<String> getInvalidGatewayAPIKeyCache() {
         return getInvalidGatewayAPIKeyCache;
     }
 }
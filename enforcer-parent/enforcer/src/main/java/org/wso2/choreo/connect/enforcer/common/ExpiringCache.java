@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Typed cache created by the {@link CacheProvider}, keyed by a token or a token identifier. Besides the size limit
+ * and the access based expiry of the underlying cache, each entry has its own expiry time, which is derived from the
+ * expiry time of the token, so that an entry does not outlive its token. Expired entries are dropped when they are
+ * read.
+ *
+ * @param <V> type of the cached values
+ */
+public class ExpiringCache<V> {
+
+    /**
+     * Expiry time of the entries which are only expired by the underlying cache.
+     */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final String name;
+    private final Cache<String, Entry<V>> cache;
+    private final ToLongFunction<? super V> expiryTimeFunction;
+    private final LongAdder expiredCount = new LongAdder();
+
+    ExpiringCache(String name, Cache<String, Entry<V>> cache, ToLongFunction<? super V> expiryTimeFunction) {
+        this.name = name;
+        this.cache = cache;
+        this.expiryTimeFunction = expiryTimeFunction;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value of the key.
+     *
+     * @param key cache key
+     * @return cached value, or null if the key is not cached or the entry is expired
+     */
+    public V getIfPresent(String key) {
+        Entry<V> entry = cache.getIfPresent(key);
+        if (entry == null || isExpired(key, entry)) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value of the key, loading it if the key is not cached or the entry is expired. The time
+     * taken to load the value is recorded in the stats of the cache. A loaded value which is already expired is
+     * returned without caching it.
+     *
+     * @param key    cache key
+     * @param loader loads the value of the key
+     * @return cached or loaded value
+     * @throws ExecutionException if the loader throws a checked exception
+     */
+    public V get(String key, Callable<? extends V> loader) throws ExecutionException {
+        EntryLoader entryLoader = new EntryLoader(loader);
+        Entry<V> entry = cache.get(key, entryLoader);
+        if (entry != entryLoader.loadedEntry && isExpired(key, entry)) {
+            entry = cache.get(key, entryLoader);
+        }
+        if (entry == entryLoader.loadedEntry && hasExpired(entry)) {
+            cache.asMap().remove(key, entry);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches the value, which expires at the expiry time derived from the value.
+     *
+     * @param key   cache key
+     * @param value value to cache
+     */
+    public void put(String key, V value) {
+        cache.put(key, newEntry(value));
+    }
+
+    /**
+     * Caches the value until the given expiry time.
+     *
+     * @param key        cache key
+     * @param value      value to cache
+     * @param expiryTime time in milliseconds since the epoch at which the entry expires
+     */
+    public void put(String key, V value, long expiryTime) {
+        cache.put(key, new Entry<>(value, expiryTime));
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Removes the entries of which the value matches the predicate.
+     *
+     * @param predicate predicate of the values to remove
+     */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        cache.asMap().values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    /**
+     * @return approximate number of entries, including the expired entries which are not read since they expired
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return number of entries dropped as they were read after their expiry time
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * Returns the time at which the entry of the value expires when the value is cached.
+     *
+     * @param value value to cache
+     * @return time in milliseconds since the epoch, or {@link #NO_EXPIRY}
+     */
+    public long getExpiryTime(V value) {
+        return expiryTimeFunction != null && value != null ? expiryTimeFunction.applyAsLong(value) : NO_EXPIRY;
+    }
+
+    private Entry<V> newEntry(V value) {
+        return new Entry<>(value, getExpiryTime(value));
+    }
+
+    private boolean isExpired(String key, Entry<V> entry) {
+        if (!hasExpired(entry)) {
+            return false;
+        }
+        // Only the expired entry is removed, in case it is already replaced by another thread
+        cache.asMap().remove(key, entry);
+        expiredCount.increment();
+        return true;
+    }
+
+    private static boolean hasExpired(Entry<?> entry) {
+        return entry.expiryTime != NO_EXPIRY && System.currentTimeMillis() >= entry.expiryTime;
+    }
+
+    /**
+     * Loads the entry of a key, keeping the loaded entry to tell it apart from an entry which was already cached.
+     */
+    private final class EntryLoader implements Callable<Entry<V>> {
+        private final Callable<? extends V> loader;
+        private Entry<V> loadedEntry;
+
+        private EntryLoader(Callable<? extends V> loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public Entry<V> call() throws Exception {
+            loadedEntry = newEntry(loader.call());
+            return loadedEntry;
+        }
+    }
+
+    /**
+     * Cached value with its expiry time.
+     *
+     * @param <V> type of the cached value
+     */
+    static final class Entry<V> {
+        private final V value;
+        private final long expiryTime;
+
+        Entry(V value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        V getValue() {
+            return value;
+        }
+    }
+}
@@ -47,7 +47,6 @@ import org.wso2.choreo.connect.discovery.config.enforcer.Keypair;
 import org.wso2.choreo.connect.discovery.config.enforcer.Management;
 import org.wso2.choreo.connect.discovery.config.enforcer.Metrics;
 import org.wso2.choreo.connect.discovery.config.enforcer.MutualSSL;
-import org.wso2.choreo.connect.discovery.config.enforcer.PublisherPool;
 import org.wso2.choreo.connect.discovery.config.enforcer.RestServer;
 import org.wso2.choreo.connect.discovery.config.enforcer.Service;
 import org.wso2.choreo.connect.discovery.config.enforcer.Soap;
@@ -67,6 +66,7 @@ import org.wso2.choreo.connect.enforcer.config.dto.CacheDto;
 import org.wso2.choreo.connect.enforcer.config.dto.CredentialDto;
 import org.wso2.choreo.connect.enforcer.config.dto.ExtendedTokenIssuerDto;
 import org.wso2.choreo.connect.enforcer.config.dto.FilterDTO;
+import org.wso2.choreo.connect.enforcer.config.dto.HttpClientConfigDto;
 import org.wso2.choreo.connect.enforcer.config.dto.JWTIssuerConfigurationDto;
 import org.wso2.choreo.connect.enforcer.config.dto.ManagementCredentialsDto;
 import org.wso2.choreo.connect.enforcer.config.dto.MetricsDTO;
@@ -128,10 +128,12 @@ public class ConfigHolder {
 
     private static final String dtoPackageName = EnforcerConfig.class.getPackageName();
     private static final String apimDTOPackageName = "org.wso2.carbon.apimgt";
+    private static final String HTTP_CLIENT_PROPERTY_PREFIX = "choreo.connect.httpclient.";
 
     private ConfigHolder() {
         loadTrustStore();
         loadOpaClientKeyStore();
+        populateHttpClientConfig();
     }
 
     public static ConfigHolder getInstance() {
@@ -375,15 +377,9 @@ public class ConfigHolder {
         agentConf.setSocketTimeoutMS(binaryAgent.getSocketTimeoutMS());
         agentConf.setTrustStore(trustStore);
 
-        PublisherPool pool = binary.getPool();
         ThrottlePublisherConfigDto pubConf = new ThrottlePublisherConfigDto();
         pubConf.setUserName(binary.getUsername());
         pubConf.setPassword(binary.getPassword());
-        pubConf.setInitIdleObjectDataPublishingAgents(pool.getInitIdleObjectDataPublishingAgents());
-        pubConf.setMaxIdleDataPublishingAgents(pool.getMaxIdleDataPublishingAgents());
-        pubConf.setPublisherThreadPoolCoreSize(pool.getPublisherThreadPoolCoreSize());
-        pubConf.setPublisherThreadPoolKeepAliveTime(pool.getPublisherThreadPoolKeepAliveTime());
-        pubConf.setPublisherThreadPoolMaximumSize(pool.getPublisherThreadPoolMaximumSize());
 
         processTMPublisherURLGroup(binary.getUrlGroupList(), pubConf);
 
@@ -455,6 +451,25 @@ public class ConfigHolder {
         opaKeyStore = FilterUtils.createClientKeyStore(certPath, keyPath);
     }
 
+    /**
+     * The pooled http client configurations are not a part of the config received from the adapter, hence they
+     * are read from the system properties (set with JAVA_OPTS) and default to the values in the
+     * {@link HttpClientConfigDto}.
+     */
+    private void populateHttpClientConfig() {
+        HttpClientConfigDto httpClientConfig = config.getHttpClientConfig();
+        httpClientConfig.setMaxTotalConnections(Integer.getInteger(HTTP_CLIENT_PROPERTY_PREFIX + "maxTotalConnections",
+                httpClientConfig.getMaxTotalConnections()));
+        httpClientConfig.setMaxConnectionsPerRoute(Integer.getInteger(HTTP_CLIENT_PROPERTY_PREFIX
+                + "maxConnectionsPerRoute", httpClientConfig.getMaxConnectionsPerRoute()));
+        httpClientConfig.setConnectionRequestTimeoutMillis(Integer.getInteger(HTTP_CLIENT_PROPERTY_PREFIX
+                + "connectionRequestTimeoutMillis", httpClientConfig.getConnectionRequestTimeoutMillis()));
+        httpClientConfig.setIdleTimeoutSeconds(Long.getLong(HTTP_CLIENT_PROPERTY_PREFIX + "idleTimeoutSeconds",
+                httpClientConfig.getIdleTimeoutSeconds()));
+        httpClientConfig.setValidateAfterInactivityMillis(Integer.getInteger(HTTP_CLIENT_PROPERTY_PREFIX
+                + "validateAfterInactivityMillis", httpClientConfig.getValidateAfterInactivityMillis()));
+    }
+
     /**
      * The receiverURLGroup and the authURLGroup is preprocessed
      * such that to make them compatible with the binary agent.
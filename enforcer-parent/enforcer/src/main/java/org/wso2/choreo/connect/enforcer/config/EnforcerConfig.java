@@ -29,6 +29,7 @@ import org.wso2.choreo.connect.enforcer.config.dto.CacheDto;
 import org.wso2.choreo.connect.enforcer.config.dto.CredentialDto;
 import org.wso2.choreo.connect.enforcer.config.dto.ExtendedTokenIssuerDto;
 import org.wso2.choreo.connect.enforcer.config.dto.FilterDTO;
+import org.wso2.choreo.connect.enforcer.config.dto.HttpClientConfigDto;
 import org.wso2.choreo.connect.enforcer.config.dto.JWTIssuerConfigurationDto;
 import org.wso2.choreo.connect.enforcer.config.dto.ManagementCredentialsDto;
 import org.wso2.choreo.connect.enforcer.config.dto.MetricsDTO;
@@ -53,6 +54,7 @@ public class EnforcerConfig {
     private MetricsDTO metricsConfig;
     private JWTConfigurationDto jwtConfigurationDto;
     private CacheDto cacheDto;
+    private HttpClientConfigDto httpClientConfig = new HttpClientConfigDto();
     private JWTIssuerConfigurationDto jwtIssuerConfigurationDto;
     private BackendJWKSDto backendJWKSDto;
     private CredentialDto[] jwtUsersCredentials;
@@ -148,6 +150,14 @@ public class EnforcerConfig {
         this.cacheDto = cacheDto;
     }
 
+    public HttpClientConfigDto getHttpClientConfig() {
+        return httpClientConfig;
+    }
+
+    public void setHttpClientConfig(HttpClientConfigDto httpClientConfig) {
+        this.httpClientConfig = httpClientConfig;
+    }
+
     public void setPublicCertificatePath(String certPath) {
         this.publicCertificatePath = certPath;
     }
@@ -18,8 +18,6 @@
 
 package org.wso2.choreo.connect.enforcer.config.dto;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.publisher.DataPublisherConstants;
 
 import java.util.Map;
@@ -28,39 +26,11 @@ import java.util.Map;
  * This class holds the configurations related to binary data publisher.
  */
 public class ThrottlePublisherConfigDto {
-    private static final Logger log = LogManager.getLogger(ThrottlePublisherConfigDto.class);
-
-    private int maxIdleDataPublishingAgents;
-    private int initIdleObjectDataPublishingAgents;
-    private int publisherThreadPoolCoreSize;
-    private int publisherThreadPoolMaximumSize;
-    private int publisherThreadPoolKeepAliveTime;
-
     private String receiverUrlGroup;
     private String authUrlGroup;
     private String userName;
     private char[] password;
 
-    public void setMaxIdleDataPublishingAgents(int maxIdleDataPublishingAgents) {
-        this.maxIdleDataPublishingAgents = maxIdleDataPublishingAgents;
-    }
-
-    public void setInitIdleObjectDataPublishingAgents(int initIdleObjectDataPublishingAgents) {
-        this.initIdleObjectDataPublishingAgents = initIdleObjectDataPublishingAgents;
-    }
-
-    public void setPublisherThreadPoolCoreSize(int publisherThreadPoolCoreSize) {
-        this.publisherThreadPoolCoreSize = publisherThreadPoolCoreSize;
-    }
-
-    public void setPublisherThreadPoolMaximumSize(int publisherThreadPoolMaximumSize) {
-        this.publisherThreadPoolMaximumSize = publisherThreadPoolMaximumSize;
-    }
-
-    public void setPublisherThreadPoolKeepAliveTime(int publisherThreadPoolKeepAliveTime) {
-        this.publisherThreadPoolKeepAliveTime = publisherThreadPoolKeepAliveTime;
-    }
-
     public void setAuthUrlGroup(String authUrlGroup) {
         this.authUrlGroup = authUrlGroup;
     }
@@ -77,26 +47,6 @@ public class ThrottlePublisherConfigDto {
         this.password = password.toCharArray();
     }
 
-    public int getMaxIdleDataPublishingAgents() {
-        return maxIdleDataPublishingAgents;
-    }
-
-    public int getInitIdleObjectDataPublishingAgents() {
-        return initIdleObjectDataPublishingAgents;
-    }
-
-    public int getPublisherThreadPoolCoreSize() {
-        return publisherThreadPoolCoreSize;
-    }
-
-    public int getPublisherThreadPoolMaximumSize() {
-        return publisherThreadPoolMaximumSize;
-    }
-
-    public int getPublisherThreadPoolKeepAliveTime() {
-        return publisherThreadPoolKeepAliveTime;
-    }
-
     public String getReceiverUrlGroup() {
         return receiverUrlGroup;
     }
@@ -118,19 +68,5 @@ public class ThrottlePublisherConfigDto {
         this.authUrlGroup = String.valueOf(publisherConfiguration.get(DataPublisherConstants.AUTH_URL_GROUP));
         this.userName = String.valueOf(publisherConfiguration.get(DataPublisherConstants.USERNAME));
         this.password = String.valueOf(publisherConfiguration.get(DataPublisherConstants.PASSWORD)).toCharArray();
-        try {
-            this.maxIdleDataPublishingAgents =
-                    Math.toIntExact((long) publisherConfiguration.get(DataPublisherConstants.MAX_IDLE));
-            this.initIdleObjectDataPublishingAgents =
-                    Math.toIntExact((long) publisherConfiguration.get(DataPublisherConstants.INIT_IDLE_CAPACITY));
-            this.publisherThreadPoolCoreSize =
-                    Math.toIntExact((long) publisherConfiguration.get(DataPublisherConstants.CORE_POOL_SIZE));
-            this.publisherThreadPoolMaximumSize =
-                    (Math.toIntExact((long) publisherConfiguration.get(DataPublisherConstants.MAX_POOL_SIZE)));
-            this.publisherThreadPoolKeepAliveTime = Math.toIntExact((long) publisherConfiguration
-                    .get(DataPublisherConstants.KEEP_ALIVE_TIME));
-        } catch (ArithmeticException e) {
-            log.error("Error while processing the publisher configuration.", e);
-        }
     }
 }
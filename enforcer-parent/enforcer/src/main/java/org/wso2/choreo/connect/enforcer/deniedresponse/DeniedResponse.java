@@ -18,13 +18,34 @@
 
 package org.wso2.choreo.connect.enforcer.deniedresponse;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.envoyproxy.envoy.config.core.v3.HeaderValue;
+import io.envoyproxy.envoy.config.core.v3.HeaderValueOption;
 import io.envoyproxy.envoy.service.auth.v3.DeniedHttpResponse;
 import org.wso2.choreo.connect.enforcer.api.ResponseObject;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+
+import java.util.Objects;
 
 /**
  * Abstract class for generating a denied responses.
+ * <p>
+ * The bodies are cached as templates by the format, the error code and the error message, as the requests are denied
+ * with a few distinct errors. The error description may contain values of the request, hence it is escaped and
+ * inserted into the template for each response. The size of the cache is set by {@value #CACHE_MAX_SIZE}.
  */
 public abstract class DeniedResponse {
+    static final String CACHE_MAX_SIZE = "choreo.connect.deniedResponse.cache.maxSize";
+    private static final long DEFAULT_CACHE_MAX_SIZE = 1000;
+    private static final String DESCRIPTION_PLACEHOLDER = "${choreo.connect.errorDescription}";
+    private static final Cache<BodyKey, BodyTemplate> bodyTemplates;
+
+    static {
+        long maxSize = Long.getLong(CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+        bodyTemplates = maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(maxSize).build() : null;
+    }
+
     protected DeniedHttpResponse.Builder denyResponseBuilder;
 
     public DeniedResponse(DeniedHttpResponse.Builder denyResponseBuilder) {
@@ -36,5 +57,109 @@ public abstract class DeniedResponse {
      *
      * @param responseObject
      */
-    public abstract void setResponse(ResponseObject responseObject);
+    public void setResponse(ResponseObject responseObject) {
+        denyResponseBuilder.setBody(getBody(responseObject));
+        denyResponseBuilder.addHeaders(getContentTypeHeader());
+    }
+
+    /**
+     * Renders the body of the denied response.
+     *
+     * @param errorCode        error code
+     * @param errorMessage     error message
+     * @param errorDescription error description
+     * @return body of the response
+     */
+    protected abstract String renderBody(String errorCode, String errorMessage, String errorDescription);
+
+    /**
+     * Escapes the error description to be inserted into a rendered body, as {@link #renderBody} would.
+     *
+     * @param errorDescription error description
+     * @return escaped error description
+     */
+    protected abstract String escapeDescription(String errorDescription);
+
+    /**
+     * Returns the content type header of the denied response, which is built once for the format.
+     *
+     * @return content type header
+     */
+    protected abstract HeaderValueOption getContentTypeHeader();
+
+    protected static HeaderValueOption buildContentTypeHeader(String contentType) {
+        return HeaderValueOption.newBuilder().setHeader(HeaderValue.newBuilder()
+                .setKey(APIConstants.CONTENT_TYPE_HEADER).setValue(contentType).build()).build();
+    }
+
+    private String getBody(ResponseObject responseObject) {
+        String errorCode = responseObject.getErrorCode();
+        String errorMessage = responseObject.getErrorMessage();
+        String errorDescription = responseObject.getErrorDescription();
+        if (bodyTemplates == null || errorDescription == null) {
+            return renderBody(errorCode, errorMessage, errorDescription);
+        }
+        BodyKey key = new BodyKey(getClass(), errorCode, errorMessage);
+        BodyTemplate template = bodyTemplates.getIfPresent(key);
+        if (template == null) {
+            template = new BodyTemplate(renderBody(errorCode, errorMessage, DESCRIPTION_PLACEHOLDER));
+            bodyTemplates.put(key, template);
+        }
+        if (template.prefix == null) {
+            return renderBody(errorCode, errorMessage, errorDescription);
+        }
+        return template.prefix + escapeDescription(errorDescription) + template.suffix;
+    }
+
+    /**
+     * Rendered body split at the description placeholder. The prefix is null if the body does not contain exactly
+     * one placeholder, in which case the body is rendered for each response.
+     */
+    private static final class BodyTemplate {
+        private final String prefix;
+        private final String suffix;
+
+        private BodyTemplate(String body) {
+            int index = body.indexOf(DESCRIPTION_PLACEHOLDER);
+            if (index >= 0 && index == body.lastIndexOf(DESCRIPTION_PLACEHOLDER)) {
+                this.prefix = body.substring(0, index);
+                this.suffix = body.substring(index + DESCRIPTION_PLACEHOLDER.length());
+            } else {
+                this.prefix = null;
+                this.suffix = null;
+            }
+        }
+    }
+
+    private static final class BodyKey {
+        private final Class<?> format;
+        private final String errorCode;
+        private final String errorMessage;
+        private final int hashCode;
+
+        private BodyKey(Class<?> format, String errorCode, String errorMessage) {
+            this.format = format;
+            this.errorCode = errorCode;
+            this.errorMessage = errorMessage;
+            this.hashCode = Objects.hash(format, errorCode, errorMessage);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BodyKey)) {
+                return false;
+            }
+            BodyKey other = (BodyKey) o;
+            return format == other.format && Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(errorMessage, other.errorMessage);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -29,6 +29,8 @@ import org.wso2.choreo.connect.enforcer.deniedresponse.types.JsonDeniedResponse;
 import org.wso2.choreo.connect.enforcer.deniedresponse.types.Soap11DeniedResponse;
 import org.wso2.choreo.connect.enforcer.deniedresponse.types.Soap12DeniedResponse;
 
+import java.util.Map;
+
 /**
  * DeniedResponsePreparer will prepare the DeniedHttpResponse.Builder accordingly to the appropriate response format.
  */
@@ -44,6 +46,7 @@ public class DeniedResponsePreparer {
     }
     private static final boolean soapErrorInXMLEnabled =
             ConfigHolder.getInstance().getConfig().getSoapErrorResponseConfigDto().isEnable();
+    private static final String CONTENT_TYPE_HEADER = APIConstants.CONTENT_TYPE_HEADER.toLowerCase();
 
     public DeniedResponse getDeniedResponse() {
         return deniedResponse;
@@ -96,10 +99,10 @@ public class DeniedResponsePreparer {
      */
     private void findResponseType(CheckRequest request) {
         if (soapErrorInXMLEnabled) {
-            String contentType = request.getAttributes().getRequest().getHttp().getHeadersMap()
-                    .get(APIConstants.CONTENT_TYPE_HEADER.toLowerCase());
-            if (APIConstants.CONTENT_TYPE_TEXT_XML.equals(contentType) && request.getAttributes().getRequest()
-                    .getHttp().getHeadersMap().containsKey(APIConstants.SOAP_ACTION_HEADER_NAME)) {
+            Map<String, String> headers = request.getAttributes().getRequest().getHttp().getHeadersMap();
+            String contentType = headers.get(CONTENT_TYPE_HEADER);
+            if (APIConstants.CONTENT_TYPE_TEXT_XML.equals(contentType)
+                    && headers.containsKey(APIConstants.SOAP_ACTION_HEADER_NAME)) {
                 this.responseType = APIConstants.ErrorResponseTypes.SOAP11;
             } else if (APIConstants.CONTENT_TYPE_SOAP_XML.equals(contentType)) {
                 this.responseType = APIConstants.ErrorResponseTypes.SOAP12;
@@ -18,11 +18,9 @@
 
 package org.wso2.choreo.connect.enforcer.deniedresponse.types;
 
-import io.envoyproxy.envoy.config.core.v3.HeaderValue;
 import io.envoyproxy.envoy.config.core.v3.HeaderValueOption;
 import io.envoyproxy.envoy.service.auth.v3.DeniedHttpResponse;
 import org.json.JSONObject;
-import org.wso2.choreo.connect.enforcer.api.ResponseObject;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.deniedresponse.DeniedResponse;
 
@@ -30,22 +28,30 @@ import org.wso2.choreo.connect.enforcer.deniedresponse.DeniedResponse;
  * generates JSON formatted denied responses.
  */
 public class JsonDeniedResponse extends DeniedResponse {
+    private static final HeaderValueOption CONTENT_TYPE_HEADER =
+            buildContentTypeHeader(APIConstants.APPLICATION_JSON);
 
     public JsonDeniedResponse(DeniedHttpResponse.Builder denyResponseBuilder) {
         super(denyResponseBuilder);
     }
 
     @Override
-    public void setResponse(ResponseObject responseObject) {
+    protected String renderBody(String errorCode, String errorMessage, String errorDescription) {
         JSONObject responseJson = new JSONObject();
-        responseJson.put(APIConstants.MessageFormat.ERROR_CODE, responseObject.getErrorCode());
-        responseJson.put(APIConstants.MessageFormat.ERROR_MESSAGE, responseObject.getErrorMessage());
-        responseJson.put(APIConstants.MessageFormat.ERROR_DESCRIPTION,
-                responseObject.getErrorDescription());
-        denyResponseBuilder.setBody(responseJson.toString());
-        HeaderValueOption headerValueOption = HeaderValueOption.newBuilder().setHeader(HeaderValue.newBuilder()
-                .setKey(APIConstants.CONTENT_TYPE_HEADER)
-                .setValue(APIConstants.APPLICATION_JSON).build()).build();
-        denyResponseBuilder.addHeaders(headerValueOption);
+        responseJson.put(APIConstants.MessageFormat.ERROR_CODE, errorCode);
+        responseJson.put(APIConstants.MessageFormat.ERROR_MESSAGE, errorMessage);
+        responseJson.put(APIConstants.MessageFormat.ERROR_DESCRIPTION, errorDescription);
+        return responseJson.toString();
+    }
+
+    @Override
+    protected String escapeDescription(String errorDescription) {
+        String quoted = JSONObject.quote(errorDescription);
+        return quoted.substring(1, quoted.length() - 1);
+    }
+
+    @Override
+    protected HeaderValueOption getContentTypeHeader() {
+        return CONTENT_TYPE_HEADER;
     }
 }
@@ -18,10 +18,8 @@
 
 package org.wso2.choreo.connect.enforcer.deniedresponse.types;
 
-import io.envoyproxy.envoy.config.core.v3.HeaderValue;
 import io.envoyproxy.envoy.config.core.v3.HeaderValueOption;
 import io.envoyproxy.envoy.service.auth.v3.DeniedHttpResponse;
-import org.wso2.choreo.connect.enforcer.api.ResponseObject;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.deniedresponse.DeniedResponse;
 import org.wso2.choreo.connect.enforcer.util.SOAPUtils;
@@ -30,17 +28,25 @@ import org.wso2.choreo.connect.enforcer.util.SOAPUtils;
  * generates SOAP 1.2 formatted denied responses.
  */
 public class Soap12DeniedResponse extends DeniedResponse {
+    private static final HeaderValueOption CONTENT_TYPE_HEADER =
+            buildContentTypeHeader(APIConstants.CONTENT_TYPE_SOAP_XML);
+
     public Soap12DeniedResponse(DeniedHttpResponse.Builder denyResponseBuilder) {
         super(denyResponseBuilder);
     }
 
     @Override
-    public void setResponse(ResponseObject responseObject) {
-        denyResponseBuilder.setBody(SOAPUtils.getSoapFaultMessage(APIConstants.SOAP12_PROTOCOL,
-                responseObject.getErrorMessage(), responseObject.getErrorDescription(), responseObject.getErrorCode()));
-        HeaderValueOption headerValueOption = HeaderValueOption.newBuilder().setHeader(HeaderValue.newBuilder()
-                .setKey(APIConstants.CONTENT_TYPE_HEADER)
-                .setValue(APIConstants.CONTENT_TYPE_SOAP_XML).build()).build();
-        denyResponseBuilder.addHeaders(headerValueOption);
+    protected String renderBody(String errorCode, String errorMessage, String errorDescription) {
+        return SOAPUtils.getSoapFaultMessage(APIConstants.SOAP12_PROTOCOL, errorMessage, errorDescription, errorCode);
+    }
+
+    @Override
+    protected String escapeDescription(String errorDescription) {
+        return SOAPUtils.escapeXmlText(errorDescription);
+    }
+
+    @Override
+    protected HeaderValueOption getContentTypeHeader() {
+        return CONTENT_TYPE_HEADER;
     }
 }
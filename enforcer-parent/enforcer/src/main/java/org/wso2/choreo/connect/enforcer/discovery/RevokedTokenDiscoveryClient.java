@@ -31,6 +31,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.choreo.connect.discovery.keymgt.RevokedToken;
 import org.wso2.choreo.connect.discovery.service.keymgt.RevokedTokenDiscoveryServiceGrpc;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.constants.AdapterConstants;
 import org.wso2.choreo.connect.enforcer.constants.Constants;
@@ -203,6 +204,7 @@ public class RevokedTokenDiscoveryClient implements Runnable {
     private void handleRevokedTokens(List<RevokedToken> tokens) {
         for (RevokedToken revokedToken : tokens) {
             revokedJWTDataHolder.addRevokedJWTToMap(revokedToken.getJti(), revokedToken.getExpirytime());
+            CacheProvider.invalidateToken(revokedToken.getJti());
         }
     }
 
@@ -55,60 +55,73 @@ public class GraphQLPayloadUtils {
     private static final Logger logger = LogManager.getLogger(GraphQLPayloadUtils.class);
 
     /**
-     * This method will decode the qraphQL query body.
+     * This method parses the graphQL query body and validates it against the schema of the API.
      *
      * @param api       matched api
      * @param queryBody graphQL query
-     * @return matching resource configs for the request
+     * @return parsed query
      * @throws EnforcerException use for error response handling
      */
-    public static ArrayList<ResourceConfig> buildGQLRequestContext(API api, String queryBody) throws EnforcerException {
+    public static Document parseAndValidatePayload(API api, String queryBody) throws EnforcerException {
         GraphQLSchemaDTO graphQLSchemaDTO = api.getAPIConfig().getGraphQLSchemaDTO();
         try {
             // Validate payload with graphQLSchema
             Document document = new Parser().parseDocument(queryBody);
             String validationErrors = validatePayloadWithSchema(graphQLSchemaDTO.getGraphQLSchema(), document);
-            if (validationErrors == null) {
-                ArrayList<String> operationList = new ArrayList<>();
-                String method = "";
-                // Extract the operation type and operations from the payload
-                for (Definition definition : document.getDefinitions()) {
-                    // we only allow one operation type per request
-                    if (definition instanceof OperationDefinition) {
-                        OperationDefinition operation = (OperationDefinition) definition;
-                        if (operation.getOperation() != null) {
-                            method = operation.getOperation().toString();
-                            operationList = GraphQLProcessorUtil.getOperationList(operation,
-                                    graphQLSchemaDTO.getTypeDefinitionRegistry());
-                            logger.debug("Found operation list : " + operationList.toString());
-                            break;
-                        }
-                    } else {
-                        throw new EnforcerException("Operation definition cannot be empty");
-                    }
-                }
-                ArrayList<ResourceConfig> resourceConfigs = new ArrayList<>();
-                for (String op : operationList) {
-                    ResourceConfig resourceConfig = APIFactory.getInstance().getMatchedResource(api, op, method);
-                    if (resourceConfig != null) {
-                        resourceConfigs.add(resourceConfig);
-                    } else {
-                        logger.error("No matching operations found for {} in APIUUID : {} API : {}, version : {}", op,
-                                api.getAPIConfig().getName(), api.getAPIConfig().getUuid(),
-                                api.getAPIConfig().getVersion(),
-                                ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6705));
-                        return new ArrayList<>();
-                    }
-                }
-                return resourceConfigs;
-            } else {
+            if (validationErrors != null) {
                 throw new EnforcerException("Payload is invalid", new Exception(validationErrors));
             }
+            return document;
         } catch (InvalidSyntaxException exception) {
             throw new EnforcerException("Invalid syntax", exception);
         }
     }
 
+    /**
+     * This method will find the resources of the operations in the qraphQL query.
+     *
+     * @param api      matched api
+     * @param document graphQL query validated against the schema of the api
+     * @return matching resource configs for the request
+     * @throws EnforcerException use for error response handling
+     */
+    public static ArrayList<ResourceConfig> buildGQLRequestContext(API api, Document document)
+            throws EnforcerException {
+        GraphQLSchemaDTO graphQLSchemaDTO = api.getAPIConfig().getGraphQLSchemaDTO();
+        ArrayList<String> operationList = new ArrayList<>();
+        String method = "";
+        // Extract the operation type and operations from the payload
+        for (Definition definition : document.getDefinitions()) {
+            // we only allow one operation type per request
+            if (definition instanceof OperationDefinition) {
+                OperationDefinition operation = (OperationDefinition) definition;
+                if (operation.getOperation() != null) {
+                    method = operation.getOperation().toString();
+                    operationList = GraphQLProcessorUtil.getOperationList(operation,
+                            graphQLSchemaDTO.getTypeDefinitionRegistry());
+                    logger.debug("Found operation list : " + operationList.toString());
+                    break;
+                }
+            } else {
+                throw new EnforcerException("Operation definition cannot be empty");
+            }
+        }
+        ArrayList<ResourceConfig> resourceConfigs = new ArrayList<>();
+        for (String op : operationList) {
+            ResourceConfig resourceConfig = APIFactory.getInstance().getMatchedResource(api, op, method);
+            if (resourceConfig != null) {
+                resourceConfigs.add(resourceConfig);
+            } else {
+                logger.error("No matching operations found for {} in APIUUID : {} API : {}, version : {}", op,
+                        api.getAPIConfig().getName(), api.getAPIConfig().getUuid(),
+                        api.getAPIConfig().getVersion(),
+                        ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6705));
+                return new ArrayList<>();
+            }
+        }
+        return resourceConfigs;
+    }
+
     /**
      * @param requestPayload request payload
      * @param requestHeaders request headers
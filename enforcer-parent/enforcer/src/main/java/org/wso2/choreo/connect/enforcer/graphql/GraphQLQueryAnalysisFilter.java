@@ -17,19 +17,20 @@
  */
 package org.wso2.choreo.connect.enforcer.graphql;
 
-import graphql.schema.GraphQLSchema;
+import graphql.language.Document;
+import graphql.parser.Parser;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.ParseException;
 import org.wso2.carbon.apimgt.common.gateway.constants.GraphQLConstants;
-import org.wso2.carbon.apimgt.common.gateway.dto.QueryAnalyzerResponseDTO;
-import org.wso2.carbon.apimgt.common.gateway.graphql.QueryAnalyzer;
+import org.wso2.carbon.apimgt.common.gateway.graphql.FieldComplexityCalculatorImpl;
 import org.wso2.choreo.connect.enforcer.commons.Filter;
 import org.wso2.choreo.connect.enforcer.commons.logging.ErrorDetails;
 import org.wso2.choreo.connect.enforcer.commons.logging.LoggingConstants;
 import org.wso2.choreo.connect.enforcer.commons.model.APIConfig;
 import org.wso2.choreo.connect.enforcer.commons.model.GraphQLCustomComplexityInfoDTO;
+import org.wso2.choreo.connect.enforcer.commons.model.GraphQLSchemaDTO;
 import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.constants.APISecurityConstants;
@@ -46,18 +47,27 @@ import java.util.Map;
 public class GraphQLQueryAnalysisFilter implements Filter {
 
     private static final Logger logger = LogManager.getLogger(GraphQLQueryAnalysisFilter.class);
-    private QueryAnalyzer queryAnalyzer;
+    private GraphQLQueryAnalyzer queryAnalyzer;
 
     @Override
     public void init(APIConfig apiConfig, Map<String, String> configProperties) {
-        GraphQLSchema schema = apiConfig.getGraphQLSchemaDTO().getGraphQLSchema();
-        queryAnalyzer = new QueryAnalyzer(schema);
+        GraphQLSchemaDTO graphQLSchemaDTO = apiConfig.getGraphQLSchemaDTO();
+        // The policy definition does not change for an API, hence it is only parsed once.
+        String policyDefinition = policyDefinitionToJson(graphQLSchemaDTO.getGraphQLCustomComplexityInfoDTO())
+                .toJSONString();
+        try {
+            queryAnalyzer = new GraphQLQueryAnalyzer(graphQLSchemaDTO.getGraphQLSchema(),
+                    new FieldComplexityCalculatorImpl(policyDefinition));
+        } catch (ParseException e) {
+            logger.error("Policy definition parsing failed for API UUID : {} API : {} version : {}",
+                    apiConfig.getUuid(), apiConfig.getName(), apiConfig.getVersion(),
+                    ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 7300), e);
+        }
     }
 
     @Override
     public boolean handleRequest(RequestContext requestContext) {
-        String payload = requestContext.getRequestPayload();
-        if (!isDepthAndComplexityValid(requestContext, payload)) {
+        if (!isDepthAndComplexityValid(requestContext)) {
             logger.debug("Query was blocked by the static query analyser");
             return false;
         }
@@ -68,14 +78,36 @@ public class GraphQLQueryAnalysisFilter implements Filter {
      * This method analyses the query.
      *
      * @param requestContext message context of the request
-     * @param payload        payload of the request
      * @return true, if the query is not blocked or false, if the query is blocked
      */
-    private boolean isDepthAndComplexityValid(RequestContext requestContext, String payload) {
+    private boolean isDepthAndComplexityValid(RequestContext requestContext) {
+        int maxQueryDepth = -1;
+        if (requestContext.getProperties().containsKey(GraphQLConstants.MAXIMUM_QUERY_DEPTH)) {
+            maxQueryDepth = (Integer) requestContext.getProperties().get(GraphQLConstants.MAXIMUM_QUERY_DEPTH);
+        }
+        int maxQueryComplexity = -1;
+        if (requestContext.getProperties().containsKey(GraphQLConstants.MAXIMUM_QUERY_COMPLEXITY)) {
+            maxQueryComplexity = (Integer) requestContext.getProperties()
+                    .get(GraphQLConstants.MAXIMUM_QUERY_COMPLEXITY);
+        }
+        if (maxQueryDepth <= 0 && maxQueryComplexity <= 0) {
+            return true;
+        }
+        if (queryAnalyzer == null) {
+            String errorMessage = "Policy definition parsing failed. ";
+            handleFailure(requestContext, GraphQLConstants.GRAPHQL_INVALID_QUERY, errorMessage, errorMessage);
+            return false;
+        }
         try {
-            return isDepthValid(requestContext, payload) && isComplexityValid(requestContext, payload);
+            Document document = requestContext.getGraphQLDocument();
+            if (document == null) {
+                document = new Parser().parseDocument(requestContext.getRequestPayload());
+            }
+            GraphQLQueryAnalyzer.QueryAnalysis queryAnalysis = queryAnalyzer.analyse(document);
+            return isDepthValid(requestContext, queryAnalysis.getDepth(), maxQueryDepth)
+                    && isComplexityValid(requestContext, queryAnalysis.getComplexity(), maxQueryComplexity);
         } catch (Exception e) {
-            logger.error("Policy definition parsing failed for API UUID : {} API : {} version : {}",
+            logger.error("Query analysis failed for API UUID : {} API : {} version : {}",
                     requestContext.getMatchedAPI().getUuid(), requestContext.getMatchedAPI().getName(),
                     requestContext.getMatchedAPI().getVersion(),
                     ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 7300), e);
@@ -84,46 +116,30 @@ public class GraphQLQueryAnalysisFilter implements Filter {
         }
     }
 
-    private boolean isDepthValid(RequestContext requestContext, String payload) {
-        int maxQueryDepth = -1;
-        if (requestContext.getProperties().containsKey(GraphQLConstants.MAXIMUM_QUERY_DEPTH)) {
-            maxQueryDepth = (Integer) requestContext.getProperties().get(GraphQLConstants.MAXIMUM_QUERY_DEPTH);
-        }
-        QueryAnalyzerResponseDTO responseDTO = queryAnalyzer.analyseQueryDepth(maxQueryDepth, payload);
-        if (!responseDTO.isSuccess() && !responseDTO.getErrorList().isEmpty()) {
+    private boolean isDepthValid(RequestContext requestContext, int queryDepth, int maxQueryDepth) {
+        if (maxQueryDepth > 0 && queryDepth > maxQueryDepth) {
+            // Same error as the MaxQueryDepthInstrumentation of graphql-java
+            String error = "[maximum query depth exceeded " + queryDepth + " > " + maxQueryDepth + "]";
             handleFailure(requestContext, GraphQLConstants.GRAPHQL_QUERY_TOO_DEEP,
-                    GraphQLConstants.GRAPHQL_QUERY_TOO_DEEP_MESSAGE, responseDTO.getErrorList().toString());
+                    GraphQLConstants.GRAPHQL_QUERY_TOO_DEEP_MESSAGE, error);
             logger.debug("Requested query's depth has exceeded. API : {}, version : {}, Error : {}",
                     requestContext.getMatchedAPI().getName(), requestContext.getMatchedAPI().getVersion(),
-                    responseDTO.getErrorList().toString(), ErrorDetails.errorLog(LoggingConstants.Severity.MINOR,
-                            7301));
+                    error, ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 7301));
             return false;
         }
         return true;
     }
 
-    private boolean isComplexityValid(RequestContext requestContext, String payload) {
-        int queryComplexity = -1;
-        if (requestContext.getProperties().containsKey(GraphQLConstants.MAXIMUM_QUERY_COMPLEXITY)) {
-            queryComplexity = (Integer) requestContext.getProperties()
-                    .get(GraphQLConstants.MAXIMUM_QUERY_COMPLEXITY);
-        }
-        QueryAnalyzerResponseDTO responseDTO = null;
-        try {
-            responseDTO = queryAnalyzer.analyseQueryMutationComplexity(payload, queryComplexity,
-                    policyDefinitionToJson(requestContext.getMatchedAPI().getGraphQLSchemaDTO()
-                            .getGraphQLCustomComplexityInfoDTO()).toJSONString());
-        } catch (ParseException e) {
-            String errorMessage = "Policy definition parsing failed. ";
-            handleFailure(requestContext, GraphQLConstants.GRAPHQL_INVALID_QUERY, errorMessage, errorMessage);
-        }
-        if (responseDTO != null && !responseDTO.isSuccess() && !responseDTO.getErrorList().isEmpty()) {
+    private boolean isComplexityValid(RequestContext requestContext, int queryComplexity, int maxQueryComplexity) {
+        if (maxQueryComplexity > 0 && queryComplexity > maxQueryComplexity) {
+            // Same error as the MaxQueryComplexityInstrumentation of graphql-java
+            String error = "[maximum query complexity exceeded " + queryComplexity + " > " + maxQueryComplexity
+                    + "]";
             handleFailure(requestContext, GraphQLConstants.GRAPHQL_QUERY_TOO_COMPLEX,
-                    GraphQLConstants.GRAPHQL_QUERY_TOO_COMPLEX_MESSAGE, responseDTO.getErrorList().toString());
+                    GraphQLConstants.GRAPHQL_QUERY_TOO_COMPLEX_MESSAGE, error);
             logger.debug("Requested query's complexity has exceeded. API : {}, version : {}, Error: {}",
                     requestContext.getMatchedAPI().getName(), requestContext.getMatchedAPI().getVersion(),
-                    responseDTO.getErrorList().toString(), ErrorDetails.errorLog(LoggingConstants.Severity.MINOR,
-                            7303));
+                    error, ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 7303));
             return false;
         }
         return true;
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calculates the depth and the complexity of a parsed GraphQL query in a single traversal. The values are the same
+ * as the ones calculated by the {@code MaxQueryDepthInstrumentation} and the
+ * {@code MaxQueryComplexityInstrumentation} of graphql-java, without executing the query.
+ * <p>
+ * The result is kept as long as the query is held by the {@link GraphQLQueryCache}, as the result only depends on
+ * the query and the API.
+ */
+public class GraphQLQueryAnalyzer {
+
+    private final GraphQLSchema schema;
+    private final FieldComplexityCalculator fieldComplexityCalculator;
+    // Weak keys are compared by identity, hence a result is kept only for the same cached document
+    private final Cache<Document, QueryAnalysis> analysedQueries = CacheBuilder.newBuilder().weakKeys().build();
+
+    public GraphQLQueryAnalyzer(GraphQLSchema schema, FieldComplexityCalculator fieldComplexityCalculator) {
+        this.schema = schema;
+        this.fieldComplexityCalculator = fieldComplexityCalculator;
+    }
+
+    /**
+     * Calculates the depth and the complexity of the first operation of the query.
+     *
+     * @param document query validated against the schema
+     * @return depth and complexity of the query
+     */
+    public QueryAnalysis analyse(Document document) {
+        QueryAnalysis queryAnalysis = analysedQueries.getIfPresent(document);
+        if (queryAnalysis == null) {
+            queryAnalysis = traverse(document);
+            analysedQueries.put(document, queryAnalysis);
+        }
+        return queryAnalysis;
+    }
+
+    private QueryAnalysis traverse(Document document) {
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser().schema(schema).document(document)
+                .operationName(getOperationName(document)).variables(Collections.emptyMap()).build();
+        Map<QueryVisitorFieldEnvironment, Integer> complexityByParent = new HashMap<>();
+        int[] depth = {0};
+        queryTraverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                depth[0] = Math.max(depth[0], getDepth(env));
+                int complexity = calculateComplexity(env, complexityByParent.getOrDefault(env, 0));
+                complexityByParent.merge(env.getParentEnvironment(), complexity, Integer::sum);
+            }
+        });
+        return new QueryAnalysis(depth[0], complexityByParent.getOrDefault(null, 0));
+    }
+
+    private int calculateComplexity(QueryVisitorFieldEnvironment env, int childComplexity) {
+        if (env.isTypeNameIntrospectionField()) {
+            return 0;
+        }
+        return fieldComplexityCalculator.calculate(toComplexityEnvironment(env), childComplexity);
+    }
+
+    private static FieldComplexityEnvironment toComplexityEnvironment(QueryVisitorFieldEnvironment env) {
+        FieldComplexityEnvironment parentEnv = null;
+        if (env.getParentEnvironment() != null) {
+            parentEnv = toComplexityEnvironment(env.getParentEnvironment());
+        }
+        return new FieldComplexityEnvironment(env.getField(), env.getFieldDefinition(), env.getFieldsContainer(),
+                env.getArguments(), parentEnv);
+    }
+
+    private static int getDepth(QueryVisitorFieldEnvironment env) {
+        int depth = 1;
+        for (QueryVisitorFieldEnvironment parent = env.getParentEnvironment(); parent != null;
+             parent = parent.getParentEnvironment()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static String getOperationName(Document document) {
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition) {
+                return ((OperationDefinition) definition).getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Depth and complexity of a query.
+     */
+    public static class QueryAnalysis {
+        private final int depth;
+        private final int complexity;
+
+        public QueryAnalysis(int depth, int complexity) {
+            this.depth = depth;
+            this.complexity = complexity;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getComplexity() {
+            return complexity;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import graphql.language.Document;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.api.API;
+import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
+import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded LRU cache of the GraphQL queries of an API, which are validated against the schema of the API. A cache is
+ * created when the API is initialized, hence the cached queries are dropped when the API is updated with a new
+ * schema. Queries are keyed by the hash of the query text without comments and with insignificant whitespaces
+ * collapsed, so that the clients sending the same set of queries skip parsing, validating and finding the resources
+ * of the query.
+ * <p>
+ * Queries that fail validation are not cached.
+ */
+public class GraphQLQueryCache {
+    private static final Logger logger = LogManager.getLogger(GraphQLQueryCache.class);
+    static final String MAX_SIZE = "choreo.connect.graphql.queryCache.maxSize";
+    private static final long DEFAULT_MAX_SIZE = 1000;
+    private static final String BLOCK_STRING_QUOTE = "\"\"\"";
+    private static final String ESCAPED_BLOCK_STRING_QUOTE = "\\\"\"\"";
+
+    private final Cache<HashCode, CachedQuery> queries;
+
+    public GraphQLQueryCache() {
+        long maxSize = Long.getLong(MAX_SIZE, DEFAULT_MAX_SIZE);
+        queries = maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(maxSize).build() : null;
+    }
+
+    /**
+     * Returns the validated query and its resources, parsing the query if it is not cached.
+     *
+     * @param api       matched api
+     * @param queryBody graphQL query
+     * @return validated query
+     * @throws EnforcerException if the query is invalid
+     */
+    public CachedQuery getQuery(API api, String queryBody) throws EnforcerException {
+        if (queries == null) {
+            return buildQuery(api, queryBody);
+        }
+        HashCode key = Hashing.sha256().hashString(normalize(queryBody), StandardCharsets.UTF_8);
+        CachedQuery query = queries.getIfPresent(key);
+        if (query == null) {
+            query = buildQuery(api, queryBody);
+            queries.put(key, query);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Found cached query for API : {}, version : {}", api.getAPIConfig().getName(),
+                    api.getAPIConfig().getVersion());
+        }
+        return query;
+    }
+
+    private static CachedQuery buildQuery(API api, String queryBody) throws EnforcerException {
+        Document document = GraphQLPayloadUtils.parseAndValidatePayload(api, queryBody);
+        return new CachedQuery(document, GraphQLPayloadUtils.buildGQLRequestContext(api, document));
+    }
+
+    /**
+     * Removes the comments and collapses the whitespaces (including commas, which are insignificant in GraphQL)
+     * between the tokens into a single space. String values and block string values are kept as they are, including
+     * their escape sequences, hence queries are only normalized to the same text if they have the same tokens.
+     *
+     * @param query graphQL query
+     * @return normalized query
+     */
+    static String normalize(String query) {
+        StringBuilder normalized = new StringBuilder(query.length());
+        boolean inWhitespace = false;
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',' || c == '\n' || c == '\r' || c == '\uFEFF') {
+                inWhitespace = true;
+                i++;
+                continue;
+            }
+            if (c == '#') {
+                // A comment ends at the end of the line
+                while (i < length && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                    i++;
+                }
+                inWhitespace = true;
+                continue;
+            }
+            if (inWhitespace && normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            inWhitespace = false;
+            if (c == '"') {
+                int end = query.startsWith(BLOCK_STRING_QUOTE, i) ? blockStringEnd(query, i) : stringEnd(query, i);
+                normalized.append(query, i, end);
+                i = end;
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the index after the closing quote of the string value starting at the given index, in which a backslash
+     * escapes the next character. An unterminated string ends at the end of the line, as it does not parse.
+     *
+     * @param query graphQL query
+     * @param start index of the opening quote
+     * @return index after the closing quote
+     */
+    private static int stringEnd(String query, int start) {
+        int i = start + 1;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else if (c == '\n' || c == '\r') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return query.length();
+    }
+
+    /**
+     * Returns the index after the closing quotes of the block string value starting at the given index, in which the
+     * only escape sequence is an escaped triple quote.
+     *
+     * @param query graphQL query
+     * @param start index of the opening quotes
+     * @return index after the closing quotes
+     */
+    private static int blockStringEnd(String query, int start) {
+        int i = start + BLOCK_STRING_QUOTE.length();
+        while (i < query.length()) {
+            if (query.startsWith(ESCAPED_BLOCK_STRING_QUOTE, i)) {
+                i += ESCAPED_BLOCK_STRING_QUOTE.length();
+            } else if (query.startsWith(BLOCK_STRING_QUOTE, i)) {
+                return i + BLOCK_STRING_QUOTE.length();
+            } else {
+                i++;
+            }
+        }
+        return query.length();
+    }
+
+    /**
+     * Query validated against the schema of the API and the resources of its operations.
+     */
+    public static class CachedQuery {
+        private final Document document;
+        private final List<ResourceConfig> resourceConfigs;
+
+        CachedQuery(Document document, List<ResourceConfig> resourceConfigs) {
+            this.document = document;
+            this.resourceConfigs = resourceConfigs;
+        }
+
+        public Document getDocument() {
+            return document;
+        }
+
+        /**
+         * Returns the resources of the operations of the query, which is empty if any of the operations does not
+         * match a resource of the API.
+         *
+         * @return a new list of the resources
+         */
+        public ArrayList<ResourceConfig> getResourceConfigs() {
+            return new ArrayList<>(resourceConfigs);
+        }
+    }
+}
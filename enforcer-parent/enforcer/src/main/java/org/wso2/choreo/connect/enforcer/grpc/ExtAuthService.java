@@ -33,6 +33,8 @@ import io.envoyproxy.envoy.type.v3.HttpStatus;
 import io.grpc.stub.StreamObserver;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 import org.wso2.choreo.connect.enforcer.api.ResponseObject;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
@@ -51,10 +53,12 @@ import org.wso2.choreo.connect.enforcer.tracing.TracingContextHolder;
 import org.wso2.choreo.connect.enforcer.tracing.TracingSpan;
 import org.wso2.choreo.connect.enforcer.tracing.TracingTracer;
 import org.wso2.choreo.connect.enforcer.tracing.Utils;
+import org.wso2.choreo.connect.enforcer.util.ExecutionContextSnapshot;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the gRPC server written to match with the envoy ext-authz filter proto file. Envoy proxy call this service.
@@ -62,60 +66,109 @@ import java.util.Map;
  */
 public class ExtAuthService extends AuthorizationGrpc.AuthorizationImplBase {
 
+    private static final Logger logger = LogManager.getLogger(ExtAuthService.class);
+    // Prebuilt values of the constant parts of the responses
+    private static final Value ENFORCER_REPLY_OK = Value.newBuilder().setStringValue("Ok").build();
+    private static final Status OK_STATUS = Status.newBuilder().setCode(Code.OK_VALUE).build();
+
     private HttpRequestHandler requestHandler = new HttpRequestHandler();
+    private final HeaderValueOptionCache headerValueOptions = new HeaderValueOptionCache();
 
     @Override
     public void check(CheckRequest request, StreamObserver<CheckResponse> responseObserver) {
         TracingSpan extAuthServiceSpan = null;
         Scope extAuthServiceSpanScope = null;
-        long starTimestamp = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean responseDispatched = false;
         try {
             String traceId = request.getAttributes().getRequest().getHttp()
                     .getHeadersOrDefault(HttpConstants.X_REQUEST_ID_HEADER,
                             request.getAttributes().getRequest().getHttp().getId());
             if (Utils.tracingEnabled()) {
                 TracingTracer tracer = Utils.getGlobalTracer();
-                Context parentContext = TracingContextHolder.getInstance().getContext();
+                Context parentContext = TracingContextHolder.PARENT_CONTEXT_KEY.get();
+                if (parentContext == null) {
+                    parentContext = TracingContextHolder.getInstance().getContext();
+                }
                 // This span will be the parent span for all the filters
                 extAuthServiceSpan = Utils.startSpan(TracingConstants.EXT_AUTH_SERVICE_SPAN, parentContext, tracer);
                 extAuthServiceSpanScope = extAuthServiceSpan.getSpan().makeCurrent();
                 Utils.setTag(extAuthServiceSpan, APIConstants.LOG_TRACE_ID, traceId);
             }
             ThreadContext.put(APIConstants.LOG_TRACE_ID, traceId);
-            ResponseObject responseObject = requestHandler.process(request);
-            CheckResponse response = buildResponse(request, responseObject);
-            responseObserver.onNext(response);
-            // When you are done, you must call onCompleted.
-            responseObserver.onCompleted();
-            ThreadContext.remove(APIConstants.LOG_TRACE_ID);
+            TracingSpan span = extAuthServiceSpan;
+            // The response is sent once the filter chain is completed, which happens on this thread unless an
+            // asynchronous filter is waiting on I/O.
+            requestHandler.processAsync(request).whenComplete(ExecutionContextSnapshot.capture().wrap(
+                    (responseObject, throwable) -> {
+                        try {
+                            if (throwable != null) {
+                                Throwable cause = throwable instanceof CompletionException &&
+                                        throwable.getCause() != null ? throwable.getCause() : throwable;
+                                logger.error("Error while processing the ext_authz check", cause);
+                                failCall(responseObserver, cause);
+                                return;
+                            }
+                            CheckResponse response = buildResponse(request, responseObject);
+                            responseObserver.onNext(response);
+                            // When you are done, you must call onCompleted.
+                            responseObserver.onCompleted();
+                        } catch (RuntimeException e) {
+                            // The future of whenComplete swallows the exception, hence the call is failed here
+                            // instead of leaving the router waiting until its timeout.
+                            logger.error("Error while sending the response of the ext_authz check", e);
+                            failCall(responseObserver, e);
+                        } finally {
+                            if (span != null) {
+                                Utils.finishSpan(span);
+                            }
+                            recordLatency(startNanos);
+                        }
+                    }));
+            responseDispatched = true;
         } finally {
-            if (Utils.tracingEnabled()) {
+            ThreadContext.remove(APIConstants.LOG_TRACE_ID);
+            if (extAuthServiceSpanScope != null) {
                 extAuthServiceSpanScope.close();
-                Utils.finishSpan(extAuthServiceSpan);
             }
-            if (MetricsManager.isMetricsEnabled()) {
-                MetricsExporter metricsExporter = MetricsManager.getInstance();
-                metricsExporter.trackMetric("enforcerLatency", System.currentTimeMillis() - starTimestamp);
-            }
-            if (JMXUtils.isJMXMetricsEnabled()) {
-                ExtAuthMetrics.getInstance().recordMetric(System.currentTimeMillis() - starTimestamp);
+            if (!responseDispatched) {
+                if (extAuthServiceSpan != null) {
+                    Utils.finishSpan(extAuthServiceSpan);
+                }
+                recordLatency(startNanos);
             }
         }
     }
 
+    private static void failCall(StreamObserver<CheckResponse> responseObserver, Throwable throwable) {
+        try {
+            responseObserver.onError(io.grpc.Status.INTERNAL.withDescription(throwable.getMessage())
+                    .withCause(throwable).asRuntimeException());
+        } catch (RuntimeException e) {
+            // The call is already completed or cancelled
+            logger.debug("Error while failing the ext_authz check", e);
+        }
+    }
+
+    private void recordLatency(long startNanos) {
+        long latencyNanos = System.nanoTime() - startNanos;
+        if (MetricsManager.isMetricsEnabled()) {
+            MetricsExporter metricsExporter = MetricsManager.getInstance();
+            metricsExporter.trackMetric("enforcerLatency", TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        }
+        if (JMXUtils.isJMXMetricsEnabled()) {
+            ExtAuthMetrics.getInstance().recordMetric(latencyNanos);
+        }
+    }
+
     private CheckResponse buildResponse(CheckRequest request, ResponseObject responseObject) {
         CheckResponse.Builder checkResponseBuilder = CheckResponse.newBuilder();
         if (responseObject.isDirectResponse()) {
             DeniedResponsePreparer deniedResponsePreparer = new DeniedResponsePreparer(DeniedHttpResponse.newBuilder());
             // set headers
             if (responseObject.getHeaderMap() != null) {
-                responseObject.getHeaderMap().forEach((key, value) -> {
-                            HeaderValueOption headerValueOption = HeaderValueOption.newBuilder()
-                                    .setHeader(HeaderValue.newBuilder().setKey(key).setValue(value).build())
-                                    .build();
-                            deniedResponsePreparer.addHeaders(headerValueOption);
-                        }
-                );
+                responseObject.getHeaderMap().forEach((key, value) ->
+                        deniedResponsePreparer.addHeaders(headerValueOptions.get(key, value)));
             }
 
             // set status code
@@ -143,7 +196,7 @@ public class ExtAuthService extends AuthorizationGrpc.AuthorizationImplBase {
             }
 
             addMetadata(metadataStructBuilder, "correlationID", responseObject.getCorrelationID());
-            addMetadata(metadataStructBuilder, MetadataConstants.CHOREO_CONNECT_ENFORCER_REPLY, "Ok");
+            metadataStructBuilder.putFields(MetadataConstants.CHOREO_CONNECT_ENFORCER_REPLY, ENFORCER_REPLY_OK);
 
             return checkResponseBuilder
                     .setDynamicMetadata(metadataStructBuilder.build())
@@ -174,10 +227,7 @@ public class ExtAuthService extends AuthorizationGrpc.AuthorizationImplBase {
                                     Constants.X_WSO2_CLUSTER_HEADER.equals(key)) {
                                 return;
                             }
-                            HeaderValueOption headerValueOption = HeaderValueOption.newBuilder()
-                                    .setHeader(HeaderValue.newBuilder().setKey(key).setValue(value).build())
-                                    .build();
-                            okResponseBuilder.addHeaders(headerValueOption);
+                            okResponseBuilder.addHeaders(headerValueOptions.get(key, value));
                 }
                 );
             }
@@ -190,12 +240,12 @@ public class ExtAuthService extends AuthorizationGrpc.AuthorizationImplBase {
             }
             
             //Adds original request path header without params as a metadata for access logging.
-            addMetadata(structBuilder, RouterAccessLogConstants.ORIGINAL_PATH_DATA_NAME, 
-            responseObject.getRequestPath().split("\\?")[0]);
+            addMetadata(structBuilder, RouterAccessLogConstants.ORIGINAL_PATH_DATA_NAME,
+                    getPathWithoutQuery(responseObject.getRequestPath()));
 
-            addMetadata(structBuilder, MetadataConstants.CHOREO_CONNECT_ENFORCER_REPLY, "Ok");
+            structBuilder.putFields(MetadataConstants.CHOREO_CONNECT_ENFORCER_REPLY, ENFORCER_REPLY_OK);
 
-            return CheckResponse.newBuilder().setStatus(Status.newBuilder().setCode(Code.OK_VALUE).build())
+            return CheckResponse.newBuilder().setStatus(OK_STATUS)
                     .setOkResponse(okResponseBuilder.build())
                     .setDynamicMetadata(structBuilder.build())
                     .build();
@@ -226,35 +276,44 @@ public class ExtAuthService extends AuthorizationGrpc.AuthorizationImplBase {
             return requestPath;
         }
 
-        Map<String, String> queryParamMap = new HashMap<>();
-        if (currentQueryParamMap != null) {
-            queryParamMap.putAll(currentQueryParamMap);
+        String pathWithoutQueryParams = getPathWithoutQuery(requestPath);
+        if (removeAllQueryParams) {
+            return pathWithoutQueryParams;
         }
-        queryParamMap.putAll(queryParamsToAdd);
-
-        String pathWithoutQueryParams = requestPath.split("\\?")[0];
-        StringBuilder requestPathBuilder = new StringBuilder(pathWithoutQueryParams);
-        int count = 0;
-        if (!removeAllQueryParams && queryParamMap.size() > 0) {
-            for (String queryParam : queryParamMap.keySet()) {
-                if (queryParamsToRemove.contains(queryParam)) {
-                    continue;
-                }
-                if (count == 0) {
-                    requestPathBuilder.append("?");
-                } else {
-                    requestPathBuilder.append("&");
-                }
-                requestPathBuilder.append(queryParam);
-                if (queryParamMap.get(queryParam) != null) {
-                    requestPathBuilder.append("=").append(queryParamMap.get(queryParam));
+        StringBuilder requestPathBuilder = new StringBuilder(requestPath.length() + 64);
+        requestPathBuilder.append(pathWithoutQueryParams);
+        // The added query parameters replace the current query parameters with the same name
+        if (currentQueryParamMap != null) {
+            for (Map.Entry<String, String> queryParam : currentQueryParamMap.entrySet()) {
+                if (!queryParamsToAdd.containsKey(queryParam.getKey())) {
+                    appendQueryParam(requestPathBuilder, pathWithoutQueryParams.length(), queryParam.getKey(),
+                            queryParam.getValue(), queryParamsToRemove);
                 }
-                count++;
             }
         }
+        for (Map.Entry<String, String> queryParam : queryParamsToAdd.entrySet()) {
+            appendQueryParam(requestPathBuilder, pathWithoutQueryParams.length(), queryParam.getKey(),
+                    queryParam.getValue(), queryParamsToRemove);
+        }
         return requestPathBuilder.toString();
     }
 
+    private static void appendQueryParam(StringBuilder requestPathBuilder, int pathLength, String name, String value,
+                                         List<String> queryParamsToRemove) {
+        if (!queryParamsToRemove.isEmpty() && queryParamsToRemove.contains(name)) {
+            return;
+        }
+        requestPathBuilder.append(requestPathBuilder.length() == pathLength ? '?' : '&').append(name);
+        if (value != null) {
+            requestPathBuilder.append('=').append(value);
+        }
+    }
+
+    private static String getPathWithoutQuery(String requestPath) {
+        int queryIndex = requestPath.indexOf('?');
+        return queryIndex < 0 ? requestPath : requestPath.substring(0, queryIndex);
+    }
+
     /**
      * Adds a given key and value as a metadata
      * 
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.grpc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.envoyproxy.envoy.config.core.v3.HeaderValue;
+import io.envoyproxy.envoy.config.core.v3.HeaderValueOption;
+import org.wso2.choreo.connect.enforcer.constants.AdapterConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prebuilt {@link HeaderValueOption}s of the router headers added to the responses, such as the cluster, retry and
+ * timeout headers. The values of these headers only depend on the API and the resource, hence the same options are
+ * shared by the responses of an API instead of building them for each request.
+ * <p>
+ * The options of the other headers are built for each response, as their values may differ by the request.
+ */
+class HeaderValueOptionCache {
+    static final String MAX_SIZE = "choreo.connect.response.headerCache.maxSize";
+    private static final long DEFAULT_MAX_SIZE = 1000;
+    private static final String[] CACHED_HEADERS = {
+            AdapterConstants.CLUSTER_HEADER,
+            AdapterConstants.HttpRouterHeaders.RETRY_ON,
+            AdapterConstants.HttpRouterHeaders.MAX_RETRIES,
+            AdapterConstants.HttpRouterHeaders.RETRIABLE_STATUS_CODES,
+            AdapterConstants.HttpRouterHeaders.UPSTREAM_REQ_TIMEOUT_MS
+    };
+
+    // Cached options by the value, for each of the cached headers
+    private final Map<String, Cache<String, HeaderValueOption>> optionsByHeader;
+
+    HeaderValueOptionCache() {
+        long maxSize = Long.getLong(MAX_SIZE, DEFAULT_MAX_SIZE);
+        Map<String, Cache<String, HeaderValueOption>> optionsByHeader = new HashMap<>();
+        if (maxSize > 0) {
+            for (String header : CACHED_HEADERS) {
+                optionsByHeader.put(header, CacheBuilder.newBuilder().maximumSize(maxSize).build());
+            }
+        }
+        this.optionsByHeader = optionsByHeader;
+    }
+
+    /**
+     * Returns the option to add the header to the request.
+     *
+     * @param key   header name
+     * @param value header value
+     * @return header option, which is shared with the other responses if the header is a router header
+     */
+    HeaderValueOption get(String key, String value) {
+        Cache<String, HeaderValueOption> options = optionsByHeader.get(key);
+        if (options == null) {
+            return build(key, value);
+        }
+        HeaderValueOption option = options.getIfPresent(value);
+        if (option == null) {
+            option = build(key, value);
+            options.put(value, option);
+        }
+        return option;
+    }
+
+    private static HeaderValueOption build(String key, String value) {
+        return HeaderValueOption.newBuilder().setHeader(HeaderValue.newBuilder().setKey(key).setValue(value).build())
+                .build();
+    }
+}
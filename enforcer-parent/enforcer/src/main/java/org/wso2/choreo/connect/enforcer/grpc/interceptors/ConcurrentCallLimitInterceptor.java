@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.grpc.interceptors;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of unary gRPC calls processed concurrently. A permit is taken when the call starts and released
+ * when the call is completed or cancelled. The calls started while there is no free permit are closed with
+ * {@link Status#RESOURCE_EXHAUSTED}. Streaming calls (i.e. access logs and websocket frames) are long-lived and are
+ * not limited.
+ */
+public class ConcurrentCallLimitInterceptor implements ServerInterceptor {
+    private static final Logger logger = LogManager.getLogger(ConcurrentCallLimitInterceptor.class);
+
+    private final Semaphore permits;
+
+    public ConcurrentCallLimitInterceptor(int maxConcurrentCalls) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentCalls));
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (call.getMethodDescriptor().getType() != MethodDescriptor.MethodType.UNARY) {
+            return next.startCall(call, headers);
+        }
+        if (!permits.tryAcquire()) {
+            logger.debug("Rejecting the call to {} since the maximum number of concurrent calls is reached",
+                    call.getMethodDescriptor().getFullMethodName());
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Maximum number of concurrent calls is reached"),
+                    new Metadata());
+            return new ServerCall.Listener<ReqT>() {
+            };
+        }
+        AtomicBoolean released = new AtomicBoolean(false);
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release();
+                }
+            }
+
+            private void release() {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        };
+    }
+}
@@ -62,12 +62,16 @@ public class OpenTelemetryInterceptor implements ServerInterceptor {
                                                       ServerCallHandler<ReqT, RespT> next) {
         logger.debug("Intercepting the request");
 
+        io.grpc.Context grpcContext = io.grpc.Context.current();
         if (Utils.tracingEnabled()) {
             TextMapPropagator propagator = TracerFactory.getInstance().getTextPropagator();
             Context parentContext = propagator.extract(Context.current(), headers, getter);
             TracingContextHolder.getInstance().setContext(parentContext);
+            // The call may be processed on a different thread (i.e. virtual thread per task), hence the parent
+            // context is attached to the gRPC context of the call as well.
+            grpcContext = grpcContext.withValue(TracingContextHolder.PARENT_CONTEXT_KEY, parentContext);
             logger.debug("Attached to propagated parent tracing context.");
         }
-        return Contexts.interceptCall(io.grpc.Context.current(), call, headers, next);
+        return Contexts.interceptCall(grpcContext, call, headers, next);
     }
 }
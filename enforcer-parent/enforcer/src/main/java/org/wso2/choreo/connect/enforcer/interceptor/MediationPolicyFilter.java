@@ -22,31 +22,52 @@ import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.wso2.choreo.connect.enforcer.commons.Filter;
+import org.wso2.choreo.connect.enforcer.commons.AsyncFilter;
 import org.wso2.choreo.connect.enforcer.commons.logging.ErrorDetails;
 import org.wso2.choreo.connect.enforcer.commons.logging.LoggingConstants;
 import org.wso2.choreo.connect.enforcer.commons.model.Policy;
 import org.wso2.choreo.connect.enforcer.commons.model.PolicyConfig;
 import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
 import org.wso2.choreo.connect.enforcer.commons.opa.OPASecurityException;
+import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.constants.APISecurityConstants;
 import org.wso2.choreo.connect.enforcer.constants.GeneralErrorCodeConstants;
 import org.wso2.choreo.connect.enforcer.interceptor.opa.OPAClient;
+import org.wso2.choreo.connect.enforcer.server.EnforcerExecutors;
+import org.wso2.choreo.connect.enforcer.util.ExecutionContextSnapshot;
 import org.wso2.choreo.connect.enforcer.util.FilterUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Apply mediation policies.
+ * <p>
+ * When the filter chain is executed asynchronously, the OPA policies are validated on a separate pool, so that the
+ * enforcer worker thread is not blocked while waiting for the OPA server. The pool is sized to the connections
+ * allowed per route of the outbound http clients, so that each of its threads can lease a connection to the OPA
+ * server, and the validations beyond it wait in the queue of the pool. The rest of the policies and the filter chain
+ * are resumed on the enforcer worker executor, so that the threads of the pool are only used for the OPA calls.
  */
-public class MediationPolicyFilter implements Filter {
+public class MediationPolicyFilter implements AsyncFilter {
     private static final Logger log = LogManager.getLogger(MediationPolicyFilter.class);
     private static final String X_URI_MAPPING_PROPERTY = "x-uri-mapping";
+    private static final String OPA_ACTION = "OPA";
+    static final String OPA_CLIENT_THREADS = "choreo.connect.opa.clientThreads";
+    private static final CompletionStage<Boolean> PROCEED = CompletableFuture.completedStage(true);
+    private static final CompletionStage<Boolean> STOP = CompletableFuture.completedStage(false);
+    private static final ExecutorService opaExecutor = createOpaExecutor();
 
     public MediationPolicyFilter() {
         OPAClient.init();
@@ -69,6 +90,65 @@ public class MediationPolicyFilter implements Filter {
         return true;
     }
 
+    @Override
+    public CompletionStage<Boolean> handleRequestAsync(RequestContext requestContext) {
+        PolicyConfig policyConfig = requestContext.getMatchedResourcePaths().get(0).getPolicyConfig();
+        if (policyConfig != null && policyConfig.getRequest() != null && policyConfig.getRequest().size() > 0) {
+            return applyPoliciesAsync(requestContext, policyConfig.getRequest(), 0);
+        }
+        return PROCEED;
+    }
+
+    private CompletionStage<Boolean> applyPoliciesAsync(RequestContext requestContext, List<Policy> policies,
+                                                        int startIndex) {
+        for (int i = startIndex; i < policies.size(); i++) {
+            Policy policy = policies.get(i);
+            if (OPA_ACTION.equals(policy.getAction())) {
+                OPAClient.PolicyEvaluation evaluation;
+                try {
+                    evaluation = OPAClient.getInstance().createEvaluation(requestContext, policy.getParameters());
+                } catch (OPASecurityException e) {
+                    handleOPAError(requestContext, e);
+                    return STOP;
+                }
+                // A cached decision is applied on the calling thread without waiting for the OPA client pool
+                Boolean cachedDecision = evaluation.getCachedDecision();
+                if (cachedDecision != null) {
+                    if (!handleOPADecision(requestContext, cachedDecision)) {
+                        return STOP;
+                    }
+                    continue;
+                }
+                int nextIndex = i + 1;
+                ExecutionContextSnapshot contextSnapshot = ExecutionContextSnapshot.capture();
+                return CompletableFuture.supplyAsync(() -> contextSnapshot.call(() ->
+                                opaAuthValidation(requestContext, evaluation)), opaExecutor)
+                        .thenComposeAsync(contextSnapshot.wrap(isValid ->
+                                isValid ? applyPoliciesAsync(requestContext, policies, nextIndex) : STOP),
+                                EnforcerExecutors.getWorkerExecutor());
+            }
+            if (!applyPolicy(requestContext, policy)) {
+                return STOP;
+            }
+        }
+        return PROCEED;
+    }
+
+    private static ExecutorService createOpaExecutor() {
+        // More threads than the connections allowed per route would only wait to lease a connection
+        int maxPerRoute = ConfigHolder.getInstance().getConfig().getHttpClientConfig().getMaxConnectionsPerRoute();
+        int threads = Math.max(1, Integer.getInteger(OPA_CLIENT_THREADS, maxPerRoute));
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "OPAClient-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private boolean applyPolicy(RequestContext requestContext, Policy policy) {
         switch (policy.getAction()) {
             case "RENAME_HEADER": {
@@ -92,7 +172,7 @@ public class MediationPolicyFilter implements Filter {
                 modifyMethod(requestContext, policy.getParameters());
                 return true;
             }
-            case "OPA": {
+            case OPA_ACTION: {
                 return opaAuthValidation(requestContext, policy.getParameters());
             }
         }
@@ -178,22 +258,39 @@ public class MediationPolicyFilter implements Filter {
 
     private boolean opaAuthValidation(RequestContext requestContext, Map<String, String> policyAttrib) {
         try {
-            boolean isValid = OPAClient.getInstance().validateRequest(requestContext, policyAttrib);
-            if (!isValid) {
-                log.error("OPA validation failed for the request: {} {}",
-                        requestContext.getRequestPathTemplate(),
-                        ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6101));
-                FilterUtils.setErrorToContext(requestContext, APISecurityConstants.OPA_AUTH_FORBIDDEN,
-                        APIConstants.StatusCodes.UNAUTHORIZED.getCode(),
-                        APISecurityConstants.OPA_AUTH_FORBIDDEN_MESSAGE, null);
-            }
-            return isValid;
+            return handleOPADecision(requestContext,
+                    OPAClient.getInstance().validateRequest(requestContext, policyAttrib));
         } catch (OPASecurityException e) {
-            log.error("Error while validating the OPA policy for the request: {} {} {}",
-                    requestContext.getRequestPathTemplate(),
-                    ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6101), e.getMessage());
-            FilterUtils.setErrorToContext(requestContext, e);
+            handleOPAError(requestContext, e);
             return false;
         }
     }
+
+    private boolean opaAuthValidation(RequestContext requestContext, OPAClient.PolicyEvaluation evaluation) {
+        try {
+            return handleOPADecision(requestContext, evaluation.evaluate());
+        } catch (OPASecurityException e) {
+            handleOPAError(requestContext, e);
+            return false;
+        }
+    }
+
+    private boolean handleOPADecision(RequestContext requestContext, boolean isValid) {
+        if (!isValid) {
+            log.error("OPA validation failed for the request: {} {}",
+                    requestContext.getRequestPathTemplate(),
+                    ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6101));
+            FilterUtils.setErrorToContext(requestContext, APISecurityConstants.OPA_AUTH_FORBIDDEN,
+                    APIConstants.StatusCodes.UNAUTHORIZED.getCode(),
+                    APISecurityConstants.OPA_AUTH_FORBIDDEN_MESSAGE, null);
+        }
+        return isValid;
+    }
+
+    private void handleOPAError(RequestContext requestContext, OPASecurityException e) {
+        log.error("Error while validating the OPA policy for the request: {} {} {}",
+                requestContext.getRequestPathTemplate(),
+                ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6101), e.getMessage());
+        FilterUtils.setErrorToContext(requestContext, e);
+    }
 }
@@ -37,6 +37,7 @@ import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.constants.APISecurityConstants;
 import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+import org.wso2.choreo.connect.enforcer.util.HttpClientRegistry;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -73,6 +74,26 @@ public class OPAClient {
 
     public boolean validateRequest(RequestContext requestContext, Map<String, String> policyAttrib)
             throws OPASecurityException {
+        PolicyEvaluation evaluation = createEvaluation(requestContext, policyAttrib);
+        Boolean cachedDecision = evaluation.getCachedDecision();
+        if (cachedDecision != null) {
+            return cachedDecision;
+        }
+        return evaluation.evaluate();
+    }
+
+    /**
+     * Generates the OPA request of the policy, so that the cached decision can be looked up before calling the OPA
+     * server with {@link PolicyEvaluation#evaluate()}.
+     *
+     * @param requestContext request context
+     * @param policyAttrib   policy attributes
+     * @return evaluation of the policy for the request
+     * @throws OPASecurityException if the request generator of the policy is not found or fails to generate the
+     *                              request
+     */
+    public PolicyEvaluation createEvaluation(RequestContext requestContext, Map<String, String> policyAttrib)
+            throws OPASecurityException {
         String requestGeneratorClassName = policyAttrib.get("requestGenerator");
         OPARequestGenerator requestGenerator = requestGeneratorMap.get(requestGeneratorClassName);
         if (requestGenerator == null) {
@@ -82,46 +103,7 @@ public class OPAClient {
             throw new OPASecurityException(APIConstants.StatusCodes.INTERNAL_SERVER_ERROR.getCode(),
                     APISecurityConstants.OPA_REQUEST_FAILURE);
         }
-
-        String serverURL = policyAttrib.get("serverURL");
-        String token = policyAttrib.get("accessKey");
-        String policyName = policyAttrib.get("policy");
-        String ruleName = policyAttrib.get("rule");
-
-        // additionalParameters - we provide this as a Map<String, String> in the interface
-        // policyAttrib should support Map<String, MAP<String, String>>
-        // and the additionalParameters should come inside this. Since APIM 4.1.0 not supports
-        // Map<String, MAP<String, String>> in the UI, this is fine for now.
-        Map<String, String> additionalParameters = new HashMap<>();
-        additionalParameters.put(OPAConstants.AdditionalParameters.ADDITIONAL_PROPERTIES,
-                policyAttrib.get("additionalProperties"));
-        additionalParameters.put(OPAConstants.AdditionalParameters.SEND_ACCESS_TOKEN,
-                policyAttrib.get("sendAccessToken"));
-
-        // client related configs
-        Map<String, String> clientOptions = new HashMap<>();
-        FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.MAX_OPEN_CONNECTIONS,
-                policyAttrib.get("maxOpenConnections"));
-        FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.MAX_PER_ROUTE,
-                policyAttrib.get("maxPerRoute"));
-        FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.CONNECT_TIMEOUT,
-                policyAttrib.get("connectionTimeout"));
-
-        // evaluating server policy URL
-        serverURL = StringUtils.removeEnd(serverURL, "/");
-        String evaluatingPolicyUrl;
-        if (StringUtils.isNotEmpty(ruleName)) {
-            evaluatingPolicyUrl = String.format("%s/%s/%s", serverURL, policyName, ruleName);
-        } else {
-            evaluatingPolicyUrl = String.format("%s/%s", serverURL, policyName);
-        }
-
-        // calling OPA server and validate response
-        String requestBody = requestGenerator.generateRequest(policyName, ruleName, additionalParameters,
-                requestContext);
-        String opaResponse = callOPAServer(evaluatingPolicyUrl, requestBody, token, clientOptions);
-        return requestGenerator.handleResponse(policyName, ruleName, opaResponse, additionalParameters,
-                requestContext);
+        return new PolicyEvaluation(requestGenerator, requestContext, policyAttrib);
     }
 
     private void loadRequestGenerators() {
@@ -139,29 +121,28 @@ public class OPAClient {
         try {
             URL url = new URL(serverEp);
             KeyStore opaKeyStore = ConfigHolder.getInstance().getOpaKeyStore();
-            try (CloseableHttpClient httpClient = (CloseableHttpClient) FilterUtils.getHttpClient(url.getProtocol(),
-                    opaKeyStore, clientOptions)) {
-                HttpPost httpPost = new HttpPost(serverEp);
-                HttpEntity reqEntity = new ByteArrayEntity(payload.getBytes(Charset.defaultCharset()));
-                httpPost.setEntity(reqEntity);
-                httpPost.setHeader(APIConstants.CONTENT_TYPE_HEADER, APIConstants.APPLICATION_JSON);
-                if (StringUtils.isNotEmpty(token)) {
-                    httpPost.setHeader(APIConstants.AUTHORIZATION_HEADER_DEFAULT,
-                            APIConstants.AUTHORIZATION_BEARER + token);
-                }
-                try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                    int statusCode = response.getStatusLine().getStatusCode();
-                    if (statusCode == 200) {
-                        HttpEntity entity = response.getEntity();
-                        try (InputStream content = entity.getContent()) {
-                            return IOUtils.toString(content, Charset.defaultCharset());
-                        }
-                    } else {
-                        log.error("Unexpected HTTP response code responded by the OPA server, HTTP code: {} {}",
-                                statusCode, ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6106));
-                        throw new OPASecurityException(APIConstants.StatusCodes.INTERNAL_SERVER_ERROR.getCode(),
-                                APISecurityConstants.OPA_REQUEST_FAILURE);
+            CloseableHttpClient httpClient = HttpClientRegistry.getInstance().getHttpClient(url, opaKeyStore,
+                    clientOptions);
+            HttpPost httpPost = new HttpPost(serverEp);
+            HttpEntity reqEntity = new ByteArrayEntity(payload.getBytes(Charset.defaultCharset()));
+            httpPost.setEntity(reqEntity);
+            httpPost.setHeader(APIConstants.CONTENT_TYPE_HEADER, APIConstants.APPLICATION_JSON);
+            if (StringUtils.isNotEmpty(token)) {
+                httpPost.setHeader(APIConstants.AUTHORIZATION_HEADER_DEFAULT,
+                        APIConstants.AUTHORIZATION_BEARER + token);
+            }
+            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode == 200) {
+                    HttpEntity entity = response.getEntity();
+                    try (InputStream content = entity.getContent()) {
+                        return IOUtils.toString(content, Charset.defaultCharset());
                     }
+                } else {
+                    log.error("Unexpected HTTP response code responded by the OPA server, HTTP code: {} {}",
+                            statusCode, ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6106));
+                    throw new OPASecurityException(APIConstants.StatusCodes.INTERNAL_SERVER_ERROR.getCode(),
+                            APISecurityConstants.OPA_REQUEST_FAILURE);
                 }
             }
         } catch (IOException e) {
@@ -171,4 +152,95 @@ public class OPAClient {
                     APISecurityConstants.OPA_REQUEST_FAILURE, e);
         }
     }
+
+    /**
+     * OPA request generated for a policy, which is evaluated by calling the OPA server unless its decision is cached.
+     */
+    public static class PolicyEvaluation {
+        private final OPARequestGenerator requestGenerator;
+        private final RequestContext requestContext;
+        private final Map<String, String> policyAttrib;
+        private final String policyName;
+        private final String ruleName;
+        private final Map<String, String> additionalParameters = new HashMap<>();
+        private final Map<String, String> clientOptions = new HashMap<>();
+        private final String evaluatingPolicyUrl;
+        private final String requestBody;
+        private final long decisionCacheTTL;
+        private final String decisionCacheKey;
+
+        private PolicyEvaluation(OPARequestGenerator requestGenerator, RequestContext requestContext,
+                                 Map<String, String> policyAttrib) throws OPASecurityException {
+            this.requestGenerator = requestGenerator;
+            this.requestContext = requestContext;
+            this.policyAttrib = policyAttrib;
+            String serverURL = policyAttrib.get("serverURL");
+            policyName = policyAttrib.get("policy");
+            ruleName = policyAttrib.get("rule");
+
+            // additionalParameters - we provide this as a Map<String, String> in the interface
+            // policyAttrib should support Map<String, MAP<String, String>>
+            // and the additionalParameters should come inside this. Since APIM 4.1.0 not supports
+            // Map<String, MAP<String, String>> in the UI, this is fine for now.
+            additionalParameters.put(OPAConstants.AdditionalParameters.ADDITIONAL_PROPERTIES,
+                    policyAttrib.get("additionalProperties"));
+            additionalParameters.put(OPAConstants.AdditionalParameters.SEND_ACCESS_TOKEN,
+                    policyAttrib.get("sendAccessToken"));
+
+            // client related configs
+            FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.MAX_OPEN_CONNECTIONS,
+                    policyAttrib.get("maxOpenConnections"));
+            FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.MAX_PER_ROUTE,
+                    policyAttrib.get("maxPerRoute"));
+            FilterUtils.putToMapIfNotNull(clientOptions, FilterUtils.HTTPClientOptions.CONNECT_TIMEOUT,
+                    policyAttrib.get("connectionTimeout"));
+
+            // evaluating server policy URL
+            serverURL = StringUtils.removeEnd(serverURL, "/");
+            if (StringUtils.isNotEmpty(ruleName)) {
+                evaluatingPolicyUrl = String.format("%s/%s/%s", serverURL, policyName, ruleName);
+            } else {
+                evaluatingPolicyUrl = String.format("%s/%s", serverURL, policyName);
+            }
+
+            requestBody = requestGenerator.generateRequest(policyName, ruleName, additionalParameters,
+                    requestContext);
+            decisionCacheTTL = OPADecisionCache.getInstance().getTTLMillis(policyAttrib);
+            decisionCacheKey = decisionCacheTTL > 0 ? OPADecisionCache.getInstance().getCacheKey(evaluatingPolicyUrl,
+                    requestBody, policyAttrib) : null;
+        }
+
+        /**
+         * Returns the cached decision of the policy, or null if the decision is not cached.
+         *
+         * @return cached decision or null
+         */
+        public Boolean getCachedDecision() {
+            if (decisionCacheKey == null) {
+                return null;
+            }
+            Boolean cachedDecision = OPADecisionCache.getInstance().get(decisionCacheKey);
+            if (cachedDecision != null) {
+                log.debug("OPA decision found in the cache for the policy: {}", evaluatingPolicyUrl);
+            }
+            return cachedDecision;
+        }
+
+        /**
+         * Calls the OPA server and validates its response.
+         *
+         * @return true if the request is allowed by the policy
+         * @throws OPASecurityException if the OPA server could not be called or its response is invalid
+         */
+        public boolean evaluate() throws OPASecurityException {
+            String opaResponse = callOPAServer(evaluatingPolicyUrl, requestBody, policyAttrib.get("accessKey"),
+                    clientOptions);
+            boolean isValid = requestGenerator.handleResponse(policyName, ruleName, opaResponse,
+                    additionalParameters, requestContext);
+            if (decisionCacheKey != null) {
+                OPADecisionCache.getInstance().put(decisionCacheKey, isValid, decisionCacheTTL, policyAttrib);
+            }
+            return isValid;
+        }
+    }
 }
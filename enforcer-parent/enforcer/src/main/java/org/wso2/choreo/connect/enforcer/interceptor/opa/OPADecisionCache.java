@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.interceptor.opa;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.OPADecisionCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in cache of OPA decisions. Caching is enabled per policy by setting the policy attribute
+ * {@code decisionCacheTTL} (seconds) and the cache key is the hash of the evaluating policy URL and the
+ * {@code input} of the generated OPA request body. The transport headers which are different for each request, such
+ * as the request ID and the tracing headers, are left out of the key. The attribute {@code decisionCacheKeyFields}
+ * can be used to select the comma separated set of fields under {@code input} (nested fields are separated with a
+ * ".", e.g. {@code method,path,transportHeaders.authorization}) that makes up the key instead. Negative decisions are
+ * cached as well unless {@code decisionCacheNegative} is set to false.
+ */
+public class OPADecisionCache {
+    private static final Logger log = LogManager.getLogger(OPADecisionCache.class);
+    private static final String MAX_SIZE = "choreo.connect.opa.decisionCache.maxSize";
+    private static final long DEFAULT_MAX_SIZE = 10000;
+    private static final String INPUT = "input";
+    private static final String TRANSPORT_HEADERS = "transportHeaders";
+    // Transport headers which are unique to each request, or to each trace
+    private static final Set<String> PER_REQUEST_HEADERS = Set.of(HttpConstants.X_REQUEST_ID_HEADER, "traceparent",
+            "tracestate", "b3", "x-b3-traceid", "x-b3-spanid", "x-b3-parentspanid", "x-b3-sampled", "x-b3-flags",
+            "x-ot-span-context", "x-cloud-trace-context", "x-amzn-trace-id", "x-client-trace-id", "uber-trace-id");
+    private static final String ENVOY_HEADER_PREFIX = "x-envoy-";
+    private static final String FIELD_SEPARATOR = ",";
+    private static final String NESTED_FIELD_SEPARATOR = "\\.";
+    private static final OPADecisionCache opaDecisionCache = new OPADecisionCache();
+
+    static final String DECISION_CACHE_TTL = "decisionCacheTTL";
+    static final String DECISION_CACHE_KEY_FIELDS = "decisionCacheKeyFields";
+    static final String DECISION_CACHE_NEGATIVE = "decisionCacheNegative";
+
+    private final Cache<String, Decision> decisions;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private OPADecisionCache() {
+        decisions = CacheBuilder.newBuilder()
+                .maximumSize(Long.getLong(MAX_SIZE, DEFAULT_MAX_SIZE))
+                .build();
+        OPADecisionCacheMetrics.getInstance();
+    }
+
+    public static OPADecisionCache getInstance() {
+        return opaDecisionCache;
+    }
+
+    /**
+     * Returns the TTL of the decisions of the given policy in milliseconds, or 0 if caching is not enabled.
+     *
+     * @param policyAttrib policy attributes
+     * @return TTL in milliseconds
+     */
+    long getTTLMillis(Map<String, String> policyAttrib) {
+        String ttl = policyAttrib.get(DECISION_CACHE_TTL);
+        if (StringUtils.isEmpty(ttl)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(ttl.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            log.debug("Invalid OPA decision cache TTL: {}, caching is disabled for the policy", ttl);
+            return 0;
+        }
+    }
+
+    /**
+     * Builds the cache key for the given policy and OPA request body.
+     *
+     * @param evaluatingPolicyUrl OPA policy URL
+     * @param requestBody         OPA request body generated by the request generator
+     * @param policyAttrib        policy attributes
+     * @return cache key
+     */
+    String getCacheKey(String evaluatingPolicyUrl, String requestBody, Map<String, String> policyAttrib) {
+        String fingerprint;
+        JSONObject input;
+        try {
+            input = new JSONObject(requestBody).optJSONObject(INPUT);
+        } catch (JSONException e) {
+            log.debug("Error while parsing the OPA request body, using the complete request body as the key", e);
+            input = null;
+        }
+        if (input == null) {
+            fingerprint = requestBody;
+        } else {
+            String keyFields = policyAttrib.get(DECISION_CACHE_KEY_FIELDS);
+            fingerprint = StringUtils.isNotEmpty(keyFields) ? selectFields(input, keyFields) :
+                    selectStableFields(input);
+        }
+        return evaluatingPolicyUrl + "#" + Hashing.sha256().hashString(fingerprint, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the cached decision for the given key if it is not expired, otherwise null.
+     *
+     * @param cacheKey cache key
+     * @return cached decision or null
+     */
+    Boolean get(String cacheKey) {
+        Decision decision = decisions.getIfPresent(cacheKey);
+        if (decision != null) {
+            if (decision.expiryTimeMillis > System.currentTimeMillis()) {
+                hitCount.increment();
+                return decision.allowed;
+            }
+            // Only the expired decision is removed, in case it is already replaced by another thread
+            decisions.asMap().remove(cacheKey, decision);
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Caches the decision for the given key.
+     *
+     * @param cacheKey     cache key
+     * @param allowed      OPA decision
+     * @param ttlMillis    TTL in milliseconds
+     * @param policyAttrib policy attributes
+     */
+    void put(String cacheKey, boolean allowed, long ttlMillis, Map<String, String> policyAttrib) {
+        if (!allowed && "false".equalsIgnoreCase(policyAttrib.get(DECISION_CACHE_NEGATIVE))) {
+            return;
+        }
+        decisions.put(cacheKey, new Decision(allowed, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getSize() {
+        return decisions.size();
+    }
+
+    private static String selectFields(JSONObject input, String keyFields) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (String field : keyFields.split(FIELD_SEPARATOR)) {
+            Object value = input;
+            for (String name : field.trim().split(NESTED_FIELD_SEPARATOR)) {
+                value = value instanceof JSONObject ? ((JSONObject) value).opt(name) : null;
+            }
+            appendCanonical(fingerprint, value);
+            fingerprint.append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    private static String selectStableFields(JSONObject input) {
+        JSONObject transportHeaders = input.optJSONObject(TRANSPORT_HEADERS);
+        if (transportHeaders != null) {
+            for (String header : new ArrayList<>(transportHeaders.keySet())) {
+                if (PER_REQUEST_HEADERS.contains(header) || header.startsWith(ENVOY_HEADER_PREFIX)) {
+                    transportHeaders.remove(header);
+                }
+            }
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        appendCanonical(fingerprint, input);
+        return fingerprint.toString();
+    }
+
+    /**
+     * Appends the value with the keys of the objects sorted, as the order of the keys in the request body depends on
+     * the order of the headers of the request.
+     */
+    private static void appendCanonical(StringBuilder fingerprint, Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            fingerprint.append('{');
+            for (String key : new TreeSet<>(object.keySet())) {
+                fingerprint.append(JSONObject.quote(key)).append(':');
+                appendCanonical(fingerprint, object.opt(key));
+                fingerprint.append(',');
+            }
+            fingerprint.append('}');
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            fingerprint.append('[');
+            for (int i = 0; i < array.length(); i++) {
+                appendCanonical(fingerprint, array.opt(i));
+                fingerprint.append(',');
+            }
+            fingerprint.append(']');
+        } else if (value instanceof String) {
+            fingerprint.append(JSONObject.quote((String) value));
+        } else {
+            fingerprint.append(value);
+        }
+    }
+
+    private static class Decision {
+        private final boolean allowed;
+        private final long expiryTimeMillis;
+
+        Decision(boolean allowed, long expiryTimeMillis) {
+            this.allowed = allowed;
+            this.expiryTimeMillis = expiryTimeMillis;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, similar to an HDR histogram. Each power of two range of
+ * microseconds is split into {@value #SUB_BUCKET_COUNT} linear buckets, hence a recorded value is reported with a
+ * relative error below 7%. Values from 1 microsecond up to about 19 hours are tracked, larger values are counted in
+ * the last bucket.
+ * <p>
+ * Recording is wait-free and does not allocate, as the buckets are striped {@link LongAdder}s. Readers take a
+ * snapshot of the buckets, which may not include the values recorded concurrently.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 36;
+    private static final long MAX_TRACKABLE_MICROS = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator minMicros = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets[bucketIndex(Math.min(micros, MAX_TRACKABLE_MICROS))].increment();
+        count.increment();
+        sumMicros.add(micros);
+        minMicros.accumulate(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long total = count.sum();
+        return total == 0 ? 0 : microsToMillis(sumMicros.sum()) / total;
+    }
+
+    public double getMinMillis() {
+        long min = minMicros.get();
+        return min == Long.MAX_VALUE ? 0 : microsToMillis(min);
+    }
+
+    public double getMaxMillis() {
+        long max = maxMicros.get();
+        return max == Long.MIN_VALUE ? 0 : microsToMillis(max);
+    }
+
+    /**
+     * Returns the latency at the given percentile, which is the highest value equivalent to the bucket the percentile
+     * falls into.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in milliseconds, or 0 if no value is recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return microsToMillis(Math.min(bucketLowerBound(i + 1) - 1, maxMicros.get()));
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Resets the histogram. Values recorded while resetting may be partially cleared.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sumMicros.reset();
+        minMicros.reset();
+        maxMicros.reset();
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static double microsToMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
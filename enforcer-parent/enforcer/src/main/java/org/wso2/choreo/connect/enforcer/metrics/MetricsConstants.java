@@ -24,6 +24,9 @@ package org.wso2.choreo.connect.enforcer.metrics;
 public class MetricsConstants {
 
     public static final String AZURE_METRICS_EXPORTER = "azure";
+    public static final String PROMETHEUS_METRICS_EXPORTER = "prometheus";
+    public static final String PROMETHEUS_SCRAPE_PATH = "/metrics";
+    public static final String THROTTLE_OUTCOME_ALLOWED = "ALLOWED";
     public static final String RESPONSE_LATENCY = "responseLatency";
     public static final String RESPONSE_MEDIATION_LATENCY = "responseMediationLatency";
     public static final String REQUEST_MEDIATION_LATENCY = "requestMediationLatency";
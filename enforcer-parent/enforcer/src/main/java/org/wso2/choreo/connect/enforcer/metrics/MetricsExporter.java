@@ -38,4 +38,39 @@ public interface MetricsExporter {
      * @param value the value of the metric
      */
     void trackMetric(String key, double value);
+
+    /**
+     * Accepts the response code and the latencies of a request served by the router. The latencies are in
+     * milliseconds and are measured from the time the request is received by the router.
+     *
+     * @param apiName name of the API, or null if unknown
+     * @param apiVersion version of the API, or null if unknown
+     * @param resource resource template of the API, or null if unknown
+     * @param responseCode response code sent to the client
+     * @param requestMediationLatency time taken to send the request to the backend
+     * @param backendLatency time taken by the backend to respond
+     * @param responseLatency time taken to send the response to the client
+     */
+    default void trackRequest(String apiName, String apiVersion, String resource, int responseCode,
+                              long requestMediationLatency, long backendLatency, long responseLatency) {
+        trackMetric(MetricsConstants.RESPONSE_CODE, responseCode);
+        HashMap<String, Double> valueMap = new HashMap<>();
+        valueMap.put(MetricsConstants.RESPONSE_LATENCY, (double) responseLatency);
+        valueMap.put(MetricsConstants.RESPONSE_MEDIATION_LATENCY,
+                (double) (responseLatency - requestMediationLatency - backendLatency));
+        valueMap.put(MetricsConstants.REQUEST_MEDIATION_LATENCY, (double) requestMediationLatency);
+        valueMap.put(MetricsConstants.BACKEND_LATENCY, (double) backendLatency);
+        trackMetrics(valueMap);
+    }
+
+    /**
+     * Accepts the outcome of the throttle decision of a request.
+     *
+     * @param apiName name of the API
+     * @param apiVersion version of the API
+     * @param outcome throttle out reason if the request is throttled, otherwise
+     *                {@link MetricsConstants#THROTTLE_OUTCOME_ALLOWED}
+     */
+    default void trackThrottleOutcome(String apiName, String apiVersion, String outcome) {
+    }
 }
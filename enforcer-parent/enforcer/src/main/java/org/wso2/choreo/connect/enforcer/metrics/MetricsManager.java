@@ -31,14 +31,16 @@ public class MetricsManager {
     private static final Logger LOGGER = LogManager.getLogger(MetricsManager.class);
     private static String exporterType = "none";
     private static boolean isMetricsEnabled = false;
-    private static MetricsExporter metricsExporter;
+    private static volatile MetricsExporter metricsExporter;
 
     public static MetricsExporter getInstance() {
         if (metricsExporter == null) {
-            synchronized (new Object()) {
+            synchronized (MetricsManager.class) {
                 if (metricsExporter == null) {
                     if (exporterType.equals(MetricsConstants.AZURE_METRICS_EXPORTER)) {
                         metricsExporter = new AzureMetricsExporter();
+                    } else if (exporterType.equals(MetricsConstants.PROMETHEUS_METRICS_EXPORTER)) {
+                        metricsExporter = new PrometheusMetricsExporter();
                     } else {
                         LOGGER.error("Metrics exporter type: " + exporterType + " not found!");
                     }
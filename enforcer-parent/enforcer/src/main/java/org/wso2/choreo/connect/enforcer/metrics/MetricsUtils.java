@@ -19,18 +19,21 @@
 
 package org.wso2.choreo.connect.enforcer.metrics;
 
-import com.google.protobuf.UInt32Value;
+import com.google.protobuf.Duration;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import io.envoyproxy.envoy.data.accesslog.v3.AccessLogCommon;
 import io.envoyproxy.envoy.data.accesslog.v3.HTTPAccessLogEntry;
 import io.envoyproxy.envoy.service.accesslog.v3.StreamAccessLogsMessage;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.wso2.carbon.apimgt.common.analytics.collectors.AnalyticsDataProvider;
-import org.wso2.carbon.apimgt.common.analytics.publishers.dto.Latencies;
-import org.wso2.choreo.connect.enforcer.analytics.ChoreoAnalyticsProvider;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
 import org.wso2.choreo.connect.enforcer.constants.AnalyticsConstants;
+import org.wso2.choreo.connect.enforcer.constants.MetadataConstants;
 
-import java.util.HashMap;
+import java.util.StringJoiner;
 
 /**
  * Common utility functions to publish metrics.
@@ -50,11 +53,6 @@ public class MetricsUtils {
             HTTPAccessLogEntry logEntry = message.getHttpLogs().getLogEntry(i);
             MetricsExporter metricsExporter = MetricsManager.getInstance();
 
-            UInt32Value httpResponseProperties = logEntry.getResponse().getResponseCode();
-            metricsExporter.trackMetric(MetricsConstants.RESPONSE_CODE, httpResponseProperties.getValue());
-            AnalyticsDataProvider provider = new ChoreoAnalyticsProvider(logEntry);
-            Latencies latencies = provider.getLatencies();
-
             // handle do not publish event
             if ((!StringUtils.isEmpty(logEntry.getResponse().getResponseCodeDetails()))
                     && logEntry.getResponse().getResponseCodeDetails()
@@ -66,30 +64,60 @@ public class MetricsUtils {
                     // JWKS endpoint calls should not be published
                     || (AnalyticsConstants.JWKS_ENDPOINT_PATH.equals(logEntry.getCommonProperties().getRouteName()))) {
                 LOGGER.debug("Metric is ignored as it is already published by the enforcer.");
-                publishMetrics(metricsExporter, latencies);
+                publishMetrics(metricsExporter, logEntry);
                 continue;
             }
-            publishMetrics(metricsExporter, latencies);
+            publishMetrics(metricsExporter, logEntry);
+        }
+    }
+
+    /**
+     * Adds the API name, version and resource template to the ext_authz metadata of the request, which are read
+     * back from the access log entry as the labels of the request metrics. These are otherwise added by the
+     * analytics filter, hence this is only required if analytics is disabled.
+     *
+     * @param requestContext the request context of the request.
+     */
+    public static void addAPIMetadata(RequestContext requestContext) {
+        requestContext.addMetadataToMap(MetadataConstants.API_NAME_KEY, requestContext.getMatchedAPI().getName());
+        requestContext.addMetadataToMap(MetadataConstants.API_VERSION_KEY,
+                requestContext.getMatchedAPI().getVersion());
+        StringJoiner resourceTemplate = new StringJoiner(",");
+        for (ResourceConfig resourceConfig : requestContext.getMatchedResourcePaths()) {
+            resourceTemplate.add(resourceConfig.getPath());
         }
+        requestContext.addMetadataToMap(MetadataConstants.API_RESOURCE_TEMPLATE_KEY, resourceTemplate.toString());
     }
 
     /**
-     * Method to export/publish metrics.
+     * Method to export/publish metrics. The latencies are calculated the same way as the analytics event, without
+     * building the analytics event.
      *
      * @param metricsExporter the exporter instance.
-     * @param latencies the latencies to be exported.
+     * @param logEntry the access log entry of the request.
      */
-    private static void publishMetrics(MetricsExporter metricsExporter, Latencies latencies) {
+    private static void publishMetrics(MetricsExporter metricsExporter, HTTPAccessLogEntry logEntry) {
 
-        HashMap<String, Double> valueMap = new HashMap<>();
+        AccessLogCommon properties = logEntry.getCommonProperties();
+        long backendResponseRecvTimestamp = toMillis(properties.getTimeToLastUpstreamRxByte());
+        long backendRequestSendTimestamp = toMillis(properties.getTimeToFirstUpstreamTxByte());
+        long downstreamResponseSendTimestamp = toMillis(properties.getTimeToLastDownstreamTxByte());
 
-        valueMap.put(MetricsConstants.RESPONSE_LATENCY, (double) latencies.getResponseLatency());
-        valueMap.put(MetricsConstants.RESPONSE_MEDIATION_LATENCY,
-                (double) latencies.getResponseMediationLatency());
-        valueMap.put(MetricsConstants.REQUEST_MEDIATION_LATENCY,
-                (double) latencies.getRequestMediationLatency());
-        valueMap.put(MetricsConstants.BACKEND_LATENCY, (double) latencies.getBackendLatency());
+        Struct extAuthMetadata = properties.getMetadata().getFilterMetadataOrDefault(
+                MetadataConstants.EXT_AUTH_METADATA_CONTEXT_KEY, Struct.getDefaultInstance());
+        metricsExporter.trackRequest(getStringValue(extAuthMetadata, MetadataConstants.API_NAME_KEY),
+                getStringValue(extAuthMetadata, MetadataConstants.API_VERSION_KEY),
+                getStringValue(extAuthMetadata, MetadataConstants.API_RESOURCE_TEMPLATE_KEY),
+                logEntry.getResponse().getResponseCode().getValue(), backendRequestSendTimestamp,
+                backendResponseRecvTimestamp - backendRequestSendTimestamp, downstreamResponseSendTimestamp);
+    }
+
+    private static long toMillis(Duration duration) {
+        return duration.getSeconds() * 1000 + duration.getNanos() / 1000000;
+    }
 
-        metricsExporter.trackMetrics(valueMap);
+    private static String getStringValue(Struct struct, String key) {
+        Value value = struct.getFieldsOrDefault(key, null);
+        return value == null ? null : value.getStringValue();
     }
 }
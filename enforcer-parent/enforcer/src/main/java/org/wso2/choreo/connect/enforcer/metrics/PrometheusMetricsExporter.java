@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics;
+
+import com.google.common.cache.CacheStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.common.ExpiringCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics exporter which keeps the metrics in-process and renders them in the Prometheus text exposition format
+ * when scraped. The metric families are registered upfront and a series is created once per label set, hence
+ * recording a metric only updates striped counters and does not allocate.
+ */
+public class PrometheusMetricsExporter implements MetricsExporter {
+
+    private static final Logger LOGGER = LogManager.getLogger(PrometheusMetricsExporter.class);
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String METRIC_PREFIX = "choreo_connect_";
+    private static final String REQUEST_LATENCY = METRIC_PREFIX + "request_latency_milliseconds";
+    private static final String BACKEND_LATENCY = METRIC_PREFIX + "backend_latency_milliseconds";
+    private static final String REQUEST_MEDIATION_LATENCY = METRIC_PREFIX
+            + "request_mediation_latency_milliseconds";
+    private static final String REQUESTS_TOTAL = METRIC_PREFIX + "requests_total";
+    private static final String THROTTLE_DECISIONS_TOTAL = METRIC_PREFIX + "throttle_decisions_total";
+    private static final String CACHE_REQUESTS_TOTAL = METRIC_PREFIX + "cache_requests_total";
+    private static final String CACHE_EVICTIONS_TOTAL = METRIC_PREFIX + "cache_evictions_total";
+    private static final String CACHE_SIZE = METRIC_PREFIX + "cache_size";
+    private static final String UNKNOWN_LABEL_VALUE = "unknown";
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    // Upper bounds of the latency histogram buckets in milliseconds
+    private static final long[] LATENCY_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000,
+            30000};
+
+    private final Map<String, Map<String, APIMetrics>> apiMetrics = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public PrometheusMetricsExporter() {
+        LOGGER.debug("PrometheusMetricsExporter is successfully initialized.");
+    }
+
+    @Override
+    public void trackMetrics(HashMap<String, Double> metrics) {
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            trackMetric(metric.getKey(), metric.getValue());
+        }
+    }
+
+    @Override
+    public void trackMetric(String key, double value) {
+        Histogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+        }
+        histogram.observe((long) value);
+    }
+
+    @Override
+    public void trackRequest(String apiName, String apiVersion, String resource, int responseCode,
+                             long requestMediationLatency, long backendLatency, long responseLatency) {
+        ResourceMetrics resourceMetrics = getAPIMetrics(apiName, apiVersion).getResourceMetrics(resource);
+        resourceMetrics.requestLatency.observe(responseLatency);
+        resourceMetrics.backendLatency.observe(backendLatency);
+        resourceMetrics.requestMediationLatency.observe(requestMediationLatency);
+        int statusClass = responseCode / 100;
+        resourceMetrics.statusClassCounts[statusClass > 0 && statusClass < STATUS_CLASSES.length ? statusClass : 0]
+                .increment();
+    }
+
+    @Override
+    public void trackThrottleOutcome(String apiName, String apiVersion, String outcome) {
+        getAPIMetrics(apiName, apiVersion).getThrottleOutcomeCount(outcome).increment();
+    }
+
+    /**
+     * Renders the current value of all the metrics in the Prometheus text exposition format.
+     *
+     * @param output builder to append the metrics to
+     */
+    public void scrape(StringBuilder output) {
+        writeHeader(output, REQUEST_LATENCY, "histogram", "Latency of the requests served by the router.");
+        forEachResource((labels, metrics) -> metrics.requestLatency.write(output, REQUEST_LATENCY, labels));
+        writeHeader(output, BACKEND_LATENCY, "histogram", "Latency of the backend services.");
+        forEachResource((labels, metrics) -> metrics.backendLatency.write(output, BACKEND_LATENCY, labels));
+        writeHeader(output, REQUEST_MEDIATION_LATENCY, "histogram",
+                "Latency added by the gateway before the request is sent to the backend.");
+        forEachResource((labels, metrics) -> metrics.requestMediationLatency.write(output, REQUEST_MEDIATION_LATENCY,
+                labels));
+        writeHeader(output, REQUESTS_TOTAL, "counter", "Number of requests served by the router by status class.");
+        forEachResource((labels, metrics) -> {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                long count = metrics.statusClassCounts[i].sum();
+                if (count > 0) {
+                    output.append(REQUESTS_TOTAL).append('{').append(labels).append(",status_class=\"")
+                            .append(STATUS_CLASSES[i]).append("\"} ").append(count).append('\n');
+                }
+            }
+        });
+        writeHeader(output, THROTTLE_DECISIONS_TOTAL, "counter", "Number of throttle decisions by outcome.");
+        apiMetrics.forEach((apiName, versions) -> versions.forEach((apiVersion, metrics) ->
+                metrics.throttleOutcomes.forEach((outcome, count) -> {
+                    output.append(THROTTLE_DECISIONS_TOTAL).append('{');
+                    appendAPILabels(output, apiName, apiVersion);
+                    output.append(",outcome=\"");
+                    appendLabelValue(output, outcome);
+                    output.append("\"} ").append(count.sum()).append('\n');
+                })));
+        histograms.forEach((key, histogram) -> {
+            String name = METRIC_PREFIX + toSnakeCase(key);
+            writeHeader(output, name, "histogram", key);
+            histogram.write(output, name, null);
+        });
+        writeCacheMetrics(output);
+    }
+
+    private static void writeCacheMetrics(StringBuilder output) {
+        List<ExpiringCache<?>> caches = CacheProvider.getCaches();
+        CacheStats[] stats = new CacheStats[caches.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = caches.get(i).stats();
+        }
+        writeHeader(output, CACHE_REQUESTS_TOTAL, "counter", "Number of lookups of the caches by result.");
+        for (int i = 0; i < stats.length; i++) {
+            appendCacheSample(output, CACHE_REQUESTS_TOTAL, caches.get(i), "hit", stats[i].hitCount());
+            appendCacheSample(output, CACHE_REQUESTS_TOTAL, caches.get(i), "miss", stats[i].missCount());
+        }
+        writeHeader(output, CACHE_EVICTIONS_TOTAL, "counter", "Number of entries evicted from the caches.");
+        for (int i = 0; i < stats.length; i++) {
+            appendCacheSample(output, CACHE_EVICTIONS_TOTAL, caches.get(i), null, stats[i].evictionCount());
+        }
+        writeHeader(output, CACHE_SIZE, "gauge", "Approximate number of entries of the caches.");
+        for (ExpiringCache<?> cache : caches) {
+            appendCacheSample(output, CACHE_SIZE, cache, null, cache.size());
+        }
+    }
+
+    private static void appendCacheSample(StringBuilder output, String name, ExpiringCache<?> cache, String result,
+                                          long value) {
+        output.append(name).append("{cache=\"").append(cache.getName());
+        if (result != null) {
+            output.append("\",result=\"").append(result);
+        }
+        output.append("\"} ").append(value).append('\n');
+    }
+
+    private APIMetrics getAPIMetrics(String apiName, String apiVersion) {
+        String name = apiName == null ? UNKNOWN_LABEL_VALUE : apiName;
+        String version = apiVersion == null ? UNKNOWN_LABEL_VALUE : apiVersion;
+        Map<String, APIMetrics> versions = apiMetrics.get(name);
+        if (versions == null) {
+            versions = apiMetrics.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
+        }
+        APIMetrics metrics = versions.get(version);
+        if (metrics == null) {
+            metrics = versions.computeIfAbsent(version, k -> new APIMetrics());
+        }
+        return metrics;
+    }
+
+    private void forEachResource(ResourceMetricsWriter writer) {
+        StringBuilder labels = new StringBuilder();
+        apiMetrics.forEach((apiName, versions) -> versions.forEach((apiVersion, metrics) ->
+                metrics.resources.forEach((resource, resourceMetrics) -> {
+                    labels.setLength(0);
+                    appendAPILabels(labels, apiName, apiVersion);
+                    labels.append(",resource=\"");
+                    appendLabelValue(labels, resource);
+                    labels.append('"');
+                    writer.write(labels, resourceMetrics);
+                })));
+    }
+
+    private static void writeHeader(StringBuilder output, String name, String type, String help) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendAPILabels(StringBuilder output, String apiName, String apiVersion) {
+        output.append("api_name=\"");
+        appendLabelValue(output, apiName);
+        output.append("\",api_version=\"");
+        appendLabelValue(output, apiVersion);
+        output.append('"');
+    }
+
+    private static void appendLabelValue(StringBuilder output, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                output.append('\\').append(c);
+            } else if (c == '\n') {
+                output.append("\\n");
+            } else {
+                output.append(c);
+            }
+        }
+    }
+
+    private static String toSnakeCase(String key) {
+        StringBuilder name = new StringBuilder(key.length() + 4);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isUpperCase(c)) {
+                name.append('_').append(Character.toLowerCase(c));
+            } else if (Character.isLetterOrDigit(c)) {
+                name.append(c);
+            } else {
+                name.append('_');
+            }
+        }
+        return name.toString();
+    }
+
+    private interface ResourceMetricsWriter {
+        void write(CharSequence labels, ResourceMetrics metrics);
+    }
+
+    /**
+     * Metrics of an API version.
+     */
+    private static class APIMetrics {
+        private final Map<String, ResourceMetrics> resources = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> throttleOutcomes = new ConcurrentHashMap<>();
+
+        private ResourceMetrics getResourceMetrics(String resource) {
+            String key = resource == null ? UNKNOWN_LABEL_VALUE : resource;
+            ResourceMetrics metrics = resources.get(key);
+            if (metrics == null) {
+                metrics = resources.computeIfAbsent(key, k -> new ResourceMetrics());
+            }
+            return metrics;
+        }
+
+        private LongAdder getThrottleOutcomeCount(String outcome) {
+            String key = outcome == null ? UNKNOWN_LABEL_VALUE : outcome;
+            LongAdder count = throttleOutcomes.get(key);
+            if (count == null) {
+                count = throttleOutcomes.computeIfAbsent(key, k -> new LongAdder());
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Metrics of a resource of an API version.
+     */
+    private static class ResourceMetrics {
+        private final Histogram requestLatency = new Histogram();
+        private final Histogram backendLatency = new Histogram();
+        private final Histogram requestMediationLatency = new Histogram();
+        private final LongAdder[] statusClassCounts = new LongAdder[STATUS_CLASSES.length];
+
+        private ResourceMetrics() {
+            for (int i = 0; i < statusClassCounts.length; i++) {
+                statusClassCounts[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Histogram with the latency buckets, the last bucket being the +Inf bucket.
+     */
+    private static class Histogram {
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS.length + 1];
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void observe(long value) {
+            int bucket = 0;
+            while (bucket < LATENCY_BUCKETS.length && value > LATENCY_BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sum.add(value);
+        }
+
+        private void write(StringBuilder output, String name, CharSequence labels) {
+            long cumulativeCount = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulativeCount += buckets[i].sum();
+                output.append(name).append("_bucket{");
+                if (labels != null) {
+                    output.append(labels).append(',');
+                }
+                output.append("le=\"");
+                if (i < LATENCY_BUCKETS.length) {
+                    output.append(LATENCY_BUCKETS[i]);
+                } else {
+                    output.append("+Inf");
+                }
+                output.append("\"} ").append(cumulativeCount).append('\n');
+            }
+            appendSample(output, name + "_sum", labels, sum.sum());
+            appendSample(output, name + "_count", labels, cumulativeCount);
+        }
+
+        private static void appendSample(StringBuilder output, String name, CharSequence labels, long value) {
+            output.append(name);
+            if (labels != null) {
+                output.append('{').append(labels).append('}');
+            }
+            output.append(' ').append(value).append('\n');
+        }
+    }
+}
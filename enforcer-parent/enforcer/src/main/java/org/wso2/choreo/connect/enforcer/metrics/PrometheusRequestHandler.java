@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics;
+
+import io.grpc.netty.shaded.io.netty.buffer.ByteBufUtil;
+import io.grpc.netty.shaded.io.netty.channel.ChannelFuture;
+import io.grpc.netty.shaded.io.netty.channel.ChannelFutureListener;
+import io.grpc.netty.shaded.io.netty.channel.ChannelHandlerContext;
+import io.grpc.netty.shaded.io.netty.channel.SimpleChannelInboundHandler;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.FullHttpResponse;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpMethod;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpObject;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpRequest;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpVersion;
+import io.grpc.netty.shaded.io.netty.util.ReferenceCountUtil;
+import org.apache.http.protocol.HTTP;
+
+/**
+ * Scrape endpoint of the {@link PrometheusMetricsExporter}, served by the utility rest server.
+ */
+public class PrometheusRequestHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+    private final PrometheusMetricsExporter metricsExporter;
+
+    public PrometheusRequestHandler(PrometheusMetricsExporter metricsExporter) {
+        this.metricsExporter = metricsExporter;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+        if (msg instanceof HttpRequest) {
+            HttpRequest req = (HttpRequest) msg;
+            String path = req.uri().split("\\?")[0]; //Get the context without query params
+
+            if (!(HttpMethod.GET.equals(req.method()) && path.equals(MetricsConstants.PROMETHEUS_SCRAPE_PATH))) {
+                // The message is released once this method returns, hence retained for the next handler.
+                ctx.fireChannelRead(ReferenceCountUtil.retain(msg));
+                return;
+            }
+            StringBuilder metrics = new StringBuilder(4096);
+            metricsExporter.scrape(metrics);
+            FullHttpResponse res = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    ByteBufUtil.writeUtf8(ctx.alloc(), metrics));
+            res.headers()
+                    .set(HTTP.CONN_DIRECTIVE, HTTP.CONN_KEEP_ALIVE)
+                    .set(HTTP.CONTENT_TYPE, PrometheusMetricsExporter.CONTENT_TYPE)
+                    .setInt(HTTP.CONTENT_LEN, res.content().readableBytes());
+            ChannelFuture f = ctx.writeAndFlush(res);
+            f.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+import java.util.Map;
+
+/**
+ * MBean API for the metrics of the caches of the enforcer, keyed by the name of the cache.
+ */
+public interface CacheMetricsMXBean {
+
+    /**
+     * Getter for the approximate number of entries of each cache.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getSizes();
+
+    /**
+     * Getter for the ratio of the lookups which found a cached entry in each cache.
+     *
+     * @return Map&lt;String, Double&gt;
+     */
+    public Map<String, Double> getHitRatios();
+
+    /**
+     * Getter for the number of entries evicted from each cache due to the size limit or the expiry time.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getEvictionCounts();
+
+    /**
+     * Getter for the number of entries of each cache dropped as the token of the entry was expired.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getExpiredCounts();
+
+    /**
+     * Getter for the average time taken to load an entry of each cache, in milliseconds.
+     *
+     * @return Map&lt;String, Double&gt;
+     */
+    public Map<String, Double> getAverageLoadPenaltyMillis();
+
+    /**
+     * Removes the entries of all the caches.
+     */
+    public void invalidateAll();
+}
@@ -49,14 +49,51 @@ public interface ExtAuthMetricsMXBean {
      */
     public long getMinResponseTimeMillis();
 
+    /**
+     * Getter for the median response time in milliseconds.
+     *
+     * @return double
+     */
+    public double getResponseTimeP50Millis();
+
+    /**
+     * Getter for the 90th percentile response time in milliseconds.
+     *
+     * @return double
+     */
+    public double getResponseTimeP90Millis();
+
+    /**
+     * Getter for the 99th percentile response time in milliseconds.
+     *
+     * @return double
+     */
+    public double getResponseTimeP99Millis();
+
+    /**
+     * Getter for the 99.9th percentile response time in milliseconds.
+     *
+     * @return double
+     */
+    public double getResponseTimeP999Millis();
+
     /**
      * Resets all the metrics to thier initial values.
      */
     public void resetExtAuthMetrics();
 
     /**
-     * Resets all the metrics to thier initial values.
+     * Getter for the request count in the current five minute window.
+     *
+     * @return long
      */
     public long getRequestCountInLastFiveMinutes();
 
+    /**
+     * Getter for the average request rate of the last completed five minute window.
+     *
+     * @return double
+     */
+    public double getRequestsPerSecond();
+
 }
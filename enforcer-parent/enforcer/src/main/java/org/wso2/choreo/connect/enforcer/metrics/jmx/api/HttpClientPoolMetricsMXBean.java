@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+/**
+ * MBean API for the connection pools of the shared outbound HTTP clients.
+ */
+public interface HttpClientPoolMetricsMXBean {
+
+    /**
+     * Getter for the number of pooled HTTP clients registered.
+     *
+     * @return int
+     */
+    public int getClientCount();
+
+    /**
+     * Getter for the number of connections currently leased from the pools.
+     *
+     * @return int
+     */
+    public int getLeasedConnections();
+
+    /**
+     * Getter for the number of idle connections available in the pools.
+     *
+     * @return int
+     */
+    public int getAvailableConnections();
+
+    /**
+     * Getter for the number of requests waiting for a connection.
+     *
+     * @return int
+     */
+    public int getPendingRequests();
+
+    /**
+     * Getter for the maximum number of connections allowed across the pools.
+     *
+     * @return int
+     */
+    public int getMaxConnections();
+}
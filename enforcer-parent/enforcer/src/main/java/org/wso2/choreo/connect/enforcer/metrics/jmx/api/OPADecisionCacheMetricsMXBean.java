@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+/**
+ * MBean API for the OPA decision cache metrics.
+ */
+public interface OPADecisionCacheMetricsMXBean {
+
+    /**
+     * Getter for the number of decisions served from the cache.
+     *
+     * @return long
+     */
+    public long getHitCount();
+
+    /**
+     * Getter for the number of cache lookups which required a call to the OPA server.
+     *
+     * @return long
+     */
+    public long getMissCount();
+
+    /**
+     * Getter for the ratio of cache hits to the total cache lookups.
+     *
+     * @return double
+     */
+    public double getHitRatio();
+
+    /**
+     * Getter for the number of decisions currently held in the cache.
+     *
+     * @return long
+     */
+    public long getSize();
+}
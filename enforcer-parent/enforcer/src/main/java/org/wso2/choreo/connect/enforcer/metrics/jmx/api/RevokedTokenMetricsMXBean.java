@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+/**
+ * MBean API for the revoked token metrics.
+ */
+public interface RevokedTokenMetricsMXBean {
+
+    /**
+     * Getter for the number of revoked tokens which are not expired yet.
+     *
+     * @return long
+     */
+    public long getSize();
+
+    /**
+     * Getter for the number of tokens checked against the revoked tokens.
+     *
+     * @return long
+     */
+    public long getLookupCount();
+
+    /**
+     * Getter for the number of lookups which passed the Bloom filter but were not revoked.
+     *
+     * @return long
+     */
+    public long getFalsePositiveCount();
+
+    /**
+     * Getter for the ratio of false positives to the total lookups.
+     *
+     * @return double
+     */
+    public double getFalsePositiveRatio();
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+import java.util.Map;
+
+/**
+ * MBean API for the metrics of the subscription data received from the adapter, by the type of the data.
+ */
+public interface SubscriptionDataMetricsMXBean {
+
+    /**
+     * Getter for the number of entries in the store.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getResourceCounts();
+
+    /**
+     * Getter for the time taken to apply the last update received from the adapter, in microseconds.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getLastApplyTimes();
+
+    /**
+     * Getter for the total number of entries added, updated or removed by the updates received from the adapter.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getChangedResourceCounts();
+
+    /**
+     * Getter for the number of updates received from the adapter.
+     *
+     * @return Map&lt;String, Long&gt;
+     */
+    public Map<String, Long> getUpdateCounts();
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.api;
+
+/**
+ * MBean API for the metrics of the throttle events published to the traffic manager.
+ */
+public interface ThrottlePublisherMetricsMXBean {
+
+    /**
+     * Getter for the number of events waiting in the event queue to be sent.
+     *
+     * @return long
+     */
+    public long getQueueDepth();
+
+    /**
+     * Getter for the number of events put to the event queue.
+     *
+     * @return long
+     */
+    public long getPublishedEventCount();
+
+    /**
+     * Getter for the number of events dropped as the event queue was full.
+     *
+     * @return long
+     */
+    public long getDroppedEventCount();
+
+    /**
+     * Getter for the average time the events waited in the event queue, in milliseconds.
+     *
+     * @return double
+     */
+    public double getAverageQueueLatencyMillis();
+
+    /**
+     * Getter for the maximum time an event waited in the event queue, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMaxQueueLatencyMillis();
+
+    /**
+     * Getter for the 99th percentile of the time the events waited in the event queue, in milliseconds.
+     *
+     * @return double
+     */
+    public double getQueueLatencyP99Millis();
+
+    /**
+     * Resets the recorded times the events waited in the event queue.
+     */
+    public void resetQueueLatency();
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
+
+import com.google.common.cache.CacheStats;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.common.ExpiringCache;
+import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.api.CacheMetricsMXBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Singleton MBean exposing the stats of the caches created by the {@link CacheProvider}.
+ */
+public class CacheMetrics implements CacheMetricsMXBean {
+
+    private static CacheMetrics cacheMetricsMBean = null;
+
+    private CacheMetrics() {
+        MBeanRegistrator.registerMBean(this);
+    }
+
+    /**
+     * Getter for the Singleton CacheMetrics instance.
+     *
+     * @return CacheMetrics
+     */
+    public static CacheMetrics getInstance() {
+        if (cacheMetricsMBean == null) {
+            synchronized (CacheMetrics.class) {
+                if (cacheMetricsMBean == null) {
+                    cacheMetricsMBean = new CacheMetrics();
+                }
+            }
+        }
+        return cacheMetricsMBean;
+    }
+
+    @Override
+    public Map<String, Long> getSizes() {
+        return collect(ExpiringCache::size);
+    }
+
+    @Override
+    public Map<String, Double> getHitRatios() {
+        return collect(cache -> cache.stats().hitRate());
+    }
+
+    @Override
+    public Map<String, Long> getEvictionCounts() {
+        return collect(cache -> cache.stats().evictionCount());
+    }
+
+    @Override
+    public Map<String, Long> getExpiredCounts() {
+        return collect(ExpiringCache::getExpiredCount);
+    }
+
+    @Override
+    public Map<String, Double> getAverageLoadPenaltyMillis() {
+        return collect(cache -> {
+            CacheStats stats = cache.stats();
+            return stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+        });
+    }
+
+    @Override
+    public void invalidateAll() {
+        CacheProvider.invalidateAll();
+    }
+
+    private static <T> Map<String, T> collect(Function<ExpiringCache<?>, T> metric) {
+        Map<String, T> metrics = new LinkedHashMap<>();
+        for (ExpiringCache<?> cache : CacheProvider.getCaches()) {
+            metrics.put(cache.getName(), metric.apply(cache));
+        }
+        return metrics;
+    }
+}
@@ -17,24 +17,25 @@
 package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
 
 import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.LatencyHistogram;
 import org.wso2.choreo.connect.enforcer.metrics.jmx.api.ExtAuthMetricsMXBean;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Singleton MBean for ExtAuth Service metrics.
+ * Singleton MBean for ExtAuth Service metrics. Response times are recorded without locking into a
+ * {@link LatencyHistogram}, as they are recorded by every worker thread of the ext_authz service.
  */
 public class ExtAuthMetrics extends TimerTask implements ExtAuthMetricsMXBean {
 
     private static final long REQUEST_COUNT_INTERVAL_MILLIS = 5 * 60 * 1000;
     private static ExtAuthMetrics extAuthMetricsMBean = null;
 
-    private long requestCountInLastFiveMinutes = 0;
-    private long totalRequestCount = 0;
-    private long averageResponseTimeMillis = 0;
-    private long maxResponseTimeMillis = Long.MIN_VALUE;
-    private long minResponseTimeMillis = Long.MAX_VALUE;
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LongAdder requestCountInCurrentWindow = new LongAdder();
+    private volatile long requestCountInLastWindow = 0;
 
     private ExtAuthMetrics() {
         MBeanRegistrator.registerMBean(this);
@@ -49,9 +50,9 @@ public class ExtAuthMetrics extends TimerTask implements ExtAuthMetricsMXBean {
         if (extAuthMetricsMBean == null) {
             synchronized (ExtAuthMetrics.class) {
                 if (extAuthMetricsMBean == null) {
-                    Timer timer = new Timer();
+                    Timer timer = new Timer("ExtAuthMetrics", true);
                     extAuthMetricsMBean = new ExtAuthMetrics();
-                    timer.schedule(extAuthMetricsMBean, 0, REQUEST_COUNT_INTERVAL_MILLIS);
+                    timer.schedule(extAuthMetricsMBean, REQUEST_COUNT_INTERVAL_MILLIS, REQUEST_COUNT_INTERVAL_MILLIS);
                 }
             }
         }
@@ -60,47 +61,71 @@ public class ExtAuthMetrics extends TimerTask implements ExtAuthMetricsMXBean {
 
     @Override
     public long getTotalRequestCount() {
-        return totalRequestCount;
-    };
+        return responseTimes.getCount();
+    }
 
     @Override
     public long getAverageResponseTimeMillis() {
-        return averageResponseTimeMillis;
-    };
+        return Math.round(responseTimes.getMeanMillis());
+    }
 
     @Override
     public long getMaxResponseTimeMillis() {
-        return maxResponseTimeMillis;
-    };
+        return Math.round(responseTimes.getMaxMillis());
+    }
 
     @Override
     public long getMinResponseTimeMillis() {
-        return minResponseTimeMillis;
-    };
-
-    public synchronized void recordMetric(long responseTimeMillis) {
-        this.requestCountInLastFiveMinutes += 1;
-        this.totalRequestCount += 1;
-        this.averageResponseTimeMillis = (this.averageResponseTimeMillis + responseTimeMillis) / totalRequestCount;
-        this.minResponseTimeMillis = Math.min(this.minResponseTimeMillis, responseTimeMillis);
-        this.maxResponseTimeMillis = Math.max(this.maxResponseTimeMillis, responseTimeMillis);
+        return Math.round(responseTimes.getMinMillis());
+    }
+
+    @Override
+    public double getResponseTimeP50Millis() {
+        return responseTimes.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getResponseTimeP90Millis() {
+        return responseTimes.getPercentileMillis(90);
+    }
+
+    @Override
+    public double getResponseTimeP99Millis() {
+        return responseTimes.getPercentileMillis(99);
     }
 
     @Override
-    public synchronized void resetExtAuthMetrics() {
-        this.totalRequestCount = 0;
-        this.averageResponseTimeMillis = 0;
-        this.maxResponseTimeMillis = Long.MIN_VALUE;
-        this.minResponseTimeMillis = Long.MAX_VALUE;
+    public double getResponseTimeP999Millis() {
+        return responseTimes.getPercentileMillis(99.9);
+    }
+
+    /**
+     * Records the response time of a request.
+     *
+     * @param responseTimeNanos response time in nanoseconds
+     */
+    public void recordMetric(long responseTimeNanos) {
+        requestCountInCurrentWindow.increment();
+        responseTimes.recordNanos(responseTimeNanos);
     }
 
     @Override
-    public synchronized void run() {
-        requestCountInLastFiveMinutes = 0;
+    public void resetExtAuthMetrics() {
+        responseTimes.reset();
+    }
+
+    @Override
+    public void run() {
+        requestCountInLastWindow = requestCountInCurrentWindow.sumThenReset();
     }
 
     @Override
     public long getRequestCountInLastFiveMinutes() {
-        return requestCountInLastFiveMinutes;
+        return requestCountInCurrentWindow.sum();
+    }
+
+    @Override
+    public double getRequestsPerSecond() {
+        return requestCountInLastWindow * 1000.0 / REQUEST_COUNT_INTERVAL_MILLIS;
     }
 }
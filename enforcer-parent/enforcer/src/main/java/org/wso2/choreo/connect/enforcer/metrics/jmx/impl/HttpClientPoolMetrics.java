@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
+
+import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.api.HttpClientPoolMetricsMXBean;
+import org.wso2.choreo.connect.enforcer.util.HttpClientRegistry;
+
+/**
+ * Singleton MBean exposing the connection pool statistics of the {@link HttpClientRegistry}.
+ */
+public class HttpClientPoolMetrics implements HttpClientPoolMetricsMXBean {
+
+    private static HttpClientPoolMetrics httpClientPoolMetricsMBean = null;
+
+    private HttpClientPoolMetrics() {
+        MBeanRegistrator.registerMBean(this);
+    }
+
+    /**
+     * Getter for the Singleton HttpClientPoolMetrics instance.
+     *
+     * @return HttpClientPoolMetrics
+     */
+    public static HttpClientPoolMetrics getInstance() {
+        if (httpClientPoolMetricsMBean == null) {
+            synchronized (HttpClientPoolMetrics.class) {
+                if (httpClientPoolMetricsMBean == null) {
+                    httpClientPoolMetricsMBean = new HttpClientPoolMetrics();
+                }
+            }
+        }
+        return httpClientPoolMetricsMBean;
+    }
+
+    @Override
+    public int getClientCount() {
+        return HttpClientRegistry.getInstance().getClientCount();
+    }
+
+    @Override
+    public int getLeasedConnections() {
+        return HttpClientRegistry.getInstance().getTotalStats().getLeased();
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        return HttpClientRegistry.getInstance().getTotalStats().getAvailable();
+    }
+
+    @Override
+    public int getPendingRequests() {
+        return HttpClientRegistry.getInstance().getTotalStats().getPending();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return HttpClientRegistry.getInstance().getTotalStats().getMax();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
+
+import org.wso2.choreo.connect.enforcer.interceptor.opa.OPADecisionCache;
+import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.api.OPADecisionCacheMetricsMXBean;
+
+/**
+ * Singleton MBean exposing the metrics of the {@link OPADecisionCache}.
+ */
+public class OPADecisionCacheMetrics implements OPADecisionCacheMetricsMXBean {
+
+    private static OPADecisionCacheMetrics opaDecisionCacheMetricsMBean = null;
+
+    private OPADecisionCacheMetrics() {
+        MBeanRegistrator.registerMBean(this);
+    }
+
+    /**
+     * Getter for the Singleton OPADecisionCacheMetrics instance.
+     *
+     * @return OPADecisionCacheMetrics
+     */
+    public static OPADecisionCacheMetrics getInstance() {
+        if (opaDecisionCacheMetricsMBean == null) {
+            synchronized (OPADecisionCacheMetrics.class) {
+                if (opaDecisionCacheMetricsMBean == null) {
+                    opaDecisionCacheMetricsMBean = new OPADecisionCacheMetrics();
+                }
+            }
+        }
+        return opaDecisionCacheMetricsMBean;
+    }
+
+    @Override
+    public long getHitCount() {
+        return OPADecisionCache.getInstance().getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return OPADecisionCache.getInstance().getMissCount();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public long getSize() {
+        return OPADecisionCache.getInstance().getSize();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
+
+import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.api.SubscriptionDataMetricsMXBean;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Singleton MBean exposing the metrics of the subscription data store updates.
+ */
+public class SubscriptionDataMetrics implements SubscriptionDataMetricsMXBean {
+
+    private static SubscriptionDataMetrics subscriptionDataMetricsMBean = null;
+
+    private final Map<String, TypeMetrics> metricsByType = new ConcurrentHashMap<>();
+
+    private SubscriptionDataMetrics() {
+        MBeanRegistrator.registerMBean(this);
+    }
+
+    /**
+     * Getter for the Singleton SubscriptionDataMetrics instance.
+     *
+     * @return SubscriptionDataMetrics
+     */
+    public static SubscriptionDataMetrics getInstance() {
+        if (subscriptionDataMetricsMBean == null) {
+            synchronized (SubscriptionDataMetrics.class) {
+                if (subscriptionDataMetricsMBean == null) {
+                    subscriptionDataMetricsMBean = new SubscriptionDataMetrics();
+                }
+            }
+        }
+        return subscriptionDataMetricsMBean;
+    }
+
+    /**
+     * Records an update of the entries of a type received from the adapter.
+     *
+     * @param type          type of the entries
+     * @param resourceCount number of entries in the store after the update
+     * @param added         number of entries added
+     * @param updated       number of entries updated
+     * @param removed       number of entries removed
+     * @param applyTimeNano time taken to apply the update, in nanoseconds
+     */
+    public void recordUpdate(String type, int resourceCount, int added, int updated, int removed,
+                             long applyTimeNano) {
+        TypeMetrics metrics = metricsByType.computeIfAbsent(type, key -> new TypeMetrics());
+        metrics.resourceCount = resourceCount;
+        metrics.lastApplyTimeMicros = TimeUnit.NANOSECONDS.toMicros(applyTimeNano);
+        metrics.changedResourceCount.add(added + updated + removed);
+        metrics.updateCount.increment();
+    }
+
+    @Override
+    public Map<String, Long> getResourceCounts() {
+        return collect(metrics -> metrics.resourceCount);
+    }
+
+    @Override
+    public Map<String, Long> getLastApplyTimes() {
+        return collect(metrics -> metrics.lastApplyTimeMicros);
+    }
+
+    @Override
+    public Map<String, Long> getChangedResourceCounts() {
+        return collect(metrics -> metrics.changedResourceCount.sum());
+    }
+
+    @Override
+    public Map<String, Long> getUpdateCounts() {
+        return collect(metrics -> metrics.updateCount.sum());
+    }
+
+    private Map<String, Long> collect(ToLongFunction<TypeMetrics> metric) {
+        Map<String, Long> values = new TreeMap<>();
+        metricsByType.forEach((type, metrics) -> values.put(type, metric.applyAsLong(metrics)));
+        return values;
+    }
+
+    private static class TypeMetrics {
+        private volatile long resourceCount;
+        private volatile long lastApplyTimeMicros;
+        private final LongAdder changedResourceCount = new LongAdder();
+        private final LongAdder updateCount = new LongAdder();
+    }
+}
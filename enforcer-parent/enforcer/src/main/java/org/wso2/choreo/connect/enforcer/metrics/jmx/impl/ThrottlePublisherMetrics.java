@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics.jmx.impl;
+
+import org.wso2.choreo.connect.enforcer.jmx.MBeanRegistrator;
+import org.wso2.choreo.connect.enforcer.metrics.LatencyHistogram;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.api.ThrottlePublisherMetricsMXBean;
+import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.DataPublisher;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Singleton MBean for the metrics of the throttle events published to the traffic manager. The queue depth and
+ * the dropped events are read from the {@link DataPublisher} when the metrics are read.
+ */
+public class ThrottlePublisherMetrics implements ThrottlePublisherMetricsMXBean {
+
+    private static ThrottlePublisherMetrics throttlePublisherMetricsMBean = null;
+
+    private final LatencyHistogram queueLatencies = new LatencyHistogram();
+    private final LongAdder publishedEventCount = new LongAdder();
+    private volatile DataPublisher dataPublisher;
+
+    private ThrottlePublisherMetrics() {
+        MBeanRegistrator.registerMBean(this);
+    }
+
+    /**
+     * Getter for the Singleton ThrottlePublisherMetrics instance.
+     *
+     * @return ThrottlePublisherMetrics
+     */
+    public static ThrottlePublisherMetrics getInstance() {
+        if (throttlePublisherMetricsMBean == null) {
+            synchronized (ThrottlePublisherMetrics.class) {
+                if (throttlePublisherMetricsMBean == null) {
+                    throttlePublisherMetricsMBean = new ThrottlePublisherMetrics();
+                }
+            }
+        }
+        return throttlePublisherMetricsMBean;
+    }
+
+    public void setDataPublisher(DataPublisher dataPublisher) {
+        this.dataPublisher = dataPublisher;
+    }
+
+    /**
+     * Records an event put to the event queue.
+     */
+    public void recordPublished() {
+        publishedEventCount.increment();
+    }
+
+    /**
+     * Records the time an event waited in the event queue until a worker picked it.
+     *
+     * @param latencyNanos time in nanoseconds
+     */
+    public void recordQueueLatency(long latencyNanos) {
+        queueLatencies.recordNanos(latencyNanos);
+    }
+
+    @Override
+    public long getQueueDepth() {
+        DataPublisher publisher = dataPublisher;
+        return publisher != null ? publisher.getQueueDepth() : 0;
+    }
+
+    @Override
+    public long getPublishedEventCount() {
+        return publishedEventCount.sum();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        DataPublisher publisher = dataPublisher;
+        return publisher != null ? publisher.getFailedEventCount() : 0;
+    }
+
+    @Override
+    public double getAverageQueueLatencyMillis() {
+        return queueLatencies.getMeanMillis();
+    }
+
+    @Override
+    public double getMaxQueueLatencyMillis() {
+        return queueLatencies.getMaxMillis();
+    }
+
+    @Override
+    public double getQueueLatencyP99Millis() {
+        return queueLatencies.getPercentileMillis(99);
+    }
+
+    @Override
+    public void resetQueueLatency() {
+        queueLatencies.reset();
+    }
+}
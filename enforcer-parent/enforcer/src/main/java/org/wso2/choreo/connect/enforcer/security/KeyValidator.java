@@ -18,6 +18,8 @@
 
 package org.wso2.choreo.connect.enforcer.security;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nimbusds.jwt.JWTClaimsSet;
 import net.minidev.json.JSONObject;
 import org.apache.logging.log4j.LogManager;
@@ -46,6 +48,7 @@ import org.wso2.choreo.connect.enforcer.util.FilterUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -53,6 +56,14 @@ import java.util.Set;
  */
 public class KeyValidator {
     private static final Logger log = LogManager.getLogger(KeyValidator.class);
+    private static final String VALIDATION_CACHE_MAX_SIZE = "choreo.connect.subscription.validationCache.maxSize";
+    private static final long DEFAULT_VALIDATION_CACHE_MAX_SIZE = 10000;
+    // Results of the subscription validation of access tokens. A result is used only if the subscription data
+    // store is not updated after the result is cached.
+    private static final Cache<SubscriptionValidationKey, SubscriptionValidationResult> subscriptionValidationResults =
+            CacheBuilder.newBuilder()
+                    .maximumSize(Long.getLong(VALIDATION_CACHE_MAX_SIZE, DEFAULT_VALIDATION_CACHE_MAX_SIZE))
+                    .build();
 
     /**
      * Validate the scopes related to the given validationContext.
@@ -156,13 +167,34 @@ public class KeyValidator {
             apiTenantDomain = APIConstants.SUPER_TENANT_DOMAIN_NAME;
         }
 
+        SubscriptionDataStore datastore = SubscriptionDataHolder.getInstance()
+                .getTenantSubscriptionStore(apiTenantDomain);
+        if (datastore == null) {
+            log.error("Subscription data store is null for tenant domain " + apiTenantDomain);
+            return validateSubscription(null, uuid, consumerKey, keyManager);
+        }
+        // The version is read before the data, hence a result is never newer than the version it is cached with
+        long storeVersion = datastore.getVersion();
+        SubscriptionValidationKey validationKey = new SubscriptionValidationKey(uuid, consumerKey, keyManager);
+        SubscriptionValidationResult cachedResult = subscriptionValidationResults.getIfPresent(validationKey);
+        if (cachedResult != null && cachedResult.datastore == datastore && cachedResult.storeVersion == storeVersion) {
+            log.debug("Subscription validation result is found in the cache.");
+            return new APIKeyValidationInfoDTO(cachedResult.validationInfo);
+        }
+        APIKeyValidationInfoDTO infoDTO = validateSubscription(datastore, uuid, consumerKey, keyManager);
+        subscriptionValidationResults.put(validationKey, new SubscriptionValidationResult(datastore, storeVersion,
+                new APIKeyValidationInfoDTO(infoDTO)));
+        log.debug("After validating subscriptions");
+        return infoDTO;
+    }
+
+    private static APIKeyValidationInfoDTO validateSubscription(SubscriptionDataStore datastore, String uuid,
+                                                                String consumerKey, String keyManager) {
         API api = null;
         ApplicationKeyMapping key = null;
         Application app = null;
         Subscription sub = null;
 
-        SubscriptionDataStore datastore = SubscriptionDataHolder.getInstance()
-                .getTenantSubscriptionStore(apiTenantDomain);
         //TODO add a check to see whether datastore is initialized an load data using rest api if it is not loaded
         // TODO: (VirajSalaka) Handle the scenario where the event is dropped.
         if (datastore != null) {
@@ -190,8 +222,6 @@ public class KeyValidator {
             } else {
                 log.info("API not found in the data store for API UUID :" + uuid);
             }
-        } else {
-            log.error("Subscription data store is null for tenant domain " + apiTenantDomain);
         }
 
         APIKeyValidationInfoDTO infoDTO = new APIKeyValidationInfoDTO();
@@ -203,7 +233,6 @@ public class KeyValidator {
             //Scenario where validation failed and message is not set
             infoDTO.setValidationStatus(APIConstants.KeyValidationStatus.API_AUTH_RESOURCE_FORBIDDEN);
         }
-        log.debug("After validating subscriptions");
         return infoDTO;
     }
 
@@ -381,4 +410,54 @@ public class KeyValidator {
 
         return false;
     }
+
+    /**
+     * Key of the subscription validation result of an access token.
+     */
+    private static class SubscriptionValidationKey {
+        private final String apiUUID;
+        private final String consumerKey;
+        private final String keyManager;
+
+        private SubscriptionValidationKey(String apiUUID, String consumerKey, String keyManager) {
+            this.apiUUID = apiUUID;
+            this.consumerKey = consumerKey;
+            this.keyManager = keyManager;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SubscriptionValidationKey)) {
+                return false;
+            }
+            SubscriptionValidationKey that = (SubscriptionValidationKey) o;
+            return Objects.equals(apiUUID, that.apiUUID) && Objects.equals(consumerKey, that.consumerKey)
+                    && Objects.equals(keyManager, that.keyManager);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(apiUUID, consumerKey, keyManager);
+        }
+    }
+
+    /**
+     * Subscription validation result and the version of the data store it is derived from. The validation info is
+     * never updated, and a copy of it is returned for each request.
+     */
+    private static class SubscriptionValidationResult {
+        private final SubscriptionDataStore datastore;
+        private final long storeVersion;
+        private final APIKeyValidationInfoDTO validationInfo;
+
+        private SubscriptionValidationResult(SubscriptionDataStore datastore, long storeVersion,
+                                             APIKeyValidationInfoDTO validationInfo) {
+            this.datastore = datastore;
+            this.storeVersion = storeVersion;
+            this.validationInfo = validationInfo;
+        }
+    }
 }
@@ -528,13 +528,11 @@ public class JWTAuthenticator implements Authenticator {
         JWTValidationInfo jwtValidationInfo = null;
         if (isGatewayTokenCacheEnabled &&
                 !SignedJWTInfo.ValidationStatus.NOT_VALIDATED.equals(signedJWTInfo.getValidationStatus())) {
-            Object cacheToken = CacheProvider.getGatewayTokenCache().getIfPresent(jti);
-            if (cacheToken != null && (Boolean) cacheToken &&
+            Boolean cacheToken = CacheProvider.getGatewayTokenCache().getIfPresent(jti);
+            if (cacheToken != null && cacheToken &&
                     SignedJWTInfo.ValidationStatus.VALID.equals(signedJWTInfo.getValidationStatus())) {
-                if (CacheProvider.getGatewayKeyCache().getIfPresent(jti) != null) {
-                    JWTValidationInfo tempJWTValidationInfo =
-                            (JWTValidationInfo) CacheProvider.getGatewayKeyCache()
-                                    .getIfPresent(jti);
+                JWTValidationInfo tempJWTValidationInfo = CacheProvider.getGatewayKeyCache().getIfPresent(jti);
+                if (tempJWTValidationInfo != null) {
                     checkTokenExpiration(jti, tempJWTValidationInfo);
                     jwtValidationInfo = tempJWTValidationInfo;
                 }
@@ -545,9 +543,8 @@ public class JWTAuthenticator implements Authenticator {
                             + FilterUtils.getMaskedToken(jwtHeader));
                 }
                 log.debug("Invalid JWT token. " + FilterUtils.getMaskedToken(jwtHeader));
-                if (CacheProvider.getGatewayKeyCache().getIfPresent(jti) != null) {
-                    jwtValidationInfo = (JWTValidationInfo) CacheProvider.getGatewayKeyCache().getIfPresent(jti);
-                } else {
+                jwtValidationInfo = CacheProvider.getGatewayKeyCache().getIfPresent(jti);
+                if (jwtValidationInfo == null) {
                     log.warn("Token retrieved from the invalid token cache. But the validation info not found "
                             + "in the key cache for the Token: " + FilterUtils.getMaskedToken(jwtHeader));
                     jwtValidationInfo = new JWTValidationInfo();
@@ -565,7 +562,9 @@ public class JWTAuthenticator implements Authenticator {
                 if (isGatewayTokenCacheEnabled) {
                     // Add token to tenant token cache
                     if (jwtValidationInfo.isValid()) {
-                        CacheProvider.getGatewayTokenCache().put(jti, true);
+                        // Expires with the validation info of the token in the key cache
+                        CacheProvider.getGatewayTokenCache().put(jti, true,
+                                CacheProvider.getGatewayKeyCache().getExpiryTime(jwtValidationInfo));
                     } else {
                         CacheProvider.getInvalidTokenCache().put(jti, true);
                     }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.security.jwt.validator;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
+import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
+import org.wso2.choreo.connect.enforcer.config.dto.ExtendedTokenIssuerDto;
+import org.wso2.choreo.connect.enforcer.util.HttpClientRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Singleton which keeps the JWKS keys of each token issuer, with the RSA public keys already built. The keys of an
+ * issuer are fetched when the first token of the issuer is validated, and are then refreshed in the background
+ * according to the cache headers of the JWKS endpoint, hence the validation of a token does not wait for the JWKS
+ * endpoint as long as the key of the token is known.
+ * <p>
+ * Concurrent fetches of the same issuer are coalesced into a single call to the JWKS endpoint. A token with an
+ * unknown key id fetches the keys again only once per {@code choreo.connect.jwks.unknownKidRefetchIntervalSeconds},
+ * so that tokens with random key ids do not reach the JWKS endpoint on each request. If the keys of an issuer cannot
+ * be fetched for its first tokens, the tokens of the issuer fail without calling the JWKS endpoint again until
+ * {@code choreo.connect.jwks.initialFetchBackoffSeconds} pass.
+ */
+public class JWKSKeyStore {
+
+    private static final Logger logger = LogManager.getLogger(JWKSKeyStore.class);
+    private static final String REFRESH_INTERVAL_SECONDS = "choreo.connect.jwks.refreshIntervalSeconds";
+    private static final String MIN_REFRESH_INTERVAL_SECONDS = "choreo.connect.jwks.minRefreshIntervalSeconds";
+    private static final String UNKNOWN_KID_REFETCH_INTERVAL_SECONDS =
+            "choreo.connect.jwks.unknownKidRefetchIntervalSeconds";
+    private static final String FETCH_TIMEOUT_SECONDS = "choreo.connect.jwks.fetchTimeoutSeconds";
+    private static final String INITIAL_FETCH_BACKOFF_SECONDS = "choreo.connect.jwks.initialFetchBackoffSeconds";
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 900;
+    private static final long DEFAULT_MIN_REFRESH_INTERVAL_SECONDS = 60;
+    private static final long DEFAULT_UNKNOWN_KID_REFETCH_INTERVAL_SECONDS = 10;
+    private static final long DEFAULT_FETCH_TIMEOUT_SECONDS = 10;
+    private static final long DEFAULT_INITIAL_FETCH_BACKOFF_SECONDS = 5;
+    private static final String MAX_AGE = "max-age";
+    private static final String NO_CACHE = "no-cache";
+    private static final String NO_STORE = "no-store";
+    private static final JWKSKeyStore instance = new JWKSKeyStore();
+
+    private final Map<String, IssuerKeys> keysByIssuer = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private final long refreshIntervalSeconds;
+    private final long minRefreshIntervalSeconds;
+    private final long unknownKidRefetchIntervalNanos;
+    private final long fetchTimeoutSeconds;
+    private final long initialFetchBackoffNanos;
+
+    private JWKSKeyStore() {
+        refreshIntervalSeconds = Long.getLong(REFRESH_INTERVAL_SECONDS, DEFAULT_REFRESH_INTERVAL_SECONDS);
+        minRefreshIntervalSeconds = Math.min(refreshIntervalSeconds,
+                Long.getLong(MIN_REFRESH_INTERVAL_SECONDS, DEFAULT_MIN_REFRESH_INTERVAL_SECONDS));
+        unknownKidRefetchIntervalNanos = TimeUnit.SECONDS.toNanos(Long.getLong(UNKNOWN_KID_REFETCH_INTERVAL_SECONDS,
+                DEFAULT_UNKNOWN_KID_REFETCH_INTERVAL_SECONDS));
+        fetchTimeoutSeconds = Long.getLong(FETCH_TIMEOUT_SECONDS, DEFAULT_FETCH_TIMEOUT_SECONDS);
+        initialFetchBackoffNanos = TimeUnit.SECONDS.toNanos(Long.getLong(INITIAL_FETCH_BACKOFF_SECONDS,
+                DEFAULT_INITIAL_FETCH_BACKOFF_SECONDS));
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-key-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static JWKSKeyStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the RSA public key of the given key id from the JWKS endpoint of the token issuer. The keys are fetched
+     * only if the keys of the issuer are not available yet, or if the key id is unknown and the keys were not
+     * fetched for an unknown key id recently.
+     *
+     * @param tokenIssuer token issuer with the JWKS endpoint
+     * @param keyID       key id of the token
+     * @return RSA public key or null if the key id is not found
+     * @throws EnforcerException if the keys cannot be fetched or the key is not a RSA key
+     */
+    public RSAPublicKey getKey(ExtendedTokenIssuerDto tokenIssuer, String keyID) throws EnforcerException {
+        IssuerKeys issuerKeys = getIssuerKeys(tokenIssuer);
+        KeySet keySet = issuerKeys.keySet;
+        if (keySet == null) {
+            keySet = issuerKeys.fetch();
+        } else if (!keySet.contains(keyID) && issuerKeys.acquireUnknownKidFetch()) {
+            logger.debug("Key ID {} is not found in the JWKS of the issuer {}. Fetching the JWKS again.", keyID,
+                    issuerKeys.issuer);
+            keySet = issuerKeys.fetch();
+        }
+        if (keySet.unsupportedKeyIds.contains(keyID)) {
+            throw new EnforcerException("Key Algorithm not supported");
+        }
+        return keySet.rsaKeys.get(keyID);
+    }
+
+    /**
+     * Drops the keys of all the issuers, so that they are fetched again for the next token of each issuer. The
+     * scheduled refreshes of the dropped keys are stopped.
+     */
+    public void invalidateAll() {
+        keysByIssuer.clear();
+    }
+
+    private IssuerKeys getIssuerKeys(ExtendedTokenIssuerDto tokenIssuer) {
+        String issuer = tokenIssuer.getIssuer();
+        String jwksUrl = tokenIssuer.getJwksConfigurationDTO().getUrl();
+        IssuerKeys issuerKeys = keysByIssuer.get(issuer);
+        if (issuerKeys == null || !issuerKeys.jwksUrl.equals(jwksUrl)) {
+            // The JWKS endpoint of the issuer is changed, hence the keys of the previous endpoint are dropped
+            issuerKeys = keysByIssuer.compute(issuer, (key, current) ->
+                    current != null && current.jwksUrl.equals(jwksUrl) ? current : new IssuerKeys(issuer, jwksUrl));
+        }
+        return issuerKeys;
+    }
+
+    private void scheduleRefresh(IssuerKeys issuerKeys, long delaySeconds) {
+        refresher.schedule(() -> {
+            Map<String, ExtendedTokenIssuerDto> tokenIssuers = ConfigHolder.getInstance().getConfig()
+                    .getIssuersMap();
+            ExtendedTokenIssuerDto tokenIssuer = tokenIssuers.get(issuerKeys.issuer);
+            if (keysByIssuer.get(issuerKeys.issuer) != issuerKeys || tokenIssuer == null
+                    || !issuerKeys.jwksUrl.equals(tokenIssuer.getJwksConfigurationDTO().getUrl())) {
+                // The issuer is removed or its JWKS endpoint is changed
+                keysByIssuer.remove(issuerKeys.issuer, issuerKeys);
+                return;
+            }
+            long nextRefreshSeconds = minRefreshIntervalSeconds;
+            try {
+                nextRefreshSeconds = issuerKeys.fetch().refreshAfterSeconds;
+            } catch (EnforcerException e) {
+                logger.error("Error while refreshing the JWKS of the issuer {}. The current keys are used until "
+                        + "the next refresh.", issuerKeys.issuer, e);
+            }
+            scheduleRefresh(issuerKeys, nextRefreshSeconds);
+        }, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * JWKS keys of a token issuer and the state of fetching them.
+     */
+    private class IssuerKeys {
+        private final String issuer;
+        private final String jwksUrl;
+        private final AtomicReference<CompletableFuture<KeySet>> inFlightFetch = new AtomicReference<>();
+        private final AtomicLong lastUnknownKidFetch;
+        private volatile KeySet keySet;
+        private volatile EnforcerException initialFetchFailure;
+        private volatile long initialFetchFailureTime;
+
+        private IssuerKeys(String issuer, String jwksUrl) {
+            this.issuer = issuer;
+            this.jwksUrl = jwksUrl;
+            this.lastUnknownKidFetch = new AtomicLong(System.nanoTime() - unknownKidRefetchIntervalNanos);
+        }
+
+        private boolean acquireUnknownKidFetch() {
+            long now = System.nanoTime();
+            long last = lastUnknownKidFetch.get();
+            return now - last >= unknownKidRefetchIntervalNanos && lastUnknownKidFetch.compareAndSet(last, now);
+        }
+
+        /**
+         * Fetches the keys from the JWKS endpoint, or waits for the fetch which is already in progress.
+         *
+         * @return fetched keys
+         * @throws EnforcerException if the keys cannot be fetched, or the initial fetch failed recently
+         */
+        private KeySet fetch() throws EnforcerException {
+            EnforcerException failure = initialFetchFailure;
+            if (keySet == null && failure != null
+                    && System.nanoTime() - initialFetchFailureTime < initialFetchBackoffNanos) {
+                throw new EnforcerException("The JWKS of the issuer " + issuer + " is not fetched as the previous "
+                        + "attempt failed recently", failure);
+            }
+            CompletableFuture<KeySet> fetch = inFlightFetch.get();
+            if (fetch == null) {
+                CompletableFuture<KeySet> newFetch = new CompletableFuture<>();
+                if (inFlightFetch.compareAndSet(null, newFetch)) {
+                    boolean initialLoad = keySet == null;
+                    try {
+                        KeySet loadedKeySet = load();
+                        newFetch.complete(loadedKeySet);
+                        if (initialLoad) {
+                            // Each refresh schedules the next one. A failed initial load is retried by the first
+                            // token of the issuer after the backoff instead.
+                            initialFetchFailure = null;
+                            scheduleRefresh(this, loadedKeySet.refreshAfterSeconds);
+                        }
+                    } catch (EnforcerException e) {
+                        if (initialLoad) {
+                            initialFetchFailureTime = System.nanoTime();
+                            initialFetchFailure = e;
+                        }
+                        newFetch.completeExceptionally(e);
+                        throw e;
+                    } finally {
+                        inFlightFetch.set(null);
+                    }
+                    return newFetch.join();
+                }
+                fetch = inFlightFetch.get();
+                if (fetch == null) {
+                    // The competing fetch is already completed
+                    return keySet != null ? keySet : fetch();
+                }
+            }
+            try {
+                return fetch.get(fetchTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw new EnforcerException("Error while fetching the JWKS of the issuer " + issuer, e.getCause());
+            } catch (TimeoutException e) {
+                throw new EnforcerException("Timed out while waiting for the JWKS of the issuer " + issuer, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EnforcerException("Interrupted while waiting for the JWKS of the issuer " + issuer, e);
+            }
+        }
+
+        private KeySet load() throws EnforcerException {
+            try {
+                URL url = new URL(jwksUrl);
+                HttpGet httpGet = new HttpGet(jwksUrl);
+                try (CloseableHttpResponse response = HttpClientRegistry.getInstance().getHttpClient(url)
+                        .execute(httpGet)) {
+                    if (response.getStatusLine().getStatusCode() != 200) {
+                        throw new EnforcerException("Unexpected status code " + response.getStatusLine()
+                                .getStatusCode() + " from the JWKS endpoint of the issuer " + issuer);
+                    }
+                    String jwksInfo;
+                    try (InputStream content = response.getEntity().getContent()) {
+                        jwksInfo = IOUtils.toString(content, Charset.defaultCharset());
+                    }
+                    KeySet loadedKeySet = new KeySet(JWKSet.parse(jwksInfo), getRefreshInterval(response));
+                    logger.debug("Fetched the JWKS of the issuer {}. Refreshing again in {} seconds.", issuer,
+                            loadedKeySet.refreshAfterSeconds);
+                    KeySet previousKeySet = keySet;
+                    keySet = loadedKeySet;
+                    if (previousKeySet != null) {
+                        invalidateRemovedKeys(previousKeySet, loadedKeySet);
+                    }
+                    return loadedKeySet;
+                }
+            } catch (IOException | ParseException | JOSEException e) {
+                throw new EnforcerException("Error while fetching the JWKS of the issuer " + issuer, e);
+            }
+        }
+
+        private void invalidateRemovedKeys(KeySet previousKeySet, KeySet loadedKeySet) {
+            Set<RSAPublicKey> removedKeys = new HashSet<>(previousKeySet.rsaKeys.values());
+            removedKeys.removeAll(loadedKeySet.rsaKeys.values());
+            if (!removedKeys.isEmpty()) {
+                logger.debug("{} signing keys of the issuer {} are removed", removedKeys.size(), issuer);
+                CacheProvider.invalidateSigningKeys(issuer, removedKeys);
+            }
+        }
+
+        private long getRefreshInterval(CloseableHttpResponse response) {
+            for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+                for (HeaderElement element : header.getElements()) {
+                    if (NO_CACHE.equalsIgnoreCase(element.getName()) || NO_STORE.equalsIgnoreCase(element.getName())) {
+                        return minRefreshIntervalSeconds;
+                    }
+                    if (MAX_AGE.equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                        try {
+                            return Math.max(minRefreshIntervalSeconds, Long.parseLong(element.getValue().trim()));
+                        } catch (NumberFormatException e) {
+                            logger.debug("Invalid max-age {} from the JWKS endpoint of the issuer {}",
+                                    element.getValue(), issuer);
+                        }
+                    }
+                }
+            }
+            return refreshIntervalSeconds;
+        }
+    }
+
+    /**
+     * Immutable set of keys fetched from a JWKS endpoint.
+     */
+    private static class KeySet {
+        private final Map<String, RSAPublicKey> rsaKeys;
+        private final Set<String> unsupportedKeyIds;
+        private final long refreshAfterSeconds;
+
+        private KeySet(JWKSet jwkSet, long refreshAfterSeconds) throws JOSEException {
+            this.refreshAfterSeconds = refreshAfterSeconds;
+            Map<String, RSAPublicKey> rsaKeys = new HashMap<>();
+            Set<String> unsupportedKeyIds = new HashSet<>();
+            for (JWK jwk : jwkSet.getKeys()) {
+                if (jwk.getKeyID() == null) {
+                    continue;
+                }
+                if (jwk instanceof RSAKey) {
+                    rsaKeys.put(jwk.getKeyID(), ((RSAKey) jwk).toRSAPublicKey());
+                } else {
+                    unsupportedKeyIds.add(jwk.getKeyID());
+                }
+            }
+            this.rsaKeys = Collections.unmodifiableMap(rsaKeys);
+            this.unsupportedKeyIds = Collections.unmodifiableSet(unsupportedKeyIds);
+        }
+
+        private boolean contains(String keyID) {
+            return rsaKeys.containsKey(keyID) || unsupportedKeyIds.contains(keyID);
+        }
+    }
+}
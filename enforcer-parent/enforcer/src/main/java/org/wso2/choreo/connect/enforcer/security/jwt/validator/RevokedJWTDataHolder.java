@@ -18,22 +18,51 @@
 
 package org.wso2.choreo.connect.enforcer.security.jwt.validator;
 
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.choreo.connect.enforcer.discovery.RevokedTokenDiscoveryClient;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.RevokedTokenMetrics;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  *  Singleton which stores the revoked JWT map.
+ *  <p>
+ *  A revoked token is kept until its expiry time (in epoch milliseconds) has passed, as the token is rejected by the
+ *  expiry validation afterwards. The lookups go through a Bloom filter of the revoked tokens first, so that the
+ *  tokens which are not revoked, which is the common case, are mostly answered without looking up the map.
  */
 public class RevokedJWTDataHolder {
 
     private static final Logger log = LogManager.getLogger(RevokedJWTDataHolder.class);
+    private static final String CLEANUP_INTERVAL_SECONDS = "choreo.connect.revokedTokens.cleanupIntervalSeconds";
+    private static final long DEFAULT_CLEANUP_INTERVAL_SECONDS = 60;
+    // Revoked tokens are kept for a while after the expiry time, to cover the clock skew allowed when validating
+    private static final long EXPIRY_GRACE_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MIN_FILTER_CAPACITY = 1024;
+    private static final double FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
     private static Map<String, Long> revokedJWTMap = new ConcurrentHashMap<>();
     private static RevokedJWTDataHolder instance = new RevokedJWTDataHolder();
 
+    // Expiry times of the revoked tokens, guarded by the lock of the instance together with the filter updates
+    private final PriorityQueue<Map.Entry<String, Long>> expiryQueue =
+            new PriorityQueue<>(Comparator.comparingLong(Map.Entry::getValue));
+    private volatile BloomFilter<CharSequence> revokedJWTFilter;
+    private int filterCapacity;
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder falsePositiveCount = new LongAdder();
+
     public void init() {
         RevokedTokenDiscoveryClient revokedTokenDs = RevokedTokenDiscoveryClient.getInstance();
         revokedTokenDs.watchRevokedTokens();
@@ -47,7 +76,18 @@ public class RevokedJWTDataHolder {
     public void addRevokedJWTToMap(String key, Long value) {
         if (key != null && value != null) {
             log.debug("Adding revoked JWT key, value pair to the revoked map :" + key + " , " + value);
-            revokedJWTMap.put(key, value);
+            synchronized (this) {
+                revokedJWTMap.put(key, value);
+                if (value > 0) {
+                    // Tokens without an expiry time are kept forever
+                    expiryQueue.add(Map.entry(key, value));
+                }
+                if (revokedJWTMap.size() > filterCapacity) {
+                    rebuildFilter();
+                } else {
+                    revokedJWTFilter.put(key);
+                }
+            }
         }
     }
 
@@ -57,19 +97,82 @@ public class RevokedJWTDataHolder {
      * @return true if it exists and false otherwise.
      */
     public static boolean isJWTTokenSignatureExistsInRevokedMap(String jwtSignature) {
-        return revokedJWTMap.containsKey(jwtSignature);
+        return instance.isRevoked(jwtSignature);
+    }
+
+    private boolean isRevoked(String jwtSignature) {
+        lookupCount.increment();
+        if (!revokedJWTFilter.mightContain(jwtSignature)) {
+            return false;
+        }
+        if (revokedJWTMap.containsKey(jwtSignature)) {
+            return true;
+        }
+        falsePositiveCount.increment();
+        return false;
     }
 
     private RevokedJWTDataHolder() {
+        rebuildFilter();
+        ScheduledExecutorService expiredTokenCleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revoked-token-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long cleanupInterval = Long.getLong(CLEANUP_INTERVAL_SECONDS, DEFAULT_CLEANUP_INTERVAL_SECONDS);
+        expiredTokenCleaner.scheduleWithFixedDelay(this::removeExpiredTokens, cleanupInterval, cleanupInterval,
+                TimeUnit.SECONDS);
+        RevokedTokenMetrics.getInstance();
+    }
 
+    /**
+     * Removes the tokens which are expired, and rebuilds the filter without them as entries cannot be removed from
+     * a Bloom filter.
+     */
+    synchronized void removeExpiredTokens() {
+        long expiredBefore = System.currentTimeMillis() - EXPIRY_GRACE_PERIOD_MILLIS;
+        int removedCount = 0;
+        while (!expiryQueue.isEmpty() && expiryQueue.peek().getValue() < expiredBefore) {
+            Map.Entry<String, Long> expired = expiryQueue.poll();
+            // The token is kept if it is revoked again with a different expiry time
+            if (revokedJWTMap.remove(expired.getKey(), expired.getValue())) {
+                removedCount++;
+            }
+        }
+        if (removedCount > 0) {
+            log.debug("Removed {} expired tokens from the revoked map", removedCount);
+            rebuildFilter();
+        }
+    }
+
+    private void rebuildFilter() {
+        filterCapacity = Math.max(MIN_FILTER_CAPACITY, revokedJWTMap.size() * 2);
+        BloomFilter<CharSequence> filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                filterCapacity, FILTER_FALSE_POSITIVE_PROBABILITY);
+        for (String revokedJWT : revokedJWTMap.keySet()) {
+            filter.put(revokedJWT);
+        }
+        revokedJWTFilter = filter;
     }
 
     /**
      * Fetches the revoke map.
-     * @return
+     * @return read-only view of the revoked map
      */
     public Map<String, Long> getRevokedJWTMap() {
-        return revokedJWTMap;
+        return Collections.unmodifiableMap(revokedJWTMap);
+    }
+
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+
+    public int getSize() {
+        return revokedJWTMap.size();
     }
 
     /**
@@ -44,7 +44,7 @@ import org.wso2.choreo.connect.enforcer.tracing.TracingConstants;
 import org.wso2.choreo.connect.enforcer.tracing.TracingSpan;
 import org.wso2.choreo.connect.enforcer.tracing.TracingTracer;
 import org.wso2.choreo.connect.enforcer.tracing.Utils;
-import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+import org.wso2.choreo.connect.enforcer.util.HttpClientRegistry;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -226,24 +226,23 @@ public class OAuthAuthenticator implements Authenticator {
      */
     private IntrospectInfo validateToken(String accessToken) throws IOException {
         URL url = new URL(kmEndpoint + "/introspect");
-        try (CloseableHttpClient httpClient = (CloseableHttpClient) FilterUtils.getHttpClient(url.getProtocol())) {
-            HttpPost introspectRequest = new HttpPost(kmEndpoint + "/introspect");
-            List<NameValuePair> params = new ArrayList<>();
-            NameValuePair token = new BasicNameValuePair("token", accessToken);
-            params.add(token);
-            introspectRequest.setEntity(new UrlEncodedFormEntity(params));
-            introspectRequest.setHeader("Content-type", "application/x-www-form-urlencoded");
-            introspectRequest.setHeader("Authorization", "Basic " +
-                    Base64.getEncoder().encodeToString("admin:admin".getBytes()));
-            try (CloseableHttpResponse response = httpClient.execute(introspectRequest)) {
-                if (response.getStatusLine().getStatusCode() == 200) {
-                    HttpEntity entity = response.getEntity();
-                    try (InputStream content = entity.getContent()) {
-                        return new Gson().fromJson(IOUtils.toString(content), IntrospectInfo.class);
-                    }
-                } else {
-                    return null;
+        CloseableHttpClient httpClient = HttpClientRegistry.getInstance().getHttpClient(url);
+        HttpPost introspectRequest = new HttpPost(kmEndpoint + "/introspect");
+        List<NameValuePair> params = new ArrayList<>();
+        NameValuePair token = new BasicNameValuePair("token", accessToken);
+        params.add(token);
+        introspectRequest.setEntity(new UrlEncodedFormEntity(params));
+        introspectRequest.setHeader("Content-type", "application/x-www-form-urlencoded");
+        introspectRequest.setHeader("Authorization", "Basic " +
+                Base64.getEncoder().encodeToString("admin:admin".getBytes()));
+        try (CloseableHttpResponse response = httpClient.execute(introspectRequest)) {
+            if (response.getStatusLine().getStatusCode() == 200) {
+                HttpEntity entity = response.getEntity();
+                try (InputStream content = entity.getContent()) {
+                    return new Gson().fromJson(IOUtils.toString(content), IntrospectInfo.class);
                 }
+            } else {
+                return null;
             }
         }
     }
@@ -59,6 +59,7 @@ import org.wso2.choreo.connect.enforcer.util.TLSUtils;
 
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLException;
@@ -129,7 +130,7 @@ public class AuthServer {
             CacheProvider.init();
             ThrottleConfigDto throttleConf = enforcerConfig.getThrottleConfig();
             if (throttleConf.isGlobalPublishingEnabled()) {
-                ThrottleAgent.startThrottlePublisherPool();
+                ThrottleAgent.startThrottlePublisher();
                 JMSTransportHandler jmsHandler = new JMSTransportHandler(throttleConf.buildListenerProperties());
                 jmsHandler.subscribeForJmsEvents(ThrottleConstants.TOPIC_THROTTLE_DATA, new ThrottleEventListener());
             }
@@ -173,10 +174,11 @@ public class AuthServer {
         final EventLoopGroup workerGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors() * 2);
         AuthServiceConfigurationDto authServerConfig = ConfigHolder.getInstance().getConfig().getAuthService();
         ThreadPoolConfig threadPoolConfig = authServerConfig.getThreadPool();
-        EnforcerWorkerPool enforcerWorkerPool = new EnforcerWorkerPool(threadPoolConfig.getCoreSize(),
-                threadPoolConfig.getMaxSize(), threadPoolConfig.getKeepAliveTime(), threadPoolConfig.getQueueSize(),
-                Constants.EXTERNAL_AUTHZ_THREAD_GROUP, Constants.EXTERNAL_AUTHZ_THREAD_ID);
-        return NettyServerBuilder.forPort(authServerConfig.getPort())
+        Executor executor = EnforcerExecutors.createExecutor(threadPoolConfig, Constants.EXTERNAL_AUTHZ_THREAD_GROUP,
+                Constants.EXTERNAL_AUTHZ_THREAD_ID);
+        EnforcerExecutors.setWorkerExecutor(executor);
+        return EnforcerExecutors.configureExecutor(NettyServerBuilder.forPort(authServerConfig.getPort()), executor,
+                        threadPoolConfig)
                 .keepAliveTime(authServerConfig.getKeepAliveTime(), TimeUnit.SECONDS).bossEventLoopGroup(bossGroup)
                 .workerEventLoopGroup(workerGroup)
                 .addService(ServerInterceptors.intercept(new ExtAuthService(), new OpenTelemetryInterceptor(),
@@ -185,7 +187,6 @@ public class AuthServer {
                 .addService(ServerInterceptors.intercept(new WebSocketFrameService(), new AccessLogInterceptor()))
                 .maxInboundMessageSize(authServerConfig.getMaxMessageSize())
                 .maxInboundMetadataSize(authServerConfig.getMaxHeaderLimit()).channelType(NioServerSocketChannel.class)
-                .executor(enforcerWorkerPool.getExecutor())
                 .sslContext(TLSUtils.buildGRPCServerSSLContext())
                 .build();
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.server;
+
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.config.dto.ThreadPoolConfig;
+import org.wso2.choreo.connect.enforcer.grpc.interceptors.ConcurrentCallLimitInterceptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the executors of the enforcer gRPC servers based on the executor mode selected with the system property
+ * {@value #EXECUTOR_MODE}.
+ * <ul>
+ *     <li>{@value #PLATFORM_MODE} (default) - bounded pool of platform threads sized with the
+ *     {@link ThreadPoolConfig}</li>
+ *     <li>{@value #VIRTUAL_MODE} - a new virtual thread per call</li>
+ *     <li>{@value #BOUNDED_VIRTUAL_MODE} - a new virtual thread per call, where the number of unary calls processed
+ *     concurrently is limited to the max size of the {@link ThreadPoolConfig} by a
+ *     {@link ConcurrentCallLimitInterceptor}</li>
+ * </ul>
+ * Virtual threads require a Java 21 runtime, the platform thread pool is used if they are not available.
+ */
+public class EnforcerExecutors {
+    private static final Logger log = LogManager.getLogger(EnforcerExecutors.class);
+
+    public static final String EXECUTOR_MODE = "choreo.connect.executor.mode";
+    public static final String PLATFORM_MODE = "platform";
+    public static final String VIRTUAL_MODE = "virtual";
+    public static final String BOUNDED_VIRTUAL_MODE = "boundedVirtual";
+
+    private static volatile Executor workerExecutor = Runnable::run;
+
+    private EnforcerExecutors() {
+    }
+
+    /**
+     * Sets the executor of a gRPC server, and the interceptor limiting the concurrent calls in the
+     * {@value #BOUNDED_VIRTUAL_MODE} mode.
+     *
+     * @param serverBuilder    builder of the gRPC server
+     * @param executor         executor created with {@link #createExecutor}
+     * @param threadPoolConfig thread pool configuration of the server
+     * @return the server builder
+     */
+    public static NettyServerBuilder configureExecutor(NettyServerBuilder serverBuilder, Executor executor,
+                                                       ThreadPoolConfig threadPoolConfig) {
+        if (executor instanceof VirtualThreadExecutor
+                && BOUNDED_VIRTUAL_MODE.equalsIgnoreCase(System.getProperty(EXECUTOR_MODE, PLATFORM_MODE))) {
+            serverBuilder.intercept(new ConcurrentCallLimitInterceptor(threadPoolConfig.getMaxSize()));
+        }
+        return serverBuilder.executor(executor);
+    }
+
+    /**
+     * Returns the executor of the ext_authz server, on which the asynchronous filters resume the filter chain once
+     * they are done waiting on I/O. Until the server is initialized, the filter chain is resumed on the thread
+     * completing the filter.
+     *
+     * @return executor of the ext_authz server
+     */
+    public static Executor getWorkerExecutor() {
+        return workerExecutor;
+    }
+
+    static void setWorkerExecutor(Executor executor) {
+        workerExecutor = executor;
+    }
+
+    /**
+     * Returns the executor for a gRPC server. Both virtual thread modes use the same executor, since the concurrent
+     * calls are limited per call rather than per task (see {@link #configureExecutor}).
+     *
+     * @param threadPoolConfig thread pool configuration of the server
+     * @param threadGroupName  thread group name used for the platform threads
+     * @param threadGroupId    prefix of the thread names
+     * @return executor
+     */
+    public static Executor createExecutor(ThreadPoolConfig threadPoolConfig, String threadGroupName,
+                                          String threadGroupId) {
+        String mode = System.getProperty(EXECUTOR_MODE, PLATFORM_MODE);
+        if (VIRTUAL_MODE.equalsIgnoreCase(mode) || BOUNDED_VIRTUAL_MODE.equalsIgnoreCase(mode)) {
+            ThreadFactory virtualThreadFactory = getVirtualThreadFactory(threadGroupId);
+            if (virtualThreadFactory != null) {
+                log.info("{} calls are processed on virtual threads in {} mode.", threadGroupId, mode);
+                return new VirtualThreadExecutor(virtualThreadFactory);
+            }
+            log.warn("Virtual threads are not supported by the Java runtime. Using the platform thread pool for {}.",
+                    threadGroupId);
+        } else if (!PLATFORM_MODE.equalsIgnoreCase(mode)) {
+            log.warn("Unknown executor mode: {}. Using the platform thread pool for {}.", mode, threadGroupId);
+        }
+        return new EnforcerWorkerPool(threadPoolConfig.getCoreSize(), threadPoolConfig.getMaxSize(),
+                threadPoolConfig.getKeepAliveTime(), threadPoolConfig.getQueueSize(), threadGroupName,
+                threadGroupId).getExecutor();
+    }
+
+    /**
+     * Returns a factory of virtual threads, or null if the runtime does not support virtual threads. Reflection is
+     * used since the enforcer is compiled for Java 11.
+     */
+    private static ThreadFactory getVirtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (NoSuchMethodException | ClassNotFoundException | IllegalAccessException
+                | InvocationTargetException e) {
+            log.debug("Error while creating the virtual thread factory", e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts a new virtual thread per task.
+     */
+    private static class VirtualThreadExecutor implements Executor {
+        private final ThreadFactory threadFactory;
+
+        VirtualThreadExecutor(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            threadFactory.newThread(command).start();
+        }
+    }
+}
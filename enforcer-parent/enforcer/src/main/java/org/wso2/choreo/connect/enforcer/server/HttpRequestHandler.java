@@ -18,6 +18,8 @@
 package org.wso2.choreo.connect.enforcer.server;
 
 import com.google.protobuf.ByteString;
+import graphql.language.Document;
+import io.envoyproxy.envoy.service.auth.v3.AttributeContext;
 import io.envoyproxy.envoy.service.auth.v3.CheckRequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,6 +27,7 @@ import org.apache.logging.log4j.ThreadContext;
 import org.wso2.carbon.apimgt.common.gateway.constants.GraphQLConstants;
 import org.wso2.choreo.connect.enforcer.api.API;
 import org.wso2.choreo.connect.enforcer.api.APIFactory;
+import org.wso2.choreo.connect.enforcer.api.GraphQLAPI;
 import org.wso2.choreo.connect.enforcer.api.ResponseObject;
 import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
 import org.wso2.choreo.connect.enforcer.commons.logging.ErrorDetails;
@@ -36,10 +39,13 @@ import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.constants.AdapterConstants;
 import org.wso2.choreo.connect.enforcer.constants.HttpConstants;
 import org.wso2.choreo.connect.enforcer.graphql.GraphQLPayloadUtils;
+import org.wso2.choreo.connect.enforcer.graphql.GraphQLQueryCache;
 import org.wso2.choreo.connect.enforcer.util.FilterUtils;
 
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * This class handles the request coming via the external auth gRPC service.
@@ -48,6 +54,16 @@ public class HttpRequestHandler implements RequestHandler<CheckRequest, Response
     private static final Logger logger = LogManager.getLogger(RequestHandler.class);
 
     public ResponseObject process(CheckRequest request) {
+        return processAsync(request).toCompletableFuture().join();
+    }
+
+    /**
+     * Process the request without blocking the calling thread on the asynchronous filters of the matched API.
+     *
+     * @param request ext_authz check request
+     * @return stage completed with the response
+     */
+    public CompletionStage<ResponseObject> processAsync(CheckRequest request) {
         API matchedAPI = APIFactory.getInstance().getMatchedAPI(request);
         if (matchedAPI == null) {
             ResponseObject responseObject = new ResponseObject();
@@ -56,7 +72,7 @@ public class HttpRequestHandler implements RequestHandler<CheckRequest, Response
             responseObject.setDirectResponse(true);
             responseObject.setErrorMessage(APIConstants.NOT_FOUND_MESSAGE);
             responseObject.setErrorDescription(APIConstants.NOT_FOUND_DESCRIPTION);
-            return responseObject;
+            return CompletableFuture.completedFuture(responseObject);
         }
         APIConfig api = matchedAPI.getAPIConfig();
         logger.debug("API {}/{} found in the cache", api.getBasePath(), api.getVersion());
@@ -65,65 +81,54 @@ public class HttpRequestHandler implements RequestHandler<CheckRequest, Response
         ThreadContext.push(api.getName());
         ThreadContext.push(api.getOrganizationId());
         ThreadContext.push(api.getBasePath());
-
-        RequestContext requestContext = buildRequestContext(matchedAPI, request);
-        ResponseObject responseObject = matchedAPI.process(requestContext);
-
-        // to clear the ThreadContext's stack used for logging
-        ThreadContext.removeStack();
-        return responseObject;
+        try {
+            RequestContext requestContext = buildRequestContext(matchedAPI, request);
+            return matchedAPI.processAsync(requestContext);
+        } finally {
+            // to clear the ThreadContext's stack used for logging. The continuations of the asynchronous filters
+            // carry a snapshot of the stack.
+            ThreadContext.removeStack();
+        }
     }
 
     private RequestContext buildRequestContext(API api, CheckRequest request) {
-        String requestPath = request.getAttributes().getRequest().getHttp().getPath();
-        String method = request.getAttributes().getRequest().getHttp().getMethod();
-        String certificate = request.getAttributes().getSource().getCertificate();
-        Map<String, String> headers = request.getAttributes().getRequest().getHttp().getHeadersMap();
-        String pathTemplate = request.getAttributes().getContextExtensionsMap().get(APIConstants.GW_RES_PATH_PARAM);
-        String prodCluster = request.getAttributes().getContextExtensionsMap()
-                .get(AdapterConstants.PROD_CLUSTER_HEADER_KEY);
-        String sandCluster = request.getAttributes().getContextExtensionsMap()
-                .get(AdapterConstants.SAND_CLUSTER_HEADER_KEY);
-        long requestTimeInMillis = request.getAttributes().getRequest().getTime().getSeconds() * 1000 +
-                request.getAttributes().getRequest().getTime().getNanos() / 1000000;
-        String requestID = request.getAttributes().getRequest().getHttp().
-                getHeadersOrDefault(HttpConstants.X_REQUEST_ID_HEADER,
-                        request.getAttributes().getRequest().getHttp().getId());
-        String address = "";
-        if (request.getAttributes().getSource().hasAddress() &&
-                request.getAttributes().getSource().getAddress().hasSocketAddress()) {
-            address = request.getAttributes().getSource().getAddress().getSocketAddress().getAddress();
-        }
-        address = FilterUtils.getClientIp(headers, address);
-        String requestPayload = null;
-        if (!request.getAttributes().getRequest().getHttp().getRawBody().isEmpty()) {
-            ByteString byteString = request.getAttributes().getRequest().getHttp().getRawBody();
-            if (byteString.isValidUtf8()) {
-                requestPayload = byteString.toStringUtf8();
-            }
-        }
-        if (!request.getAttributes().getRequest().getHttp().getBody().isEmpty()) {
-            ByteString byteString = request.getAttributes().getRequest().getHttp().getBodyBytes();
-            if (byteString.isValidUtf8()) {
-                requestPayload = byteString.toStringUtf8();
-            }
-        }
+        AttributeContext attributes = request.getAttributes();
+        AttributeContext.HttpRequest http = attributes.getRequest().getHttp();
+        String requestPath = http.getPath();
+        String method = http.getMethod();
+        String certificate = attributes.getSource().getCertificate();
+        // The headers of the request are not copied, as the map is a read only view of the request
+        Map<String, String> headers = http.getHeadersMap();
+        Map<String, String> contextExtensions = attributes.getContextExtensionsMap();
+        String pathTemplate = contextExtensions.get(APIConstants.GW_RES_PATH_PARAM);
+        String prodCluster = contextExtensions.get(AdapterConstants.PROD_CLUSTER_HEADER_KEY);
+        String sandCluster = contextExtensions.get(AdapterConstants.SAND_CLUSTER_HEADER_KEY);
+        long requestTimeInMillis = attributes.getRequest().getTime().getSeconds() * 1000 +
+                attributes.getRequest().getTime().getNanos() / 1000000;
+        String requestID = http.getHeadersOrDefault(HttpConstants.X_REQUEST_ID_HEADER, http.getId());
+        // The client IP and the payload are resolved only if a filter reads them
+        RequestContext.Builder requestContextBuilder = new RequestContext.Builder(requestPath).requestMethod(method)
+                .certificate(certificate).matchedAPI(api.getAPIConfig()).headers(headers).requestID(requestID)
+                .addressSupplier(() -> getClientIp(attributes, headers)).prodClusterHeader(prodCluster)
+                .sandClusterHeader(sandCluster).requestTimeStamp(requestTimeInMillis);
         ResourceConfig resourceConfig = null;
         ArrayList<ResourceConfig> resourceConfigs = null;
+        Document graphQLDocument = null;
         boolean isGraphQLAPI = api.getAPIConfig().getApiType().equals(APIConstants.ApiType.GRAPHQL);
         if (isGraphQLAPI && !HttpConstants.OPTIONS.equals(method)) {
             // need to decode the payload if request is graphql and a non option call.
+            String requestPayload = getRequestPayload(http);
             try {
                 requestPayload = GraphQLPayloadUtils.getGQLRequestPayload(requestPayload, headers);
-                resourceConfigs = GraphQLPayloadUtils.buildGQLRequestContext(api, requestPayload);
+                GraphQLQueryCache.CachedQuery query = ((GraphQLAPI) api).getQueryCache().getQuery(api,
+                        requestPayload);
+                graphQLDocument = query.getDocument();
+                resourceConfigs = query.getResourceConfigs();
             } catch (EnforcerException exception) {
                 logger.error("Error while processing the graphql api request for {}",
                         api.getAPIConfig().getName(),
                         ErrorDetails.errorLog(LoggingConstants.Severity.MINOR, 6704), exception);
-                RequestContext requestContext = new RequestContext.Builder(requestPath).requestMethod(method)
-                        .matchedAPI(api.getAPIConfig()).headers(headers).requestID(requestID).address(address)
-                        .prodClusterHeader(prodCluster).sandClusterHeader(sandCluster).certificate(certificate)
-                        .requestTimeStamp(requestTimeInMillis).requestPayload(requestPayload).build();
+                RequestContext requestContext = requestContextBuilder.requestPayload(requestPayload).build();
                 requestContext.getProperties().put(APIConstants.MessageFormat.STATUS_CODE,
                         APIConstants.StatusCodes.BAD_REQUEST_ERROR.getCode());
                 requestContext.getProperties().put(APIConstants.MessageFormat.ERROR_CODE,
@@ -134,17 +139,49 @@ public class HttpRequestHandler implements RequestHandler<CheckRequest, Response
                         exception.getMessage());
                 return requestContext;
             }
-        } else if (!isGraphQLAPI) {
-            resourceConfig = APIFactory.getInstance().getMatchedResource(api, pathTemplate, method);
-            if (resourceConfig != null) {
-                resourceConfigs = new ArrayList<>();
-                resourceConfigs.add(resourceConfig);
+            requestContextBuilder.requestPayload(requestPayload);
+        } else {
+            requestContextBuilder.requestPayloadSupplier(() -> getRequestPayload(http));
+            if (!isGraphQLAPI) {
+                resourceConfig = APIFactory.getInstance().getMatchedResource(api, pathTemplate, method);
+                if (resourceConfig != null) {
+                    resourceConfigs = new ArrayList<>();
+                    resourceConfigs.add(resourceConfig);
+                }
             }
         }
-        return new RequestContext.Builder(requestPath).matchedResourceConfigs(resourceConfigs).requestMethod(method)
-                .certificate(certificate).matchedAPI(api.getAPIConfig()).headers(headers).requestID(requestID)
-                .address(address).prodClusterHeader(prodCluster).sandClusterHeader(sandCluster)
-                .requestTimeStamp(requestTimeInMillis).pathTemplate(pathTemplate).requestPayload(requestPayload)
-                .build();
+        return requestContextBuilder.matchedResourceConfigs(resourceConfigs).pathTemplate(pathTemplate)
+                .graphQLDocument(graphQLDocument).build();
+    }
+
+    private static String getClientIp(AttributeContext attributes, Map<String, String> headers) {
+        String address = "";
+        if (attributes.getSource().hasAddress() && attributes.getSource().getAddress().hasSocketAddress()) {
+            address = attributes.getSource().getAddress().getSocketAddress().getAddress();
+        }
+        return FilterUtils.getClientIp(headers, address);
+    }
+
+    /**
+     * Decodes the body of the request, which is kept as bytes in the request until a filter reads the payload.
+     *
+     * @param http http attributes of the request
+     * @return request payload, or null if there is no body or the body is not valid UTF-8
+     */
+    private static String getRequestPayload(AttributeContext.HttpRequest http) {
+        String requestPayload = null;
+        if (!http.getRawBody().isEmpty()) {
+            ByteString byteString = http.getRawBody();
+            if (byteString.isValidUtf8()) {
+                requestPayload = byteString.toStringUtf8();
+            }
+        }
+        if (!http.getBodyBytes().isEmpty()) {
+            ByteString byteString = http.getBodyBytes();
+            if (byteString.isValidUtf8()) {
+                requestPayload = byteString.toStringUtf8();
+            }
+        }
+        return requestPayload;
     }
 }
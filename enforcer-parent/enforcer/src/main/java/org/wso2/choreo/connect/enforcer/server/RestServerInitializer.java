@@ -28,6 +28,10 @@ import org.wso2.choreo.connect.enforcer.admin.AdminServerHandler;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.EnforcerConfig;
 import org.wso2.choreo.connect.enforcer.jwks.JWKSRequestHandler;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsExporter;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsManager;
+import org.wso2.choreo.connect.enforcer.metrics.PrometheusMetricsExporter;
+import org.wso2.choreo.connect.enforcer.metrics.PrometheusRequestHandler;
 import org.wso2.choreo.connect.enforcer.security.jwt.issuer.HttpTokenServerHandler;
 
 /**
@@ -62,6 +66,12 @@ public class RestServerInitializer extends ChannelInitializer<SocketChannel> {
         if (enforcerConfig.getJwtIssuerConfigurationDto().isEnabled()) {
             p.addLast(new HttpTokenServerHandler());
         }
+        if (MetricsManager.isMetricsEnabled()) {
+            MetricsExporter metricsExporter = MetricsManager.getInstance();
+            if (metricsExporter instanceof PrometheusMetricsExporter) {
+                p.addLast(new PrometheusRequestHandler((PrometheusMetricsExporter) metricsExporter));
+            }
+        }
         if (enforcerConfig.getRestServer().isEnable()) {
             p.addLast(new AdminServerHandler());
         }
@@ -200,4 +200,11 @@ public interface SubscriptionDataStore {
      */
     List<SubscriptionPolicy> getMatchingSubscriptionPolicies(String policyName);
 
+    /**
+     * Returns the version of the data in the store, which is increased whenever the data is updated. The results
+     * derived from the data are valid as long as the version is unchanged.
+     *
+     * @return version of the data
+     */
+    long getVersion();
 }
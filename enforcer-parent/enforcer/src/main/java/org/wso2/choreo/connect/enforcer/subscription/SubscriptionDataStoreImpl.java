@@ -29,6 +29,7 @@ import org.wso2.choreo.connect.enforcer.discovery.ApplicationKeyMappingDiscovery
 import org.wso2.choreo.connect.enforcer.discovery.ApplicationPolicyDiscoveryClient;
 import org.wso2.choreo.connect.enforcer.discovery.SubscriptionDiscoveryClient;
 import org.wso2.choreo.connect.enforcer.discovery.SubscriptionPolicyDiscoveryClient;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.SubscriptionDataMetrics;
 import org.wso2.choreo.connect.enforcer.models.API;
 import org.wso2.choreo.connect.enforcer.models.ApiPolicy;
 import org.wso2.choreo.connect.enforcer.models.Application;
@@ -39,10 +40,17 @@ import org.wso2.choreo.connect.enforcer.models.Subscription;
 import org.wso2.choreo.connect.enforcer.models.SubscriptionPolicy;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -64,6 +72,14 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
     public static final String DELEM_PERIOD = ":";
 
+    private static final String INCREMENTAL_UPDATES = "choreo.connect.subscription.incrementalUpdates";
+    private static final String SUBSCRIPTIONS = "subscriptions";
+    private static final String APPLICATIONS = "applications";
+    private static final String APIS = "apis";
+    private static final String APPLICATION_POLICIES = "applicationPolicies";
+    private static final String SUBSCRIPTION_POLICIES = "subscriptionPolicies";
+    private static final String APPLICATION_KEY_MAPPINGS = "applicationKeyMappings";
+
     // Maps for keeping Subscription related details.
     private Map<ApplicationKeyMappingCacheKey, ApplicationKeyMapping> applicationKeyMappingMap;
     private Map<String, Application> applicationMap;
@@ -73,6 +89,9 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     private Map<String, ApplicationPolicy> appPolicyMap;
     private Map<String, Subscription> subscriptionMap;
     private String tenantDomain = APIConstants.SUPER_TENANT_DOMAIN_NAME;
+    // Increased after each update of the maps, hence a reader which sees a version also sees the maps of it
+    private final AtomicLong version = new AtomicLong();
+    private final boolean incrementalUpdates = Boolean.parseBoolean(System.getProperty(INCREMENTAL_UPDATES, "true"));
 
     SubscriptionDataStoreImpl() {
     }
@@ -82,7 +101,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     }
 
     public void initializeStore() {
+        initializeMaps();
+        initializeLoadingTasks();
+    }
 
+    void initializeMaps() {
         this.applicationKeyMappingMap = new ConcurrentHashMap<>();
         this.applicationMap = new ConcurrentHashMap<>();
         this.apiMap = new ConcurrentHashMap<>();
@@ -90,7 +113,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         this.appPolicyMap = new ConcurrentHashMap<>();
         this.apiPolicyMap = new ConcurrentHashMap<>();
         this.subscriptionMap = new ConcurrentHashMap<>();
-        initializeLoadingTasks();
+        version.incrementAndGet();
     }
 
     @Override
@@ -112,17 +135,13 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     @Override
     public SubscriptionPolicy getSubscriptionPolicyByName(String policyName) {
 
-        String key = PolicyType.SUBSCRIPTION +
-                SubscriptionDataStoreUtil.getPolicyCacheKey(policyName);
-        return subscriptionPolicyMap.get(key);
+        return subscriptionPolicyMap.get(getSubscriptionPolicyCacheKey(policyName));
     }
 
     @Override
     public ApplicationPolicy getApplicationPolicyByName(String policyName) {
 
-        String key = PolicyType.APPLICATION + DELEM_PERIOD +
-                SubscriptionDataStoreUtil.getPolicyCacheKey(policyName);
-        return appPolicyMap.get(key);
+        return appPolicyMap.get(getApplicationPolicyCacheKey(policyName));
     }
 
     @Override
@@ -149,137 +168,257 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     }
 
     public void addSubscriptions(List<org.wso2.choreo.connect.discovery.subscription.Subscription> subscriptionList) {
-        Map<String, Subscription> newSubscriptionMap = new ConcurrentHashMap<>();
-
-        for (org.wso2.choreo.connect.discovery.subscription.Subscription subscription : subscriptionList) {
-            Subscription newSubscription = new Subscription();
-            newSubscription.setSubscriptionId(subscription.getSubscriptionUUID());
-            newSubscription.setPolicyId(subscription.getPolicyId());
-            newSubscription.setApiUUID(subscription.getApiUUID());
-            newSubscription.setAppUUID(subscription.getAppUUID());
-            newSubscription.setSubscriptionState(subscription.getSubscriptionState());
-            newSubscription.setTimeStamp(subscription.getTimeStamp());
-
-            newSubscriptionMap.put(newSubscription.getCacheKey(), newSubscription);
-        }
-
-        if (log.isDebugEnabled()) {
-            log.debug("Total Subscriptions in new cache: {}", newSubscriptionMap.size());
-        }
-        this.subscriptionMap = newSubscriptionMap;
+        this.subscriptionMap = applySnapshot(SUBSCRIPTIONS, subscriptionMap, subscriptionList,
+                subscription -> SubscriptionDataStoreUtil.getSubscriptionCacheKey(subscription.getAppUUID(),
+                        subscription.getApiUUID()),
+                SubscriptionDataStoreImpl::toSubscription, SubscriptionDataStoreImpl::isSameSubscription);
+        version.incrementAndGet();
     }
 
-
     public void addApplications(List<org.wso2.choreo.connect.discovery.subscription.Application> applicationList) {
-        Map<String, Application> newApplicationMap = new ConcurrentHashMap<>();
-
-        for (org.wso2.choreo.connect.discovery.subscription.Application application : applicationList) {
-            Application newApplication = new Application();
-            newApplication.setId(application.getId());
-            newApplication.setName(application.getName());
-            newApplication.setPolicy(application.getPolicy());
-            newApplication.setSubId(application.getSubId());
-            newApplication.setSubName(application.getSubName());
-            newApplication.setTokenType(application.getTokenType());
-            newApplication.setUUID(application.getUuid());
-            newApplication.setTenantDomain(application.getTenantDomain());
-            application.getAttributesMap().forEach(newApplication::addAttribute);
-
-            newApplicationMap.put(newApplication.getCacheKey(), newApplication);
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("Total Applications in new cache: {}", newApplicationMap.size());
-        }
-        this.applicationMap = newApplicationMap;
+        this.applicationMap = applySnapshot(APPLICATIONS, applicationMap, applicationList,
+                org.wso2.choreo.connect.discovery.subscription.Application::getUuid,
+                SubscriptionDataStoreImpl::toApplication, SubscriptionDataStoreImpl::isSameApplication);
+        version.incrementAndGet();
     }
 
     public void addApis(List<APIs> apisList) {
-        Map<String, API> newApiMap = new ConcurrentHashMap<>();
-
-        for (APIs api : apisList) {
-            API newApi = new API();
-            newApi.setApiId(Integer.parseInt(api.getApiId()));
-            newApi.setApiName(api.getName());
-            newApi.setApiProvider(api.getProvider());
-            newApi.setApiType(api.getApiType());
-            newApi.setApiVersion(api.getVersion());
-            newApi.setContext(api.getContext());
-            newApi.setApiTier(api.getPolicy());
-            newApi.setApiUUID(api.getUuid());
-            newApi.setLcState(api.getLcState());
-            newApiMap.put(newApi.getCacheKey(), newApi);
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("Total Apis in new cache: {}", newApiMap.size());
-        }
-        this.apiMap = newApiMap;
+        this.apiMap = applySnapshot(APIS, apiMap, apisList, APIs::getUuid, SubscriptionDataStoreImpl::toApi,
+                SubscriptionDataStoreImpl::isSameApi);
+        version.incrementAndGet();
     }
 
     public void addApplicationPolicies(
             List<org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy> applicationPolicyList) {
-        Map<String, ApplicationPolicy> newAppPolicyMap = new ConcurrentHashMap<>();
-
-        for (org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy applicationPolicy :
-                applicationPolicyList) {
-            ApplicationPolicy newApplicationPolicy = new ApplicationPolicy();
-            newApplicationPolicy.setId(applicationPolicy.getId());
-            newApplicationPolicy.setQuotaType(applicationPolicy.getQuotaType());
-            newApplicationPolicy.setTenantId(applicationPolicy.getTenantId());
-            newApplicationPolicy.setTierName(applicationPolicy.getName());
-
-            newAppPolicyMap.put(newApplicationPolicy.getCacheKey(), newApplicationPolicy);
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("Total Application Policies in new cache: {}", newAppPolicyMap.size());
-        }
-        this.appPolicyMap = newAppPolicyMap;
+        this.appPolicyMap = applySnapshot(APPLICATION_POLICIES, appPolicyMap, applicationPolicyList,
+                applicationPolicy -> getApplicationPolicyCacheKey(applicationPolicy.getName()),
+                SubscriptionDataStoreImpl::toApplicationPolicy, SubscriptionDataStoreImpl::isSameApplicationPolicy);
+        version.incrementAndGet();
     }
 
     public void addSubscriptionPolicies(
             List<org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy> subscriptionPolicyList) {
-        Map<String, SubscriptionPolicy> newSubscriptionPolicyMap = new ConcurrentHashMap<>();
-
-        for (org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy subscriptionPolicy :
-                subscriptionPolicyList) {
-            SubscriptionPolicy newSubscriptionPolicy = new SubscriptionPolicy();
-            newSubscriptionPolicy.setId(subscriptionPolicy.getId());
-            newSubscriptionPolicy.setQuotaType(subscriptionPolicy.getQuotaType());
-            newSubscriptionPolicy.setRateLimitCount(subscriptionPolicy.getRateLimitCount());
-            newSubscriptionPolicy.setRateLimitTimeUnit(subscriptionPolicy.getRateLimitTimeUnit());
-            newSubscriptionPolicy.setStopOnQuotaReach(subscriptionPolicy.getStopOnQuotaReach());
-            newSubscriptionPolicy.setTenantId(subscriptionPolicy.getTenantId());
-            newSubscriptionPolicy.setTierName(subscriptionPolicy.getName());
-            newSubscriptionPolicy.setGraphQLMaxComplexity(subscriptionPolicy.getGraphQLMaxComplexity());
-            newSubscriptionPolicy.setGraphQLMaxDepth(subscriptionPolicy.getGraphQLMaxDepth());
-
-            newSubscriptionPolicyMap.put(newSubscriptionPolicy.getCacheKey(), newSubscriptionPolicy);
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("Total Subscription Policies in new cache: {}", newSubscriptionPolicyMap.size());
-        }
-        this.subscriptionPolicyMap = newSubscriptionPolicyMap;
+        this.subscriptionPolicyMap = applySnapshot(SUBSCRIPTION_POLICIES, subscriptionPolicyMap,
+                subscriptionPolicyList,
+                subscriptionPolicy -> getSubscriptionPolicyCacheKey(subscriptionPolicy.getName()),
+                SubscriptionDataStoreImpl::toSubscriptionPolicy, SubscriptionDataStoreImpl::isSameSubscriptionPolicy);
+        version.incrementAndGet();
     }
 
     public void addApplicationKeyMappings(
             List<org.wso2.choreo.connect.discovery.subscription.ApplicationKeyMapping> applicationKeyMappingList) {
-        Map<ApplicationKeyMappingCacheKey, ApplicationKeyMapping> newApplicationKeyMappingMap =
-                new ConcurrentHashMap<>();
-
-        for (org.wso2.choreo.connect.discovery.subscription.ApplicationKeyMapping applicationKeyMapping :
-                applicationKeyMappingList) {
-            ApplicationKeyMapping mapping = new ApplicationKeyMapping();
-            mapping.setApplicationId(applicationKeyMapping.getApplicationId());
-            mapping.setApplicationUUID(applicationKeyMapping.getApplicationUUID());
-            mapping.setConsumerKey(applicationKeyMapping.getConsumerKey());
-            mapping.setKeyType(applicationKeyMapping.getKeyType());
-            mapping.setKeyManager(applicationKeyMapping.getKeyManager());
-
-            newApplicationKeyMappingMap.put(mapping.getCacheKey(), mapping);
+        this.applicationKeyMappingMap = applySnapshot(APPLICATION_KEY_MAPPINGS, applicationKeyMappingMap,
+                applicationKeyMappingList, applicationKeyMapping -> new ApplicationKeyMappingCacheKey(
+                        applicationKeyMapping.getConsumerKey(), applicationKeyMapping.getKeyManager()),
+                SubscriptionDataStoreImpl::toApplicationKeyMapping,
+                SubscriptionDataStoreImpl::isSameApplicationKeyMapping);
+        version.incrementAndGet();
+    }
+
+    // Same as the cache keys of the policy models, built without converting the received policies
+    private static String getApplicationPolicyCacheKey(String policyName) {
+        return PolicyType.APPLICATION + DELEM_PERIOD + SubscriptionDataStoreUtil.getPolicyCacheKey(policyName);
+    }
+
+    private static String getSubscriptionPolicyCacheKey(String policyName) {
+        return PolicyType.SUBSCRIPTION + SubscriptionDataStoreUtil.getPolicyCacheKey(policyName);
+    }
+
+    /**
+     * Applies the full list of entries received from the adapter to the map. By default, the map is updated in
+     * place: only the new and changed entries are converted and put, and the entries which are not in the list are
+     * removed. Otherwise, a new map is built with all the entries.
+     *
+     * @param type      type of the entries, used for logging and metrics
+     * @param map       current map of the entries
+     * @param resources all the entries received from the adapter
+     * @param keyOf     returns the key of a received entry
+     * @param toModel   converts a received entry to the model
+     * @param isSame    checks whether a model has the same values as a received entry
+     * @return updated map, which is a new map if the map is not updated in place
+     */
+    private <K, V, R> Map<K, V> applySnapshot(String type, Map<K, V> map, List<R> resources, Function<R, K> keyOf,
+                                              Function<R, V> toModel, BiPredicate<V, R> isSame) {
+        long startTime = System.nanoTime();
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        Map<K, V> updatedMap;
+        if (incrementalUpdates) {
+            // Locks the map in the same way as the event based subscription updates
+            synchronized (map) {
+                Set<K> receivedKeys = new HashSet<>(resources.size() * 4 / 3 + 1);
+                for (R resource : resources) {
+                    K key = keyOf.apply(resource);
+                    receivedKeys.add(key);
+                    V current = map.get(key);
+                    if (current == null) {
+                        map.put(key, toModel.apply(resource));
+                        added++;
+                    } else if (!isSame.test(current, resource)) {
+                        map.put(key, toModel.apply(resource));
+                        updated++;
+                    }
+                }
+                if (map.size() > receivedKeys.size()) {
+                    Iterator<K> keys = map.keySet().iterator();
+                    while (keys.hasNext()) {
+                        if (!receivedKeys.contains(keys.next())) {
+                            keys.remove();
+                            removed++;
+                        }
+                    }
+                }
+            }
+            updatedMap = map;
+        } else {
+            updatedMap = new ConcurrentHashMap<>();
+            for (R resource : resources) {
+                updatedMap.put(keyOf.apply(resource), toModel.apply(resource));
+            }
+            added = updatedMap.size();
+            removed = map.size();
         }
+        long applyTime = System.nanoTime() - startTime;
         if (log.isDebugEnabled()) {
-            log.debug("Total Application Key Mappings in new cache: {}", newApplicationKeyMappingMap.size());
+            log.debug("Total {} in the store: {}. Added: {}, updated: {}, removed: {} in {} ms", type,
+                    updatedMap.size(), added, updated, removed, TimeUnit.NANOSECONDS.toMillis(applyTime));
         }
-        this.applicationKeyMappingMap = newApplicationKeyMappingMap;
+        SubscriptionDataMetrics.getInstance().recordUpdate(type, updatedMap.size(), added, updated, removed,
+                applyTime);
+        return updatedMap;
+    }
+
+    private static Subscription toSubscription(
+            org.wso2.choreo.connect.discovery.subscription.Subscription subscription) {
+        Subscription newSubscription = new Subscription();
+        newSubscription.setSubscriptionId(subscription.getSubscriptionUUID());
+        newSubscription.setPolicyId(subscription.getPolicyId());
+        newSubscription.setApiUUID(subscription.getApiUUID());
+        newSubscription.setAppUUID(subscription.getAppUUID());
+        newSubscription.setSubscriptionState(subscription.getSubscriptionState());
+        newSubscription.setTimeStamp(subscription.getTimeStamp());
+        return newSubscription;
+    }
+
+    private static boolean isSameSubscription(Subscription current,
+                                              org.wso2.choreo.connect.discovery.subscription.Subscription received) {
+        return current.getTimeStamp() == received.getTimeStamp()
+                && Objects.equals(current.getSubscriptionId(), received.getSubscriptionUUID())
+                && Objects.equals(current.getPolicyId(), received.getPolicyId())
+                && Objects.equals(current.getSubscriptionState(), received.getSubscriptionState());
+    }
+
+    private static Application toApplication(
+            org.wso2.choreo.connect.discovery.subscription.Application application) {
+        Application newApplication = new Application();
+        newApplication.setId(application.getId());
+        newApplication.setName(application.getName());
+        newApplication.setPolicy(application.getPolicy());
+        newApplication.setSubId(application.getSubId());
+        newApplication.setSubName(application.getSubName());
+        newApplication.setTokenType(application.getTokenType());
+        newApplication.setUUID(application.getUuid());
+        newApplication.setTenantDomain(application.getTenantDomain());
+        application.getAttributesMap().forEach(newApplication::addAttribute);
+        return newApplication;
+    }
+
+    private static boolean isSameApplication(Application current,
+                                             org.wso2.choreo.connect.discovery.subscription.Application received) {
+        return Objects.equals(current.getId(), received.getId())
+                && Objects.equals(current.getName(), received.getName())
+                && Objects.equals(current.getPolicy(), received.getPolicy())
+                && Objects.equals(current.getSubId(), received.getSubId())
+                && Objects.equals(current.getSubName(), received.getSubName())
+                && Objects.equals(current.getTokenType(), received.getTokenType())
+                && Objects.equals(current.getTenantDomain(), received.getTenantDomain())
+                && current.getAttributes().equals(received.getAttributesMap());
+    }
+
+    private static API toApi(APIs api) {
+        API newApi = new API();
+        newApi.setApiId(Integer.parseInt(api.getApiId()));
+        newApi.setApiName(api.getName());
+        newApi.setApiProvider(api.getProvider());
+        newApi.setApiType(api.getApiType());
+        newApi.setApiVersion(api.getVersion());
+        newApi.setContext(api.getContext());
+        newApi.setApiTier(api.getPolicy());
+        newApi.setApiUUID(api.getUuid());
+        newApi.setLcState(api.getLcState());
+        return newApi;
+    }
+
+    private static boolean isSameApi(API current, APIs received) {
+        return String.valueOf(current.getApiId()).equals(received.getApiId())
+                && Objects.equals(current.getApiName(), received.getName())
+                && Objects.equals(current.getApiProvider(), received.getProvider())
+                && Objects.equals(current.getApiType(), received.getApiType())
+                && Objects.equals(current.getApiVersion(), received.getVersion())
+                && Objects.equals(current.getContext(), received.getContext())
+                && Objects.equals(current.getApiTier(), received.getPolicy())
+                && Objects.equals(current.getLcState(), received.getLcState());
+    }
+
+    private static ApplicationPolicy toApplicationPolicy(
+            org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy applicationPolicy) {
+        ApplicationPolicy newApplicationPolicy = new ApplicationPolicy();
+        newApplicationPolicy.setId(applicationPolicy.getId());
+        newApplicationPolicy.setQuotaType(applicationPolicy.getQuotaType());
+        newApplicationPolicy.setTenantId(applicationPolicy.getTenantId());
+        newApplicationPolicy.setTierName(applicationPolicy.getName());
+        return newApplicationPolicy;
+    }
+
+    private static boolean isSameApplicationPolicy(ApplicationPolicy current,
+            org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy received) {
+        return current.getId() == received.getId() && current.getTenantId() == received.getTenantId()
+                && Objects.equals(current.getQuotaType(), received.getQuotaType());
+    }
+
+    private static SubscriptionPolicy toSubscriptionPolicy(
+            org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy subscriptionPolicy) {
+        SubscriptionPolicy newSubscriptionPolicy = new SubscriptionPolicy();
+        newSubscriptionPolicy.setId(subscriptionPolicy.getId());
+        newSubscriptionPolicy.setQuotaType(subscriptionPolicy.getQuotaType());
+        newSubscriptionPolicy.setRateLimitCount(subscriptionPolicy.getRateLimitCount());
+        newSubscriptionPolicy.setRateLimitTimeUnit(subscriptionPolicy.getRateLimitTimeUnit());
+        newSubscriptionPolicy.setStopOnQuotaReach(subscriptionPolicy.getStopOnQuotaReach());
+        newSubscriptionPolicy.setTenantId(subscriptionPolicy.getTenantId());
+        newSubscriptionPolicy.setTierName(subscriptionPolicy.getName());
+        newSubscriptionPolicy.setGraphQLMaxComplexity(subscriptionPolicy.getGraphQLMaxComplexity());
+        newSubscriptionPolicy.setGraphQLMaxDepth(subscriptionPolicy.getGraphQLMaxDepth());
+        return newSubscriptionPolicy;
+    }
+
+    private static boolean isSameSubscriptionPolicy(SubscriptionPolicy current,
+            org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy received) {
+        return current.getId() == received.getId() && current.getTenantId() == received.getTenantId()
+                && current.getRateLimitCount() == received.getRateLimitCount()
+                && current.isStopOnQuotaReach() == received.getStopOnQuotaReach()
+                && current.getGraphQLMaxComplexity() == received.getGraphQLMaxComplexity()
+                && current.getGraphQLMaxDepth() == received.getGraphQLMaxDepth()
+                && Objects.equals(current.getQuotaType(), received.getQuotaType())
+                && Objects.equals(current.getRateLimitTimeUnit(), received.getRateLimitTimeUnit());
+    }
+
+    private static ApplicationKeyMapping toApplicationKeyMapping(
+            org.wso2.choreo.connect.discovery.subscription.ApplicationKeyMapping applicationKeyMapping) {
+        ApplicationKeyMapping mapping = new ApplicationKeyMapping();
+        mapping.setApplicationId(applicationKeyMapping.getApplicationId());
+        mapping.setApplicationUUID(applicationKeyMapping.getApplicationUUID());
+        mapping.setConsumerKey(applicationKeyMapping.getConsumerKey());
+        mapping.setKeyType(applicationKeyMapping.getKeyType());
+        mapping.setKeyManager(applicationKeyMapping.getKeyManager());
+        return mapping;
+    }
+
+    private static boolean isSameApplicationKeyMapping(ApplicationKeyMapping current,
+            org.wso2.choreo.connect.discovery.subscription.ApplicationKeyMapping received) {
+        return current.getApplicationId() == received.getApplicationId()
+                && Objects.equals(current.getApplicationUUID(), received.getApplicationUUID())
+                && Objects.equals(current.getKeyType(), received.getKeyType());
     }
 
     @Override
@@ -299,16 +438,19 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                 }
             }
         }
+        version.incrementAndGet();
     }
 
     @Override
     public void removeSubscription(Subscription subscription) {
         subscriptionMap.remove(subscription.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
     public void addOrUpdateAPI(API api) {
         apiMap.put(api.getCacheKey(), api);
+        version.incrementAndGet();
     }
 
     @Override
@@ -318,6 +460,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     @Override
     public void removeAPI(API api) {
         apiMap.remove(api.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
@@ -325,44 +468,52 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
         applicationKeyMappingMap.remove(applicationKeyMapping.getCacheKey());
         applicationKeyMappingMap.put(applicationKeyMapping.getCacheKey(), applicationKeyMapping);
+        version.incrementAndGet();
     }
 
     @Override
     public void removeApplicationKeyMapping(ApplicationKeyMapping applicationKeyMapping) {
         applicationKeyMappingMap.remove(applicationKeyMapping.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
     public void addOrUpdateSubscriptionPolicy(SubscriptionPolicy subscriptionPolicy) {
         subscriptionPolicyMap.remove(subscriptionPolicy.getCacheKey());
         subscriptionPolicyMap.put(subscriptionPolicy.getCacheKey(), subscriptionPolicy);
+        version.incrementAndGet();
     }
 
     @Override
     public void addOrUpdateApplicationPolicy(ApplicationPolicy applicationPolicy) {
         appPolicyMap.remove(applicationPolicy.getCacheKey());
         appPolicyMap.put(applicationPolicy.getCacheKey(), applicationPolicy);
+        version.incrementAndGet();
     }
 
     @Override
     public void removeApplicationPolicy(ApplicationPolicy applicationPolicy) {
         appPolicyMap.remove(applicationPolicy.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
     public void removeSubscriptionPolicy(SubscriptionPolicy subscriptionPolicy) {
         subscriptionPolicyMap.remove(subscriptionPolicy.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
     public void addOrUpdateApplication(Application application) {
         applicationMap.remove(application.getId());
         applicationMap.put(application.getCacheKey(), application);
+        version.incrementAndGet();
     }
 
     @Override
     public void removeApplication(Application application) {
         applicationMap.remove(application.getId());
+        version.incrementAndGet();
     }
 
     @Override
@@ -372,6 +523,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     @Override
     public void removeApiPolicy(ApiPolicy apiPolicy) {
         apiPolicyMap.remove(apiPolicy.getCacheKey());
+        version.incrementAndGet();
     }
 
     @Override
@@ -520,4 +672,9 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         }
         return subscriptionPolicies;
     }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
 }
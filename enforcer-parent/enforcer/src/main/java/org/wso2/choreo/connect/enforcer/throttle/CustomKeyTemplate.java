@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Key template of a custom throttle policy, such as {@code $userId:$apiContext:$customProperty.region}, parsed into
+ * literal and variable segments once when the template is received from the traffic manager. A throttle key is
+ * rendered by appending the segments to a builder, instead of substituting each variable in the template.
+ * <p>
+ * Variables are matched by their names as prefixes, as none of the names is a prefix of another. A custom property
+ * variable is substituted with the value of the longest property name following it. A variable without a value,
+ * such as the client IP of a request without one or a custom property which is not set, is rendered as it is in the
+ * template.
+ */
+public class CustomKeyTemplate {
+    private static final Logger log = LogManager.getLogger(CustomKeyTemplate.class);
+    private static final String CUSTOM_PROPERTY_PREFIX = "customProperty.";
+    private static final Map<String, Variable> VARIABLES;
+
+    static {
+        Map<String, Variable> variables = new HashMap<>();
+        variables.put("resourceKey", Variable.RESOURCE_KEY);
+        variables.put("userId", Variable.USER_ID);
+        variables.put("apiContext", Variable.API_CONTEXT);
+        variables.put("apiVersion", Variable.API_VERSION);
+        variables.put("appTenant", Variable.APP_TENANT);
+        variables.put("apiTenant", Variable.API_TENANT);
+        variables.put("appId", Variable.APP_ID);
+        variables.put("clientIp", Variable.CLIENT_IP);
+        VARIABLES = Collections.unmodifiableMap(variables);
+    }
+
+    private final String template;
+    private final List<Segment> segments;
+
+    public CustomKeyTemplate(String template) {
+        this.template = template;
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < template.length()) {
+            if (template.charAt(i) != '$') {
+                i++;
+                continue;
+            }
+            Segment segment = null;
+            int nameEnd = i + 1;
+            for (Map.Entry<String, Variable> variable : VARIABLES.entrySet()) {
+                if (template.startsWith(variable.getKey(), i + 1)) {
+                    nameEnd = i + 1 + variable.getKey().length();
+                    segment = new Segment(template.substring(i, nameEnd), variable.getValue());
+                    break;
+                }
+            }
+            if (segment == null && template.startsWith(CUSTOM_PROPERTY_PREFIX, i + 1)) {
+                int propertyStart = i + 1 + CUSTOM_PROPERTY_PREFIX.length();
+                nameEnd = template.indexOf('$', propertyStart);
+                if (nameEnd < 0) {
+                    nameEnd = template.length();
+                }
+                if (nameEnd > propertyStart) {
+                    segment = new Segment(template.substring(i, nameEnd), template.substring(propertyStart, nameEnd));
+                }
+            }
+            if (segment == null) {
+                // Not a variable, hence kept in the literal
+                i++;
+                continue;
+            }
+            if (i > literalStart) {
+                segments.add(new Segment(template.substring(literalStart, i)));
+            }
+            segments.add(segment);
+            literalStart = nameEnd;
+            i = nameEnd;
+        }
+        if (literalStart < template.length()) {
+            segments.add(new Segment(template.substring(literalStart)));
+        }
+        this.segments = segments;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Renders the throttle key of a request.
+     *
+     * @param builder    builder to append the key to
+     * @param parameters values of the variables for the request
+     * @return the builder
+     */
+    public StringBuilder render(StringBuilder builder, Parameters parameters) {
+        for (Segment segment : segments) {
+            if (segment.variable == Variable.CUSTOM_PROPERTY) {
+                appendCustomProperty(builder, segment, parameters);
+                continue;
+            }
+            String value = segment.getValue(parameters);
+            builder.append(value != null ? value : segment.text);
+        }
+        return builder;
+    }
+
+    private static void appendCustomProperty(StringBuilder builder, Segment segment, Parameters parameters) {
+        Map<String, String> customProperties = parameters.getCustomProperties();
+        String matchedName = null;
+        for (String name : customProperties.keySet()) {
+            if (segment.customPropertyText.startsWith(name)
+                    && (matchedName == null || name.length() > matchedName.length())) {
+                matchedName = name;
+            }
+        }
+        if (matchedName == null) {
+            builder.append(segment.text);
+            return;
+        }
+        builder.append(customProperties.get(matchedName))
+                .append(segment.customPropertyText, matchedName.length(), segment.customPropertyText.length());
+    }
+
+    private enum Variable {
+        RESOURCE_KEY, USER_ID, API_CONTEXT, API_VERSION, APP_TENANT, API_TENANT, APP_ID, CLIENT_IP, CUSTOM_PROPERTY
+    }
+
+    private static class Segment {
+        // Text of a literal, or the variable as it is in the template
+        private final String text;
+        private final Variable variable;
+        // Text following a custom property prefix up to the next variable, which starts with the property name
+        private final String customPropertyText;
+
+        Segment(String text) {
+            this(text, null, null);
+        }
+
+        Segment(String text, Variable variable) {
+            this(text, variable, null);
+        }
+
+        Segment(String text, String customPropertyText) {
+            this(text, Variable.CUSTOM_PROPERTY, customPropertyText);
+        }
+
+        private Segment(String text, Variable variable, String customPropertyText) {
+            this.text = text;
+            this.variable = variable;
+            this.customPropertyText = customPropertyText;
+        }
+
+        String getValue(Parameters parameters) {
+            if (variable == null) {
+                return text;
+            }
+            switch (variable) {
+                case RESOURCE_KEY:
+                    return parameters.resourceKey;
+                case USER_ID:
+                    return parameters.userId;
+                case API_CONTEXT:
+                    return parameters.apiContext;
+                case API_VERSION:
+                    return parameters.apiVersion;
+                case APP_TENANT:
+                    return parameters.appTenant;
+                case API_TENANT:
+                    return parameters.apiTenant;
+                case APP_ID:
+                    return parameters.getAppId();
+                case CLIENT_IP:
+                    return parameters.getClientIp();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Values of the template variables for a request. The values which need to be converted are converted once, when
+     * they are used by a template.
+     */
+    public static class Parameters {
+        private final String userId;
+        private final String resourceKey;
+        private final String apiContext;
+        private final String apiVersion;
+        private final String appTenant;
+        private final String apiTenant;
+        private final int appId;
+        private final String clientIp;
+        private final String customPropertyString;
+        private String appIdString;
+        private String clientIpNumber;
+        private Map<String, String> customProperties;
+
+        public Parameters(String userId, String resourceKey, String apiContext, String apiVersion, String appTenant,
+                          String apiTenant, int appId, String clientIp, String customPropertyString) {
+            this.userId = userId;
+            this.resourceKey = resourceKey;
+            this.apiContext = apiContext;
+            this.apiVersion = apiVersion;
+            this.appTenant = appTenant;
+            this.apiTenant = apiTenant;
+            this.appId = appId;
+            this.clientIp = clientIp;
+            this.customPropertyString = customPropertyString;
+        }
+
+        private String getAppId() {
+            if (appIdString == null) {
+                appIdString = String.valueOf(appId);
+            }
+            return appIdString;
+        }
+
+        private String getClientIp() {
+            if (clientIp == null) {
+                return null;
+            }
+            if (clientIpNumber == null) {
+                clientIpNumber = FilterUtils.ipToBigInteger(clientIp).toString();
+            }
+            return clientIpNumber;
+        }
+
+        private Map<String, String> getCustomProperties() {
+            if (customProperties == null) {
+                customProperties = parseCustomProperties(customPropertyString);
+            }
+            return customProperties;
+        }
+
+        // Custom properties are set as space separated name=value pairs
+        private static Map<String, String> parseCustomProperties(String customPropertyString) {
+            if (customPropertyString == null || customPropertyString.equals("null")) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> customProperties = new HashMap<>();
+            int start = 0;
+            while (start <= customPropertyString.length()) {
+                int end = customPropertyString.indexOf(' ', start);
+                if (end < 0) {
+                    end = customPropertyString.length();
+                }
+                int separator = customPropertyString.indexOf('=', start);
+                if (separator > start && separator < end - 1
+                        && customPropertyString.lastIndexOf('=', end - 1) == separator) {
+                    customProperties.put(customPropertyString.substring(start, separator),
+                            customPropertyString.substring(separator + 1, end));
+                } else {
+                    log.debug("Invalid custom property string : {}", customPropertyString.substring(start, end));
+                }
+                start = end + 1;
+            }
+            return customProperties;
+        }
+    }
+}
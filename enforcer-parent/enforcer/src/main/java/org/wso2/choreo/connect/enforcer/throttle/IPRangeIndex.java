@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.discovery.throttle.IPCondition;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable index of the IP blocking conditions of a tenant, built when the blocking conditions are updated.
+ * <p>
+ * IPv4 and IPv6 addresses are kept as unsigned 128 bit numbers, in pairs of longs, in the same number space as
+ * {@code FilterUtils.ipToBigInteger}. The IPs and ranges which are not inverted are merged into sorted,
+ * non-overlapping intervals, which are searched with a binary search. An inverted IP or range blocks all the IPs
+ * outside of it, hence the inverted conditions are reduced to the intersection of them, which is the only interval
+ * that is not blocked by them.
+ */
+public class IPRangeIndex {
+    private static final Logger log = LogManager.getLogger(IPRangeIndex.class);
+    private static final long[] EMPTY_INTERVAL = {0, 1, 0, 0};
+
+    // Start and end (inclusive) of the blocked intervals, sorted by the start
+    private final long[] startHigh;
+    private final long[] startLow;
+    private final long[] endHigh;
+    private final long[] endLow;
+    private final boolean hasInvertedConditions;
+    // Interval which is not blocked by the inverted conditions, which is empty if the start is after the end
+    private final long allowedStartHigh;
+    private final long allowedStartLow;
+    private final long allowedEndHigh;
+    private final long allowedEndLow;
+
+    /**
+     * Builds the index of the IP blocking conditions.
+     *
+     * @param conditions IP and IP range blocking conditions of a tenant
+     */
+    public IPRangeIndex(Collection<IPCondition> conditions) {
+        List<long[]> intervals = new ArrayList<>();
+        long[] allowed = {0, 0, -1, -1};
+        boolean hasInvertedConditions = false;
+        for (IPCondition condition : conditions) {
+            long[] interval = toInterval(condition);
+            if (interval == null) {
+                continue;
+            }
+            if (condition.getInvert()) {
+                hasInvertedConditions = true;
+                if (compare(interval[0], interval[1], allowed[0], allowed[1]) > 0) {
+                    allowed[0] = interval[0];
+                    allowed[1] = interval[1];
+                }
+                if (compare(interval[2], interval[3], allowed[2], allowed[3]) < 0) {
+                    allowed[2] = interval[2];
+                    allowed[3] = interval[3];
+                }
+            } else if (compare(interval[0], interval[1], interval[2], interval[3]) <= 0) {
+                intervals.add(interval);
+            }
+        }
+        intervals.sort((a, b) -> compare(a[0], a[1], b[0], b[1]));
+        List<long[]> merged = new ArrayList<>(intervals.size());
+        for (long[] interval : intervals) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && compare(interval[0], interval[1], last[2], last[3]) <= 0) {
+                if (compare(interval[2], interval[3], last[2], last[3]) > 0) {
+                    last[2] = interval[2];
+                    last[3] = interval[3];
+                }
+            } else {
+                merged.add(interval);
+            }
+        }
+        this.startHigh = new long[merged.size()];
+        this.startLow = new long[merged.size()];
+        this.endHigh = new long[merged.size()];
+        this.endLow = new long[merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            long[] interval = merged.get(i);
+            startHigh[i] = interval[0];
+            startLow[i] = interval[1];
+            endHigh[i] = interval[2];
+            endLow[i] = interval[3];
+        }
+        this.hasInvertedConditions = hasInvertedConditions;
+        this.allowedStartHigh = allowed[0];
+        this.allowedStartLow = allowed[1];
+        this.allowedEndHigh = allowed[2];
+        this.allowedEndLow = allowed[3];
+    }
+
+    public boolean isEmpty() {
+        return startHigh.length == 0 && !hasInvertedConditions;
+    }
+
+    /**
+     * Checks whether an IP is blocked by any of the conditions.
+     *
+     * @param ip IP address of the client
+     * @return {@code true} if the IP is blocked
+     */
+    public boolean isBlocked(String ip) {
+        byte[] address = getAddress(ip);
+        long high = getHigh(address);
+        long low = getLow(address);
+        if (hasInvertedConditions && (compare(high, low, allowedStartHigh, allowedStartLow) < 0
+                || compare(high, low, allowedEndHigh, allowedEndLow) > 0)) {
+            log.debug("Blocked IP detected by an inverted condition");
+            return true;
+        }
+        // Finds the last interval starting at or before the IP
+        int lowIndex = 0;
+        int highIndex = startHigh.length - 1;
+        int match = -1;
+        while (lowIndex <= highIndex) {
+            int mid = (lowIndex + highIndex) >>> 1;
+            if (compare(startHigh[mid], startLow[mid], high, low) <= 0) {
+                match = mid;
+                lowIndex = mid + 1;
+            } else {
+                highIndex = mid - 1;
+            }
+        }
+        if (match >= 0 && compare(high, low, endHigh[match], endLow[match]) <= 0) {
+            log.debug("Blocked IP detected");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the inclusive interval of a condition as {start high, start low, end high, end low}.
+     */
+    private static long[] toInterval(IPCondition condition) {
+        if (ThrottleConstants.BLOCKING_CONDITIONS_IP.equals(condition.getType())) {
+            byte[] address = getAddress(condition.getFixedIp());
+            long high = getHigh(address);
+            long low = getLow(address);
+            return new long[]{high, low, high, low};
+        } else if (ThrottleConstants.BLOCK_CONDITION_IP_RANGE.equals(condition.getType())) {
+            byte[] startingIp = getAddress(condition.getStartingIp());
+            byte[] endingIp = getAddress(condition.getEndingIp());
+            // The starting and the ending IPs are not within the range
+            long startHigh = getHigh(startingIp);
+            long startLow = getLow(startingIp);
+            long endHigh = getHigh(endingIp);
+            long endLow = getLow(endingIp);
+            if (startHigh == -1 && startLow == -1 || endHigh == 0 && endLow == 0) {
+                return EMPTY_INTERVAL.clone();
+            }
+            if (++startLow == 0) {
+                startHigh++;
+            }
+            if (endLow-- == 0) {
+                endHigh--;
+            }
+            return new long[]{startHigh, startLow, endHigh, endLow};
+        }
+        return null;
+    }
+
+    private static byte[] getAddress(String ip) {
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            log.error("Error while parsing host IP " + ip, e);
+        }
+        return null;
+    }
+
+    private static long getHigh(byte[] address) {
+        return address == null || address.length <= Long.BYTES ? 0 : toLong(address, 0, address.length - Long.BYTES);
+    }
+
+    private static long getLow(byte[] address) {
+        if (address == null) {
+            return 0;
+        }
+        int from = Math.max(0, address.length - Long.BYTES);
+        return toLong(address, from, address.length);
+    }
+
+    private static long toLong(byte[] bytes, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value << Byte.SIZE) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int compare(long high1, long low1, long high2, long low2) {
+        int result = Long.compareUnsigned(high1, high2);
+        return result != 0 ? result : Long.compareUnsigned(low1, low2);
+    }
+}
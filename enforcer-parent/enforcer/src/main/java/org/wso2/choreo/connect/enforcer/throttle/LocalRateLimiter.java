@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.throttle.dto.Decision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces request rate limits within the enforcer, without the traffic manager. It can be used on its own, or in
+ * front of the global throttling to enforce the limits which are not evaluated by the traffic manager, such as the
+ * burst control limits of the subscription policies.
+ * <p>
+ * Each throttle key has a token bucket implemented with the generic cell rate algorithm, which keeps the state of
+ * the bucket in a single {@link AtomicLong} updated with compare-and-set. Buckets are kept in a segmented cache and
+ * are dropped once they are not used for a while or the maximum number of keys is reached.
+ */
+public class LocalRateLimiter {
+    private static final Logger log = LogManager.getLogger(LocalRateLimiter.class);
+
+    static final String ENABLED = "choreo.connect.throttle.local.enabled";
+    static final String MAX_KEYS = "choreo.connect.throttle.local.maxKeys";
+    static final String IDLE_EXPIRY_SECONDS = "choreo.connect.throttle.local.idleExpirySeconds";
+    private static final long DEFAULT_MAX_KEYS = 100000;
+    private static final long DEFAULT_IDLE_EXPIRY_SECONDS = 3600;
+    private static final String UNIT_SECOND = "sec";
+    private static final String UNIT_MINUTE = "min";
+
+    private static LocalRateLimiter instance;
+
+    private final boolean enabled;
+    private final Cache<String, Bucket> buckets;
+
+    private LocalRateLimiter() {
+        this.enabled = Boolean.getBoolean(ENABLED);
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(Long.getLong(MAX_KEYS, DEFAULT_MAX_KEYS))
+                .expireAfterAccess(Long.getLong(IDLE_EXPIRY_SECONDS, DEFAULT_IDLE_EXPIRY_SECONDS), TimeUnit.SECONDS)
+                .build();
+    }
+
+    public static LocalRateLimiter getInstance() {
+        if (instance == null) {
+            synchronized (LocalRateLimiter.class) {
+                if (instance == null) {
+                    instance = new LocalRateLimiter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Consumes a token from the bucket of the throttle key, if the limit is not exceeded.
+     *
+     * @param throttleKey key to throttle the request with
+     * @param limit       number of requests allowed within a time unit
+     * @param timeUnit    time unit of the limit, {@code sec} or {@code min}
+     * @return {@code Decision} with true for isThrottled property and the time at which the next request is allowed,
+     * if the limit is exceeded
+     */
+    public Decision tryAcquire(String throttleKey, int limit, String timeUnit) {
+        Decision decision = new Decision();
+        long periodNanos = toNanos(timeUnit);
+        if (limit <= 0 || periodNanos <= 0) {
+            log.debug("Local rate limit is not enforced for key: {}, limit: {}, unit: {}", throttleKey, limit,
+                    timeUnit);
+            return decision;
+        }
+        Bucket bucket = buckets.getIfPresent(throttleKey);
+        if (bucket == null || !bucket.hasLimit(limit, periodNanos)) {
+            // Created atomically, so that concurrent requests of a new key share the same bucket. Created again if
+            // the limit of the policy is changed.
+            bucket = buckets.asMap().compute(throttleKey, (key, current) -> current != null
+                    && current.hasLimit(limit, periodNanos) ? current : new Bucket(limit, periodNanos));
+        }
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            decision.setThrottled(true);
+            decision.setResetAt(System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+            log.debug("Local rate limit of {} per {} exceeded for key: {}", limit, timeUnit, throttleKey);
+        }
+        return decision;
+    }
+
+    private static long toNanos(String timeUnit) {
+        if (UNIT_SECOND.equalsIgnoreCase(timeUnit)) {
+            return TimeUnit.SECONDS.toNanos(1);
+        } else if (UNIT_MINUTE.equalsIgnoreCase(timeUnit)) {
+            return TimeUnit.MINUTES.toNanos(1);
+        }
+        return -1;
+    }
+
+    /**
+     * Token bucket which allows {@code limit} requests at once, and refills a token for every
+     * {@code period / limit}.
+     */
+    static class Bucket {
+        private final int limit;
+        private final long periodNanos;
+        private final long emissionIntervalNanos;
+        // The time at which the bucket becomes full, if no more requests are allowed
+        private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(int limit, long periodNanos) {
+            this.limit = limit;
+            this.periodNanos = periodNanos;
+            this.emissionIntervalNanos = periodNanos / limit;
+        }
+
+        boolean hasLimit(int limit, long periodNanos) {
+            return this.limit == limit && this.periodNanos == periodNanos;
+        }
+
+        /**
+         * Consumes a token if the bucket is not empty.
+         *
+         * @param now current value of {@link System#nanoTime()}
+         * @return 0 if a token is consumed, otherwise the time to wait until a token is available in nanoseconds
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrivalTime.get();
+                // Compared by the difference, as the nano time may overflow
+                long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = start + emissionIntervalNanos;
+                long waitNanos = next - now - periodNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
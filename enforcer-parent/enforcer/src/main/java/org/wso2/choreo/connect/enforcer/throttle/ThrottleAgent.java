@@ -20,8 +20,6 @@ package org.wso2.choreo.connect.enforcer.throttle;
 
 import org.wso2.choreo.connect.enforcer.throttle.databridge.publisher.ThrottleDataPublisher;
 
-import java.util.Map;
-
 /**
  * This class is used for ballerina interop invocations related to Global Throttle Event Publishing
  * via binary communication.
@@ -30,11 +28,11 @@ public class ThrottleAgent {
 
     private static ThrottleDataPublisher throttleDataPublisher = null;
 
-    public static void startThrottlePublisherPool() {
+    public static void startThrottlePublisher() {
         throttleDataPublisher = new ThrottleDataPublisher();
     }
 
-    public static void publishNonThrottledEvent(Map<String, String> throttleEvent) {
+    public static void publishNonThrottledEvent(Object[] throttleEvent) {
         throttleDataPublisher.publishNonThrottledEvent(throttleEvent);
     }
 }
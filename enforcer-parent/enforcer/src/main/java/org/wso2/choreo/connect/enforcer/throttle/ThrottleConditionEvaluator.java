@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import net.minidev.json.JSONObject;
+import org.apache.commons.lang3.StringUtils;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.config.dto.ThrottleConfigDto;
+import org.wso2.choreo.connect.enforcer.throttle.dto.ThrottleCondition;
+import org.wso2.choreo.connect.enforcer.throttle.utils.ThrottleUtils;
+import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates the advanced throttle condition groups of an API or resource throttle key. The conditions received from
+ * the traffic manager are compiled when they are added, so that the regular expressions are not compiled for each
+ * request, and the attributes of a request are extracted once for all the conditions.
+ */
+public class ThrottleConditionEvaluator {
+
+    private final String throttleKey;
+    private final Map<String, ConditionGroup> conditionGroups = new ConcurrentHashMap<>();
+    private volatile ConditionGroup defaultGroup;
+
+    public ThrottleConditionEvaluator(String throttleKey) {
+        this.throttleKey = throttleKey;
+    }
+
+    /**
+     * Adds a condition group, if a group with the same condition key is not already added.
+     *
+     * @param conditionKey condition key
+     * @param conditions   conditions of the group
+     * @throws java.util.regex.PatternSyntaxException if a condition has an invalid regular expression
+     */
+    public void addConditionGroup(String conditionKey, List<ThrottleCondition> conditions) {
+        if (ThrottleConstants.DEFAULT_THROTTLE_CONDITION.equals(conditionKey)) {
+            if (defaultGroup == null) {
+                defaultGroup = new ConditionGroup(throttleKey, conditionKey, conditions);
+            }
+            return;
+        }
+        if (!conditionGroups.containsKey(conditionKey)) {
+            conditionGroups.put(conditionKey, new ConditionGroup(throttleKey, conditionKey, conditions));
+        }
+    }
+
+    public void removeConditionGroup(String conditionKey) {
+        if (ThrottleConstants.DEFAULT_THROTTLE_CONDITION.equals(conditionKey)) {
+            defaultGroup = null;
+            return;
+        }
+        conditionGroups.remove(conditionKey);
+    }
+
+    public boolean isEmpty() {
+        return conditionGroups.isEmpty() && defaultGroup == null;
+    }
+
+    /**
+     * Checks whether there is a throttle decision for any of the condition groups. If not, the request is not
+     * throttled regardless of the matching condition group.
+     *
+     * @param throttleDecisions throttle decisions received from the traffic manager
+     * @return {@code true} if there is a decision for a condition group
+     */
+    public boolean hasThrottleDecision(Map<String, Long> throttleDecisions) {
+        ConditionGroup defaultConditionGroup = defaultGroup;
+        if (defaultConditionGroup != null && throttleDecisions.containsKey(defaultConditionGroup.combinedKey)) {
+            return true;
+        }
+        for (ConditionGroup conditionGroup : conditionGroups.values()) {
+            if (throttleDecisions.containsKey(conditionGroup.combinedKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the condition group of the request. The request belongs to a condition group if it matches all the
+     * conditions of the group, or to the default group if it does not match the default group conditions.
+     *
+     * @param req  request context
+     * @param conf throttle configuration
+     * @return combined throttle key of the matching condition group, or null if there is no match
+     */
+    public String getMatchingConditionKey(RequestContext req, ThrottleConfigDto conf) {
+        RequestAttributes attributes = new RequestAttributes(req);
+        for (ConditionGroup conditionGroup : conditionGroups.values()) {
+            if (conditionGroup.matches(attributes, conf)) {
+                return conditionGroup.combinedKey;
+            }
+        }
+        ConditionGroup defaultConditionGroup = defaultGroup;
+        if (defaultConditionGroup != null && !defaultConditionGroup.matches(attributes, conf)) {
+            return defaultConditionGroup.combinedKey;
+        }
+        return null;
+    }
+
+    /**
+     * Conditions of a pipeline, which are combined with {@code OR}.
+     */
+    private static class ConditionGroup {
+        private final String combinedKey;
+        private final List<CompiledCondition> conditions;
+
+        ConditionGroup(String throttleKey, String conditionKey, List<ThrottleCondition> conditions) {
+            this.combinedKey = throttleKey + '_' + conditionKey;
+            List<CompiledCondition> compiledConditions = new ArrayList<>(conditions.size());
+            for (ThrottleCondition condition : conditions) {
+                compiledConditions.add(new CompiledCondition(condition));
+            }
+            this.conditions = Collections.unmodifiableList(compiledConditions);
+        }
+
+        boolean matches(RequestAttributes attributes, ThrottleConfigDto conf) {
+            for (CompiledCondition condition : conditions) {
+                if (condition.matches(attributes, conf)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A condition of a pipeline. The IP, header, query parameter and JWT claim conditions are combined with
+     * {@code AND}.
+     */
+    private static class CompiledCondition {
+        private final ThrottleCondition.IPCondition ipCondition;
+        private final ThrottleCondition.IPCondition ipRangeCondition;
+        private final AttributeConditions headerConditions;
+        private final AttributeConditions queryParamConditions;
+        private final AttributeConditions claimConditions;
+
+        CompiledCondition(ThrottleCondition condition) {
+            this.ipCondition = condition.getIpCondition();
+            this.ipRangeCondition = condition.getIpRangeCondition();
+            ThrottleCondition.HeaderConditions headers = condition.getHeaderConditions();
+            // Header names are matched in lower case, as the request headers are in lower case. Empty headers are
+            // considered as missing.
+            this.headerConditions = headers == null ? null
+                    : AttributeConditions.compile(headers.getValues(), headers.isInvert(), true);
+            ThrottleCondition.QueryParamConditions queryParams = condition.getQueryParameterConditions();
+            this.queryParamConditions = queryParams == null ? null
+                    : AttributeConditions.compile(queryParams.getValues(), queryParams.isInvert(), false);
+            ThrottleCondition.JWTClaimConditions claims = condition.getJwtClaimConditions();
+            this.claimConditions = claims == null ? null
+                    : AttributeConditions.compile(claims.getValues(), claims.isInvert(), false);
+        }
+
+        boolean matches(RequestAttributes attributes, ThrottleConfigDto conf) {
+            if (ipCondition != null) {
+                if (!isMatchingIp(attributes)) {
+                    return false;
+                }
+            } else if (ipRangeCondition != null) {
+                if (!isWithinIpRange(attributes)) {
+                    return false;
+                }
+            }
+            if (conf.isHeaderConditionsEnabled() && headerConditions != null
+                    && !headerConditions.matches(attributes.req.getHeaders())) {
+                return false;
+            }
+            if (conf.isQueryConditionsEnabled() && queryParamConditions != null
+                    && !queryParamConditions.matches(attributes.req.getQueryParameters())) {
+                return false;
+            }
+            if (conf.isJwtClaimConditionsEnabled() && claimConditions != null) {
+                JSONObject claims = attributes.getClaims();
+                return claims != null && claimConditions.matches(claims);
+            }
+            return true;
+        }
+
+        private boolean isMatchingIp(RequestAttributes attributes) {
+            boolean isMatched = attributes.getClientIp().equals(ipCondition.getSpecificIp());
+            return ipCondition.isInvert() != isMatched;
+        }
+
+        private boolean isWithinIpRange(RequestAttributes attributes) {
+            if (StringUtils.isEmpty(attributes.req.getClientIp())) {
+                return false;
+            }
+            BigInteger currentIp = attributes.getClientIp();
+            boolean status = ipRangeCondition.getStartingIp().compareTo(currentIp) <= 0
+                    && ipRangeCondition.getEndingIp().compareTo(currentIp) >= 0;
+            return ipRangeCondition.isInvert() != status;
+        }
+    }
+
+    /**
+     * Header, query parameter or JWT claim conditions, which match if all the attributes are present and match the
+     * regular expressions.
+     */
+    private static class AttributeConditions {
+        private final String[] names;
+        private final Pattern[] patterns;
+        private final boolean invert;
+        private final boolean isHeader;
+
+        private AttributeConditions(String[] names, Pattern[] patterns, boolean invert, boolean isHeader) {
+            this.names = names;
+            this.patterns = patterns;
+            this.invert = invert;
+            this.isHeader = isHeader;
+        }
+
+        static AttributeConditions compile(Map<String, String> values, boolean invert, boolean isHeader) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            String[] names = new String[values.size()];
+            Pattern[] patterns = new Pattern[values.size()];
+            int i = 0;
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                names[i] = isHeader ? StringUtils.lowerCase(value.getKey()) : value.getKey();
+                patterns[i] = Pattern.compile(value.getValue());
+                i++;
+            }
+            return new AttributeConditions(names, patterns, invert, isHeader);
+        }
+
+        boolean matches(Map<String, ?> attributes) {
+            boolean status = true;
+            for (int i = 0; attributes != null && i < names.length; i++) {
+                Object value = attributes.get(names[i]);
+                if (value == null || isHeader && value.toString().isEmpty()) {
+                    status = false;
+                    break;
+                }
+                if (!patterns[i].matcher(value.toString()).find()) {
+                    status = false;
+                    break;
+                }
+            }
+            return invert != status;
+        }
+    }
+
+    /**
+     * Attributes of a request which are extracted once, when they are first used by a condition.
+     */
+    private static class RequestAttributes {
+        private final RequestContext req;
+        private BigInteger clientIp;
+        private JSONObject claims;
+        private boolean claimsDecoded;
+
+        RequestAttributes(RequestContext req) {
+            this.req = req;
+        }
+
+        BigInteger getClientIp() {
+            if (clientIp == null) {
+                clientIp = FilterUtils.ipToBigInteger(req.getClientIp());
+            }
+            return clientIp;
+        }
+
+        JSONObject getClaims() {
+            if (!claimsDecoded) {
+                claims = ThrottleUtils.getJWTClaims(req.getAuthenticationContext().getCallerToken());
+                claimsDecoded = true;
+            }
+            return claims;
+        }
+    }
+}
@@ -18,29 +18,23 @@
 
 package org.wso2.choreo.connect.enforcer.throttle;
 
-import net.minidev.json.JSONObject;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.choreo.connect.discovery.throttle.IPCondition;
 import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
-import org.wso2.choreo.connect.enforcer.config.dto.ThrottleConfigDto;
 import org.wso2.choreo.connect.enforcer.discovery.ThrottleDataDiscoveryClient;
 import org.wso2.choreo.connect.enforcer.throttle.dto.Decision;
-import org.wso2.choreo.connect.enforcer.throttle.dto.IPRange;
 import org.wso2.choreo.connect.enforcer.throttle.dto.ThrottleCondition;
-import org.wso2.choreo.connect.enforcer.throttle.utils.ThrottleUtils;
 import org.wso2.choreo.connect.enforcer.util.FilterUtils;
 
-import java.math.BigInteger;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * This class holds throttle data per given node. In addition to holding throttle data if provides
@@ -50,15 +44,15 @@ public class ThrottleDataHolder {
     private static final Logger log = LogManager.getLogger(ThrottleDataHolder.class);
 
     private final Map<String, Long> throttleDecisions;
-    private Map<String, String> keyTemplates;
+    private List<CustomKeyTemplate> keyTemplates;
     private Map<String, String> blockedConditions;
-    private Map<String, Set<IPRange>> blockedIpConditions;
+    private Map<String, IPRangeIndex> blockedIpConditions;
     private static ThrottleDataHolder instance;
-    private final Map<String, Map<String, List<ThrottleCondition>>> conditionData = new ConcurrentHashMap<>();
+    private final Map<String, ThrottleConditionEvaluator> conditionData = new ConcurrentHashMap<>();
 
     private ThrottleDataHolder() {
         this.throttleDecisions = new ConcurrentHashMap<>();
-        this.keyTemplates = new ConcurrentHashMap<>();
+        this.keyTemplates = Collections.emptyList();
         this.blockedConditions = new ConcurrentHashMap<>();
         this.blockedIpConditions = new ConcurrentHashMap<>();
     }
@@ -79,15 +73,20 @@ public class ThrottleDataHolder {
     }
 
     /**
-     * Add all key templates in a given map to the key template map.
+     * Replace the key templates with the key templates in a given map, parsing each template once.
      *
      * @param templates Map of key template
      */
     public void addKeyTemplates(Map<String, String> templates) {
         if (templates == null || templates.size() < 1) {
-            keyTemplates = new ConcurrentHashMap<>();
+            keyTemplates = Collections.emptyList();
+            return;
+        }
+        List<CustomKeyTemplate> parsedTemplates = new ArrayList<>(templates.size());
+        for (String template : templates.keySet()) {
+            parsedTemplates.add(new CustomKeyTemplate(template));
         }
-        keyTemplates = new ConcurrentHashMap<>(templates);
+        keyTemplates = Collections.unmodifiableList(parsedTemplates);
     }
 
     /**
@@ -98,16 +97,16 @@ public class ThrottleDataHolder {
      * @param conditionValue conditions to be added to the map
      */
     public void addThrottledConditions(String key, String conditionKey, List<ThrottleCondition> conditionValue) {
-        Map<String, List<ThrottleCondition>> conditionMap;
-
-        if (conditionData.containsKey(key)) {
-            conditionMap = conditionData.get(key);
-        } else {
-            conditionMap = new ConcurrentHashMap<>();
-            conditionData.put(key, conditionMap);
-        }
-        if (!conditionMap.containsKey(conditionKey)) {
-            conditionMap.put(conditionKey, conditionValue);
+        try {
+            // The mapping is left unchanged if the conditions cannot be compiled
+            conditionData.compute(key, (throttleKey, evaluator) -> {
+                ThrottleConditionEvaluator conditionEvaluator = evaluator != null ? evaluator
+                        : new ThrottleConditionEvaluator(throttleKey);
+                conditionEvaluator.addConditionGroup(conditionKey, conditionValue);
+                return conditionEvaluator;
+            });
+        } catch (PatternSyntaxException e) {
+            log.error("Invalid throttle condition received for key: {}, condition: {}", key, conditionKey, e);
         }
     }
 
@@ -118,13 +117,10 @@ public class ThrottleDataHolder {
      * @param conditionKey condition key to be removed
      */
     public void removeThrottledConditions(String key, String conditionKey) {
-        if (conditionData.containsKey(key)) {
-            Map<String, List<ThrottleCondition>> conditionMap = conditionData.get(key);
-            conditionMap.remove(conditionKey);
-            if (conditionMap.isEmpty()) {
-                conditionData.remove(key);
-            }
-        }
+        conditionData.computeIfPresent(key, (throttleKey, evaluator) -> {
+            evaluator.removeConditionGroup(conditionKey);
+            return evaluator.isEmpty() ? null : evaluator;
+        });
     }
 
     /**
@@ -166,29 +162,17 @@ public class ThrottleDataHolder {
             blockedIpConditions = new ConcurrentHashMap<>();
             return;
         }
-        Map<String, Set<IPRange>> newConditions = new ConcurrentHashMap<>();
+        Map<String, List<IPCondition>> conditionsByTenant = new HashMap<>();
         for (IPCondition condition : conditions) {
-            Set<IPRange> ipRanges = newConditions.get(condition.getTenantDomain());
-            if (ipRanges == null) {
-                ipRanges = new HashSet<>();
-            }
-
-            IPRange ipRange = new IPRange();
-            if (ThrottleConstants.BLOCK_CONDITION_IP_RANGE.equals(condition.getType())) {
-                ipRange.setStartingIP(condition.getStartingIp());
-                ipRange.setEndingIp(condition.getEndingIp());
-            } else if (ThrottleConstants.BLOCKING_CONDITIONS_IP.equals(condition.getType())) {
-                ipRange.setFixedIp(condition.getFixedIp());
+            conditionsByTenant.computeIfAbsent(condition.getTenantDomain(), tenant -> new ArrayList<>())
+                    .add(condition);
+        }
+        Map<String, IPRangeIndex> newConditions = new ConcurrentHashMap<>();
+        for (Map.Entry<String, List<IPCondition>> tenantConditions : conditionsByTenant.entrySet()) {
+            IPRangeIndex ipRangeIndex = new IPRangeIndex(tenantConditions.getValue());
+            if (!ipRangeIndex.isEmpty()) {
+                newConditions.put(tenantConditions.getKey(), ipRangeIndex);
             }
-            ipRange.setId(condition.getId());
-            ipRange.setTenantDomain(condition.getTenantDomain());
-            ipRange.setType(condition.getType());
-            ipRange.setInvert(condition.getInvert());
-            ipRange.setStartingIpBigIntValue(FilterUtils.ipToBigInteger(condition.getStartingIp()));
-            ipRange.setEndingIpBigIntValue(FilterUtils.ipToBigInteger(condition.getEndingIp()));
-
-            ipRanges.add(ipRange);
-            newConditions.put(condition.getTenantDomain(), ipRanges);
         }
 
         blockedIpConditions = newConditions;
@@ -261,42 +245,24 @@ public class ThrottleDataHolder {
      * @return throttle {@link Decision}
      */
     public Decision isAdvancedThrottled(String key, RequestContext context) {
-        String conditionKey = null;
         Decision decision = new Decision();
-        Map<String, List<ThrottleCondition>> conditionGrps = conditionData.get(key);
-        List<ThrottleCondition> defaultGrp = null;
+        ThrottleConditionEvaluator conditionEvaluator = conditionData.get(key);
 
-        if (conditionGrps == null) {
+        // Conditions are not evaluated if none of the condition groups is throttled
+        if (conditionEvaluator == null || !conditionEvaluator.hasThrottleDecision(throttleDecisions)) {
             return decision;
         }
 
         log.debug("Found throttle condition in condition map");
-        // iterate through all available conditions and find if the current request
-        // attributes are eligible to be throttled by the available throttled conditions
-        for (String name : conditionGrps.keySet()) {
-            if (!ThrottleConstants.DEFAULT_THROTTLE_CONDITION.equals(name)) {
-                boolean isPipelineThrottled = isThrottledByCondition(conditionGrps.get(name), context);
-                if (isPipelineThrottled) {
-                    conditionKey = name;
-                    break;
-                }
-            } else {
-                defaultGrp = conditionGrps.get(name);
-            }
-        }
-
-        if (conditionKey == null && defaultGrp != null) {
-            boolean isPipelineThrottled = isThrottledByCondition(defaultGrp, context);
-            if (!isPipelineThrottled) {
-                conditionKey = ThrottleConstants.DEFAULT_THROTTLE_CONDITION;
-            }
-        }
+        // find the condition group of the request, which is eligible to be throttled by the available
+        // throttled conditions
+        String combinedThrottleKey = conditionEvaluator.getMatchingConditionKey(context,
+                ConfigHolder.getInstance().getConfig().getThrottleConfig());
 
         // if we detect the request is throttled by a condition. Then check the validity of throttle
         // decision from the throttle event data available in the throttleDataMap
-        if (conditionKey != null) {
-            log.debug("Found throttled pipeline with condition: {}", conditionKey);
-            String combinedThrottleKey = key + '_' + conditionKey;
+        if (combinedThrottleKey != null) {
+            log.debug("Found throttled pipeline with condition: {}", combinedThrottleKey);
 
             // if throttle data is not available for the combined key, conditional throttle decision
             // is no longer valid
@@ -320,66 +286,6 @@ public class ThrottleDataHolder {
         return decision;
     }
 
-    /**
-     * Check if the request is throttled by an advanced throttle condition.
-     * Such as IP, header, query param based conditions.
-     *
-     * @param conditions throttled conditions received from global throttle engine
-     * @param req        RequestContext containing all required information about the evaluated request.
-     * @return {@code true} if throttled by a condition, {@code false} otherwise
-     */
-    private boolean isThrottledByCondition(List<ThrottleCondition> conditions, RequestContext req) {
-        boolean isThrottled = false;
-        ThrottleConfigDto conf = ConfigHolder.getInstance().getConfig().getThrottleConfig();
-
-        for (ThrottleCondition condition : conditions) {
-            // We initially set throttled flag to true. Then we move onto evaluating all conditions and
-            // set the flag to false accordingly. This is done in this way to implement the `AND` logic
-            // between each condition inside a condition group.
-            isThrottled = true;
-            ThrottleCondition.HeaderConditions headerConditions = condition.getHeaderConditions();
-            ThrottleCondition.IPCondition ipCondition = condition.getIpCondition();
-            ThrottleCondition.IPCondition ipRangeCondition = condition.getIpRangeCondition();
-            ThrottleCondition.QueryParamConditions queryConditions = condition.getQueryParameterConditions();
-            ThrottleCondition.JWTClaimConditions claimConditions = condition.getJwtClaimConditions();
-
-            if (ipCondition != null) {
-                if (!isMatchingIp(req.getClientIp(), ipCondition)) {
-                    isThrottled = false;
-                }
-            } else if (ipRangeCondition != null) {
-                if (!isWithinIpRange(req.getClientIp(), ipRangeCondition)) {
-                    isThrottled = false;
-                }
-            }
-            if (conf.isHeaderConditionsEnabled()
-                    && headerConditions != null && !headerConditions.getValues().isEmpty()) {
-                if (!isHeaderPresent(req, headerConditions)) {
-                    isThrottled = false;
-                }
-            }
-            if (conf.isQueryConditionsEnabled()
-                    && queryConditions != null && !queryConditions.getValues().isEmpty()) {
-                if (!isQueryParamPresent(req, queryConditions)) {
-                    isThrottled = false;
-                }
-            }
-            if (conf.isJwtClaimConditionsEnabled()
-                    && (claimConditions != null && !claimConditions.getValues().isEmpty())) {
-                JSONObject c = ThrottleUtils.getJWTClaims(req.getAuthenticationContext().getCallerToken());
-                if (c == null || !isJwtClaimPresent(c, claimConditions)) {
-                    isThrottled = false;
-                }
-            }
-
-            if (isThrottled) {
-                break;
-            }
-        }
-
-        return isThrottled;
-    }
-
     /**
      * Verify if the request is throttled by a custom key template policy.
      * This method call is an expensive operation and should not enabled by default.
@@ -392,37 +298,19 @@ public class ThrottleDataHolder {
                                               String appTenant, String apiTenant, int appId, String clientIp,
                                               String customPropertyString) {
         Decision decision = new Decision();
-        if (keyTemplates.size() > 0) {
-            for (String key : keyTemplates.keySet()) {
-                key = key.replaceAll("\\$resourceKey", resourceKey);
-                key = key.replaceAll("\\$userId", userID);
-                key = key.replaceAll("\\$apiContext", apiContext);
-                key = key.replaceAll("\\$apiVersion", apiVersion);
-                key = key.replaceAll("\\$appTenant", appTenant);
-                key = key.replaceAll("\\$apiTenant", apiTenant);
-                key = key.replaceAll("\\$appId", String.valueOf(appId));
-
-                if (clientIp != null) {
-                    key = key.replaceAll("\\$clientIp", FilterUtils.ipToBigInteger(clientIp).toString());
-                }
-
-                // If custom throttle properties exist, populate the key template with custom properties.
-                if (!customPropertyString.equals("null")) {
-                    String[] customPropertyList = customPropertyString.split(" ");
-                    for (String customProperty : customPropertyList) {
-                        String[] propertyPair = customProperty.split("=");
-                        if (propertyPair.length == 2) {
-                            key = key.replaceAll("\\$customProperty." + propertyPair[0], propertyPair[1]);
-                        } else {
-                            log.debug("Invalid custom property string : {}", customProperty);
-                        }
-                    }
-                }
-
-                decision = isThrottled(key);
-                if (decision.isThrottled()) {
-                    return decision;
-                }
+        List<CustomKeyTemplate> templates = keyTemplates;
+        // Keys are rendered only if there are throttle decisions to match them
+        if (templates.isEmpty() || throttleDecisions.isEmpty()) {
+            return decision;
+        }
+        CustomKeyTemplate.Parameters parameters = new CustomKeyTemplate.Parameters(userID, resourceKey, apiContext,
+                apiVersion, appTenant, apiTenant, appId, clientIp, customPropertyString);
+        StringBuilder key = new StringBuilder();
+        for (CustomKeyTemplate template : templates) {
+            key.setLength(0);
+            decision = isThrottled(template.render(key, parameters).toString());
+            if (decision.isThrottled()) {
+                return decision;
             }
         }
 
@@ -430,140 +318,11 @@ public class ThrottleDataHolder {
     }
 
     private boolean isIpLevelBlocked(String apiTenantDomain, String ip) {
-        Set<IPRange> ipRanges = blockedIpConditions.get(apiTenantDomain);
-
-        if (ipRanges != null && ipRanges.size() > 0) {
-            log.debug("Tenant {} contains block conditions", apiTenantDomain);
-            for (IPRange ipRange : ipRanges) {
-                if (ThrottleConstants.BLOCKING_CONDITIONS_IP.equals(ipRange.getType())) {
-                    if (ip.equals(ipRange.getFixedIp())) {
-                        if (!ipRange.isInvert()) {
-                            log.debug("Blocked IP detected");
-                            return true;
-                        }
-                    } else {
-                        if (ipRange.isInvert()) {
-                            log.debug("Blocked IP detected");
-                            return true;
-                        }
-                    }
-                } else if (ThrottleConstants.BLOCK_CONDITION_IP_RANGE.equals(ipRange.getType())) {
-                    BigInteger ipBigIntegerValue = FilterUtils.ipToBigInteger(ip);
-
-                    if (((ipBigIntegerValue.compareTo(ipRange.getStartingIpBigIntValue()) > 0) &&
-                            (ipBigIntegerValue.compareTo(ipRange.getEndingIpBigIntValue()) < 0))) {
-                        if (!ipRange.isInvert()) {
-                            log.debug("Blocked IP detected in an IP Range");
-                            return true;
-                        }
-                    } else {
-                        if (ipRange.isInvert()) {
-                            log.debug("Blocked IP detected in an IP Range");
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean isMatchingIp(String clientIp, ThrottleCondition.IPCondition ipCondition) {
-        BigInteger longIp = FilterUtils.ipToBigInteger(clientIp);
-        boolean isMatched = (longIp.equals(ipCondition.getSpecificIp()));
-
-        if (ipCondition.isInvert()) {
-            return !isMatched;
-        }
-
-        return isMatched;
-    }
-
-    private boolean isWithinIpRange(String clientIp, ThrottleCondition.IPCondition ipCondition) {
-        boolean status;
-
-        if (StringUtils.isEmpty(clientIp)) {
+        IPRangeIndex ipRangeIndex = blockedIpConditions.get(apiTenantDomain);
+        if (ipRangeIndex == null) {
             return false;
         }
-
-        BigInteger currentIp = FilterUtils.ipToBigInteger(clientIp);
-        status = ipCondition.getStartingIp().compareTo(currentIp) <= 0
-                && ipCondition.getEndingIp().compareTo(currentIp) >= 0;
-
-        if (ipCondition.isInvert()) {
-            return !status;
-        }
-
-        return status;
-    }
-
-    private boolean isHeaderPresent(RequestContext req, ThrottleCondition.HeaderConditions conditions) {
-        boolean status = true;
-        Map<String, String> headers = req.getHeaders();
-
-        for (Map.Entry<String, String> entry : conditions.getValues().entrySet()) {
-            if (headers != null) {
-                String value = headers.get(StringUtils.lowerCase(entry.getKey()));
-
-                if (StringUtils.isEmpty(value)) {
-                    status = false;
-                    break;
-                }
-                Pattern pattern = Pattern.compile(entry.getValue());
-                Matcher matcher = pattern.matcher(value);
-                status = status && matcher.find();
-            }
-        }
-
-        if (conditions.isInvert()) {
-            return !status;
-        }
-
-        return status;
-    }
-
-    private boolean isJwtClaimPresent(JSONObject claims, ThrottleCondition.JWTClaimConditions conditions) {
-        boolean status = true;
-
-        for (Map.Entry<String, String> jwtClaim : conditions.getValues().entrySet()) {
-            String value = claims.getAsString(jwtClaim.getKey());
-            if (value == null) {
-                status = false;
-                break;
-            }
-
-            Pattern pattern = Pattern.compile(jwtClaim.getValue());
-            Matcher matcher = pattern.matcher(value);
-            status = status && matcher.find();
-        }
-
-        if (conditions.isInvert()) {
-            return !status;
-        }
-
-        return status;
-    }
-
-    private boolean isQueryParamPresent(RequestContext req, ThrottleCondition.QueryParamConditions condition) {
-        Map<String, String> queryParamMap = req.getQueryParameters();
-        boolean status = true;
-
-        for (Map.Entry<String, String> queryParam : condition.getValues().entrySet()) {
-            String value = queryParamMap.get(queryParam.getKey());
-            if (value == null) {
-                status = false;
-                break;
-            }
-
-            Pattern pattern = Pattern.compile(queryParam.getValue());
-            Matcher matcher = pattern.matcher(value);
-            status = status && matcher.find();
-        }
-
-        if (condition.isInvert()) {
-            return !status;
-        }
-
-        return status;
+        log.debug("Tenant {} contains block conditions", apiTenantDomain);
+        return ipRangeIndex.isBlocked(ip);
     }
 }
@@ -33,6 +33,9 @@ import org.wso2.choreo.connect.enforcer.commons.model.ResourceConfig;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.dto.ThrottleConfigDto;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsConstants;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsExporter;
+import org.wso2.choreo.connect.enforcer.metrics.MetricsManager;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.util.ThrottleEventConstants;
 import org.wso2.choreo.connect.enforcer.throttle.dto.Decision;
 import org.wso2.choreo.connect.enforcer.throttle.utils.ThrottleUtils;
@@ -48,7 +51,6 @@ import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -59,9 +61,11 @@ public class ThrottleFilter implements Filter {
 
     private final boolean isGlobalThrottlingEnabled;
     private final ThrottleDataHolder dataHolder;
+    private final LocalRateLimiter localRateLimiter;
 
     public ThrottleFilter() {
         this.dataHolder = ThrottleDataHolder.getInstance();
+        this.localRateLimiter = LocalRateLimiter.getInstance();
         this.isGlobalThrottlingEnabled = ConfigHolder.getInstance().getConfig().getThrottleConfig()
                 .isGlobalPublishingEnabled();
     }
@@ -69,13 +73,21 @@ public class ThrottleFilter implements Filter {
     @Override
     public boolean handleRequest(RequestContext requestContext) {
 
-        // If global throttle event publishing is disabled, throttle filter should be skipped.
-        if (!ConfigHolder.getInstance().getConfig().getThrottleConfig().isGlobalPublishingEnabled()) {
+        // If both global throttle event publishing and local throttling are disabled, throttle filter should be
+        // skipped.
+        if (!isGlobalThrottlingEnabled && !localRateLimiter.isEnabled()) {
             return true;
         }
 
         log.debug("Throttle filter received the request");
         Decision decision = doThrottle(requestContext);
+        if (MetricsManager.isMetricsEnabled()) {
+            MetricsExporter metricsExporter = MetricsManager.getInstance();
+            metricsExporter.trackThrottleOutcome(requestContext.getMatchedAPI().getName(),
+                    requestContext.getMatchedAPI().getVersion(), decision.isThrottled() ? String.valueOf(
+                            requestContext.getProperties().get(ThrottleConstants.THROTTLE_OUT_REASON)) :
+                            MetricsConstants.THROTTLE_OUTCOME_ALLOWED);
+        }
 
         if (APIConstants.WEBSOCKET.equals(requestContext.getHeaders().get(APIConstants.UPGRADE_HEADER))) {
             if (decision.isThrottled() && decision.isDueToBlockedCondition()) {
@@ -99,6 +111,9 @@ public class ThrottleFilter implements Filter {
             // breaking filter chain since request is throttled
             return false;
         }
+        if (!isGlobalThrottlingEnabled) {
+            return true;
+        }
         TracingSpan publishThrottleEventSpan = null;
         Scope publishThrottleEventSpanScope = null;
         try {
@@ -121,7 +136,7 @@ public class ThrottleFilter implements Filter {
     }
 
     private void handleEventPublish(RequestContext requestContext) {
-        for (Map<String, String> event : getThrottleEventMap(requestContext)) {
+        for (Object[] event : getThrottleEvents(requestContext)) {
             ThrottleAgent.publishNonThrottledEvent(event);
         }
     }
@@ -234,8 +249,22 @@ public class ThrottleFilter implements Filter {
                     return throttledAPIDecision;
                 }
 
-                // Checking subscription level throttling
+                // Checking subscription level burst control locally
                 String subThrottleKey = getSubscriptionThrottleKey(appId, apiContext, apiVersion);
+                Decision burstDecision = checkSubscriptionBurstThrottled(subThrottleKey, authContext);
+                if (burstDecision.isThrottled()) {
+                    log.debug("Setting subscription burst control throttle out response");
+                    FilterUtils.setThrottleErrorToContext(reqContext,
+                            ThrottleConstants.SUBSCRIPTION_THROTTLE_OUT_ERROR_CODE,
+                            ThrottleConstants.THROTTLE_OUT_MESSAGE,
+                            ThrottleConstants.THROTTLE_OUT_DESCRIPTION);
+                    reqContext.getProperties().put(ThrottleConstants.THROTTLE_OUT_REASON,
+                            ThrottleConstants.THROTTLE_OUT_REASON_SUBSCRIPTION_LIMIT_EXCEEDED);
+                    ThrottleUtils.setRetryAfterHeader(reqContext, burstDecision.getResetAt());
+                    return burstDecision;
+                }
+
+                // Checking subscription level throttling
                 Decision subDecision = checkSubscriptionLevelThrottled(subThrottleKey, subTier);
                 if (subDecision.isThrottled()) {
                     if (authContext.isStopOnQuotaReach()) {
@@ -307,6 +336,17 @@ public class ThrottleFilter implements Filter {
         }
     }
 
+    private Decision checkSubscriptionBurstThrottled(String throttleKey, AuthenticationContext authContext) {
+        if (!localRateLimiter.isEnabled()) {
+            return new Decision();
+        }
+        Decision decision = localRateLimiter.tryAcquire(throttleKey, authContext.getSpikeArrestLimit(),
+                authContext.getSpikeArrestUnit());
+        log.debug("Subscription burst control throttle decision is {} for key {}", decision.isThrottled(),
+                throttleKey);
+        return decision;
+    }
+
     private Decision checkSubscriptionLevelThrottled(String throttleKey, String tier) {
         Decision decision = dataHolder.isThrottled(throttleKey);
         log.debug("Subscription Level throttle decision is {} for key:tier {}:{}", decision.isThrottled(),
@@ -338,18 +378,18 @@ public class ThrottleFilter implements Filter {
     }
 
     /**
-     * This will generate the throttling event map to be publish to the traffic manager.
+     * This will generate the payloads of the throttling events to be publish to the traffic manager.
      * <p>
      * Note: since there could be multiple matching resources for a request (ex: graphQL API request),
      * there could be multiple throttle events
      *
      * @param requestContext request context
-     * @return List of Map of throttle event data
+     * @return List of throttle event payloads, ordered as defined in {@link ThrottleEventConstants}
      */
-    private ArrayList<Map<String, String>> getThrottleEventMap(RequestContext requestContext) {
+    private ArrayList<Object[]> getThrottleEvents(RequestContext requestContext) {
         AuthenticationContext authContext = requestContext.getAuthenticationContext();
-        ArrayList<Map<String, String>> throttleEvents = new ArrayList<>();
-        Map<String, String> throttleEvent = new HashMap<>();
+        ArrayList<Object[]> throttleEvents = new ArrayList<>();
+        Object[] throttleEvent = new Object[ThrottleEventConstants.PAYLOAD_SIZE];
         APIConfig api = requestContext.getMatchedAPI();
 
         String basePath = api.getBasePath();
@@ -367,37 +407,37 @@ public class ThrottleFilter implements Filter {
             tenantDomain = APIConstants.SUPER_TENANT_DOMAIN_NAME;
         }
 
-        throttleEvent.put(ThrottleEventConstants.MESSAGE_ID, requestContext.getRequestID());
-        throttleEvent.put(ThrottleEventConstants.APP_KEY, authContext.getApplicationId() + ":" + authorizedUser);
-        throttleEvent.put(ThrottleEventConstants.APP_TIER, authContext.getApplicationTier());
-        throttleEvent.put(ThrottleEventConstants.API_KEY, apiContext);
-        throttleEvent.put(ThrottleEventConstants.API_TIER, apiTier);
-        throttleEvent.put(ThrottleEventConstants.SUBSCRIPTION_KEY, authContext.getApplicationId() + ":" +
-                apiContext);
-        throttleEvent.put(ThrottleEventConstants.SUBSCRIPTION_TIER, authContext.getTier());
+        throttleEvent[ThrottleEventConstants.MESSAGE_ID] = requestContext.getRequestID();
+        throttleEvent[ThrottleEventConstants.APP_KEY] = authContext.getApplicationId() + ":" + authorizedUser;
+        throttleEvent[ThrottleEventConstants.APP_TIER] = authContext.getApplicationTier();
+        throttleEvent[ThrottleEventConstants.API_KEY] = apiContext;
+        throttleEvent[ThrottleEventConstants.API_TIER] = apiTier;
+        throttleEvent[ThrottleEventConstants.SUBSCRIPTION_KEY] = authContext.getApplicationId() + ":" +
+                apiContext;
+        throttleEvent[ThrottleEventConstants.SUBSCRIPTION_TIER] = authContext.getTier();
         // TODO: (Praminda) should publish with tenant domain?
-        throttleEvent.put(ThrottleEventConstants.USER_ID, authorizedUser);
-        throttleEvent.put(ThrottleEventConstants.API_CONTEXT, basePath);
-        throttleEvent.put(ThrottleEventConstants.API_VERSION, apiVersion);
-        throttleEvent.put(ThrottleEventConstants.APP_TENANT, authContext.getSubscriberTenantDomain());
-        throttleEvent.put(ThrottleEventConstants.API_TENANT, tenantDomain);
-        throttleEvent.put(ThrottleEventConstants.APP_ID, String.valueOf(authContext.getApplicationId()));
-        throttleEvent.put(ThrottleEventConstants.API_NAME, apiName);
-        throttleEvent.put(ThrottleEventConstants.PROPERTIES, getProperties(requestContext).toString());
+        throttleEvent[ThrottleEventConstants.USER_ID] = authorizedUser;
+        throttleEvent[ThrottleEventConstants.API_CONTEXT] = basePath;
+        throttleEvent[ThrottleEventConstants.API_VERSION] = apiVersion;
+        throttleEvent[ThrottleEventConstants.APP_TENANT] = authContext.getSubscriberTenantDomain();
+        throttleEvent[ThrottleEventConstants.API_TENANT] = tenantDomain;
+        throttleEvent[ThrottleEventConstants.APP_ID] = String.valueOf(authContext.getApplicationId());
+        throttleEvent[ThrottleEventConstants.API_NAME] = apiName;
+        throttleEvent[ThrottleEventConstants.PROPERTIES] = getProperties(requestContext).toString();
 
         // apiConfig instance will have the tier assigned only if openapi definition contains the
         // extension
         if (!StringUtils.isEmpty(api.getTier())) {
-            throttleEvent.put(ThrottleEventConstants.RESOURCE_KEY, apiContext);
-            throttleEvent.put(ThrottleEventConstants.RESOURCE_TIER, apiTier);
+            throttleEvent[ThrottleEventConstants.RESOURCE_KEY] = apiContext;
+            throttleEvent[ThrottleEventConstants.RESOURCE_TIER] = apiTier;
             throttleEvents.add(throttleEvent);
         } else {
             for (ResourceConfig resourceConfig : requestContext.getMatchedResourcePaths()) {
-                Map<String, String> throttleEventClone = new HashMap<>(throttleEvent);
+                Object[] throttleEventClone = throttleEvent.clone();
                 String resourceTier = getResourceTier(resourceConfig);
                 String resourceKey = getResourceThrottleKey(resourceConfig, basePath, apiVersion);
-                throttleEventClone.put(ThrottleEventConstants.RESOURCE_KEY, resourceKey);
-                throttleEventClone.put(ThrottleEventConstants.RESOURCE_TIER, resourceTier);
+                throttleEventClone[ThrottleEventConstants.RESOURCE_KEY] = resourceKey;
+                throttleEventClone[ThrottleEventConstants.RESOURCE_TIER] = resourceTier;
                 throttleEvents.add(throttleEventClone);
             }
         }
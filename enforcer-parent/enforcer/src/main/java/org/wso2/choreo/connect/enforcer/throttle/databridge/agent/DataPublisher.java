@@ -34,6 +34,7 @@ import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.util.DataPubli
 
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * API Used to communicate with Data Receivers WSO2 BAM/CEP. It can be used to send events to
@@ -63,10 +64,9 @@ public class DataPublisher {
     private long lastFailedEventTime;
 
     /**
-     * The current failed event count. A normal long is used here, rather
-     * than an AtomicLong, since this is not a critical stat.
+     * The current failed event count, which is exposed as a metric.
      */
-    private long failedEventCount;
+    private final LongAdder failedEventCount = new LongAdder();
 
     /**
      * Creates the DataPublisher instance for a specific user, and the it creates
@@ -271,11 +271,11 @@ public class DataPublisher {
     }
 
     private void onEventQueueFull(DataEndpointGroup endpointGroup, Event event) {
-        this.failedEventCount++;
+        this.failedEventCount.increment();
         long currentTime = System.currentTimeMillis();
         if (currentTime - this.lastFailedEventTime > FAILED_EVENT_LOG_INTERVAL) {
             log.warn("Event queue is full, unable to process the event for endpoint group "
-                    + endpointGroup.toString() + ", " + this.failedEventCount + " events dropped so far.");
+                    + endpointGroup.toString() + ", " + this.failedEventCount.sum() + " events dropped so far.");
             this.lastFailedEventTime = currentTime;
         }
         if (log.isDebugEnabled()) {
@@ -307,6 +307,28 @@ public class DataPublisher {
         return sent;
     }
 
+    /**
+     * Returns the number of events dropped as the event queue of an endpoint group was full.
+     *
+     * @return number of dropped events
+     */
+    public long getFailedEventCount() {
+        return failedEventCount.sum();
+    }
+
+    /**
+     * Returns the number of events waiting to be sent, in the queues of all the endpoint groups.
+     *
+     * @return number of queued events
+     */
+    public long getQueueDepth() {
+        long queueDepth = 0;
+        for (DataEndpointGroup endpointGroup : endpointGroups) {
+            queueDepth += endpointGroup.getQueueDepth();
+        }
+        return queueDepth;
+    }
+
     /**
      * Graceful shutdown of all the operations of the data publisher.
      * It will flush all the events to the relevant endpoint, and closes all the
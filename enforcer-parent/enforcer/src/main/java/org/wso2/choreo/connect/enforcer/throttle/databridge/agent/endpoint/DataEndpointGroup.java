@@ -28,6 +28,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.databridge.commons.utils.DataBridgeThreadFactory;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.ThrottlePublisherMetrics;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.DataEndpointAgent;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.conf.AgentConfiguration;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.conf.DataEndpointConfiguration;
@@ -127,6 +128,15 @@ public class DataEndpointGroup implements DataEndpointFailureCallback {
         }
     }
 
+    /**
+     * Returns the number of events waiting in the queue to be sent.
+     *
+     * @return number of queued events, or 0 if the events are sent synchronously
+     */
+    public long getQueueDepth() {
+        return eventQueue != null ? eventQueue.getQueueDepth() : 0;
+    }
+
     public void publish(Event event) {
         if (eventQueue != null) {
             eventQueue.put(event);
@@ -190,6 +200,7 @@ public class DataEndpointGroup implements DataEndpointFailureCallback {
                 sequence = this.ringBuffer.tryNext(1);
                 WrappedEventFactory.WrappedEvent bufferedEvent = this.ringBuffer.get(sequence);
                 bufferedEvent.setEvent(event);
+                bufferedEvent.setQueuedTime(System.nanoTime());
                 this.ringBuffer.publish(sequence);
             } catch (InsufficientCapacityException e) {
                 throw new EventQueueFullException("Cannot send events because the event queue is full", e);
@@ -203,6 +214,7 @@ public class DataEndpointGroup implements DataEndpointFailureCallback {
                     long sequence = this.ringBuffer.tryNext(1);
                     WrappedEventFactory.WrappedEvent bufferedEvent = this.ringBuffer.get(sequence);
                     bufferedEvent.setEvent(event);
+                    bufferedEvent.setQueuedTime(System.nanoTime());
                     this.ringBuffer.publish(sequence);
                     return;
                 } catch (InsufficientCapacityException ex) {
@@ -214,6 +226,10 @@ public class DataEndpointGroup implements DataEndpointFailureCallback {
             } while (isActiveDataEndpointExists());
         }
 
+        private long getQueueDepth() {
+            return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+        }
+
         private void shutdown() {
             eventQueuePool.shutdown();
             eventQueueDisruptor.shutdown();
@@ -231,6 +247,10 @@ public class DataEndpointGroup implements DataEndpointFailureCallback {
         public void onEvent(WrappedEventFactory.WrappedEvent wrappedEvent, long sequence, boolean endOfBatch) {
             DataEndpoint endpoint = getDataEndpoint(true);
             Event event = wrappedEvent.getEvent();
+            // Releases the event from the slot, as the slot is only reused once the ring buffer wraps around
+            wrappedEvent.setEvent(null);
+            ThrottlePublisherMetrics.getInstance().recordQueueLatency(System.nanoTime()
+                    - wrappedEvent.getQueuedTime());
             if (endpoint != null) {
                 isLastEventDropped = false;
                 endpoint.collectAndSend(event);
@@ -36,11 +36,21 @@ public class WrappedEventFactory implements EventFactory<WrappedEventFactory.Wra
     public static class WrappedEvent {
 
         private Event event;
+        // Time at which the event is put to the queue, in nanoseconds
+        private long queuedTime;
 
         public Event getEvent() {
             return event;
         }
 
+        public long getQueuedTime() {
+            return queuedTime;
+        }
+
+        public void setQueuedTime(long queuedTime) {
+            this.queuedTime = queuedTime;
+        }
+
         public void setEvent(Event event) {
             this.event = event;
         }
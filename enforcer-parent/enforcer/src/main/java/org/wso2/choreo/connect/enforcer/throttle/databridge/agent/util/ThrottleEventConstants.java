@@ -19,28 +19,32 @@
 package org.wso2.choreo.connect.enforcer.throttle.databridge.agent.util;
 
 /**
- * This class holds the constants required to fetch the properties from the ThrottleEvent.
+ * This class holds the stream of the throttle events and the positions of the properties in their payload.
  */
 public class ThrottleEventConstants {
 
     private ThrottleEventConstants() {
     }
 
-    public static final String MESSAGE_ID = "messageID";
-    public static final String APP_KEY = "appKey";
-    public static final String APP_TIER = "appTier";
-    public static final String API_KEY = "apiKey";
-    public static final String API_TIER = "apiTier";
-    public static final String SUBSCRIPTION_KEY = "subscriptionKey";
-    public static final String SUBSCRIPTION_TIER = "subscriptionTier";
-    public static final String RESOURCE_KEY = "resourceKey";
-    public static final String RESOURCE_TIER = "resourceTier";
-    public static final String USER_ID = "userId";
-    public static final String API_CONTEXT = "apiContext";
-    public static final String API_VERSION = "apiVersion";
-    public static final String APP_TENANT = "appTenant";
-    public static final String API_TENANT = "apiTenant";
-    public static final String APP_ID = "appId";
-    public static final String API_NAME = "apiName";
-    public static final String PROPERTIES = "properties";
+    public static final String STREAM_ID = "org.wso2.throttle.request.stream:1.0.0";
+
+    // Positions of the properties in the payload of the throttle request stream
+    public static final int MESSAGE_ID = 0;
+    public static final int APP_KEY = 1;
+    public static final int APP_TIER = 2;
+    public static final int API_KEY = 3;
+    public static final int API_TIER = 4;
+    public static final int SUBSCRIPTION_KEY = 5;
+    public static final int SUBSCRIPTION_TIER = 6;
+    public static final int RESOURCE_KEY = 7;
+    public static final int RESOURCE_TIER = 8;
+    public static final int USER_ID = 9;
+    public static final int API_CONTEXT = 10;
+    public static final int API_VERSION = 11;
+    public static final int APP_TENANT = 12;
+    public static final int API_TENANT = 13;
+    public static final int APP_ID = 14;
+    public static final int API_NAME = 15;
+    public static final int PROPERTIES = 16;
+    public static final int PAYLOAD_SIZE = 17;
 }
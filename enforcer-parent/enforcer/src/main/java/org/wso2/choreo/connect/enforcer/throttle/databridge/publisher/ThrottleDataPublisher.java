@@ -20,62 +20,50 @@ package org.wso2.choreo.connect.enforcer.throttle.databridge.publisher;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.databridge.commons.exception.TransportException;
 import org.wso2.choreo.connect.enforcer.commons.logging.ErrorDetails;
 import org.wso2.choreo.connect.enforcer.commons.logging.LoggingConstants;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.dto.ThrottlePublisherConfigDto;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.ThrottlePublisherMetrics;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.DataPublisher;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.exception.DataEndpointAuthenticationException;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.exception.DataEndpointConfigurationException;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.exception.DataEndpointException;
 import org.wso2.choreo.connect.enforcer.throttle.databridge.agent.util.ThrottleEventConstants;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-
 /**
  * Throttle data publisher class is here to publish throttle data to global policy engine.
  * This can publish data according to defined protocol. Protocol can be thrift or binary.
- * When we use this for high concurrency usecases proper tuning is mandatory.
+ * <p>
+ * Events are put to the bounded event queue of the data publisher from the request thread, and sent to the
+ * traffic manager in batches by the workers of the queue. When the queue is full, events are dropped unless
+ * {@value #BLOCK_ON_FULL_QUEUE} is set, in which case the request thread waits for a free slot.
  */
 public class ThrottleDataPublisher {
-    public static ThrottleDataPublisherPool dataPublisherPool;
+    static final String BLOCK_ON_FULL_QUEUE = "choreo.connect.throttle.publisher.blockOnFullQueue";
 
     private static final Logger LOG = LogManager.getLogger(ThrottleDataPublisher.class);
     private static volatile DataPublisher dataPublisher = null;
-    private Executor executor;
+    private final boolean blockOnFullQueue = Boolean.getBoolean(BLOCK_ON_FULL_QUEUE);
 
     public static DataPublisher getDataPublisher() {
         return dataPublisher;
     }
 
     /**
-     * This method will initialize throttle data publisher. Inside this we will start executor and initialize data
-     * publisher which we used to publish throttle data.
+     * This method will initialize the data publisher which we used to publish throttle data.
      */
     public ThrottleDataPublisher() {
-        dataPublisherPool = ThrottleDataPublisherPool.getInstance();
         ThrottlePublisherConfigDto throttlePublisherConfigDto = ConfigHolder.getInstance().getConfig().
                 getThrottleConfig().getThrottleAgent().getPublisher();
 
         try {
-            executor = new DataPublisherThreadPoolExecutor(
-                    throttlePublisherConfigDto.getPublisherThreadPoolCoreSize(),
-                    throttlePublisherConfigDto.getPublisherThreadPoolMaximumSize(),
-                    throttlePublisherConfigDto.getPublisherThreadPoolKeepAliveTime(),
-                    TimeUnit.SECONDS,
-                    new LinkedBlockingDeque<Runnable>() {
-                    });
             dataPublisher = new DataPublisher(throttlePublisherConfigDto.getReceiverUrlGroup(),
                     throttlePublisherConfigDto.getAuthUrlGroup(), throttlePublisherConfigDto.getUserName(),
                     throttlePublisherConfigDto.getPassword());
-
+            ThrottlePublisherMetrics.getInstance().setDataPublisher(dataPublisher);
         } catch (DataEndpointException | DataEndpointConfigurationException | DataEndpointAuthenticationException
                 | TransportException e) {
             LOG.error("Error in initializing binary data-publisher to send requests to global throttling engine " +
@@ -84,63 +72,36 @@ public class ThrottleDataPublisher {
     }
 
     /**
-     * This method used to pass message context and let it run within separate thread.
+     * This method puts the throttle event to the event queue of the data publisher.
+     *
+     * @param payloadData payload of the event, ordered as defined in {@link ThrottleEventConstants}
      */
-    public void publishNonThrottledEvent(Map<String, String> throttleEvent) {
+    public void publishNonThrottledEvent(Object[] payloadData) {
+        if (dataPublisher == null) {
+            LOG.debug("Throttle data publisher is not initialized.");
+            return;
+        }
         try {
-            if (dataPublisherPool != null) {
-                DataProcessAndPublishingAgent agent = dataPublisherPool.get();
-                agent.setDataReference(throttleEvent);
-                if (LOG.isDebugEnabled()) {
-                    String messageId = throttleEvent.getOrDefault(ThrottleEventConstants.MESSAGE_ID, "null");
-                    String apiContext = throttleEvent.getOrDefault(ThrottleEventConstants.API_CONTEXT, "null");
-                    LOG.debug("Publishing throttle data from gateway to traffic-manager for: " + apiContext
-                            + " with ID: " + messageId + " started" + " at "
-                            + new SimpleDateFormat("[yyyy.MM.dd HH:mm:ss,SSS zzz]").format(new Date()));
-                }
-                executor.execute(agent);
-                if (LOG.isDebugEnabled()) {
-                    String messageId = throttleEvent.getOrDefault(ThrottleEventConstants.MESSAGE_ID, "null");
-                    String apiContext = throttleEvent.getOrDefault(ThrottleEventConstants.API_CONTEXT, "null");
-                    LOG.debug("Publishing throttle data from gateway to traffic-manager for: " + apiContext
-                            + " with ID: " + messageId + " ended" + " at "
-                            + new SimpleDateFormat("[yyyy.MM.dd HH:mm:ss,SSS zzz]").format(new Date()));
-                }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Publishing throttle data from gateway to traffic-manager for: {} with ID: {}",
+                        payloadData[ThrottleEventConstants.API_CONTEXT],
+                        payloadData[ThrottleEventConstants.MESSAGE_ID]);
+            }
+            Event event = new Event(ThrottleEventConstants.STREAM_ID, System.currentTimeMillis(), null, null,
+                    payloadData);
+            boolean published = true;
+            if (blockOnFullQueue) {
+                dataPublisher.publish(event);
             } else {
-                LOG.debug("Throttle data publisher pool is not initialized.");
+                // The event is dropped and counted by the data publisher if the event queue is full
+                published = dataPublisher.tryPublish(event);
+            }
+            if (published) {
+                ThrottlePublisherMetrics.getInstance().recordPublished();
             }
         } catch (Exception e) {
             LOG.error("Error while publishing throttling events to global policy server",
                     ErrorDetails.errorLog(LoggingConstants.Severity.CRITICAL, 6903), e);
         }
     }
-
-    /**
-     * This class will act as thread pool executor and after executing each thread it will return runnable
-     * object back to pool. This implementation specifically used to minimize number of objectes created during
-     * runtime. In this queuing strategy the submitted task will wait in the queue if the corePoolsize theads are
-     * busy and the task will be allocated if any of the threads become idle.Thus ThreadPool will always have number
-     * of threads running  as mentioned in the corePoolSize.
-     * LinkedBlockingQueue without the capacity can be used for this queuing strategy.If the corePoolsize of the
-     * threadpool is less and there are more number of time consuming task were submitted,there is more possibility
-     * that the task has to wait in the queue for more time before it is run by any of the ideal thread.
-     * So tuning core pool size is something we need to tune properly.
-     * Also no task will be rejected in Threadpool until the threadpool was shutdown.
-     */
-    private class DataPublisherThreadPoolExecutor extends ThreadPoolExecutor {
-        public DataPublisherThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime,
-                                               TimeUnit unit, LinkedBlockingDeque<Runnable> workQueue) {
-            super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
-        }
-
-        protected void afterExecute(Runnable r, Throwable t) {
-            try {
-                DataProcessAndPublishingAgent agent = (DataProcessAndPublishingAgent) r;
-                ThrottleDataPublisher.dataPublisherPool.release(agent);
-            } catch (Exception e) {
-                LOG.error("Error while returning Throttle data publishing agent back to pool" + e.getMessage(),
-                        ErrorDetails.errorLog(LoggingConstants.Severity.CRITICAL, 6904));
-            }
-        }
-    }
 }
@@ -24,6 +24,13 @@ import io.opentelemetry.context.Context;
  * Holds an instance of Tracing context per thread.
  */
 public class TracingContextHolder {
+    /**
+     * Key of the propagated parent tracing context in the gRPC {@link io.grpc.Context} of a call. Unlike the thread
+     * local holder, this is available on every thread processing the call.
+     */
+    public static final io.grpc.Context.Key<Context> PARENT_CONTEXT_KEY =
+            io.grpc.Context.key("tracing-parent-context");
+
     private Context context;
     private static ThreadLocal<TracingContextHolder> instance = ThreadLocal.withInitial(TracingContextHolder::new);
 
@@ -18,7 +18,6 @@
 
 package org.wso2.choreo.connect.enforcer.util;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.carbon.apimgt.common.gateway.dto.JWTConfigurationDto;
@@ -42,6 +41,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Contains Util methods related to backend JWT generation.
@@ -49,8 +55,20 @@ import java.util.ServiceLoader;
 public class BackendJwtUtils {
     private static final Logger log = LogManager.getLogger(BackendJwtUtils.class);
 
+    static final String REFRESH_WINDOW_SECONDS = "choreo.connect.backendJwt.refreshWindowSeconds";
+    private static final long REFRESH_WINDOW_MILLIS =
+            TimeUnit.SECONDS.toMillis(Long.getLong(REFRESH_WINDOW_SECONDS, 60));
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_SIZE = 1000;
+    private static final ExecutorService refreshExecutor = createRefreshExecutor();
+
     /**
      * Generates or gets the Cached Backend JWT token.
+     * <p>
+     * Cached tokens are kept with their expiry time, which is decoded once when the token is generated. If a cached
+     * token is used within {@value #REFRESH_WINDOW_SECONDS} seconds (default 60) before it expires, a new token is
+     * generated in the background and the cached token is returned, so that the tokens used by the requests are
+     * not signed on the request path. Setting it to 0 disables the background refresh.
      *
      * @param jwtGenerator the jwtGenerator instance to use if generating the token
      * @param tokenSignature token signature to use in the cache key
@@ -64,27 +82,24 @@ public class BackendJwtUtils {
                                                boolean isGatewayTokenCacheEnabled) throws APISecurityException {
         log.debug("Inside generateAndRetrieveJWTToken");
         String endUserToken = null;
-        boolean valid = false;
+        // The signature of the token identifies the claims of the backend jwt of the API
         String jwtTokenCacheKey = jwtInfoDto.getApiContext().concat(":").concat(jwtInfoDto.getVersion()).concat(":")
                 .concat(tokenSignature); // TODO: (suksw) Check if to add tenantName or label also
 
         if (jwtGenerator != null) {
             if (isGatewayTokenCacheEnabled) {
-                try {
-                    Object token = CacheProvider.getGatewayJWTTokenCache().get(jwtTokenCacheKey);
-                    if (token != null && !JWTConstants.UNAVAILABLE.equals(token)) {
-                        endUserToken = (String) token;
-                        valid = !JWTUtils.isExpired(endUserToken);
+                // The cache drops the token once it is no longer valid
+                CachedBackendJwt backendJwt = CacheProvider.getGatewayJWTTokenCache().getIfPresent(jwtTokenCacheKey);
+                if (backendJwt != null) {
+                    if (REFRESH_WINDOW_MILLIS > 0
+                            && System.currentTimeMillis() >= backendJwt.validUntilMillis - REFRESH_WINDOW_MILLIS) {
+                        refreshInBackground(jwtGenerator, jwtInfoDto, jwtTokenCacheKey, backendJwt);
                     }
-                } catch (Exception e) {
-                    log.error("Error while getting token from the cache", e);
-                }
-
-                if (StringUtils.isEmpty(endUserToken) || !valid) {
-                    endUserToken = generateToken(jwtGenerator, jwtInfoDto, true, jwtTokenCacheKey);
+                    return backendJwt.token;
                 }
+                endUserToken = generateToken(jwtGenerator, jwtInfoDto, true, jwtTokenCacheKey, tokenSignature);
             } else {
-                endUserToken = generateToken(jwtGenerator, jwtInfoDto, false, jwtTokenCacheKey);
+                endUserToken = generateToken(jwtGenerator, jwtInfoDto, false, jwtTokenCacheKey, tokenSignature);
             }
         } else {
             log.debug("Error while loading JWTGenerator");
@@ -93,7 +108,8 @@ public class BackendJwtUtils {
     }
 
     private static String generateToken(AbstractAPIMgtGatewayJWTGenerator jwtGenerator, JWTInfoDto jwtInfoDto,
-                   boolean isGatewayTokenCacheEnabled, String jwtTokenCacheKey) throws APISecurityException {
+                   boolean isGatewayTokenCacheEnabled, String jwtTokenCacheKey, String tokenSignature)
+            throws APISecurityException {
         String endUserToken;
         JWTConfigurationDto jwtConfigurationDto = ConfigHolder.getInstance().getConfig().
                 getJwtConfigurationDto();
@@ -101,7 +117,7 @@ public class BackendJwtUtils {
         try {
             endUserToken = jwtGenerator.generateToken(jwtInfoDto);
             if (isGatewayTokenCacheEnabled) {
-                CacheProvider.getGatewayJWTTokenCache().put(jwtTokenCacheKey, endUserToken);
+                cacheToken(jwtTokenCacheKey, tokenSignature, endUserToken);
             }
         } catch (JWTGeneratorException e) {
             log.error("Error while Generating Backend JWT", e);
@@ -112,6 +128,86 @@ public class BackendJwtUtils {
         return endUserToken;
     }
 
+    private static void cacheToken(String jwtTokenCacheKey, String tokenSignature, String endUserToken) {
+        long expiryTime;
+        try {
+            expiryTime = JWTUtils.getExpiryTime(endUserToken);
+        } catch (Exception e) {
+            // The token is generated for each request if the expiry time is unknown
+            log.debug("Backend JWT is not cached as the expiry time could not be read", e);
+            return;
+        }
+        long validUntilMillis = TimeUnit.SECONDS.toMillis(expiryTime - FilterUtils.getTimeStampSkewInSeconds());
+        CacheProvider.getGatewayJWTTokenCache().put(jwtTokenCacheKey,
+                new CachedBackendJwt(endUserToken, validUntilMillis, tokenSignature));
+    }
+
+    private static void refreshInBackground(AbstractAPIMgtGatewayJWTGenerator jwtGenerator, JWTInfoDto jwtInfoDto,
+                                            String jwtTokenCacheKey, CachedBackendJwt backendJwt) {
+        if (!backendJwt.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    generateToken(jwtGenerator, jwtInfoDto, true, jwtTokenCacheKey, backendJwt.tokenIdentifier);
+                } catch (APISecurityException e) {
+                    // The token is generated on the request path once the cached token expires
+                } finally {
+                    // Allows another refresh if the token was not replaced in the cache
+                    backendJwt.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            backendJwt.refreshing.set(false);
+        }
+    }
+
+    private static ExecutorService createRefreshExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "BackendJwtRefresher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Backend JWT kept in the cache with the time until which the token is used.
+     */
+    public static final class CachedBackendJwt {
+        private final String token;
+        private final long validUntilMillis;
+        // Identifier of the token from which the backend JWT is generated
+        private final String tokenIdentifier;
+        // Set when a new token is being generated to replace this token
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedBackendJwt(String token, long validUntilMillis, String tokenIdentifier) {
+            this.token = token;
+            this.validUntilMillis = validUntilMillis;
+            this.tokenIdentifier = tokenIdentifier;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        /**
+         * @return time in milliseconds since the epoch until which the token is used
+         */
+        public long getValidUntil() {
+            return validUntilMillis;
+        }
+
+        public String getTokenIdentifier() {
+            return tokenIdentifier;
+        }
+    }
+
     /**
      * Load the specified backend JWT Generator.
      *
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.util;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of the thread bound context of a request (the log4j {@link ThreadContext} and the tracing
+ * {@link Context}), which is used to carry the context over to the continuations of asynchronous request
+ * processing that may run on a different thread.
+ */
+public class ExecutionContextSnapshot {
+
+    private final Map<String, String> threadContextMap;
+    private final List<String> threadContextStack;
+    private final Context tracingContext;
+
+    private ExecutionContextSnapshot(Map<String, String> threadContextMap, List<String> threadContextStack,
+                                     Context tracingContext) {
+        this.threadContextMap = threadContextMap;
+        this.threadContextStack = threadContextStack;
+        this.tracingContext = tracingContext;
+    }
+
+    /**
+     * Captures the context bound to the current thread.
+     *
+     * @return context snapshot
+     */
+    public static ExecutionContextSnapshot capture() {
+        return new ExecutionContextSnapshot(ThreadContext.getImmutableContext(),
+                ThreadContext.getImmutableStack().asList(), Context.current());
+    }
+
+    /**
+     * Runs the given supplier with this context bound to the current thread, and restores the previous context of
+     * the thread afterwards.
+     *
+     * @param supplier supplier to run
+     * @param <T>      result type
+     * @return result of the supplier
+     */
+    public <T> T call(Supplier<T> supplier) {
+        Map<String, String> previousMap = ThreadContext.getImmutableContext();
+        List<String> previousStack = ThreadContext.getImmutableStack().asList();
+        ThreadContext.clearAll();
+        ThreadContext.putAll(threadContextMap);
+        ThreadContext.setStack(threadContextStack);
+        try (Scope ignored = tracingContext.makeCurrent()) {
+            return supplier.get();
+        } finally {
+            ThreadContext.clearAll();
+            ThreadContext.putAll(previousMap);
+            ThreadContext.setStack(previousStack);
+        }
+    }
+
+    public <T, R> Function<T, R> wrap(Function<T, R> function) {
+        return value -> call(() -> function.apply(value));
+    }
+
+    public <T, U> BiConsumer<T, U> wrap(BiConsumer<T, U> consumer) {
+        return (first, second) -> call(() -> {
+            consumer.accept(first, second);
+            return null;
+        });
+    }
+}
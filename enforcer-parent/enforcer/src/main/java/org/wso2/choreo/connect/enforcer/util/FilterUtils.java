@@ -47,6 +47,7 @@ import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
 import org.wso2.choreo.connect.enforcer.commons.model.SecuritySchemaConfig;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.config.dto.AuthHeaderDto;
+import org.wso2.choreo.connect.enforcer.config.dto.HttpClientConfigDto;
 import org.wso2.choreo.connect.enforcer.config.dto.MutualSSLDto;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
 import org.wso2.choreo.connect.enforcer.constants.APISecurityConstants;
@@ -109,7 +110,8 @@ public class FilterUtils {
     }
 
     /**
-     * Return a http client instance.
+     * Return a http client instance. A new connection pool is created for each call, use
+     * {@link HttpClientRegistry} for clients that are shared across requests.
      *
      * @param protocol - service endpoint protocol http/https
      * @param clientKeyStore - keystore with key and cert for client
@@ -118,36 +120,61 @@ public class FilterUtils {
      */
     public static HttpClient getHttpClient(String protocol, KeyStore clientKeyStore, Map<String, String> options) {
 
-        //        APIManagerConfiguration configuration = ServiceReferenceHolder.getInstance().
-        //                getAPIManagerConfigurationService().getAPIManagerConfiguration();
-
-        String maxTotal = "100"; //TODO : Read from config
-        String defaultMaxPerRoute = "10"; //TODO : Read from config
-
         if (options == null) {
             options = Collections.emptyMap();
         }
 
         PoolingHttpClientConnectionManager pool = null;
         try {
-            pool = getPoolingHttpClientConnectionManager(protocol, clientKeyStore);
-            pool.setMaxTotal(Integer.parseInt(options.getOrDefault(HTTPClientOptions.MAX_OPEN_CONNECTIONS,
-                    maxTotal)));
-            pool.setDefaultMaxPerRoute(Integer.parseInt(options.getOrDefault(HTTPClientOptions.MAX_PER_ROUTE,
-                    defaultMaxPerRoute)));
+            pool = createPoolingHttpClientConnectionManager(protocol, clientKeyStore, options);
         } catch (EnforcerException e) {
             log.error("Error while getting http client connection manager", e);
         }
+        return HttpClients.custom().setConnectionManager(pool).setDefaultRequestConfig(createRequestConfig(options))
+                .build();
+    }
 
+    /**
+     * Return a PoolingHttpClientConnectionManager instance with the pool limits applied from the given options.
+     *
+     * @param protocol       - service endpoint protocol http/https
+     * @param clientKeyStore - keystore with key and cert for client
+     * @param options        - HTTP client options
+     * @return PoolManager
+     * @throws EnforcerException if the SSL socket factory could not be initialized
+     */
+    static PoolingHttpClientConnectionManager createPoolingHttpClientConnectionManager(
+            String protocol, KeyStore clientKeyStore, Map<String, String> options) throws EnforcerException {
+
+        HttpClientConfigDto httpClientConfig = ConfigHolder.getInstance().getConfig().getHttpClientConfig();
+        PoolingHttpClientConnectionManager pool = getPoolingHttpClientConnectionManager(protocol, clientKeyStore);
+        pool.setMaxTotal(options.containsKey(HTTPClientOptions.MAX_OPEN_CONNECTIONS) ?
+                Integer.parseInt(options.get(HTTPClientOptions.MAX_OPEN_CONNECTIONS)) :
+                httpClientConfig.getMaxTotalConnections());
+        pool.setDefaultMaxPerRoute(options.containsKey(HTTPClientOptions.MAX_PER_ROUTE) ?
+                Integer.parseInt(options.get(HTTPClientOptions.MAX_PER_ROUTE)) :
+                httpClientConfig.getMaxConnectionsPerRoute());
+        return pool;
+    }
+
+    /**
+     * Return the request config built from the timeout values in the given options. The timeout to lease a
+     * connection from the pool is read from the http client configuration.
+     *
+     * @param options - HTTP client options
+     * @return request config
+     */
+    static RequestConfig createRequestConfig(Map<String, String> options) {
         RequestConfig.Builder pramsBuilder = RequestConfig.custom();
+        pramsBuilder.setConnectionRequestTimeout(ConfigHolder.getInstance().getConfig().getHttpClientConfig()
+                .getConnectionRequestTimeoutMillis());
         if (options.containsKey(HTTPClientOptions.CONNECT_TIMEOUT)) {
             pramsBuilder.setConnectTimeout(Integer.parseInt(options.get(HTTPClientOptions.CONNECT_TIMEOUT)));
         }
         if (options.containsKey(HTTPClientOptions.SOCKET_TIMEOUT)) {
             pramsBuilder.setSocketTimeout(Integer.parseInt(options.get(HTTPClientOptions.SOCKET_TIMEOUT)));
         }
-        RequestConfig params = pramsBuilder.build();
-        return HttpClients.custom().setConnectionManager(pool).setDefaultRequestConfig(params).build();
+        return pramsBuilder.build();
     }
 
     public static KeyStore createClientKeyStore(String certPath, String keyPath) {
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.util;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
+import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
+import org.wso2.choreo.connect.enforcer.config.dto.HttpClientConfigDto;
+import org.wso2.choreo.connect.enforcer.metrics.jmx.impl.HttpClientPoolMetrics;
+
+import java.io.IOException;
+import java.net.URL;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of long-lived pooled HTTP clients used for the outbound calls of the enforcer (OPA, JWKS, token
+ * introspection etc.). Clients are keyed by the endpoint (protocol, host and port), the client keystore and the
+ * client options, and are kept alive for the lifetime of the process so that connections are reused across requests.
+ * <p>
+ * The clients returned from this registry are shared, hence callers must not close them. Only the responses should
+ * be closed to release the connection back to the pool.
+ * <p>
+ * A client which could not be initialized is not registered, so that it is created again by the next call.
+ */
+public class HttpClientRegistry {
+
+    private static final Logger log = LogManager.getLogger(HttpClientRegistry.class);
+    private static final HttpClientRegistry httpClientRegistry = new HttpClientRegistry();
+
+    private final Map<ClientKey, PooledClient> clients = new ConcurrentHashMap<>();
+    private final HttpClientConfigDto httpClientConfig;
+
+    private HttpClientRegistry() {
+        httpClientConfig = ConfigHolder.getInstance().getConfig().getHttpClientConfig();
+        ScheduledExecutorService idleConnectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-client-idle-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionPeriodSeconds = Math.max(1, httpClientConfig.getIdleTimeoutSeconds() / 2);
+        idleConnectionEvictor.scheduleWithFixedDelay(this::evictIdleConnections, evictionPeriodSeconds,
+                evictionPeriodSeconds, TimeUnit.SECONDS);
+        HttpClientPoolMetrics.getInstance();
+    }
+
+    public static HttpClientRegistry getInstance() {
+        return httpClientRegistry;
+    }
+
+    /**
+     * Return the shared http client for the given endpoint.
+     *
+     * @param url - service endpoint URL
+     * @return HTTP client, which must not be closed by the caller
+     * @throws IOException if the SSL context of the client could not be initialized
+     */
+    public CloseableHttpClient getHttpClient(URL url) throws IOException {
+        return getHttpClient(url, null, null);
+    }
+
+    /**
+     * Return the shared http client for the given endpoint, keystore and options. A new pooled client is created
+     * only if there is no client already registered for the same combination.
+     *
+     * @param url            - service endpoint URL
+     * @param clientKeyStore - keystore with key and cert for client
+     * @param options        - HTTP client options, see {@link FilterUtils.HTTPClientOptions}
+     * @return HTTP client, which must not be closed by the caller
+     * @throws IOException if the SSL context of the client could not be initialized
+     */
+    public CloseableHttpClient getHttpClient(URL url, KeyStore clientKeyStore, Map<String, String> options)
+            throws IOException {
+        if (options == null) {
+            options = Collections.emptyMap();
+        }
+        ClientKey key = new ClientKey(url, clientKeyStore, options);
+        PooledClient pooledClient = clients.get(key);
+        if (pooledClient == null) {
+            // Not registered if the client could not be created, hence the client is created again by the next call
+            pooledClient = clients.computeIfAbsent(key, this::createPooledClient);
+        }
+        if (pooledClient == null) {
+            throw new IOException("Could not initialize the http client for the endpoint " + key.protocol + "://"
+                    + key.authority);
+        }
+        return pooledClient.httpClient;
+    }
+
+    /**
+     * Returns the aggregated connection pool statistics of all the registered clients.
+     *
+     * @return pool statistics
+     */
+    public PoolStats getTotalStats() {
+        int leased = 0;
+        int pending = 0;
+        int available = 0;
+        int max = 0;
+        for (PooledClient pooledClient : clients.values()) {
+            PoolStats stats = pooledClient.connectionManager.getTotalStats();
+            leased += stats.getLeased();
+            pending += stats.getPending();
+            available += stats.getAvailable();
+            max += stats.getMax();
+        }
+        return new PoolStats(leased, pending, available, max);
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    private PooledClient createPooledClient(ClientKey key) {
+        PoolingHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = FilterUtils.createPoolingHttpClientConnectionManager(key.protocol,
+                    key.clientKeyStore, key.options);
+        } catch (EnforcerException e) {
+            log.error("Error while getting http client connection manager for the endpoint {}://{}", key.protocol,
+                    key.authority, e);
+            return null;
+        }
+        connectionManager.setValidateAfterInactivity(httpClientConfig.getValidateAfterInactivityMillis());
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(FilterUtils.createRequestConfig(key.options))
+                .build();
+        log.debug("Created pooled http client for the endpoint {}://{}", key.protocol, key.authority);
+        return new PooledClient(httpClient, connectionManager);
+    }
+
+    private void evictIdleConnections() {
+        for (PooledClient pooledClient : clients.values()) {
+            pooledClient.connectionManager.closeExpiredConnections();
+            pooledClient.connectionManager.closeIdleConnections(httpClientConfig.getIdleTimeoutSeconds(),
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    private static class PooledClient {
+        private final CloseableHttpClient httpClient;
+        private final PoolingHttpClientConnectionManager connectionManager;
+
+        PooledClient(CloseableHttpClient httpClient, PoolingHttpClientConnectionManager connectionManager) {
+            this.httpClient = httpClient;
+            this.connectionManager = connectionManager;
+        }
+    }
+
+    /**
+     * Key of a registered client. Keystores are compared by identity since the same keystore instance is held in
+     * the {@link org.wso2.choreo.connect.enforcer.config.ConfigHolder} for the lifetime of the process.
+     */
+    private static class ClientKey {
+        private final String protocol;
+        private final String authority;
+        private final KeyStore clientKeyStore;
+        private final Map<String, String> options;
+        private final int hashCode;
+
+        ClientKey(URL url, KeyStore clientKeyStore, Map<String, String> options) {
+            this.protocol = url.getProtocol();
+            int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+            this.authority = url.getHost() + ":" + port;
+            this.clientKeyStore = clientKeyStore;
+            this.options = Collections.unmodifiableMap(new TreeMap<>(options));
+            this.hashCode = Objects.hash(protocol, authority, System.identityHashCode(clientKeyStore), this.options);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return protocol.equals(that.protocol) && authority.equals(that.authority)
+                    && clientKeyStore == that.clientKeyStore && options.equals(that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -18,21 +18,18 @@
 
 package org.wso2.choreo.connect.enforcer.util;
 
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
-import org.apache.commons.io.IOUtils;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.choreo.connect.enforcer.common.CacheProvider;
+import org.wso2.choreo.connect.enforcer.common.ExpiringCache;
 import org.wso2.choreo.connect.enforcer.commons.exception.EnforcerException;
 import org.wso2.choreo.connect.enforcer.config.ConfigHolder;
 import org.wso2.choreo.connect.enforcer.constants.APIConstants;
@@ -42,14 +39,13 @@ import org.wso2.choreo.connect.enforcer.dto.APIKeyValidationInfoDTO;
 import org.wso2.choreo.connect.enforcer.security.jwt.SignedJWTInfo;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.KeyFactory;
+import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -60,7 +56,11 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.text.ParseException;
 import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -68,34 +68,14 @@ import java.util.concurrent.TimeUnit;
  */
 public class JWTUtils {
     private static final Logger log = LogManager.getLogger(JWTUtils.class);
+    // Verifiers are thread safe, and are kept as long as the public key is in use. Weak keys are compared by identity.
+    private static final Cache<RSAPublicKey, JWSVerifier> jwsVerifiers = CacheBuilder.newBuilder().weakKeys().build();
+    private static final Cache<KeyStore, Map<String, Certificate>> certificatesByTrustStore =
+            CacheBuilder.newBuilder().weakKeys().build();
 
     /**
-     * This method used to retrieve JWKS keys from endpoint.
-     *
-     * @param jwksEndpoint jwksEndpoint
-     * @return JwksKeys
-     * @throws IOException Exception while invoking the JWKS endpoint
-     */
-    public static String retrieveJWKSConfiguration(String jwksEndpoint) throws IOException {
-
-        URL url = new URL(jwksEndpoint);
-        try (CloseableHttpClient httpClient = (CloseableHttpClient) FilterUtils.getHttpClient(url.getProtocol())) {
-            HttpGet httpGet = new HttpGet(jwksEndpoint);
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
-                if (response.getStatusLine().getStatusCode() == 200) {
-                    HttpEntity entity = response.getEntity();
-                    try (InputStream content = entity.getContent()) {
-                        return IOUtils.toString(content, Charset.defaultCharset());
-                    }
-                } else {
-                    return null;
-                }
-            }
-        }
-    }
-
-    /**
-     * Verify the JWT token signature.
+     * Verify the JWT token signature. The verifier of the public key is built once and reused, and the result is
+     * cached for the same token and public key until the token expires.
      *
      * @param jwt       SignedJwt Token
      * @param publicKey public certificate
@@ -106,10 +86,26 @@ public class JWTUtils {
         JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
         if ((JWSAlgorithm.RS256.equals(algorithm) || JWSAlgorithm.RS512.equals(algorithm) || JWSAlgorithm.RS384
                 .equals(algorithm))) {
+            ExpiringCache<SignatureVerificationResult> signatureVerificationCache =
+                    CacheProvider.getSignatureVerificationCache();
+            String token = jwt.getParsedString();
+            if (signatureVerificationCache != null && token != null) {
+                SignatureVerificationResult cachedResult = signatureVerificationCache.getIfPresent(token);
+                if (cachedResult != null && cachedResult.isValidFor(publicKey)) {
+                    return cachedResult.verified;
+                }
+            }
             try {
-                JWSVerifier jwsVerifier = new RSASSAVerifier(publicKey);
-                return jwt.verify(jwsVerifier);
-            } catch (JOSEException e) {
+                JWSVerifier jwsVerifier = jwsVerifiers.getIfPresent(publicKey);
+                if (jwsVerifier == null) {
+                    jwsVerifier = jwsVerifiers.get(publicKey, () -> new RSASSAVerifier(publicKey));
+                }
+                boolean verified = jwt.verify(jwsVerifier);
+                if (signatureVerificationCache != null && token != null) {
+                    cacheSignatureVerificationResult(signatureVerificationCache, jwt, publicKey, verified);
+                }
+                return verified;
+            } catch (JOSEException | ExecutionException e) {
                 log.error("Error while verifying JWT signature", e);
                 return false;
             }
@@ -129,16 +125,7 @@ public class JWTUtils {
      */
     public static boolean verifyTokenSignature(SignedJWT jwt, String alias) throws EnforcerException {
 
-        Certificate publicCert;
-        try {
-            if (ConfigHolder.getInstance().getTrustStoreForJWT().containsAlias(alias)) {
-                publicCert = ConfigHolder.getInstance().getTrustStoreForJWT().getCertificate(alias);
-            } else {
-                throw new EnforcerException("Could not find the certificate for the token service.");
-            }
-        } catch (KeyStoreException e) {
-            throw new EnforcerException("Error while retrieving the certificate for JWT verification.", e);
-        }
+        Certificate publicCert = getCertificate(alias);
 
         if (publicCert != null) {
             JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
@@ -155,6 +142,57 @@ public class JWTUtils {
         }
     }
 
+    /**
+     * Drops the signature verifiers built for the public keys and the certificates read from the truststores, so
+     * that they are built again for the next token.
+     */
+    public static void invalidateVerifiers() {
+        jwsVerifiers.invalidateAll();
+        certificatesByTrustStore.invalidateAll();
+    }
+
+    private static void cacheSignatureVerificationResult(ExpiringCache<SignatureVerificationResult> cache,
+                                                         SignedJWT jwt, RSAPublicKey publicKey, boolean verified) {
+        try {
+            Date expiryTime = jwt.getJWTClaimsSet().getExpirationTime();
+            // Tokens without an expiry time are verified each time
+            if (expiryTime != null) {
+                cache.put(jwt.getParsedString(),
+                        new SignatureVerificationResult(publicKey, verified, expiryTime.getTime()));
+            }
+        } catch (ParseException e) {
+            log.debug("Error while reading the expiry time of the JWT", e);
+        }
+    }
+
+    private static Certificate getCertificate(String alias) throws EnforcerException {
+        KeyStore trustStore = ConfigHolder.getInstance().getTrustStoreForJWT();
+        Map<String, Certificate> certificates;
+        try {
+            // The truststore is recreated when the issuers are updated, hence the certificates are kept per truststore
+            certificates = certificatesByTrustStore.get(trustStore, ConcurrentHashMap::new);
+        } catch (ExecutionException e) {
+            throw new EnforcerException("Error while retrieving the certificate for JWT verification.", e);
+        }
+        Certificate publicCert = certificates.get(alias);
+        if (publicCert != null) {
+            return publicCert;
+        }
+        try {
+            if (trustStore.containsAlias(alias)) {
+                publicCert = trustStore.getCertificate(alias);
+            } else {
+                throw new EnforcerException("Could not find the certificate for the token service.");
+            }
+        } catch (KeyStoreException e) {
+            throw new EnforcerException("Error while retrieving the certificate for JWT verification.", e);
+        }
+        if (publicCert != null) {
+            certificates.put(alias, publicCert);
+        }
+        return publicCert;
+    }
+
     public static PrivateKey getPrivateKey(String filePath) throws EnforcerException {
         PrivateKey privateKey;
         try {
@@ -188,28 +226,30 @@ public class JWTUtils {
      */
     public static SignedJWTInfo getSignedJwt(String accessToken) throws ParseException {
         String signature = accessToken.split("\\.")[2];
-        SignedJWTInfo signedJWTInfo = null;
-        //Check whether GatewaySignedJWTParseCache is correct
-        LoadingCache gatewaySignedJWTParseCache = CacheProvider.getGatewaySignedJWTParseCache();
-        if (gatewaySignedJWTParseCache != null) {
-            Object cachedEntry = gatewaySignedJWTParseCache.getIfPresent(signature);
-            if (cachedEntry != null) {
-                signedJWTInfo = (SignedJWTInfo) cachedEntry;
-            }
-            if (signedJWTInfo == null  || !signedJWTInfo.getToken().equals(accessToken)) {
-                SignedJWT signedJWT = SignedJWT.parse(accessToken);
-                JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
-                signedJWTInfo = new SignedJWTInfo(accessToken, signedJWT, jwtClaimsSet);
-                gatewaySignedJWTParseCache.put(signature, signedJWTInfo);
-            }
-        } else {
-            SignedJWT signedJWT = SignedJWT.parse(accessToken);
-            JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
-            signedJWTInfo = new SignedJWTInfo(accessToken, signedJWT, jwtClaimsSet);
+        ExpiringCache<SignedJWTInfo> gatewaySignedJWTParseCache = CacheProvider.getGatewaySignedJWTParseCache();
+        if (gatewaySignedJWTParseCache == null) {
+            return parseSignedJwt(accessToken);
+        }
+        SignedJWTInfo signedJWTInfo;
+        try {
+            signedJWTInfo = gatewaySignedJWTParseCache.get(signature, () -> parseSignedJwt(accessToken));
+        } catch (ExecutionException e) {
+            // The parser only throws a ParseException
+            throw (ParseException) e.getCause();
+        }
+        if (!signedJWTInfo.getToken().equals(accessToken)) {
+            signedJWTInfo = parseSignedJwt(accessToken);
+            gatewaySignedJWTParseCache.put(signature, signedJWTInfo);
         }
         return signedJWTInfo;
     }
 
+    private static SignedJWTInfo parseSignedJwt(String accessToken) throws ParseException {
+        SignedJWT signedJWT = SignedJWT.parse(accessToken);
+        JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
+        return new SignedJWTInfo(accessToken, signedJWT, jwtClaimsSet);
+    }
+
     /**
      * Check if the JWT token is expired.
      *
@@ -217,12 +257,22 @@ public class JWTUtils {
      * @return true if expired
      */
     public static boolean isExpired(String token) {
+        long exp = getExpiryTime(token);
+        long timestampSkew = FilterUtils.getTimeStampSkewInSeconds();
+        return (exp - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) < timestampSkew);
+    }
+
+    /**
+     * Decodes the expiry time of the JWT token without verifying the token.
+     *
+     * @param token the JWT token
+     * @return expiry time in seconds since the epoch
+     */
+    public static long getExpiryTime(String token) {
         String[] splitToken = token.split("\\.");
         org.json.JSONObject payload = new org.json.JSONObject(new String(Base64.getUrlDecoder().
                 decode(splitToken[1])));
-        long exp = payload.getLong(JwtConstants.EXP);
-        long timestampSkew = FilterUtils.getTimeStampSkewInSeconds();
-        return (exp - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) < timestampSkew);
+        return payload.getLong(JwtConstants.EXP);
     }
 
     /**
@@ -241,4 +291,31 @@ public class JWTUtils {
                         applicationRef.getBytes(StandardCharsets.UTF_8)).toString());
         apiKeyValidationInfoDTO.setApplicationTier(APIConstants.UNLIMITED_TIER);
     }
+
+    /**
+     * Result of verifying the signature of a token with a public key, which is valid until the token expires.
+     */
+    public static final class SignatureVerificationResult {
+        private final RSAPublicKey publicKey;
+        private final boolean verified;
+        private final long expiryTime;
+
+        private SignatureVerificationResult(RSAPublicKey publicKey, boolean verified, long expiryTime) {
+            this.publicKey = publicKey;
+            this.verified = verified;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isValidFor(RSAPublicKey publicKey) {
+            return this.publicKey.equals(publicKey) && System.currentTimeMillis() < expiryTime;
+        }
+
+        public RSAPublicKey getPublicKey() {
+            return publicKey;
+        }
+
+        public long getExpiryTime() {
+            return expiryTime;
+        }
+    }
 }
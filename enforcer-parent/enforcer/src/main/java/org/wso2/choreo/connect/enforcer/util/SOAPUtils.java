@@ -72,4 +72,44 @@ public class SOAPUtils {
             return "";
         }
     }
+
+    /**
+     * Escapes a text to be used as the text content of an XML element, in the same way as the SOAP message
+     * serializer writes the text of {@link #getSoapFaultMessage}.
+     *
+     * @param text text to be escaped
+     * @return escaped text
+     */
+    public static String escapeXmlText(String text) {
+        StringBuilder escaped = null;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            int length = Character.charCount(codePoint);
+            String replacement;
+            if (codePoint == '&') {
+                replacement = "&amp;";
+            } else if (codePoint == '<') {
+                replacement = "&lt;";
+            } else if (codePoint == '>') {
+                replacement = "&gt;";
+            } else if (codePoint < ' ' && codePoint != '\t' && codePoint != '\n'
+                    || codePoint >= 0x7F && codePoint <= 0x9F || length > 1) {
+                // Control and supplementary characters are written as character references by the serializer
+                replacement = "&#" + codePoint + ';';
+            } else {
+                if (escaped != null) {
+                    escaped.append(text, i, i + length);
+                }
+                i += length;
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            escaped.append(replacement);
+            i += length;
+        }
+        return escaped == null ? text : escaped.toString();
+    }
 }
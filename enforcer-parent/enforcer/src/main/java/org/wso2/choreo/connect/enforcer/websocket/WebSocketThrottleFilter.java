@@ -45,8 +45,6 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * WebSocketThrottleFilter handles the throttling of web socket connections
@@ -80,7 +78,7 @@ public class WebSocketThrottleFilter implements Filter {
                 return false;
             }
             // publish throttle event and continue the filter chain
-            ThrottleAgent.publishNonThrottledEvent(getThrottleEventMap(requestContext));
+            ThrottleAgent.publishNonThrottledEvent(getThrottleEvent(requestContext));
             return true;
         } finally {
             if (Utils.tracingEnabled()) {
@@ -219,9 +217,9 @@ public class WebSocketThrottleFilter implements Filter {
         return decision;
     }
 
-    private Map<String, String> getThrottleEventMap(RequestContext requestContext) {
+    private Object[] getThrottleEvent(RequestContext requestContext) {
         AuthenticationContext authContext = requestContext.getAuthenticationContext();
-        Map<String, String> throttleEvent = new HashMap<>();
+        Object[] throttleEvent = new Object[ThrottleEventConstants.PAYLOAD_SIZE];
         APIConfig api = requestContext.getMatchedAPI();
 
         String basePath = api.getBasePath();
@@ -237,25 +235,25 @@ public class WebSocketThrottleFilter implements Filter {
             tenantDomain = APIConstants.SUPER_TENANT_DOMAIN_NAME;
         }
 
-        throttleEvent.put(ThrottleEventConstants.MESSAGE_ID, requestContext.getRequestID());
-        throttleEvent.put(ThrottleEventConstants.APP_KEY, authContext.getApplicationId() + ":" + authorizedUser);
-        throttleEvent.put(ThrottleEventConstants.APP_TIER, authContext.getApplicationTier());
-        throttleEvent.put(ThrottleEventConstants.API_KEY, apiContext);
-        throttleEvent.put(ThrottleEventConstants.API_TIER, apiTier);
-        throttleEvent.put(ThrottleEventConstants.RESOURCE_TIER, apiTier);
-        throttleEvent.put(ThrottleEventConstants.RESOURCE_KEY, apiContext);
-        throttleEvent.put(ThrottleEventConstants.SUBSCRIPTION_KEY, authContext.getApplicationId() + ":" +
-                apiContext);
-        throttleEvent.put(ThrottleEventConstants.SUBSCRIPTION_TIER, authContext.getTier());
+        throttleEvent[ThrottleEventConstants.MESSAGE_ID] = requestContext.getRequestID();
+        throttleEvent[ThrottleEventConstants.APP_KEY] = authContext.getApplicationId() + ":" + authorizedUser;
+        throttleEvent[ThrottleEventConstants.APP_TIER] = authContext.getApplicationTier();
+        throttleEvent[ThrottleEventConstants.API_KEY] = apiContext;
+        throttleEvent[ThrottleEventConstants.API_TIER] = apiTier;
+        throttleEvent[ThrottleEventConstants.RESOURCE_TIER] = apiTier;
+        throttleEvent[ThrottleEventConstants.RESOURCE_KEY] = apiContext;
+        throttleEvent[ThrottleEventConstants.SUBSCRIPTION_KEY] = authContext.getApplicationId() + ":" +
+                apiContext;
+        throttleEvent[ThrottleEventConstants.SUBSCRIPTION_TIER] = authContext.getTier();
         // TODO: (Praminda) should publish with tenant domain?
-        throttleEvent.put(ThrottleEventConstants.USER_ID, authorizedUser);
-        throttleEvent.put(ThrottleEventConstants.API_CONTEXT, basePath);
-        throttleEvent.put(ThrottleEventConstants.API_VERSION, apiVersion);
-        throttleEvent.put(ThrottleEventConstants.APP_TENANT, authContext.getSubscriberTenantDomain());
-        throttleEvent.put(ThrottleEventConstants.API_TENANT, tenantDomain);
-        throttleEvent.put(ThrottleEventConstants.APP_ID, String.valueOf(authContext.getApplicationId()));
-        throttleEvent.put(ThrottleEventConstants.API_NAME, apiName);
-        throttleEvent.put(ThrottleEventConstants.PROPERTIES, getProperties(requestContext).toString());
+        throttleEvent[ThrottleEventConstants.USER_ID] = authorizedUser;
+        throttleEvent[ThrottleEventConstants.API_CONTEXT] = basePath;
+        throttleEvent[ThrottleEventConstants.API_VERSION] = apiVersion;
+        throttleEvent[ThrottleEventConstants.APP_TENANT] = authContext.getSubscriberTenantDomain();
+        throttleEvent[ThrottleEventConstants.API_TENANT] = tenantDomain;
+        throttleEvent[ThrottleEventConstants.APP_ID] = String.valueOf(authContext.getApplicationId());
+        throttleEvent[ThrottleEventConstants.API_NAME] = apiName;
+        throttleEvent[ThrottleEventConstants.PROPERTIES] = getProperties(requestContext).toString();
         return throttleEvent;
     }
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.common;
+
+import com.google.common.cache.CacheBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExpiringCacheTest {
+    private static final long HOUR = 3600 * 1000L;
+
+    private ExpiringCache<Long> cache;
+    private AtomicInteger loadCount;
+
+    @Before
+    public void setup() {
+        // The values are the expiry times of the entries
+        cache = new ExpiringCache<>("test", CacheBuilder.newBuilder().recordStats()
+                .<String, ExpiringCache.Entry<Long>>build(), Long::longValue);
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testEntryExpiresAtExpiryTimeOfValue() {
+        long validValue = System.currentTimeMillis() + HOUR;
+        cache.put("valid", validValue);
+        cache.put("expired", System.currentTimeMillis() - 1);
+        Assert.assertEquals(Long.valueOf(validValue), cache.getIfPresent("valid"));
+        Assert.assertNull(cache.getIfPresent("expired"));
+        Assert.assertEquals(1, cache.getExpiredCount());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEntryExpiresAtGivenExpiryTime() {
+        long value = System.currentTimeMillis() + HOUR;
+        cache.put("expired", value, System.currentTimeMillis() - 1);
+        cache.put("valid", 0L, System.currentTimeMillis() + HOUR);
+        cache.put("noExpiry", 0L, ExpiringCache.NO_EXPIRY);
+        Assert.assertNull(cache.getIfPresent("expired"));
+        Assert.assertEquals(Long.valueOf(0), cache.getIfPresent("valid"));
+        Assert.assertEquals(Long.valueOf(0), cache.getIfPresent("noExpiry"));
+    }
+
+    @Test
+    public void testExpiryTimeWithoutExpiryFunction() {
+        ExpiringCache<String> noExpiryCache = new ExpiringCache<>("noExpiry", CacheBuilder.newBuilder()
+                .<String, ExpiringCache.Entry<String>>build(), null);
+        noExpiryCache.put("key", "value");
+        Assert.assertEquals(ExpiringCache.NO_EXPIRY, noExpiryCache.getExpiryTime("value"));
+        Assert.assertEquals("value", noExpiryCache.getIfPresent("key"));
+        Assert.assertEquals(ExpiringCache.NO_EXPIRY, cache.getExpiryTime(null));
+    }
+
+    @Test
+    public void testGetLoadsOnce() throws ExecutionException {
+        long value = System.currentTimeMillis() + HOUR;
+        Assert.assertEquals(Long.valueOf(value), cache.get("key", () -> load(value)));
+        Assert.assertEquals(Long.valueOf(value), cache.get("key", () -> load(value + 1)));
+        Assert.assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testGetReloadsExpiredEntry() throws ExecutionException {
+        cache.put("key", System.currentTimeMillis() - 1);
+        long value = System.currentTimeMillis() + HOUR;
+        Assert.assertEquals(Long.valueOf(value), cache.get("key", () -> load(value)));
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(1, cache.getExpiredCount());
+        Assert.assertEquals(Long.valueOf(value), cache.getIfPresent("key"));
+    }
+
+    @Test
+    public void testGetDoesNotCacheExpiredValue() throws ExecutionException {
+        long value = System.currentTimeMillis() - 1;
+        Assert.assertEquals(Long.valueOf(value), cache.get("key", () -> load(value)));
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(0, cache.size());
+
+        cache.put("cached", System.currentTimeMillis() - 1);
+        Assert.assertEquals(Long.valueOf(value), cache.get("cached", () -> load(value)));
+        Assert.assertEquals(2, loadCount.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateIf() {
+        long value = System.currentTimeMillis() + HOUR;
+        cache.put("first", value);
+        cache.put("second", value + 1);
+        cache.put("third", value + 2);
+        cache.invalidateIf(cachedValue -> cachedValue > value);
+        Assert.assertEquals(Long.valueOf(value), cache.getIfPresent("first"));
+        Assert.assertNull(cache.getIfPresent("second"));
+        Assert.assertNull(cache.getIfPresent("third"));
+        Assert.assertEquals(0, cache.getExpiredCount());
+    }
+
+    private Long load(long value) {
+        loadCount.incrementAndGet();
+        return value;
+    }
+}
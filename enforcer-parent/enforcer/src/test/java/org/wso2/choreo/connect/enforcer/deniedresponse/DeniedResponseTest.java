@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.deniedresponse;
+
+import io.envoyproxy.envoy.service.auth.v3.DeniedHttpResponse;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.choreo.connect.enforcer.api.ResponseObject;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.deniedresponse.types.JsonDeniedResponse;
+import org.wso2.choreo.connect.enforcer.deniedresponse.types.Soap11DeniedResponse;
+import org.wso2.choreo.connect.enforcer.deniedresponse.types.Soap12DeniedResponse;
+import org.wso2.choreo.connect.enforcer.util.SOAPUtils;
+
+import java.util.function.Function;
+
+public class DeniedResponseTest {
+    private static final String ERROR_CODE = "900901";
+    private static final String ERROR_MESSAGE = "Invalid Credentials";
+    private static final String[] DESCRIPTIONS = {
+            "Make sure you have provided the correct security credentials",
+            "Value of \"apikey\" isn't 'valid'",
+            "<b>x > y && y < z</b>",
+            "Existing entities &amp; &lt;tag&gt; &#13; &quot;",
+            "]]> <![CDATA[ x ]]>",
+            "Caf\u00e9, \u65e5\u672c\u8a9e, \u0395\u03bb\u03bb\u03b7\u03bd\u03b9\u03ba\u03ac, \ud83d\ude00",
+            "tab\tnew line\ncarriage return\rbell\u0001escape\u001bdelete\u007fnext line\u0085",
+            "slash </ backslash \\ line separator\u2028paragraph separator\u2029",
+            "",
+    };
+
+    @Test
+    public void testJsonBodyMatchesRenderedBody() {
+        assertBodiesMatch(JsonDeniedResponse::new, description -> {
+            JSONObject responseJson = new JSONObject();
+            responseJson.put(APIConstants.MessageFormat.ERROR_CODE, ERROR_CODE);
+            responseJson.put(APIConstants.MessageFormat.ERROR_MESSAGE, ERROR_MESSAGE);
+            responseJson.put(APIConstants.MessageFormat.ERROR_DESCRIPTION, description);
+            return responseJson.toString();
+        });
+    }
+
+    @Test
+    public void testSoap11BodyMatchesRenderedBody() {
+        assertBodiesMatch(Soap11DeniedResponse::new, description -> SOAPUtils.getSoapFaultMessage(
+                APIConstants.SOAP11_PROTOCOL, ERROR_MESSAGE, description, ERROR_CODE));
+    }
+
+    @Test
+    public void testSoap12BodyMatchesRenderedBody() {
+        assertBodiesMatch(Soap12DeniedResponse::new, description -> SOAPUtils.getSoapFaultMessage(
+                APIConstants.SOAP12_PROTOCOL, ERROR_MESSAGE, description, ERROR_CODE));
+    }
+
+    private static void assertBodiesMatch(Function<DeniedHttpResponse.Builder, DeniedResponse> format,
+                                          Function<String, String> renderer) {
+        for (String description : DESCRIPTIONS) {
+            // The first response renders the template, and the next one is built from the cached template
+            for (int i = 0; i < 2; i++) {
+                DeniedHttpResponse.Builder builder = DeniedHttpResponse.newBuilder();
+                format.apply(builder).setResponse(responseObject(description));
+                Assert.assertEquals("Body mismatch for the description: " + description,
+                        renderer.apply(description), builder.getBody());
+            }
+        }
+    }
+
+    private static ResponseObject responseObject(String description) {
+        ResponseObject responseObject = new ResponseObject();
+        responseObject.setErrorCode(ERROR_CODE);
+        responseObject.setErrorMessage(ERROR_MESSAGE);
+        responseObject.setErrorDescription(description);
+        return responseObject;
+    }
+}
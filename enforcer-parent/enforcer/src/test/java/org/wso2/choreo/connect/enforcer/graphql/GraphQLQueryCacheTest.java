@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphQLQueryCacheTest {
+
+    @Test
+    public void testNormalizeCollapsesWhitespacesAndCommas() {
+        Assert.assertEquals("query { hero { name id } }",
+                GraphQLQueryCache.normalize("\uFEFF  query {\r\n  hero {\n\tname,\n    id\n  }\n}\n"));
+    }
+
+    @Test
+    public void testNormalizeRemovesComments() {
+        Assert.assertEquals("{ hero { name } }",
+                GraphQLQueryCache.normalize("# list the heroes\n{ hero # the \"hero\n { name } }"));
+    }
+
+    @Test
+    public void testNormalizeKeepsWhitespacesInStrings() {
+        assertDifferentKeys("{ f(x:\"a  b\") }", "{ f(x:\"a b\") }");
+        Assert.assertEquals("{ f(x:\"a  b\") }", GraphQLQueryCache.normalize("{  f(x:\"a  b\")  }"));
+    }
+
+    @Test
+    public void testNormalizeKeepsEscapedQuotesInStrings() {
+        assertDifferentKeys("{ f(x:\"a\\\"  b\") }", "{ f(x:\"a\\\" b\") }");
+        // An escaped backslash does not escape the closing quote
+        Assert.assertEquals("{ f(x:\"a\\\\\" y:\"c\") }",
+                GraphQLQueryCache.normalize("{ f(x:\"a\\\\\"  y:\"c\") }"));
+    }
+
+    @Test
+    public void testNormalizeKeepsCommentCharactersInStrings() {
+        assertDifferentKeys("{ f(x:\"#  a\") }", "{ f(x:\"# a\") }");
+    }
+
+    @Test
+    public void testNormalizeIgnoresQuotesInComments() {
+        assertDifferentKeys("# \"\n{ f(x:\"a  b\") }", "{ f(x:\"a b\") }");
+    }
+
+    @Test
+    public void testNormalizeKeepsWhitespacesInBlockStrings() {
+        assertDifferentKeys("{ f(x:\"\"\"say \"hi  there\" ok\"\"\") }",
+                "{ f(x:\"\"\"say \"hi there\" ok\"\"\") }");
+        assertDifferentKeys("{ f(x:\"\"\"a\\\"\"\"  b\"\"\") }", "{ f(x:\"\"\"a\\\"\"\" b\"\"\") }");
+        assertDifferentKeys("{ f(x:\"\"\"a\n  # b\"\"\") }", "{ f(x:\"\"\"a\n\"\"\") }");
+    }
+
+    private static void assertDifferentKeys(String query, String otherQuery) {
+        Assert.assertNotEquals(GraphQLQueryCache.normalize(query), GraphQLQueryCache.normalize(otherQuery));
+    }
+}
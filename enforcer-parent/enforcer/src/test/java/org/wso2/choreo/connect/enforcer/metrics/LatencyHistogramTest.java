@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMeanMillis(), DELTA);
+        Assert.assertEquals(0, histogram.getMinMillis(), DELTA);
+        Assert.assertEquals(0, histogram.getMaxMillis(), DELTA);
+        Assert.assertEquals(0, histogram.getPercentileMillis(99), DELTA);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10; micros++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(0.0055, histogram.getMeanMillis(), DELTA);
+        Assert.assertEquals(0.001, histogram.getMinMillis(), DELTA);
+        Assert.assertEquals(0.010, histogram.getMaxMillis(), DELTA);
+        Assert.assertEquals(0.001, histogram.getPercentileMillis(0), DELTA);
+        Assert.assertEquals(0.005, histogram.getPercentileMillis(50), DELTA);
+        Assert.assertEquals(0.009, histogram.getPercentileMillis(90), DELTA);
+        Assert.assertEquals(0.010, histogram.getPercentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void testPercentileIsUpperBoundOfBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 32 and 33 microseconds fall into the same bucket, of which the highest equivalent value is 33
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(32));
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(40));
+        Assert.assertEquals(0.033, histogram.getPercentileMillis(50), DELTA);
+        Assert.assertEquals(0.040, histogram.getPercentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void testPercentileIsLimitedByMaxValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(32));
+        Assert.assertEquals(0.032, histogram.getPercentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void testRelativeErrorOfLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1000; micros <= 10_000_000; micros = micros * 3 + 7) {
+            histogram.reset();
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros * 4));
+            double percentile = histogram.getPercentileMillis(50);
+            double actual = micros / 1000.0;
+            Assert.assertTrue("Percentile " + percentile + " is below " + actual, percentile >= actual);
+            Assert.assertTrue("Percentile " + percentile + " is not within 7% of " + actual,
+                    percentile < actual * 1.07);
+        }
+    }
+
+    @Test
+    public void testValuesAboveTrackableRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long maxTrackableMicros = (1L << 36) - 1;
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(1L << 40));
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals((1L << 40) / 1000.0, histogram.getMaxMillis(), DELTA);
+        Assert.assertEquals(maxTrackableMicros / 1000.0, histogram.getPercentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void testNegativeLatencyIsRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5000);
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMinMillis(), DELTA);
+        Assert.assertEquals(0, histogram.getPercentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMaxMillis(), DELTA);
+        Assert.assertEquals(0, histogram.getPercentileMillis(50), DELTA);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.security.jwt.validator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RevokedJWTDataHolderTest {
+    private final RevokedJWTDataHolder dataHolder = RevokedJWTDataHolder.getInstance();
+
+    @Test
+    public void testRevokedTokenIsFound() {
+        long expiryTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        dataHolder.addRevokedJWTToMap("testRevokedTokenIsFound", expiryTime);
+        Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("testRevokedTokenIsFound"));
+        Assert.assertFalse(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("testRevokedTokenIsFound2"));
+    }
+
+    @Test
+    public void testExpiredTokensAreRemovedAfterGracePeriod() {
+        long now = System.currentTimeMillis();
+        dataHolder.addRevokedJWTToMap("expiredBeforeGracePeriod", now - TimeUnit.MINUTES.toMillis(10));
+        dataHolder.addRevokedJWTToMap("expiredWithinGracePeriod", now - TimeUnit.MINUTES.toMillis(2));
+        dataHolder.addRevokedJWTToMap("notExpired", now + TimeUnit.HOURS.toMillis(1));
+        dataHolder.addRevokedJWTToMap("withoutExpiry", 0L);
+
+        dataHolder.removeExpiredTokens();
+        Assert.assertFalse(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("expiredBeforeGracePeriod"));
+        Assert.assertFalse(dataHolder.getRevokedJWTMap().containsKey("expiredBeforeGracePeriod"));
+        Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("expiredWithinGracePeriod"));
+        Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("notExpired"));
+        Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("withoutExpiry"));
+    }
+
+    @Test
+    public void testTokenRevokedAgainIsKept() {
+        long now = System.currentTimeMillis();
+        dataHolder.addRevokedJWTToMap("testTokenRevokedAgainIsKept", now - TimeUnit.MINUTES.toMillis(10));
+        dataHolder.addRevokedJWTToMap("testTokenRevokedAgainIsKept", now + TimeUnit.HOURS.toMillis(1));
+
+        dataHolder.removeExpiredTokens();
+        Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap("testTokenRevokedAgainIsKept"));
+    }
+
+    @Test
+    public void testRebuiltFilterFindsAllTokens() {
+        long now = System.currentTimeMillis();
+        int tokenCount = 5000;
+        // Grows the filter beyond its initial capacity, which rebuilds it several times
+        for (int i = 0; i < tokenCount; i++) {
+            long expiryTime = i % 2 == 0 ? now - TimeUnit.MINUTES.toMillis(10) : now + TimeUnit.HOURS.toMillis(1);
+            dataHolder.addRevokedJWTToMap("testRebuiltFilterFindsAllTokens" + i, expiryTime);
+        }
+        for (int i = 0; i < tokenCount; i++) {
+            Assert.assertTrue(RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap(
+                    "testRebuiltFilterFindsAllTokens" + i));
+        }
+
+        // Rebuilds the filter without the removed tokens
+        dataHolder.removeExpiredTokens();
+        for (int i = 0; i < tokenCount; i++) {
+            Assert.assertEquals(i % 2 != 0, RevokedJWTDataHolder.isJWTTokenSignatureExistsInRevokedMap(
+                    "testRebuiltFilterFindsAllTokens" + i));
+        }
+    }
+}
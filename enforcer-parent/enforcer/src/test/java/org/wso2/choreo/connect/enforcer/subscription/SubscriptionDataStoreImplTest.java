@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.subscription;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.choreo.connect.discovery.subscription.APIs;
+import org.wso2.choreo.connect.enforcer.constants.APIConstants;
+import org.wso2.choreo.connect.enforcer.constants.GeneralErrorCodeConstants;
+import org.wso2.choreo.connect.enforcer.dto.APIKeyValidationInfoDTO;
+import org.wso2.choreo.connect.enforcer.models.Application;
+import org.wso2.choreo.connect.enforcer.models.ApplicationKeyMapping;
+import org.wso2.choreo.connect.enforcer.models.ApplicationPolicy;
+import org.wso2.choreo.connect.enforcer.models.Subscription;
+import org.wso2.choreo.connect.enforcer.models.SubscriptionPolicy;
+import org.wso2.choreo.connect.enforcer.security.KeyValidator;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SubscriptionDataStoreImplTest {
+    private static final String API_UUID = "6f2d1c5e-3b4a-4c8e-9f1d-2a7b8c9d0e1f";
+    private static final String APP_UUID = "a1b2c3d4-e5f6-4a5b-8c7d-9e0f1a2b3c4d";
+    private static final String API_CONTEXT = "/petstore/1.0.0";
+    private static final String CONSUMER_KEY = "consumerKey";
+    private static final String KEY_MANAGER = "Resident Key Manager";
+
+    private SubscriptionDataStoreImpl dataStore;
+
+    @Before
+    public void setup() {
+        dataStore = SubscriptionDataStoreImpl.getInstance();
+        dataStore.initializeMaps();
+        dataStore.addApis(Collections.singletonList(api("PUBLISHED")));
+        dataStore.addOrUpdateApplication(application());
+        dataStore.addOrUpdateApplicationKeyMapping(keyMapping());
+        dataStore.addOrUpdateSubscription(subscription());
+        ApplicationPolicy applicationPolicy = new ApplicationPolicy();
+        applicationPolicy.setTierName("10PerMin");
+        dataStore.addOrUpdateApplicationPolicy(applicationPolicy);
+        SubscriptionPolicy subscriptionPolicy = new SubscriptionPolicy();
+        subscriptionPolicy.setTierName("Gold");
+        dataStore.addOrUpdateSubscriptionPolicy(subscriptionPolicy);
+    }
+
+    @Test
+    public void testApiUpdateInvalidatesCachedValidation() {
+        APIKeyValidationInfoDTO validationInfo = validateSubscription();
+        Assert.assertTrue(validationInfo.isAuthorized());
+        Assert.assertTrue(validateSubscription().isAuthorized());
+
+        dataStore.addApis(Collections.singletonList(api(APIConstants.LifecycleStatus.BLOCKED)));
+        validationInfo = validateSubscription();
+        Assert.assertFalse(validationInfo.isAuthorized());
+        Assert.assertEquals(GeneralErrorCodeConstants.API_BLOCKED_CODE, validationInfo.getValidationStatus());
+    }
+
+    @Test
+    public void testSubscriptionPolicyUpdateIncreasesVersion() {
+        Assert.assertNull(dataStore.getSubscriptionPolicyByName("Silver"));
+        long version = dataStore.getVersion();
+        SubscriptionPolicy subscriptionPolicy = new SubscriptionPolicy();
+        subscriptionPolicy.setTierName("Silver");
+        dataStore.addOrUpdateSubscriptionPolicy(subscriptionPolicy);
+        Assert.assertTrue(dataStore.getVersion() > version);
+        Assert.assertNotNull(dataStore.getSubscriptionPolicyByName("Silver"));
+    }
+
+    @Test
+    public void testPolicySnapshotsAreAppliedInPlace() {
+        dataStore.addSubscriptionPolicies(Arrays.asList(subscriptionPolicy("Diamond", 5000),
+                subscriptionPolicy("Silver", 2000), subscriptionPolicy("Bronze", 1000)));
+        dataStore.addApplicationPolicies(Arrays.asList(applicationPolicy("20PerMin"),
+                applicationPolicy("Unlimited")));
+        SubscriptionPolicy diamond = dataStore.getSubscriptionPolicyByName("Diamond");
+        SubscriptionPolicy silver = dataStore.getSubscriptionPolicyByName("Silver");
+        ApplicationPolicy twentyPerMin = dataStore.getApplicationPolicyByName("20PerMin");
+        Assert.assertEquals(5000, diamond.getRateLimitCount());
+        Assert.assertNotNull(dataStore.getSubscriptionPolicyByName("Bronze"));
+        Assert.assertNotNull(dataStore.getApplicationPolicyByName("Unlimited"));
+
+        long version = dataStore.getVersion();
+        dataStore.addSubscriptionPolicies(Arrays.asList(subscriptionPolicy("Diamond", 5000),
+                subscriptionPolicy("Silver", 3000), subscriptionPolicy("Platinum", 10000)));
+        dataStore.addApplicationPolicies(Collections.singletonList(applicationPolicy("20PerMin")));
+        Assert.assertTrue(dataStore.getVersion() > version);
+
+        // Unchanged entries are kept, changed entries are replaced, and missing entries are removed
+        Assert.assertSame(diamond, dataStore.getSubscriptionPolicyByName("Diamond"));
+        Assert.assertNotSame(silver, dataStore.getSubscriptionPolicyByName("Silver"));
+        Assert.assertEquals(3000, dataStore.getSubscriptionPolicyByName("Silver").getRateLimitCount());
+        Assert.assertEquals(10000,
+                dataStore.getSubscriptionPolicyByName("Platinum").getRateLimitCount());
+        Assert.assertNull(dataStore.getSubscriptionPolicyByName("Bronze"));
+        Assert.assertSame(twentyPerMin, dataStore.getApplicationPolicyByName("20PerMin"));
+        Assert.assertNull(dataStore.getApplicationPolicyByName("Unlimited"));
+    }
+
+    private static APIKeyValidationInfoDTO validateSubscription() {
+        return KeyValidator.validateSubscription(API_UUID, API_CONTEXT, "1.0.0", CONSUMER_KEY, KEY_MANAGER);
+    }
+
+    private static APIs api(String lcState) {
+        return APIs.newBuilder()
+                .setApiId("1")
+                .setUuid(API_UUID)
+                .setName("PetStore")
+                .setVersion("1.0.0")
+                .setContext(API_CONTEXT)
+                .setLcState(lcState)
+                .build();
+    }
+
+    private static org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy subscriptionPolicy(
+            String name, int rateLimitCount) {
+        return org.wso2.choreo.connect.discovery.subscription.SubscriptionPolicy.newBuilder()
+                .setName(name)
+                .setQuotaType("requestCount")
+                .setRateLimitCount(rateLimitCount)
+                .setRateLimitTimeUnit("min")
+                .build();
+    }
+
+    private static org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy applicationPolicy(String name) {
+        return org.wso2.choreo.connect.discovery.subscription.ApplicationPolicy.newBuilder()
+                .setName(name)
+                .setQuotaType("requestCount")
+                .build();
+    }
+
+    private static Application application() {
+        Application application = new Application();
+        application.setUUID(APP_UUID);
+        application.setId(1);
+        application.setName("DefaultApplication");
+        application.setSubName("admin");
+        application.setPolicy("10PerMin");
+        application.setTenantDomain(APIConstants.SUPER_TENANT_DOMAIN_NAME);
+        return application;
+    }
+
+    private static ApplicationKeyMapping keyMapping() {
+        ApplicationKeyMapping keyMapping = new ApplicationKeyMapping();
+        keyMapping.setConsumerKey(CONSUMER_KEY);
+        keyMapping.setKeyManager(KEY_MANAGER);
+        keyMapping.setKeyType(APIConstants.API_KEY_TYPE_PRODUCTION);
+        keyMapping.setApplicationUUID(APP_UUID);
+        return keyMapping;
+    }
+
+    private static Subscription subscription() {
+        Subscription subscription = new Subscription();
+        subscription.setApiUUID(API_UUID);
+        subscription.setAppUUID(APP_UUID);
+        subscription.setPolicyId("Gold");
+        subscription.setSubscriptionState(APIConstants.SubscriptionStatus.UNBLOCKED);
+        return subscription;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CustomKeyTemplateTest {
+
+    @Test
+    public void testRenderAllVariables() {
+        String key = render("$userId:$resourceKey:$apiContext:$apiVersion:$appTenant:$apiTenant:$appId:$clientIp",
+                "192.168.0.1", null);
+        Assert.assertEquals("admin@carbon.super:/pets/1.0.0/pets:GET:/pets/1.0.0:1.0.0:carbon.super:wso2.com:7:"
+                + "3232235521", key);
+    }
+
+    @Test
+    public void testRenderAdjacentVariablesAndLiterals() {
+        Assert.assertEquals("user=admin@carbon.super7-end", render("user=$userId$appId-end", null, null));
+    }
+
+    @Test
+    public void testRenderUnknownVariablesAsLiterals() {
+        Assert.assertEquals("$foo:admin@carbon.super:$", render("$foo:$userId:$", null, null));
+        Assert.assertEquals("$customProperty.:7", render("$customProperty.:$appId", null, "region=us"));
+    }
+
+    @Test
+    public void testRenderVariableWithoutValue() {
+        Assert.assertEquals("admin@carbon.super:$clientIp", render("$userId:$clientIp", null, null));
+    }
+
+    @Test
+    public void testRenderIPv6ClientIp() {
+        Assert.assertEquals("1", render("$clientIp", "::1", null));
+    }
+
+    @Test
+    public void testRenderCustomProperties() {
+        Assert.assertEquals("admin@carbon.super:us-east:gold_suffix",
+                render("$userId:$customProperty.region:$customProperty.tier_suffix", null,
+                        "region=us-east tier=gold"));
+    }
+
+    @Test
+    public void testRenderLongestCustomPropertyName() {
+        Assert.assertEquals("eu-1", render("$customProperty.regionCode", null, "region=eu regionCode=eu-1"));
+        Assert.assertEquals("eu-suffix", render("$customProperty.region-suffix", null, "region=eu regionCode=eu-1"));
+    }
+
+    @Test
+    public void testRenderMissingCustomProperty() {
+        Assert.assertEquals("$customProperty.zone:7", render("$customProperty.zone:$appId", null, "region=eu"));
+        Assert.assertEquals("$customProperty.zone", render("$customProperty.zone", null, "null"));
+        Assert.assertEquals("$customProperty.zone", render("$customProperty.zone", null, null));
+    }
+
+    @Test
+    public void testRenderIgnoresInvalidCustomProperties() {
+        String customProperties = "region= =x a=b=c tier=gold";
+        Assert.assertEquals("gold:$customProperty.region:$customProperty.a",
+                render("$customProperty.tier:$customProperty.region:$customProperty.a", null, customProperties));
+    }
+
+    @Test
+    public void testRenderAppendsToBuilder() {
+        CustomKeyTemplate template = new CustomKeyTemplate("$userId:$appId");
+        CustomKeyTemplate.Parameters parameters = parameters(null, null);
+        StringBuilder builder = new StringBuilder("key=");
+        Assert.assertSame(builder, template.render(builder, parameters));
+        Assert.assertEquals("key=admin@carbon.super:7", builder.toString());
+        builder.setLength(0);
+        Assert.assertEquals("admin@carbon.super:7", template.render(builder, parameters).toString());
+        Assert.assertEquals("$userId:$appId", template.getTemplate());
+    }
+
+    private static String render(String template, String clientIp, String customProperties) {
+        return new CustomKeyTemplate(template).render(new StringBuilder(), parameters(clientIp, customProperties))
+                .toString();
+    }
+
+    private static CustomKeyTemplate.Parameters parameters(String clientIp, String customProperties) {
+        return new CustomKeyTemplate.Parameters("admin@carbon.super", "/pets/1.0.0/pets:GET", "/pets/1.0.0", "1.0.0",
+                "carbon.super", "wso2.com", 7, clientIp, customProperties);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.choreo.connect.discovery.throttle.IPCondition;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class IPRangeIndexTest {
+
+    @Test
+    public void testEmptyIndex() {
+        Assert.assertTrue(new IPRangeIndex(Collections.emptyList()).isEmpty());
+        IPCondition unknownCondition = IPCondition.newBuilder().setType("UNKNOWN").setFixedIp("10.0.0.1").build();
+        IPRangeIndex index = new IPRangeIndex(Collections.singletonList(unknownCondition));
+        Assert.assertTrue(index.isEmpty());
+        Assert.assertFalse(index.isBlocked("10.0.0.1"));
+    }
+
+    @Test
+    public void testFixedIPv4() {
+        IPRangeIndex index = index(ip("192.168.0.10", false));
+        Assert.assertFalse(index.isEmpty());
+        Assert.assertTrue(index.isBlocked("192.168.0.10"));
+        Assert.assertFalse(index.isBlocked("192.168.0.9"));
+        Assert.assertFalse(index.isBlocked("192.168.0.11"));
+    }
+
+    @Test
+    public void testIPv4RangeExcludesStartAndEnd() {
+        IPRangeIndex index = index(range("10.0.0.0", "10.0.1.0", false));
+        Assert.assertFalse(index.isBlocked("10.0.0.0"));
+        Assert.assertTrue(index.isBlocked("10.0.0.1"));
+        Assert.assertTrue(index.isBlocked("10.0.0.255"));
+        Assert.assertFalse(index.isBlocked("10.0.1.0"));
+        Assert.assertFalse(index.isBlocked("9.255.255.255"));
+    }
+
+    @Test
+    public void testIPv4RangeBoundaries() {
+        IPRangeIndex index = index(range("0.0.0.0", "255.255.255.255", false));
+        Assert.assertFalse(index.isBlocked("0.0.0.0"));
+        Assert.assertTrue(index.isBlocked("0.0.0.1"));
+        Assert.assertTrue(index.isBlocked("128.0.0.0"));
+        Assert.assertTrue(index.isBlocked("255.255.255.254"));
+        Assert.assertFalse(index.isBlocked("255.255.255.255"));
+        Assert.assertTrue(index(ip("255.255.255.255", false)).isBlocked("255.255.255.255"));
+    }
+
+    @Test
+    public void testEmptyRanges() {
+        IPRangeIndex index = index(range("10.0.0.1", "10.0.0.2", false), range("10.0.0.5", "10.0.0.5", false),
+                range("10.0.0.9", "10.0.0.7", false));
+        for (int i = 0; i <= 10; i++) {
+            Assert.assertFalse(index.isBlocked("10.0.0." + i));
+        }
+        Assert.assertTrue(index(range("10.0.0.1", "10.0.0.3", false)).isBlocked("10.0.0.2"));
+    }
+
+    @Test
+    public void testIPv6Range() {
+        IPRangeIndex index = index(range("2001:db8::", "2001:db8::ff", false));
+        Assert.assertFalse(index.isBlocked("2001:db8::"));
+        Assert.assertTrue(index.isBlocked("2001:db8::1"));
+        Assert.assertTrue(index.isBlocked("2001:db8::fe"));
+        Assert.assertFalse(index.isBlocked("2001:db8::ff"));
+        Assert.assertFalse(index.isBlocked("2001:db9::1"));
+        Assert.assertFalse(index.isBlocked("10.0.0.1"));
+    }
+
+    @Test
+    public void testIPv6RangeAcrossHalves() {
+        // The start and the end are adjusted across the upper and the lower 64 bits of the addresses
+        IPRangeIndex index = index(range("::ffff:ffff:ffff:fffe", "0:0:0:1::1", false));
+        Assert.assertFalse(index.isBlocked("::ffff:ffff:ffff:fffe"));
+        Assert.assertTrue(index.isBlocked("::ffff:ffff:ffff:ffff"));
+        Assert.assertTrue(index.isBlocked("0:0:0:1::"));
+        Assert.assertFalse(index.isBlocked("0:0:0:1::1"));
+        Assert.assertFalse(index.isBlocked("0:0:0:2::"));
+    }
+
+    @Test
+    public void testIPv6RangeBoundaries() {
+        IPRangeIndex index = index(range("::", "ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", false));
+        Assert.assertFalse(index.isBlocked("::"));
+        Assert.assertTrue(index.isBlocked("::1"));
+        Assert.assertTrue(index.isBlocked("8000::"));
+        Assert.assertTrue(index.isBlocked("ffff:ffff:ffff:ffff:ffff:ffff:ffff:fffe"));
+        Assert.assertFalse(index.isBlocked("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"));
+
+        IPRangeIndex fromLast = index(range("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", "::1", false));
+        Assert.assertTrue(fromLast.isEmpty());
+        IPRangeIndex toFirst = index(range("::1", "::", false));
+        Assert.assertTrue(toFirst.isEmpty());
+    }
+
+    @Test
+    public void testOverlappingRanges() {
+        IPRangeIndex index = index(range("10.0.0.50", "10.0.0.200", false), range("10.0.0.0", "10.0.0.100", false),
+                range("10.0.0.10", "10.0.0.20", false), ip("10.0.0.60", false), ip("10.0.0.201", false));
+        Assert.assertFalse(index.isBlocked("10.0.0.0"));
+        Assert.assertTrue(index.isBlocked("10.0.0.1"));
+        Assert.assertTrue(index.isBlocked("10.0.0.15"));
+        Assert.assertTrue(index.isBlocked("10.0.0.100"));
+        Assert.assertTrue(index.isBlocked("10.0.0.199"));
+        Assert.assertFalse(index.isBlocked("10.0.0.200"));
+        Assert.assertTrue(index.isBlocked("10.0.0.201"));
+        Assert.assertFalse(index.isBlocked("10.0.0.202"));
+    }
+
+    @Test
+    public void testRangeContainingLaterRanges() {
+        IPRangeIndex index = index(range("10.0.0.0", "10.0.2.0", false), range("10.0.0.10", "10.0.0.20", false),
+                range("10.0.1.0", "10.0.1.10", false), range("10.0.3.0", "10.0.3.10", false));
+        Assert.assertTrue(index.isBlocked("10.0.0.25"));
+        Assert.assertTrue(index.isBlocked("10.0.1.20"));
+        Assert.assertTrue(index.isBlocked("10.0.1.255"));
+        Assert.assertFalse(index.isBlocked("10.0.2.0"));
+        Assert.assertFalse(index.isBlocked("10.0.2.100"));
+        Assert.assertTrue(index.isBlocked("10.0.3.5"));
+    }
+
+    @Test
+    public void testAdjacentRanges() {
+        IPRangeIndex index = index(range("10.0.0.0", "10.0.0.11", false), range("10.0.0.10", "10.0.0.21", false));
+        for (int i = 1; i <= 20; i++) {
+            Assert.assertTrue(index.isBlocked("10.0.0." + i));
+        }
+        Assert.assertFalse(index.isBlocked("10.0.0.21"));
+    }
+
+    @Test
+    public void testInvertedRange() {
+        IPRangeIndex index = index(range("192.168.0.0", "192.168.1.0", true));
+        Assert.assertFalse(index.isEmpty());
+        Assert.assertTrue(index.isBlocked("10.0.0.1"));
+        Assert.assertTrue(index.isBlocked("192.168.0.0"));
+        Assert.assertFalse(index.isBlocked("192.168.0.1"));
+        Assert.assertFalse(index.isBlocked("192.168.0.255"));
+        Assert.assertTrue(index.isBlocked("192.168.1.0"));
+        Assert.assertTrue(index.isBlocked("2001:db8::1"));
+    }
+
+    @Test
+    public void testOverlappingInvertedConditions() {
+        IPRangeIndex index = index(range("10.0.0.0", "10.0.0.100", true), range("10.0.0.50", "10.0.0.200", true));
+        Assert.assertTrue(index.isBlocked("10.0.0.50"));
+        Assert.assertFalse(index.isBlocked("10.0.0.51"));
+        Assert.assertFalse(index.isBlocked("10.0.0.99"));
+        Assert.assertTrue(index.isBlocked("10.0.0.100"));
+        Assert.assertTrue(index.isBlocked("10.0.0.150"));
+
+        IPRangeIndex disjoint = index(range("10.0.0.0", "10.0.0.10", true), ip("10.0.0.50", true));
+        Assert.assertTrue(disjoint.isBlocked("10.0.0.5"));
+        Assert.assertTrue(disjoint.isBlocked("10.0.0.50"));
+    }
+
+    @Test
+    public void testInvertedAndBlockedConditions() {
+        IPRangeIndex index = index(ip("10.0.0.5", true), range("10.0.0.0", "10.0.0.10", false));
+        Assert.assertTrue(index.isBlocked("10.0.0.5"));
+        Assert.assertTrue(index.isBlocked("10.0.0.4"));
+        Assert.assertTrue(index.isBlocked("10.0.0.20"));
+
+        IPRangeIndex allowedIp = index(ip("10.0.0.5", true), ip("10.0.0.6", false));
+        Assert.assertFalse(allowedIp.isBlocked("10.0.0.5"));
+        Assert.assertTrue(allowedIp.isBlocked("10.0.0.6"));
+    }
+
+    private static IPRangeIndex index(IPCondition... conditions) {
+        return new IPRangeIndex(Arrays.asList(conditions));
+    }
+
+    private static IPCondition ip(String fixedIp, boolean invert) {
+        return IPCondition.newBuilder().setType(ThrottleConstants.BLOCKING_CONDITIONS_IP).setFixedIp(fixedIp)
+                .setInvert(invert).build();
+    }
+
+    private static IPCondition range(String startingIp, String endingIp, boolean invert) {
+        return IPCondition.newBuilder().setType(ThrottleConstants.BLOCK_CONDITION_IP_RANGE).setStartingIp(startingIp)
+                .setEndingIp(endingIp).setInvert(invert).build();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.choreo.connect.enforcer.throttle.dto.Decision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class LocalRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testBurstUpToLimit() {
+        LocalRateLimiter.Bucket bucket = new LocalRateLimiter.Bucket(5, SECOND);
+        long now = 1000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(0, bucket.tryAcquire(now));
+        }
+        // A token is refilled every 200 milliseconds
+        Assert.assertEquals(200 * MILLISECOND, bucket.tryAcquire(now));
+        Assert.assertEquals(150 * MILLISECOND, bucket.tryAcquire(now + 50 * MILLISECOND));
+    }
+
+    @Test
+    public void testRefillAfterEmissionInterval() {
+        LocalRateLimiter.Bucket bucket = new LocalRateLimiter.Bucket(5, SECOND);
+        long now = 1000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(now);
+        }
+        now += 200 * MILLISECOND;
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+        Assert.assertTrue(bucket.tryAcquire(now) > 0);
+
+        now += 400 * MILLISECOND;
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+        Assert.assertTrue(bucket.tryAcquire(now) > 0);
+    }
+
+    @Test
+    public void testIdleBucketDoesNotExceedLimit() {
+        LocalRateLimiter.Bucket bucket = new LocalRateLimiter.Bucket(5, SECOND);
+        long now = 1000 * SECOND;
+        bucket.tryAcquire(now);
+        now += 60 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(0, bucket.tryAcquire(now));
+        }
+        Assert.assertEquals(200 * MILLISECOND, bucket.tryAcquire(now));
+    }
+
+    @Test
+    public void testSpikeArrestOfSingleRequest() {
+        LocalRateLimiter.Bucket bucket = new LocalRateLimiter.Bucket(1, SECOND);
+        long now = 1000 * SECOND;
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+        Assert.assertEquals(SECOND - 300 * MILLISECOND, bucket.tryAcquire(now + 300 * MILLISECOND));
+        Assert.assertEquals(0, bucket.tryAcquire(now + SECOND));
+    }
+
+    @Test
+    public void testNanoTimeOverflow() {
+        LocalRateLimiter.Bucket bucket = new LocalRateLimiter.Bucket(1, SECOND);
+        long now = Long.MAX_VALUE - 100 * MILLISECOND;
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+        now += 500 * MILLISECOND;
+        Assert.assertEquals(500 * MILLISECOND, bucket.tryAcquire(now));
+        now += 500 * MILLISECOND;
+        Assert.assertEquals(0, bucket.tryAcquire(now));
+    }
+
+    @Test
+    public void testTryAcquireThrottlesAfterLimit() {
+        LocalRateLimiter rateLimiter = LocalRateLimiter.getInstance();
+        String throttleKey = "testTryAcquireThrottlesAfterLimit";
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 3, "min").isThrottled());
+        }
+        long now = System.currentTimeMillis();
+        Decision decision = rateLimiter.tryAcquire(throttleKey, 3, "min");
+        Assert.assertTrue(decision.isThrottled());
+        // The next request is allowed after about 20 seconds
+        Assert.assertTrue(decision.getResetAt() > now + TimeUnit.SECONDS.toMillis(19));
+        Assert.assertTrue(decision.getResetAt() <= now + TimeUnit.SECONDS.toMillis(21));
+    }
+
+    @Test
+    public void testTryAcquireWithChangedLimit() {
+        LocalRateLimiter rateLimiter = LocalRateLimiter.getInstance();
+        String throttleKey = "testTryAcquireWithChangedLimit";
+        Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 1, "min").isThrottled());
+        Assert.assertTrue(rateLimiter.tryAcquire(throttleKey, 1, "min").isThrottled());
+        Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 10, "sec").isThrottled());
+    }
+
+    @Test
+    public void testTryAcquireWithoutLimit() {
+        LocalRateLimiter rateLimiter = LocalRateLimiter.getInstance();
+        String throttleKey = "testTryAcquireWithoutLimit";
+        for (int i = 0; i < 5; i++) {
+            Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 0, "sec").isThrottled());
+            Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 1, "hour").isThrottled());
+            Assert.assertFalse(rateLimiter.tryAcquire(throttleKey, 1, null).isThrottled());
+        }
+    }
+
+    @Test
+    public void testTryAcquireConcurrentlyForNewKey() throws Exception {
+        LocalRateLimiter rateLimiter = LocalRateLimiter.getInstance();
+        int threads = 16;
+        int requestsPerThread = 4;
+        int limit = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Each round starts all the threads at once with a new key, as the race only happens for a new key
+            for (int round = 0; round < 100; round++) {
+                String throttleKey = "testTryAcquireConcurrentlyForNewKey" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Callable<Integer> task = () -> {
+                        start.await();
+                        int allowed = 0;
+                        for (int j = 0; j < requestsPerThread; j++) {
+                            if (!rateLimiter.tryAcquire(throttleKey, limit, "min").isThrottled()) {
+                                allowed++;
+                            }
+                        }
+                        return allowed;
+                    };
+                    results.add(executor.submit(task));
+                }
+                start.countDown();
+                int allowed = 0;
+                for (Future<Integer> result : results) {
+                    allowed += result.get(10, TimeUnit.SECONDS);
+                }
+                // A token is refilled only every 12 seconds, so only the initial burst is allowed
+                Assert.assertEquals(limit, allowed);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
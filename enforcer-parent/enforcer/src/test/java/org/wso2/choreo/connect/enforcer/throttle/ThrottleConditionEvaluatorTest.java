@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.choreo.connect.enforcer.throttle;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.choreo.connect.enforcer.commons.model.AuthenticationContext;
+import org.wso2.choreo.connect.enforcer.commons.model.RequestContext;
+import org.wso2.choreo.connect.enforcer.config.dto.ThrottleConfigDto;
+import org.wso2.choreo.connect.enforcer.throttle.dto.ThrottleCondition;
+import org.wso2.choreo.connect.enforcer.util.FilterUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+public class ThrottleConditionEvaluatorTest {
+    private static final String THROTTLE_KEY = "/pets/1.0.0/pets:GET";
+    private static final String CLIENT_IP = "192.168.10.25";
+
+    private ThrottleConfigDto config;
+    private ThrottleConditionEvaluator evaluator;
+
+    @Before
+    public void setup() {
+        config = new ThrottleConfigDto();
+        config.setHeaderConditionsEnabled(true);
+        config.setQueryConditionsEnabled(true);
+        config.setJwtClaimConditionsEnabled(true);
+        evaluator = new ThrottleConditionEvaluator(THROTTLE_KEY);
+    }
+
+    @Test
+    public void testHeaderCondition() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("X-Tier", "^gold$", false)));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertNull(match(Map.of("x-tier", "silver"), "/pets"));
+        Assert.assertNull(match(Map.of(), "/pets"));
+        // Empty headers are considered as missing
+        Assert.assertNull(match(Map.of("x-tier", ""), "/pets"));
+    }
+
+    @Test
+    public void testInvertedHeaderCondition() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", true)));
+        Assert.assertNull(match(Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "silver"), "/pets"));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of(), "/pets"));
+    }
+
+    @Test
+    public void testDisabledHeaderConditions() {
+        config.setHeaderConditionsEnabled(false);
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false)));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "silver"), "/pets"));
+    }
+
+    @Test
+    public void testQueryParamCondition() {
+        ThrottleCondition condition = new ThrottleCondition();
+        ThrottleCondition.QueryParamConditions queryParamConditions = new ThrottleCondition.QueryParamConditions();
+        queryParamConditions.setValues(Map.of("limit", "[0-9]{3,}"));
+        condition.setQueryParameterConditions(queryParamConditions);
+        evaluator.addConditionGroup("condition_1", conditions(condition));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of(), "/pets?limit=500"));
+        Assert.assertNull(match(Map.of(), "/pets?limit=50"));
+        Assert.assertNull(match(Map.of(), "/pets"));
+    }
+
+    @Test
+    public void testSpecificIpCondition() {
+        ThrottleCondition condition = new ThrottleCondition();
+        condition.setIpCondition(new ThrottleCondition.IPCondition(FilterUtils.ipToBigInteger(CLIENT_IP), false));
+        evaluator.addConditionGroup("condition_1", conditions(condition));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(CLIENT_IP, Map.of(), "/pets"));
+        Assert.assertNull(match("192.168.10.26", Map.of(), "/pets"));
+    }
+
+    @Test
+    public void testIpRangeCondition() {
+        ThrottleCondition condition = new ThrottleCondition();
+        condition.setIpRangeCondition(new ThrottleCondition.IPCondition(FilterUtils.ipToBigInteger("10.0.0.0"),
+                FilterUtils.ipToBigInteger("10.0.0.255"), false));
+        evaluator.addConditionGroup("condition_1", conditions(condition));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match("10.0.0.0", Map.of(), "/pets"));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match("10.0.0.255", Map.of(), "/pets"));
+        Assert.assertNull(match("10.0.1.0", Map.of(), "/pets"));
+        Assert.assertNull(match("", Map.of(), "/pets"));
+    }
+
+    @Test
+    public void testJwtClaimCondition() {
+        ThrottleCondition condition = new ThrottleCondition();
+        ThrottleCondition.JWTClaimConditions claimConditions = new ThrottleCondition.JWTClaimConditions();
+        claimConditions.setValues(Map.of("department", "^sales$"));
+        condition.setJwtClaimConditions(claimConditions);
+        evaluator.addConditionGroup("condition_1", conditions(condition));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(token("{\"department\":\"sales\"}")));
+        Assert.assertNull(match(token("{\"department\":\"engineering\"}")));
+        Assert.assertNull(match((String) null));
+    }
+
+    @Test
+    public void testConditionsOfGroupAreCombinedWithOr() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false),
+                headerCondition("x-region", "eu", false)));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-region", "eu"), "/pets"));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertNull(match(Map.of("x-region", "us"), "/pets"));
+    }
+
+    @Test
+    public void testAttributesOfConditionAreCombinedWithAnd() {
+        ThrottleCondition condition = headerCondition("x-tier", "gold", false);
+        condition.setIpCondition(new ThrottleCondition.IPCondition(FilterUtils.ipToBigInteger(CLIENT_IP), false));
+        evaluator.addConditionGroup("condition_1", conditions(condition));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(CLIENT_IP, Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertNull(match("10.0.0.1", Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertNull(match(CLIENT_IP, Map.of("x-tier", "silver"), "/pets"));
+    }
+
+    @Test
+    public void testDefaultGroupMatchesWhenItsConditionsDoNotMatch() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false)));
+        evaluator.addConditionGroup(ThrottleConstants.DEFAULT_THROTTLE_CONDITION,
+                conditions(headerCondition("x-tier", "gold", false)));
+        String defaultKey = THROTTLE_KEY + "_" + ThrottleConstants.DEFAULT_THROTTLE_CONDITION;
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertEquals(defaultKey, match(Map.of("x-tier", "silver"), "/pets"));
+    }
+
+    @Test
+    public void testExistingGroupIsNotReplaced() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false)));
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "silver", false)));
+        Assert.assertEquals(THROTTLE_KEY + "_condition_1", match(Map.of("x-tier", "gold"), "/pets"));
+        Assert.assertNull(match(Map.of("x-tier", "silver"), "/pets"));
+    }
+
+    @Test
+    public void testRemoveConditionGroup() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false)));
+        evaluator.addConditionGroup(ThrottleConstants.DEFAULT_THROTTLE_CONDITION,
+                conditions(headerCondition("x-tier", "gold", false)));
+        evaluator.removeConditionGroup("condition_1");
+        Assert.assertFalse(evaluator.isEmpty());
+        evaluator.removeConditionGroup(ThrottleConstants.DEFAULT_THROTTLE_CONDITION);
+        Assert.assertTrue(evaluator.isEmpty());
+        Assert.assertNull(match(Map.of("x-tier", "gold"), "/pets"));
+    }
+
+    @Test
+    public void testHasThrottleDecision() {
+        evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "gold", false)));
+        Map<String, Long> throttleDecisions = new HashMap<>();
+        throttleDecisions.put(THROTTLE_KEY, System.currentTimeMillis());
+        Assert.assertFalse(evaluator.hasThrottleDecision(throttleDecisions));
+        throttleDecisions.put(THROTTLE_KEY + "_condition_1", System.currentTimeMillis());
+        Assert.assertTrue(evaluator.hasThrottleDecision(throttleDecisions));
+    }
+
+    @Test
+    public void testInvalidConditionIsNotAdded() {
+        try {
+            evaluator.addConditionGroup("condition_1", conditions(headerCondition("x-tier", "[gold", false)));
+            Assert.fail("Invalid regular expression is compiled");
+        } catch (PatternSyntaxException e) {
+            Assert.assertTrue(evaluator.isEmpty());
+        }
+    }
+
+    private String match(Map<String, String> headers, String path) {
+        return match(CLIENT_IP, headers, path);
+    }
+
+    private String match(String clientIp, Map<String, String> headers, String path) {
+        RequestContext requestContext = new RequestContext.Builder(path).headers(headers).address(clientIp)
+                .authenticationContext(new AuthenticationContext()).build();
+        return evaluator.getMatchingConditionKey(requestContext, config);
+    }
+
+    private String match(String callerToken) {
+        AuthenticationContext authenticationContext = new AuthenticationContext();
+        authenticationContext.setCallerToken(callerToken);
+        RequestContext requestContext = new RequestContext.Builder("/pets").headers(Map.of()).address(CLIENT_IP)
+                .authenticationContext(authenticationContext).build();
+        return evaluator.getMatchingConditionKey(requestContext, config);
+    }
+
+    private static String token(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".";
+    }
+
+    private static ThrottleCondition headerCondition(String name, String regex, boolean invert) {
+        ThrottleCondition condition = new ThrottleCondition();
+        ThrottleCondition.HeaderConditions headerConditions = new ThrottleCondition.HeaderConditions();
+        headerConditions.setValues(Map.of(name, regex));
+        headerConditions.setInvert(invert);
+        condition.setHeaderConditions(headerConditions);
+        return condition;
+    }
+
+    private static List<ThrottleCondition> conditions(ThrottleCondition... conditions) {
+        return conditions.length == 1 ? Collections.singletonList(conditions[0]) : Arrays.asList(conditions);
+    }
+}